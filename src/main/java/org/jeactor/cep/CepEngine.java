@@ -0,0 +1,412 @@
+package org.jeactor.cep;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+import org.jeactor.core.Event;
+import org.jeactor.core.EventPattern;
+import org.jeactor.core.IdentityPriorityConsumer;
+import org.jeactor.core.Reactor;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.lock.Locks;
+import org.jeactor.util.json.Jsons;
+
+/**
+ * Represents a complex event processing consumer that detects sequence patterns across event types per key, and produces a match 
+ * event back into a reactor whenever a pattern completes.
+ *
+ * <p>Every pattern is an automaton, and every key keeps its own partial matches, each being the automaton state it reached, the 
+ * time of its first event and the uuids of its matched events. Consuming an event looks up the states waiting for its type, so events 
+ * of unrelated types cost a single map lookup.
+ *
+ * <p>State is bounded for high cardinality keys. A partial match whose first event is older than the pattern's within window is expired. 
+ * Keys are ordered by the event time their partial matches have all expired at, so a key is evicted as soon as an event passes that 
+ * time, whatever its access order, and expired keys never count towards the maximal number of keys. Keys are also held in access order, 
+ * and once a pattern holds its maximal number of keys the least recently used key is evicted even if it still has live partial matches. 
+ * Every key holds at most a maximal number of partial matches, dropping the oldest one when a new one starts. So memory is bounded by keys 
+ * times partial matches times steps, regardless of the key cardinality. During idle periods expired state can be evicted with evictExpired().
+ *
+ * <p>The match event is a NOTIFICATION event of the pattern's output type, whose json payload has the fields pattern, key, start, end 
+ * and events, the uuids of the matched events in step order. Instances are created with CepEngineBuilderImpl, and are registered with 
+ * the reactor for the event types of their patterns with attach().
+ */
+@ThreadSafe
+public class CepEngine extends IdentityPriorityConsumer<Event> {
+    private final Reactor reactor;
+    private final List<SequencePattern> patterns;
+    private final int maxKeys;
+    private final int maxPartialMatchesPerKey;
+    private final ToLongFunction<Event> timestampExtractor;
+
+    private final List<PatternState> patternStates; // guarded by lock
+    private final Lock lock;
+    private boolean attached; // guarded by attachLock
+    private final Lock attachLock;
+
+    private final AtomicLong matchCount;
+    private final AtomicLong expiredCount;
+    private final AtomicLong evictedCount;
+    private final AtomicLong droppedMatchCount;
+
+    /**
+     * Creates an engine configured by the accepted builder.
+     *
+     * @param builder a builder that holds the engine configuration
+     */
+    CepEngine(final CepEngineBuilderImpl builder) {
+        super(builder.getConsumerPriority());
+        this.reactor = builder.getReactor();
+        this.patterns = List.copyOf(builder.getPatterns());
+        this.maxKeys = builder.getMaxKeys();
+        this.maxPartialMatchesPerKey = builder.getMaxPartialMatchesPerKey();
+        this.timestampExtractor = builder.getTimestampExtractor();
+        this.lock = new ReentrantLock();
+        this.attached = false;
+        this.attachLock = new ReentrantLock();
+        this.matchCount = new AtomicLong();
+        this.expiredCount = new AtomicLong();
+        this.evictedCount = new AtomicLong();
+        this.droppedMatchCount = new AtomicLong();
+
+        final List<PatternState> states = new ArrayList<>(patterns.size());
+        for (int i = 0; i < patterns.size(); i++)
+            states.add(new PatternState());
+        this.patternStates = Collections.unmodifiableList(states);
+    }
+
+    /**
+     * Registers this engine with the reactor for every event type consumed by its patterns.
+     *
+     * <p>A reactor accepts the same consumer twice, so a second attach() is refused here, otherwise every event would be matched twice.
+     *
+     * @return true if this engine has been registered for at least one event type, or false if it is already attached
+     */
+    public boolean attach() {
+        return Locks.exec(attachLock, ()->{
+            if (attached)
+                return false;
+            for (final String eventType : getEventTypes())
+                attached |= reactor.register(eventType, this);
+            return attached;
+        });
+    }
+
+    /**
+     * Unregisters this engine from the reactor for every event type consumed by its patterns. Partial matches are kept.
+     *
+     * @return true if this engine has been unregistered from at least one event type, or false otherwise
+     */
+    public boolean detach() {
+        return Locks.exec(attachLock, ()->{
+            if (!attached)
+                return false;
+            attached = false;
+            boolean unregistered = false;
+            for (final String eventType : getEventTypes())
+                unregistered |= reactor.unregister(eventType, this);
+            return unregistered;
+        });
+    }
+
+    /**
+     * Returns the event types consumed by the patterns of this engine.
+     *
+     * @return an unmodifiable set of event types
+     */
+    public Set<String> getEventTypes() {
+        final Set<String> eventTypes = new LinkedHashSet<>();
+        for (final SequencePattern pattern : patterns)
+            eventTypes.addAll(pattern.getEventTypes());
+        return Collections.unmodifiableSet(eventTypes);
+    }
+
+    /**
+     * Advances the partial matches of the key of the accepted event, starts a new one if the event matches a first step, and produces 
+     * the match events of the patterns it completes.
+     *
+     * @param event an event to match
+     */
+    @Override
+    public void accept(final Event event) {
+        // the time and the keys are read before locking, so only the automata are serialized
+        final long timestamp = timestampExtractor.applyAsLong(event);
+        final String[] keys = new String[patterns.size()];
+        for (int i = 0; i < keys.length; i++) {
+            if (0 < patterns.get(i).statesWaitingFor(event.getEventType()).length)
+                keys[i] = patterns.get(i).keyOf(event);
+        }
+
+        final List<Event> matches = new ArrayList<>(0);
+        Locks.exec(lock, ()->{
+            for (int i = 0; i < keys.length; i++) {
+                final int[] states = patterns.get(i).statesWaitingFor(event.getEventType());
+                if (0 == states.length)
+                    continue;
+                evictExpired(patternStates.get(i), timestamp);
+                advance(patterns.get(i), patternStates.get(i), keys[i], states[0], event, timestamp, matches);
+            }
+        });
+        produce(matches);
+    }
+
+    /**
+     * Evicts all the keys whose partial matches have all expired at the accepted event time, even if no later event arrives.
+     *
+     * @param timestampMillis an event time in milliseconds
+     */
+    public void evictExpired(final long timestampMillis) {
+        Locks.exec(lock, ()->{
+            for (final PatternState patternState : patternStates)
+                evictExpired(patternState, timestampMillis);
+        });
+    }
+
+    /**
+     * Returns the number of keys that hold partial matches, over all the patterns.
+     *
+     * @return the number of keys
+     */
+    public int getKeyCount() {
+        return Locks.exec(lock, ()->patternStates.stream().mapToInt((patternState)->patternState.keys.size()).sum());
+    }
+
+    /**
+     * Returns the number of completed matches.
+     *
+     * @return the number of matches
+     */
+    public long getMatchCount() {
+        return matchCount.get();
+    }
+
+    /**
+     * Returns the number of partial matches discarded because their within window passed.
+     *
+     * @return the number of expired partial matches
+     */
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    /**
+     * Returns the number of live partial matches discarded to bound the state, by key eviction or by the per key limit.
+     *
+     * @return the number of evicted partial matches
+     */
+    public long getEvictedCount() {
+        return evictedCount.get();
+    }
+
+    /**
+     * Returns the number of match events rejected by the reactor's rate limits.
+     *
+     * @return the number of dropped match events
+     */
+    public long getDroppedMatchCount() {
+        return droppedMatchCount.get();
+    }
+
+    /**
+     * Moves the partial matches of the accepted key through the accepted event. Must be called with the lock held.
+     *
+     * @param pattern a pattern
+     * @param patternState the state of the pattern
+     * @param key the key of the event
+     * @param firstState the lowest state waiting for the type of the event
+     * @param event an event
+     * @param timestamp the event time of the event
+     * @param matches a list to add the match events of the partial matches the event completes to
+     */
+    private void advance(final SequencePattern pattern, final PatternState patternState, final String key, final int firstState, 
+            final Event event, final long timestamp, final List<Event> matches) {
+        KeyState keyState = patternState.keys.get(key);
+        if (null != keyState) {
+            final Iterator<PartialMatch> iterator = keyState.partialMatches.iterator();
+            while (iterator.hasNext()) {
+                final PartialMatch partialMatch = iterator.next();
+                if (timestamp - partialMatch.startTimestamp > pattern.getWithinMillis()) {
+                    iterator.remove();
+                    expiredCount.incrementAndGet();
+                } else if (timestamp >= partialMatch.lastTimestamp && pattern.matches(partialMatch.state, event)) {
+                    partialMatch.consume(event, timestamp);
+                    if (pattern.getStepCount() == partialMatch.state) {
+                        // partial matches that started at different events complete as different matches
+                        iterator.remove();
+                        matchCount.incrementAndGet();
+                        matches.add(newMatchEvent(pattern, key, partialMatch));
+                    }
+                }
+            }
+        }
+
+        if (0 == firstState && pattern.matches(0, event)) {
+            if (null == keyState) {
+                keyState = new KeyState(key);
+                patternState.keys.put(key, keyState);
+            }
+            if (keyState.partialMatches.size() == maxPartialMatchesPerKey) {
+                keyState.partialMatches.pollFirst();
+                evictedCount.incrementAndGet();
+            }
+            final PartialMatch partialMatch = new PartialMatch(pattern.getStepCount(), timestamp);
+            partialMatch.consume(event, timestamp);
+            keyState.partialMatches.addLast(partialMatch);
+            final long expiresAt = timestamp + pattern.getWithinMillis();
+            if (keyState.expiresAt < expiresAt) {
+                // re-inserted, the expiry order must not change under the set
+                patternState.byExpiry.remove(keyState);
+                keyState.expiresAt = expiresAt;
+                patternState.byExpiry.add(keyState);
+            }
+        }
+
+        if (null != keyState && keyState.partialMatches.isEmpty())
+            patternState.remove(keyState);
+    }
+
+    /**
+     * Evicts the keys whose partial matches have all expired at the accepted event time. Must be called with the lock held.
+     *
+     * @param patternState the state of a pattern
+     * @param timestamp an event time in milliseconds
+     */
+    private void evictExpired(final PatternState patternState, final long timestamp) {
+        // O(log keys) per evicted key, the scan stops at the first key that may still be live in expiry order
+        while (!patternState.byExpiry.isEmpty() && patternState.byExpiry.first().expiresAt < timestamp) {
+            final KeyState keyState = patternState.byExpiry.first();
+            expiredCount.addAndGet(keyState.partialMatches.size());
+            patternState.remove(keyState);
+        }
+    }
+
+    /**
+     * Creates the match event of the accepted completed partial match.
+     *
+     * @param pattern the completed pattern
+     * @param key the key of the match
+     * @param partialMatch the completed partial match
+     * @return a new match event
+     */
+    private static Event newMatchEvent(final SequencePattern pattern, final String key, final PartialMatch partialMatch) {
+        final StringBuilder payload = new StringBuilder(64 + 40 * partialMatch.uuids.length).append("{\"pattern\":");
+        Jsons.appendString(payload, pattern.getName());
+        Jsons.appendString(payload.append(",\"key\":"), key);
+        payload.append(",\"start\":").append(partialMatch.startTimestamp)
+            .append(",\"end\":").append(partialMatch.lastTimestamp)
+            .append(",\"events\":[");
+        for (int i = 0; i < partialMatch.uuids.length; i++) {
+            if (0 < i)
+                payload.append(',');
+            payload.append('"').append(partialMatch.uuids[i]).append('"');
+        }
+        payload.append("]}");
+        return new Event(pattern.getOutputEventType(), pattern.getOutputPriority(), EventPattern.NOTIFICATION, payload.toString(), UUID.randomUUID());
+    }
+
+    /**
+     * Produces the accepted match events into the reactor.
+     *
+     * @param matches match events to produce
+     */
+    private void produce(final List<Event> matches) {
+        for (final Event match : matches) {
+            if (!reactor.tryProduce(match))
+                droppedMatchCount.incrementAndGet();
+        }
+    }
+
+    /** Represents the keys of a pattern, held both in access order and in expiry order. */
+    private final class PatternState {
+        private final LinkedHashMap<String, KeyState> keys;
+        private final TreeSet<KeyState> byExpiry;
+
+        /** Creates the state of a pattern without keys, bounded by the maximal number of keys. */
+        private PatternState() {
+            this.byExpiry = new TreeSet<>(Comparator.<KeyState>comparingLong((keyState)->keyState.expiresAt)
+                .thenComparing((keyState)->keyState.key, Comparator.nullsFirst(Comparator.<String>naturalOrder())));
+            this.keys = new LinkedHashMap<String, KeyState>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, KeyState> eldest) {
+                    if (size() <= maxKeys)
+                        return false;
+                    evictedCount.addAndGet(eldest.getValue().partialMatches.size());
+                    byExpiry.remove(eldest.getValue());
+                    return true;
+                }
+            };
+        }
+
+        /**
+         * Removes the accepted key state from both orders.
+         *
+         * @param keyState a key state of this pattern
+         */
+        private void remove(final KeyState keyState) {
+            byExpiry.remove(keyState);
+            keys.remove(keyState.key);
+        }
+    }
+
+    /** Represents the partial matches of a single key of a pattern. */
+    private static final class KeyState {
+        private final String key;
+        private final ArrayDeque<PartialMatch> partialMatches = new ArrayDeque<>(); // oldest first
+        private long expiresAt = Long.MIN_VALUE; // event time after which all the partial matches have expired, only raised out of byExpiry
+
+        /**
+         * Creates the state of the accepted key without partial matches.
+         *
+         * @param key a key, may be null
+         */
+        private KeyState(final String key) {
+            this.key = key;
+        }
+    }
+
+    /** Represents a run of a pattern automaton that has consumed a prefix of the steps. */
+    private static final class PartialMatch {
+        private final UUID[] uuids;
+        private final long startTimestamp;
+        private long lastTimestamp;
+        private int state;
+
+        /**
+         * Creates a partial match in the initial state.
+         *
+         * @param stepCount the number of steps of the pattern
+         * @param startTimestamp the event time of the first event
+         */
+        private PartialMatch(final int stepCount, final long startTimestamp) {
+            this.uuids = new UUID[stepCount];
+            this.startTimestamp = startTimestamp;
+            this.lastTimestamp = startTimestamp;
+            this.state = 0;
+        }
+
+        /**
+         * Moves to the next state by consuming the accepted event.
+         *
+         * @param event an event that matches the current step
+         * @param timestamp the event time of the event
+         */
+        private void consume(final Event event, final long timestamp) {
+            uuids[state++] = event.getUuid();
+            lastTimestamp = timestamp;
+        }
+    }
+}
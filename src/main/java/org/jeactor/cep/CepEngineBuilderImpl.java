@@ -0,0 +1,163 @@
+package org.jeactor.cep;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import org.jeactor.core.Builder;
+import org.jeactor.core.Event;
+import org.jeactor.core.Priority;
+import org.jeactor.core.Reactor;
+import org.jeactor.util.concurrent.NotThreadSafe;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/** Complex event processing engine builder implementation. */
+@NotThreadSafe
+public class CepEngineBuilderImpl implements Builder<CepEngine> {
+    /** Default maximal number of keys held per pattern. */
+    public static final int DEFAULT_MAX_KEYS = 65536;
+
+    /** Default maximal number of partial matches held per key. */
+    public static final int DEFAULT_MAX_PARTIAL_MATCHES_PER_KEY = 16;
+
+    private Reactor reactor;
+    private final List<SequencePattern> patterns = new ArrayList<>();
+    private Priority consumerPriority = Priority.NORMAL;
+    private int maxKeys = DEFAULT_MAX_KEYS;
+    private int maxPartialMatchesPerKey = DEFAULT_MAX_PARTIAL_MATCHES_PER_KEY;
+    private ToLongFunction<Event> timestampExtractor = Event::getTimestamp;
+
+    /**
+     * Sets the reactor the engine consumes from and produces the match events into. Required.
+     * 
+     * @param reactor
+     * @return this builder object
+     */
+    public CepEngineBuilderImpl withReactor(final Reactor reactor) {
+        this.reactor = reactor;
+        return this;
+    }
+
+    /**
+     * Adds a pattern to detect. At least one pattern is required.
+     * 
+     * @param pattern
+     * @return this builder object
+     */
+    public CepEngineBuilderImpl withPattern(final SequencePattern pattern) {
+        this.patterns.add(pattern);
+        return this;
+    }
+
+    /**
+     * Sets the priority of the engine as a consumer. Defaults to NORMAL.
+     * 
+     * @param consumerPriority
+     * @return this builder object
+     */
+    public CepEngineBuilderImpl withConsumerPriority(final Priority consumerPriority) {
+        this.consumerPriority = consumerPriority;
+        return this;
+    }
+
+    /**
+     * Sets the maximal number of keys that hold partial matches per pattern, beyond it the least recently used key is evicted. Defaults to DEFAULT_MAX_KEYS.
+     * 
+     * @param maxKeys
+     * @return this builder object
+     */
+    public CepEngineBuilderImpl withMaxKeys(final int maxKeys) {
+        this.maxKeys = maxKeys;
+        return this;
+    }
+
+    /**
+     * Sets the maximal number of partial matches per key, beyond it the oldest partial match is evicted. Defaults to DEFAULT_MAX_PARTIAL_MATCHES_PER_KEY.
+     * 
+     * @param maxPartialMatchesPerKey
+     * @return this builder object
+     */
+    public CepEngineBuilderImpl withMaxPartialMatchesPerKey(final int maxPartialMatchesPerKey) {
+        this.maxPartialMatchesPerKey = maxPartialMatchesPerKey;
+        return this;
+    }
+
+    /**
+     * Sets the function that extracts the event time of an event in milliseconds. Defaults to the event timestamp.
+     * 
+     * @param timestampExtractor
+     * @return this builder object
+     */
+    public CepEngineBuilderImpl withTimestamp(final ToLongFunction<Event> timestampExtractor) {
+        this.timestampExtractor = timestampExtractor;
+        return this;
+    }
+
+    /**
+     * The method builds a new complex event processing engine.
+     * 
+     * @return a new engine
+     * @throws ValidationException when a required property is missing, a property or a pattern is null, or a limit is not positive
+     */
+    @Override
+    public CepEngine build() throws ValidationException {
+        Validations.validateNotNull(reactor, consumerPriority, timestampExtractor);
+        Validations.validateNotNull(patterns.toArray());
+        Validations.validatePositive(patterns.size(), maxKeys, maxPartialMatchesPerKey);
+        return new CepEngine(this);
+    }
+
+    /**
+     * Returns the reactor.
+     * 
+     * @return the reactor
+     */
+    Reactor getReactor() {
+        return reactor;
+    }
+
+    /**
+     * Returns the patterns.
+     * 
+     * @return the patterns
+     */
+    List<SequencePattern> getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * Returns the consumer priority.
+     * 
+     * @return the consumer priority
+     */
+    Priority getConsumerPriority() {
+        return consumerPriority;
+    }
+
+    /**
+     * Returns the maximal number of keys per pattern.
+     * 
+     * @return the maximal number of keys
+     */
+    int getMaxKeys() {
+        return maxKeys;
+    }
+
+    /**
+     * Returns the maximal number of partial matches per key.
+     * 
+     * @return the maximal number of partial matches
+     */
+    int getMaxPartialMatchesPerKey() {
+        return maxPartialMatchesPerKey;
+    }
+
+    /**
+     * Returns the timestamp extractor.
+     * 
+     * @return the timestamp extractor
+     */
+    ToLongFunction<Event> getTimestampExtractor() {
+        return timestampExtractor;
+    }
+}
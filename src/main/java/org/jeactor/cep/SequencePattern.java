@@ -0,0 +1,146 @@
+package org.jeactor.cep;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.jeactor.core.Event;
+import org.jeactor.core.Priority;
+import org.jeactor.util.concurrent.ThreadSafe;
+
+/**
+ * Represents an immutable sequence pattern, such as an event of type A followed by an event of type B with the same key within 5 seconds, 
+ * compiled into a non deterministic finite automaton.
+ *
+ * <p>State i of the automaton waits for step i, and an event that matches the step moves a partial match to state i + 1. A partial 
+ * match that reaches the last state is a match. Steps are followed by, not directly followed by: unrelated events between them are 
+ * skipped. Every event that matches the first step starts a new partial match, so partial matches overlap.
+ *
+ * <p>Instances are created with SequencePatternBuilderImpl.
+ */
+@ThreadSafe
+public final class SequencePattern {
+    private static final int[] NO_STATES = new int[0];
+
+    private final String name;
+    private final String[] stepTypes;
+    private final Predicate<Event>[] stepConditions;
+    private final Map<String, int[]> statesByEventType; // transitions indexed by the type of the consumed event
+    private final long withinMillis;
+    private final Function<Event, String> keyExtractor;
+    private final String outputEventType;
+    private final Priority outputPriority;
+
+    /**
+     * Creates a pattern, compiling its steps into transitions.
+     *
+     * @param builder a builder that holds the pattern definition
+     */
+    @SuppressWarnings("unchecked")
+    SequencePattern(final SequencePatternBuilderImpl builder) {
+        this.name = builder.getName();
+        this.stepTypes = builder.getStepTypes().toArray(new String[0]);
+        this.stepConditions = builder.getStepConditions().toArray(new Predicate[0]);
+        this.withinMillis = builder.getWithin().toMillis();
+        this.keyExtractor = builder.getKeyExtractor();
+        this.outputEventType = builder.getOutputEventType();
+        this.outputPriority = builder.getOutputPriority();
+
+        final Map<String, List<Integer>> states = new HashMap<>();
+        for (int state = 0; state < stepTypes.length; state++)
+            states.computeIfAbsent(stepTypes[state], (type)->new ArrayList<>()).add(state);
+        final Map<String, int[]> compiled = new HashMap<>();
+        for (final Map.Entry<String, List<Integer>> entry : states.entrySet())
+            compiled.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        this.statesByEventType = Collections.unmodifiableMap(compiled);
+    }
+
+    /**
+     * Returns the name of the pattern.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the event types the pattern consumes.
+     *
+     * @return an unmodifiable set of event types
+     */
+    public Set<String> getEventTypes() {
+        return statesByEventType.keySet();
+    }
+
+    /**
+     * Returns the number of steps of the pattern, which is also the index of its accepting state.
+     *
+     * @return the number of steps
+     */
+    public int getStepCount() {
+        return stepTypes.length;
+    }
+
+    /**
+     * Returns the time a match may span, from its first to its last event.
+     *
+     * @return the time window in milliseconds
+     */
+    public long getWithinMillis() {
+        return withinMillis;
+    }
+
+    /**
+     * Returns the type of the match events.
+     *
+     * @return the output event type
+     */
+    public String getOutputEventType() {
+        return outputEventType;
+    }
+
+    /**
+     * Returns the priority of the match events.
+     *
+     * @return the output priority
+     */
+    public Priority getOutputPriority() {
+        return outputPriority;
+    }
+
+    /**
+     * Returns the correlation key of the accepted event.
+     *
+     * @param event an event
+     * @return the key, may be null
+     */
+    String keyOf(final Event event) {
+        return keyExtractor.apply(event);
+    }
+
+    /**
+     * Returns the states that wait for an event of the accepted type, in ascending order.
+     *
+     * @param eventType an event type
+     * @return the states, empty if the pattern does not consume the type
+     */
+    int[] statesWaitingFor(final String eventType) {
+        return statesByEventType.getOrDefault(eventType, NO_STATES);
+    }
+
+    /**
+     * Returns wether the accepted event moves a partial match out of the accepted state.
+     *
+     * @param state a state waiting for the type of the event
+     * @param event an event
+     * @return true if the event matches the step of the state, or false otherwise
+     */
+    boolean matches(final int state, final Event event) {
+        return stepTypes[state].equals(event.getEventType()) && stepConditions[state].test(event);
+    }
+}
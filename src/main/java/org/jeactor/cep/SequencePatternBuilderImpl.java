@@ -0,0 +1,182 @@
+package org.jeactor.cep;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.jeactor.core.Builder;
+import org.jeactor.core.Event;
+import org.jeactor.core.Priority;
+import org.jeactor.util.concurrent.NotThreadSafe;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/** Sequence pattern builder implementation. */
+@NotThreadSafe
+public class SequencePatternBuilderImpl implements Builder<SequencePattern> {
+    private String name;
+    private final List<String> stepTypes = new ArrayList<>();
+    private final List<Predicate<Event>> stepConditions = new ArrayList<>();
+    private Duration within;
+    private Function<Event, String> keyExtractor = (event)->null;
+    private String outputEventType;
+    private Priority outputPriority = Priority.NORMAL;
+
+    /**
+     * Sets the name of the pattern, which is reported in its match events. Required.
+     * 
+     * @param name
+     * @return this builder object
+     */
+    public SequencePatternBuilderImpl withName(final String name) {
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * Appends a step that matches any event of the accepted type. At least two steps are required.
+     * 
+     * @param eventType
+     * @return this builder object
+     */
+    public SequencePatternBuilderImpl followedBy(final String eventType) {
+        return followedBy(eventType, (event)->true);
+    }
+
+    /**
+     * Appends a step that matches an event of the accepted type that satisfies the accepted condition. At least two steps are required.
+     * 
+     * @param eventType
+     * @param condition
+     * @return this builder object
+     */
+    public SequencePatternBuilderImpl followedBy(final String eventType, final Predicate<Event> condition) {
+        stepTypes.add(eventType);
+        stepConditions.add(condition);
+        return this;
+    }
+
+    /**
+     * Sets the time a match may span, from its first to its last event. Required.
+     * 
+     * @param within
+     * @return this builder object
+     */
+    public SequencePatternBuilderImpl within(final Duration within) {
+        this.within = within;
+        return this;
+    }
+
+    /**
+     * Sets the function that extracts the correlation key of an event, only events of equal keys are matched together. Defaults to a single null key for all the events.
+     * 
+     * @param keyExtractor
+     * @return this builder object
+     */
+    public SequencePatternBuilderImpl withKey(final Function<Event, String> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+        return this;
+    }
+
+    /**
+     * Sets the type of the match events. Required.
+     * 
+     * @param outputEventType
+     * @return this builder object
+     */
+    public SequencePatternBuilderImpl withOutputEventType(final String outputEventType) {
+        this.outputEventType = outputEventType;
+        return this;
+    }
+
+    /**
+     * Sets the priority of the match events. Defaults to NORMAL.
+     * 
+     * @param outputPriority
+     * @return this builder object
+     */
+    public SequencePatternBuilderImpl withOutputPriority(final Priority outputPriority) {
+        this.outputPriority = outputPriority;
+        return this;
+    }
+
+    /**
+     * The method builds a new immutable sequence pattern.
+     * 
+     * @return a new sequence pattern
+     * @throws ValidationException when a required property is missing, a property or a step is null, there are less than two steps or within is not positive
+     */
+    @Override
+    public SequencePattern build() throws ValidationException {
+        Validations.validateNotNull(name, within, keyExtractor, outputEventType, outputPriority);
+        Validations.validateNotNull(stepTypes.toArray());
+        Validations.validateNotNull(stepConditions.toArray());
+        Validations.validatePositive(stepTypes.size() - 1);
+        Validations.validatePositive(within.toMillis());
+        return new SequencePattern(this);
+    }
+
+    /**
+     * Returns the name.
+     * 
+     * @return the name
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the event types of the steps.
+     * 
+     * @return the step types
+     */
+    List<String> getStepTypes() {
+        return stepTypes;
+    }
+
+    /**
+     * Returns the conditions of the steps.
+     * 
+     * @return the step conditions
+     */
+    List<Predicate<Event>> getStepConditions() {
+        return stepConditions;
+    }
+
+    /**
+     * Returns the time a match may span.
+     * 
+     * @return the time window
+     */
+    Duration getWithin() {
+        return within;
+    }
+
+    /**
+     * Returns the key extractor.
+     * 
+     * @return the key extractor
+     */
+    Function<Event, String> getKeyExtractor() {
+        return keyExtractor;
+    }
+
+    /**
+     * Returns the type of the match events.
+     * 
+     * @return the output event type
+     */
+    String getOutputEventType() {
+        return outputEventType;
+    }
+
+    /**
+     * Returns the priority of the match events.
+     * 
+     * @return the output priority
+     */
+    Priority getOutputPriority() {
+        return outputPriority;
+    }
+}
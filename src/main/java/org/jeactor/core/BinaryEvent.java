@@ -0,0 +1,343 @@
+package org.jeactor.core;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.jeactor.util.concurrent.NotThreadSafe;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/**
+ * Represents a flyweight accessor of an event encoded in a fixed binary layout, over a heap or direct ByteBuffer.
+ *
+ * <p>The layout is a frame of a 52 bytes header followed by the UTF-8 bytes of the conflation key and of the payload, with the
+ * longs aligned to 8 bytes within the frame:
+ * <pre>
+ *  0  int   frame length, header included
+ *  4  int   event type id, see EventTypeIds
+ *  8  long  timestamp in milliseconds
+ * 16  long  most significant bits of the uuid
+ * 24  long  least significant bits of the uuid
+ * 32  long  deadline in milliseconds, if the deadline flag is set
+ * 40  int   conflation key length, -1 for none
+ * 44  int   payload length, -1 for none
+ * 48  byte  priority ordinal
+ * 49  byte  pattern ordinal, -1 for none
+ * 50  byte  flags
+ * 51  byte  layout version
+ * 52  ...   conflation key bytes, then payload bytes
+ * </pre>
+ *
+ * <p>A flyweight holds no event data of its own: wrapping a frame costs nothing, and the accessors read the fields in place, so routing
+ * fields such as the type id, the priority and the deadline are read without decoding, and the payload is exposed as a view of the buffer.
+ * Frames are self delimiting, so a buffer of consecutive frames can be walked, and a whole frame can be moved by copyTo() as raw bytes.
+ * The flyweight never changes the position or the limit of the buffer, and uses its byte order, big endian unless changed.
+ * The trace context of an event is not encoded, it is process local.
+ */
+@NotThreadSafe
+public final class BinaryEvent {
+    /** Length of the fixed header of a frame. */
+    public static final int HEADER_LENGTH = 52;
+    /** Version of the layout written by encode(). */
+    public static final byte VERSION = 1;
+
+    private static final int FRAME_LENGTH_OFFSET = 0;
+    private static final int EVENT_TYPE_ID_OFFSET = 4;
+    private static final int TIMESTAMP_OFFSET = 8;
+    private static final int UUID_MSB_OFFSET = 16;
+    private static final int UUID_LSB_OFFSET = 24;
+    private static final int DEADLINE_OFFSET = 32;
+    private static final int CONFLATION_KEY_LENGTH_OFFSET = 40;
+    private static final int PAYLOAD_LENGTH_OFFSET = 44;
+    private static final int PRIORITY_OFFSET = 48;
+    private static final int PATTERN_OFFSET = 49;
+    private static final int FLAGS_OFFSET = 50;
+    private static final int VERSION_OFFSET = 51;
+
+    private static final byte DEADLINE_FLAG = 1;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final EventPattern[] PATTERNS = EventPattern.values();
+
+    private ByteBuffer buffer;
+    private int offset;
+
+    /**
+     * Points this flyweight at the frame that starts at the accepted offset of the accepted buffer.
+     *
+     * @param buffer a buffer that holds the frame
+     * @param offset an absolute offset of the frame in the buffer
+     * @return this flyweight
+     * @throws ValidationException when null buffer is supplied, or the buffer holds no complete frame of a known version at the offset, 
+     * or the frame's lengths or ordinals are out of range
+     */
+    public BinaryEvent wrap(final ByteBuffer buffer, final int offset) throws ValidationException {
+        Validations.validateNotNull(buffer);
+        if (offset < 0 || buffer.limit() - offset < HEADER_LENGTH)
+            throw new ValidationException("No frame header at offset " + offset);
+        final int frameLength = buffer.getInt(offset + FRAME_LENGTH_OFFSET);
+        if (frameLength < HEADER_LENGTH || buffer.limit() - offset < frameLength || VERSION != buffer.get(offset + VERSION_OFFSET))
+            throw new ValidationException("No complete frame of version " + VERSION + " at offset " + offset);
+
+        // the accessors trust these fields, so a corrupt frame is refused here rather than read out of its bounds
+        final int conflationKeyLength = buffer.getInt(offset + CONFLATION_KEY_LENGTH_OFFSET);
+        final int payloadLength = buffer.getInt(offset + PAYLOAD_LENGTH_OFFSET);
+        if (conflationKeyLength < -1 || payloadLength < -1
+                || (long) Math.max(0, conflationKeyLength) + Math.max(0, payloadLength) > frameLength - HEADER_LENGTH)
+            throw new ValidationException("Conflation key and payload do not fit the frame at offset " + offset);
+        final byte priority = buffer.get(offset + PRIORITY_OFFSET);
+        final byte pattern = buffer.get(offset + PATTERN_OFFSET);
+        if (priority < 0 || priority >= PRIORITIES.length || pattern < -1 || pattern >= PATTERNS.length)
+            throw new ValidationException("Unknown priority or pattern in the frame at offset " + offset);
+        this.buffer = buffer;
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * Returns the length of the wrapped frame, so the next frame of a buffer starts at the offset plus this length.
+     *
+     * @return the frame length in bytes
+     */
+    public int getFrameLength() {
+        return buffer.getInt(offset + FRAME_LENGTH_OFFSET);
+    }
+
+    /**
+     * Returns the offset of the wrapped frame.
+     *
+     * @return the absolute offset of the frame in the buffer
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the id of the event type.
+     *
+     * @return the event type id
+     */
+    public int getEventTypeId() {
+        return buffer.getInt(offset + EVENT_TYPE_ID_OFFSET);
+    }
+
+    /**
+     * Returns the priority of the event.
+     *
+     * @return the event priority
+     */
+    public Priority getEventPriority() {
+        return PRIORITIES[buffer.get(offset + PRIORITY_OFFSET)];
+    }
+
+    /**
+     * Returns the pattern of the event.
+     *
+     * @return the event pattern, or null if the event has none
+     */
+    public EventPattern getEventPattern() {
+        final byte pattern = buffer.get(offset + PATTERN_OFFSET);
+        return pattern < 0 ? null : PATTERNS[pattern];
+    }
+
+    /**
+     * Returns the timestamp of the event.
+     *
+     * @return the timestamp in milliseconds
+     */
+    public long getTimestamp() {
+        return buffer.getLong(offset + TIMESTAMP_OFFSET);
+    }
+
+    /**
+     * Returns the most significant bits of the uuid of the event.
+     *
+     * @return the most significant bits of the uuid
+     */
+    public long getUuidMostSignificantBits() {
+        return buffer.getLong(offset + UUID_MSB_OFFSET);
+    }
+
+    /**
+     * Returns the least significant bits of the uuid of the event.
+     *
+     * @return the least significant bits of the uuid
+     */
+    public long getUuidLeastSignificantBits() {
+        return buffer.getLong(offset + UUID_LSB_OFFSET);
+    }
+
+    /**
+     * Returns the uuid of the event, as a new object.
+     *
+     * @return the uuid of the event
+     */
+    public UUID getUuid() {
+        return new UUID(getUuidMostSignificantBits(), getUuidLeastSignificantBits());
+    }
+
+    /**
+     * Returns wether the event has a deadline.
+     *
+     * @return true if the event expires, or false otherwise
+     */
+    public boolean hasDeadline() {
+        return 0 != (buffer.get(offset + FLAGS_OFFSET) & DEADLINE_FLAG);
+    }
+
+    /**
+     * Returns the deadline of the event.
+     *
+     * @return the deadline in milliseconds, meaningful only if the event has a deadline
+     */
+    public long getDeadline() {
+        return buffer.getLong(offset + DEADLINE_OFFSET);
+    }
+
+    /**
+     * Returns wether the event has expired at the accepted time.
+     *
+     * @param nowMillis the current time in milliseconds
+     * @return true if the event has a deadline that has passed, or false otherwise
+     */
+    public boolean isExpired(final long nowMillis) {
+        return hasDeadline() && getDeadline() < nowMillis;
+    }
+
+    /**
+     * Returns a read only view of the UTF-8 bytes of the payload, sharing the buffer's content.
+     *
+     * @return a view of the payload positioned at 0, or null if the event has no payload
+     */
+    public ByteBuffer getPayload() {
+        final int length = buffer.getInt(offset + PAYLOAD_LENGTH_OFFSET);
+        return length < 0 ? null : view(payloadOffset(), length);
+    }
+
+    /**
+     * Returns a read only view of the UTF-8 bytes of the conflation key, sharing the buffer's content.
+     *
+     * @return a view of the conflation key positioned at 0, or null if the event has no conflation key
+     */
+    public ByteBuffer getConflationKey() {
+        final int length = buffer.getInt(offset + CONFLATION_KEY_LENGTH_OFFSET);
+        return length < 0 ? null : view(offset + HEADER_LENGTH, length);
+    }
+
+    /**
+     * Decodes the payload.
+     *
+     * @return the payload string, or null if the event has no payload
+     */
+    public String getJsonPayload() {
+        return decode(getPayload());
+    }
+
+    /**
+     * Copies the wrapped frame as raw bytes into the accepted buffer at the accepted offset, without decoding it.
+     *
+     * @param destination a buffer to copy the frame into
+     * @param destinationOffset an absolute offset in the destination
+     * @return the number of bytes copied, the frame length
+     * @throws ValidationException when null destination is supplied
+     * @throws BufferOverflowException when the frame does not fit the destination
+     */
+    public int copyTo(final ByteBuffer destination, final int destinationOffset) throws ValidationException, BufferOverflowException {
+        Validations.validateNotNull(destination);
+        final int frameLength = getFrameLength();
+        if (destinationOffset < 0 || destination.limit() - destinationOffset < frameLength)
+            throw new BufferOverflowException();
+        final ByteBuffer target = destination.duplicate();
+        target.position(destinationOffset);
+        target.put(view(offset, frameLength));
+        return frameLength;
+    }
+
+    /**
+     * Decodes the wrapped frame into an event, with the type the id is mapped to.
+     *
+     * @param eventTypeIds a mapping of the event type ids
+     * @return a new event equal to the encoded one, without a trace context
+     * @throws ValidationException when null argument is supplied or the event type id is not mapped
+     */
+    public Event toEvent(final EventTypeIds eventTypeIds) throws ValidationException {
+        Validations.validateNotNull(eventTypeIds);
+        return new Event(eventTypeIds.typeOf(getEventTypeId()), getEventPriority(), getEventPattern(), getJsonPayload(), getUuid(),
+            hasDeadline() ? getDeadline() : null, decode(getConflationKey()), getTimestamp());
+    }
+
+    /**
+     * Encodes the accepted event as a frame at the accepted offset of the accepted buffer, mapping its type to an id.
+     *
+     * @param event an event to encode
+     * @param eventTypeIds a mapping of the event type ids
+     * @param buffer a buffer to encode the event into
+     * @param offset an absolute offset of the frame in the buffer
+     * @return the frame length, so the next frame can be encoded at the offset plus this length
+     * @throws ValidationException when null argument is supplied
+     * @throws BufferOverflowException when the frame does not fit the buffer
+     */
+    public static int encode(final Event event, final EventTypeIds eventTypeIds, final ByteBuffer buffer, final int offset) throws ValidationException, BufferOverflowException {
+        Validations.validateNotNull(event, eventTypeIds, buffer);
+        final byte[] conflationKey = null == event.getConflationKey() ? null : event.getConflationKey().getBytes(StandardCharsets.UTF_8);
+        final byte[] payload = null == event.getJsonPayload() ? null : event.getJsonPayload().getBytes(StandardCharsets.UTF_8);
+        final int frameLength = HEADER_LENGTH + (null == conflationKey ? 0 : conflationKey.length) + (null == payload ? 0 : payload.length);
+        if (offset < 0 || buffer.limit() - offset < frameLength)
+            throw new BufferOverflowException();
+
+        buffer.putInt(offset + FRAME_LENGTH_OFFSET, frameLength);
+        buffer.putInt(offset + EVENT_TYPE_ID_OFFSET, eventTypeIds.idOf(event.getEventType()));
+        buffer.putLong(offset + TIMESTAMP_OFFSET, event.getTimestamp());
+        buffer.putLong(offset + UUID_MSB_OFFSET, event.getUuid().getMostSignificantBits());
+        buffer.putLong(offset + UUID_LSB_OFFSET, event.getUuid().getLeastSignificantBits());
+        buffer.putLong(offset + DEADLINE_OFFSET, null == event.getDeadline() ? 0 : event.getDeadline());
+        buffer.putInt(offset + CONFLATION_KEY_LENGTH_OFFSET, null == conflationKey ? -1 : conflationKey.length);
+        buffer.putInt(offset + PAYLOAD_LENGTH_OFFSET, null == payload ? -1 : payload.length);
+        buffer.put(offset + PRIORITY_OFFSET, (byte) event.getEventPriority().ordinal());
+        buffer.put(offset + PATTERN_OFFSET, null == event.getEventPattern() ? -1 : (byte) event.getEventPattern().ordinal());
+        buffer.put(offset + FLAGS_OFFSET, null == event.getDeadline() ? 0 : DEADLINE_FLAG);
+        buffer.put(offset + VERSION_OFFSET, VERSION);
+
+        // a duplicate takes the bulk puts, so the position of the buffer is left as it is
+        final ByteBuffer body = buffer.duplicate();
+        body.position(offset + HEADER_LENGTH);
+        if (null != conflationKey)
+            body.put(conflationKey);
+        if (null != payload)
+            body.put(payload);
+        return frameLength;
+    }
+
+    /**
+     * Returns the offset of the payload of the wrapped frame.
+     *
+     * @return the absolute offset of the payload
+     */
+    private int payloadOffset() {
+        return offset + HEADER_LENGTH + Math.max(0, buffer.getInt(offset + CONFLATION_KEY_LENGTH_OFFSET));
+    }
+
+    /**
+     * Returns a read only view of the accepted range of the buffer.
+     *
+     * @param from an absolute offset of the range
+     * @param length a length of the range
+     * @return a view of the range positioned at 0
+     */
+    private ByteBuffer view(final int from, final int length) {
+        final ByteBuffer view = buffer.asReadOnlyBuffer();
+        view.limit(from + length).position(from);
+        return view.slice();
+    }
+
+    /**
+     * Decodes the accepted UTF-8 bytes.
+     *
+     * @param bytes a view of UTF-8 bytes, or null
+     * @return the decoded string, or null if null is accepted
+     */
+    private static String decode(final ByteBuffer bytes) {
+        return null == bytes ? null : StandardCharsets.UTF_8.decode(bytes).toString();
+    }
+}
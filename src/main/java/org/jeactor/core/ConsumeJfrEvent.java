@@ -0,0 +1,27 @@
+package org.jeactor.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Represents a flight recorder event of a single attempt of a registered consumer consuming an event. */
+@Name("org.jeactor.Consume")
+@Label("Consume")
+@Category({ "Jeactor", "Consumer" })
+@Description("An attempt of a registered consumer consuming an event")
+@StackTrace(false)
+final class ConsumeJfrEvent extends jdk.jfr.Event {
+    @Label("Event Type")
+    String eventType;
+
+    @Label("Consumer")
+    String consumer;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Failed")
+    boolean failed;
+}
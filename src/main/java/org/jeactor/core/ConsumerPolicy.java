@@ -0,0 +1,247 @@
+package org.jeactor.core;
+
+import java.time.Duration;
+import java.util.List;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.bulkhead.OverflowPolicy;
+
+/** 
+ * Represents an immutable policy that controls how events are delivered to a registered consumer.
+ * 
+ * <p>Instances are created with ConsumerPolicyBuilderImpl.
+ */
+@ThreadSafe
+public final class ConsumerPolicy {
+    /** Policy of the plain register(), every event is submitted to the reactor's executor. */
+    public static final ConsumerPolicy DEFAULT = new ConsumerPolicyBuilderImpl().build();
+
+    private final int maxConcurrency;
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration latencyThreshold;
+    private final int slowCallThreshold;
+    private final Duration breakDuration;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final double backoffMultiplier;
+    private final Duration maxBackoff;
+    private final ExecutionHint executionHint;
+    private final Duration adaptiveThreshold;
+    private final List<PriorityConsumer<Event>> prerequisites;
+    private final int replayMaxEvents;
+    private final Duration replayMaxAge;
+
+    /**
+     * Creates a consumer policy.
+     * 
+     * @param maxConcurrency a maximal number of the consumer's tasks in flight on the reactor's executor, 0 for unlimited
+     * @param queueCapacity a capacity of the consumer's own queue
+     * @param overflowPolicy a policy of handling events delivered to a full queue
+     * @param latencyThreshold a latency above which a consumer execution is slow, or null for no circuit breaker
+     * @param slowCallThreshold a number of consecutive slow executions that opens the circuit breaker
+     * @param breakDuration a time the circuit breaker sheds events before a trial execution
+     * @param maxAttempts a maximal number of attempts to consume an event before it is dead lettered
+     * @param initialBackoff a delay before the first retry
+     * @param backoffMultiplier a factor the delay grows by on every further retry
+     * @param maxBackoff a maximal delay before a retry
+     * @param executionHint a hint of where the consumer is executed
+     * @param adaptiveThreshold an average execution time above which an adaptive consumer is submitted to the reactor's executor
+     * @param prerequisites consumers of the same event type that must have consumed an event before the consumer does
+     * @param replayMaxEvents a maximal number of historical events replayed to the consumer on registration, 0 for no replay
+     * @param replayMaxAge a maximal age of historical events replayed to the consumer on registration, or null for no limit
+     */
+    ConsumerPolicy(final int maxConcurrency, final int queueCapacity, final OverflowPolicy overflowPolicy,
+            final Duration latencyThreshold, final int slowCallThreshold, final Duration breakDuration,
+            final int maxAttempts, final Duration initialBackoff, final double backoffMultiplier, final Duration maxBackoff,
+            final ExecutionHint executionHint, final Duration adaptiveThreshold, final List<PriorityConsumer<Event>> prerequisites,
+            final int replayMaxEvents, final Duration replayMaxAge) {
+        this.maxConcurrency = maxConcurrency;
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.latencyThreshold = latencyThreshold;
+        this.slowCallThreshold = slowCallThreshold;
+        this.breakDuration = breakDuration;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.backoffMultiplier = backoffMultiplier;
+        this.maxBackoff = maxBackoff;
+        this.executionHint = executionHint;
+        this.adaptiveThreshold = adaptiveThreshold;
+        this.prerequisites = List.copyOf(prerequisites);
+        this.replayMaxEvents = replayMaxEvents;
+        this.replayMaxAge = replayMaxAge;
+    }
+
+    /**
+     * Returns wether the consumer is isolated in a bulkhead.
+     * 
+     * @return true if the consumer has a bounded concurrency or a circuit breaker, or false otherwise
+     */
+    public boolean isBulkheaded() {
+        return 0 < maxConcurrency || null != latencyThreshold;
+    }
+
+    /**
+     * Returns the maximal number of the consumer's tasks in flight on the reactor's executor.
+     * 
+     * @return the maximal concurrency, 0 for unlimited
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Returns the capacity of the consumer's own queue.
+     * 
+     * @return the queue capacity
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Returns the policy of handling events delivered to a full queue.
+     * 
+     * @return the overflow policy
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Returns the latency above which a consumer execution is slow.
+     * 
+     * @return the latency threshold, or null if the consumer has no circuit breaker
+     */
+    public Duration getLatencyThreshold() {
+        return latencyThreshold;
+    }
+
+    /**
+     * Returns the number of consecutive slow executions that opens the circuit breaker.
+     * 
+     * @return the slow call threshold
+     */
+    public int getSlowCallThreshold() {
+        return slowCallThreshold;
+    }
+
+    /**
+     * Returns the time the circuit breaker sheds events before a trial execution.
+     * 
+     * @return the break duration
+     */
+    public Duration getBreakDuration() {
+        return breakDuration;
+    }
+
+    /**
+     * Returns the maximal number of attempts to consume an event before it is dead lettered.
+     * 
+     * @return the maximal number of attempts, 1 for no retries
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Returns the delay before the first retry.
+     * 
+     * @return the initial backoff
+     */
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    /**
+     * Returns the factor the delay grows by on every further retry.
+     * 
+     * @return the backoff multiplier
+     */
+    public double getBackoffMultiplier() {
+        return backoffMultiplier;
+    }
+
+    /**
+     * Returns the maximal delay before a retry.
+     * 
+     * @return the maximal backoff
+     */
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    /**
+     * Returns the hint of where the consumer is executed.
+     * 
+     * @return the execution hint
+     */
+    public ExecutionHint getExecutionHint() {
+        return executionHint;
+    }
+
+    /**
+     * Returns the average execution time above which an adaptive consumer is submitted to the reactor's executor.
+     * 
+     * @return the adaptive threshold
+     */
+    public Duration getAdaptiveThreshold() {
+        return adaptiveThreshold;
+    }
+
+    /**
+     * Returns the consumers of the same event type that must have consumed an event before the consumer does.
+     * 
+     * @return an immutable list of the prerequisites, empty if the consumer does not depend on others
+     */
+    public List<PriorityConsumer<Event>> getPrerequisites() {
+        return prerequisites;
+    }
+
+    /**
+     * Returns wether the consumer depends on other consumers of the same event type.
+     * 
+     * @return true if the consumer has prerequisites, or false otherwise
+     */
+    public boolean hasPrerequisites() {
+        return !prerequisites.isEmpty();
+    }
+
+    /**
+     * Returns wether the history of the event type is replayed to the consumer on registration.
+     * 
+     * @return true if the consumer requests a replay, or false otherwise
+     */
+    public boolean isReplaying() {
+        return 0 < replayMaxEvents || null != replayMaxAge;
+    }
+
+    /**
+     * Returns the maximal number of historical events replayed to the consumer on registration.
+     * 
+     * @return the maximal number of replayed events, Integer.MAX_VALUE if only their age is limited, 0 for no replay
+     */
+    public int getReplayMaxEvents() {
+        return replayMaxEvents;
+    }
+
+    /**
+     * Returns the maximal age of historical events replayed to the consumer on registration.
+     * 
+     * @return the maximal age of replayed events, or null for no limit
+     */
+    public Duration getReplayMaxAge() {
+        return replayMaxAge;
+    }
+
+    /**
+     * Returns the delay before the retry that follows the accepted number of failed attempts.
+     * 
+     * @param failedAttempts a positive number of failed attempts
+     * @return the delay in milliseconds, the initial backoff grown exponentially and capped by the maximal backoff
+     */
+    long getBackoffMillis(final int failedAttempts) {
+        final double backoff = initialBackoff.toMillis() * Math.pow(backoffMultiplier, failedAttempts - 1);
+        return (long) Math.min(backoff, maxBackoff.toMillis());
+    }
+}
@@ -0,0 +1,189 @@
+package org.jeactor.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.jeactor.util.concurrent.NotThreadSafe;
+import org.jeactor.util.concurrent.bulkhead.OverflowPolicy;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/** Consumer policy builder implementation. */
+@NotThreadSafe
+public class ConsumerPolicyBuilderImpl implements Builder<ConsumerPolicy> {
+    /** Default average execution time above which an adaptive consumer is submitted to the reactor's executor. */
+    public static final Duration DEFAULT_ADAPTIVE_THRESHOLD = Duration.ofNanos(50_000);
+
+    private int maxConcurrency;
+    private int queueCapacity;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+    private Duration latencyThreshold;
+    private int slowCallThreshold;
+    private Duration breakDuration;
+    private int maxAttempts = 1;
+    private Duration initialBackoff = Duration.ZERO;
+    private double backoffMultiplier = 1;
+    private Duration maxBackoff = Duration.ZERO;
+    private ExecutionHint executionHint = ExecutionHint.EXECUTOR;
+    private Duration adaptiveThreshold = DEFAULT_ADAPTIVE_THRESHOLD;
+    private final List<PriorityConsumer<Event>> prerequisites = new ArrayList<>();
+    private int replayMaxEvents;
+    private Duration replayMaxAge;
+
+    /**
+     * Isolates the consumer in a bulkhead: at most maxConcurrency of its executions are in flight on the reactor's executor,
+     * further events wait in a queue of its own, and events delivered to a full queue are handled by the overflow policy.
+     * 
+     * @param maxConcurrency a positive maximal number of in flight executions
+     * @param queueCapacity a non negative capacity of the consumer's queue
+     * @param overflowPolicy a policy of handling events delivered to a full queue
+     * @return this builder object
+     * @throws ValidationException when null overflowPolicy is supplied, maxConcurrency is not positive or queueCapacity is negative
+     */
+    public ConsumerPolicyBuilderImpl withBulkhead(final int maxConcurrency, final int queueCapacity, final OverflowPolicy overflowPolicy) throws ValidationException {
+        Validations.validateNotNull(overflowPolicy);
+        Validations.validatePositive(maxConcurrency, queueCapacity + 1);
+        this.maxConcurrency = maxConcurrency;
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        return this;
+    }
+
+    /**
+     * Sheds the events of the consumer while its executions are slow: after slowCallThreshold consecutive executions take longer than
+     * latencyThreshold, events are dropped for breakDuration, and then a single trial execution decides wether to resume.
+     * 
+     * @param latencyThreshold a positive latency above which an execution is slow
+     * @param slowCallThreshold a positive number of consecutive slow executions that opens the circuit breaker
+     * @param breakDuration a positive time events are shed before a trial execution
+     * @return this builder object
+     * @throws ValidationException when null argument is supplied or an argument is not positive
+     */
+    public ConsumerPolicyBuilderImpl withCircuitBreaker(final Duration latencyThreshold, final int slowCallThreshold, final Duration breakDuration) throws ValidationException {
+        Validations.validateNotNull(latencyThreshold, breakDuration);
+        Validations.validatePositive(latencyThreshold.toNanos(), breakDuration.toNanos());
+        Validations.validatePositive(slowCallThreshold);
+        this.latencyThreshold = latencyThreshold;
+        this.slowCallThreshold = slowCallThreshold;
+        this.breakDuration = breakDuration;
+        return this;
+    }
+
+    /**
+     * Retries the consumption of an event that the consumer failed on, up to maxAttempts attempts in total, and dead letters the event
+     * once they are exhausted. Retries wait on the reactor's timer rather than on a worker thread, the first for initialBackoff and every
+     * further one multiplier times longer, up to maxBackoff.
+     * 
+     * @param maxAttempts a positive maximal number of attempts, including the first one
+     * @param initialBackoff a non negative delay before the first retry
+     * @param multiplier a factor of at least 1 the delay grows by on every further retry
+     * @param maxBackoff a maximal delay before a retry, not shorter than initialBackoff
+     * @return this builder object
+     * @throws ValidationException when null argument is supplied, maxAttempts is not positive, multiplier is less than 1 or the backoffs are invalid
+     */
+    public ConsumerPolicyBuilderImpl withRetry(final int maxAttempts, final Duration initialBackoff, final double multiplier, final Duration maxBackoff) throws ValidationException {
+        Validations.validateNotNull(initialBackoff, maxBackoff);
+        Validations.validatePositive(maxAttempts);
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0 || !(multiplier >= 1))
+            throw new ValidationException("backoffs must be ordered and multiplier must be at least 1");
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.backoffMultiplier = multiplier;
+        this.maxBackoff = maxBackoff;
+        return this;
+    }
+
+    /**
+     * Sets where the consumer is executed. Defaults to EXECUTOR. An INLINE consumer runs on the reactor's dispatching thread, 
+     * so it must be cheap and must never block, or it delays the dispatching of every other event.
+     * 
+     * @param executionHint a hint of where the consumer is executed
+     * @return this builder object
+     * @throws ValidationException when null argument is supplied
+     */
+    public ConsumerPolicyBuilderImpl withExecutionHint(final ExecutionHint executionHint) throws ValidationException {
+        Validations.validateNotNull(executionHint);
+        this.executionHint = executionHint;
+        return this;
+    }
+
+    /**
+     * Executes the consumer adaptively: inline while its average execution time does not exceed the accepted threshold, and on the reactor's executor otherwise.
+     * 
+     * @param threshold a positive average execution time above which the consumer is submitted to the reactor's executor
+     * @return this builder object
+     * @throws ValidationException when null argument is supplied or threshold is not positive
+     */
+    public ConsumerPolicyBuilderImpl withAdaptiveExecution(final Duration threshold) throws ValidationException {
+        Validations.validateNotNull(threshold);
+        Validations.validatePositive(threshold.toNanos());
+        this.executionHint = ExecutionHint.ADAPTIVE;
+        this.adaptiveThreshold = threshold;
+        return this;
+    }
+
+    /**
+     * Adds a consumer that must have consumed an event before the consumer does, when both are registered with the event type. 
+     * Consumers without a path of prerequisites between them consume an event in parallel.
+     * 
+     * <p>A prerequisite counts as done once it has consumed the event, or once the event has been dead lettered for it, so a failing 
+     * prerequisite never holds its dependents back forever, while an event shed by its bulkhead is never delivered to its dependents either. 
+     * A prerequisite that is not registered with the event type is ignored.
+     * 
+     * @param prerequisite a consumer to run after
+     * @return this builder object
+     * @throws ValidationException when null argument is supplied
+     */
+    public ConsumerPolicyBuilderImpl withPrerequisite(final PriorityConsumer<Event> prerequisite) throws ValidationException {
+        Validations.validateNotNull(prerequisite);
+        this.prerequisites.add(prerequisite);
+        return this;
+    }
+
+    /**
+     * Replays up to the accepted number of the latest events of the event type to the consumer when it is registered, if the reactor 
+     * keeps a history of the event type. The replayed events are handed to the consumer's delivery before any event dispatched after 
+     * the registration, with no gap and no duplicate in between. That is submission order only: an executor with more than one thread 
+     * may run replayed and live events concurrently, and replayed events skip prerequisites and ordered delivery. May be combined 
+     * with a maximal age.
+     * 
+     * @param maxEvents a positive maximal number of replayed events
+     * @return this builder object
+     * @throws ValidationException when maxEvents is not positive
+     */
+    public ConsumerPolicyBuilderImpl withReplay(final int maxEvents) throws ValidationException {
+        Validations.validatePositive(maxEvents);
+        this.replayMaxEvents = maxEvents;
+        return this;
+    }
+
+    /**
+     * Replays the events of the event type dispatched within the accepted age to the consumer when it is registered, if the reactor 
+     * keeps a history of the event type. The replayed events are handed to the consumer's delivery before any event dispatched after 
+     * the registration, with no gap and no duplicate in between. That is submission order only: an executor with more than one thread 
+     * may run replayed and live events concurrently, and replayed events skip prerequisites and ordered delivery. May be combined 
+     * with a maximal number of events.
+     * 
+     * @param maxAge a positive maximal age of replayed events
+     * @return this builder object
+     * @throws ValidationException when null argument is supplied or maxAge is not positive
+     */
+    public ConsumerPolicyBuilderImpl withReplay(final Duration maxAge) throws ValidationException {
+        Validations.validateNotNull(maxAge);
+        Validations.validatePositive(maxAge.toMillis());
+        this.replayMaxAge = maxAge;
+        return this;
+    }
+
+    /**
+     * The method builds a new immutable consumer policy.
+     * 
+     * @return a new consumer policy
+     */
+    @Override
+    public ConsumerPolicy build() {
+        return new ConsumerPolicy(maxConcurrency, queueCapacity, overflowPolicy, latencyThreshold, slowCallThreshold, breakDuration,
+            maxAttempts, initialBackoff, backoffMultiplier, maxBackoff, executionHint, adaptiveThreshold, prerequisites,
+            0 == replayMaxEvents && null != replayMaxAge ? Integer.MAX_VALUE : replayMaxEvents, replayMaxAge);
+    }
+}
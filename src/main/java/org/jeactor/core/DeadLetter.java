@@ -0,0 +1,99 @@
+package org.jeactor.core;
+
+import org.jeactor.util.concurrent.ThreadSafe;
+
+/** Represents an immutable record of an event that a consumer failed to consume after all its attempts. */
+@ThreadSafe
+public final class DeadLetter {
+    private final Event event;
+    private final Subscription subscription;
+    private final Throwable cause;
+    private final int attempts;
+    private final long timestamp;
+
+    /**
+     * Creates a dead letter.
+     * 
+     * @param event an event that failed to be consumed
+     * @param subscription a subscription of the failing consumer
+     * @param cause a failure of the last attempt
+     * @param attempts a number of attempts made
+     */
+    DeadLetter(final Event event, final Subscription subscription, final Throwable cause, final int attempts) {
+        this.event = event;
+        this.subscription = subscription;
+        this.cause = cause;
+        this.attempts = attempts;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the event that failed to be consumed.
+     * 
+     * @return the event
+     */
+    public Event getEvent() {
+        return event;
+    }
+
+    /**
+     * Returns the consumer that failed to consume the event.
+     * 
+     * @return the consumer
+     */
+    public PriorityConsumer<Event> getConsumer() {
+        return subscription.getConsumer();
+    }
+
+    /**
+     * Returns the failure of the last attempt.
+     * 
+     * @return the failure of the last attempt
+     */
+    public Throwable getCause() {
+        return cause;
+    }
+
+    /**
+     * Returns the number of attempts made.
+     * 
+     * @return the number of attempts
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Returns the time the event has been dead lettered at.
+     * 
+     * @return a timestamp in milliseconds
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the subscription of the failing consumer.
+     * 
+     * @return the subscription
+     */
+    Subscription getSubscription() {
+        return subscription;
+    }
+
+    /**
+     * Generates a string representation of this object.
+     * 
+     * @return a string representation of this object
+     */
+    @Override
+    public String toString() {
+        return "DeadLetter{" +
+                "event=" + event +
+                ", consumer=" + subscription.getConsumer() +
+                ", cause=" + cause +
+                ", attempts=" + attempts +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
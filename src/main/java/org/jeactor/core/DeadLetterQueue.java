@@ -0,0 +1,28 @@
+package org.jeactor.core;
+
+import java.util.List;
+import java.util.function.Consumer;
+import org.jeactor.util.concurrent.ThreadSafe;
+
+/** 
+ * Represents a channel of dead letters, i.e. events that consumers failed to consume after all their attempts.
+ * 
+ * <p>Implementations may keep dead letters in memory or journal them, and must not block the calling consumer thread for long.
+ */
+@ThreadSafe
+public interface DeadLetterQueue extends Consumer<DeadLetter> {
+    /**
+     * Removes and returns up to the accepted number of the oldest dead letters.
+     * 
+     * @param maxDeadLetters a maximal number of dead letters to remove
+     * @return a list of the removed dead letters, oldest first
+     */
+    List<DeadLetter> drain(int maxDeadLetters);
+
+    /**
+     * Returns the number of dead letters held.
+     * 
+     * @return the number of dead letters
+     */
+    int size();
+}
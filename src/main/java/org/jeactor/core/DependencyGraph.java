@@ -0,0 +1,195 @@
+package org.jeactor.core;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.jeactor.util.concurrent.ThreadSafe;
+import jakarta.validation.ValidationException;
+
+/**
+ * Represents an immutable snapshot of the subscriptions of an event type, and of the dependencies their policies declare between them.
+ *
+ * <p>The snapshot is built once per change of the registrations of the event type. Dispatching an event to it delivers the event to the
+ * subscriptions without prerequisites at once, and to every other subscription as soon as all its prerequisites are done with the event,
+ * so independent branches run in parallel on the executor.
+ */
+@ThreadSafe
+final class DependencyGraph {
+    private static final int[] NO_DEPENDENTS = new int[0];
+
+    private final Subscription[] subscriptions;
+    private final Subscription[] ordered; // by descending consumer priority
+    private final int[] inDegrees;
+    private final int[][] dependents;
+    private final int[] roots;
+    private final boolean dependent;
+
+    /**
+     * Creates a snapshot of the accepted subscriptions.
+     *
+     * @param eventConsumers subscriptions of an event type
+     * @throws ValidationException when the prerequisites of the subscriptions form a cycle
+     */
+    DependencyGraph(final Collection<PriorityConsumer<Event>> eventConsumers) throws ValidationException {
+        this.subscriptions = eventConsumers.toArray(new Subscription[0]);
+        this.ordered = subscriptions.clone();
+        // the snapshot iterates in heap order, consumers of equal priority keep no particular order
+        Arrays.sort(ordered, Collections.reverseOrder());
+
+        final int n = subscriptions.length;
+        this.inDegrees = new int[n];
+        final int[][] edges = new int[n][];
+        boolean anyPrerequisite = false;
+        for (int i = 0; i < n; i++) {
+            edges[i] = NO_DEPENDENTS;
+            anyPrerequisite |= subscriptions[i].getPolicy().hasPrerequisites();
+        }
+        this.dependent = anyPrerequisite;
+
+        if (dependent) {
+            for (int i = 0; i < n; i++) {
+                for (final PriorityConsumer<Event> prerequisite : subscriptions[i].getPolicy().getPrerequisites()) {
+                    final int j = indexOf(prerequisite);
+                    // prerequisites registered with other event types only are ignored
+                    if (0 <= j) {
+                        edges[j] = Arrays.copyOf(edges[j], edges[j].length + 1);
+                        edges[j][edges[j].length - 1] = i;
+                        inDegrees[i]++;
+                    }
+                }
+            }
+        }
+        this.dependents = edges;
+        this.roots = rootsOf(inDegrees);
+        if (dependent)
+            validateAcyclic();
+    }
+
+    /**
+     * Delivers the accepted event to every subscription, respecting the dependencies between them.
+     *
+     * <p>A subscription that fails to take the event, e.g. because its executor rejects it, is counted and skipped, so the other 
+     * subscriptions still get the event.
+     *
+     * @param event an event to dispatch
+     * @param failureCount a counter of the subscriptions that failed to take the event
+     */
+    void dispatch(final Event event, final LongAdder failureCount) {
+        if (!dependent) {
+            for (final Subscription subscription : subscriptions) {
+                try {
+                    subscription.dispatch(event);
+                } catch (final RuntimeException e) {
+                    failureCount.increment();
+                }
+            }
+            return;
+        }
+
+        // counts the prerequisites every subscription still waits for, per event
+        final AtomicIntegerArray pending = new AtomicIntegerArray(inDegrees);
+        for (final int root : roots)
+            dispatch(event, root, pending, failureCount);
+    }
+
+    /**
+     * Delivers the accepted event to the accepted subscription, and to each of its dependents once it is their last pending prerequisite.
+     *
+     * @param event an event to dispatch
+     * @param index an index of the subscription
+     * @param pending the numbers of pending prerequisites of the event
+     * @param failureCount a counter of the subscriptions that failed to take the event
+     */
+    private void dispatch(final Event event, final int index, final AtomicIntegerArray pending, final LongAdder failureCount) {
+        final int[] next = dependents[index];
+        final Runnable release = 0 == next.length ? null : new Runnable() {
+            @Override
+            public void run() {
+                for (final int dependentIndex : next) {
+                    if (0 == pending.decrementAndGet(dependentIndex))
+                        dispatch(event, dependentIndex, pending, failureCount);
+                }
+            }
+        };
+        try {
+            subscriptions[index].dispatch(event, release);
+        } catch (final RuntimeException e) {
+            // e.g. a rejecting executor, which must not keep the other subscriptions from getting the event, so like a dead letter 
+            // the failure releases the dependents
+            failureCount.increment();
+            if (null != release)
+                release.run();
+        }
+    }
+
+    /**
+     * Returns the subscriptions ordered from the highest to the lowest consumer priority.
+     *
+     * @return the ordered subscriptions, must not be modified
+     */
+    Subscription[] getOrdered() {
+        return ordered;
+    }
+
+    /**
+     * Returns the number of subscriptions.
+     *
+     * @return the number of subscriptions
+     */
+    int size() {
+        return subscriptions.length;
+    }
+
+    /**
+     * Returns the index of the subscription of the accepted consumer.
+     *
+     * @param consumer a consumer
+     * @return the index of its subscription, or -1 if it is not registered with the event type
+     */
+    private int indexOf(final PriorityConsumer<Event> consumer) {
+        for (int i = 0; i < subscriptions.length; i++)
+            if (subscriptions[i].getConsumer().equals(consumer))
+                return i;
+        return -1;
+    }
+
+    /**
+     * Validates that every subscription is reachable from the roots once its prerequisites are, i.e. that there is no cycle.
+     *
+     * @throws ValidationException when the prerequisites form a cycle
+     */
+    private void validateAcyclic() throws ValidationException {
+        final int[] remaining = inDegrees.clone();
+        final int[] queue = new int[subscriptions.length];
+        int tail = 0;
+        for (final int root : roots)
+            queue[tail++] = root;
+        for (int head = 0; head < tail; head++) {
+            for (final int next : dependents[queue[head]])
+                if (0 == --remaining[next])
+                    queue[tail++] = next;
+        }
+        if (tail != subscriptions.length)
+            throw new ValidationException("Prerequisites of the consumers form a cycle");
+    }
+
+    /**
+     * Returns the indexes of the subscriptions without prerequisites.
+     *
+     * @param inDegrees the numbers of prerequisites per subscription
+     * @return the indexes of the roots
+     */
+    private static int[] rootsOf(final int[] inDegrees) {
+        int count = 0;
+        for (final int inDegree : inDegrees)
+            if (0 == inDegree)
+                count++;
+        final int[] roots = new int[count];
+        for (int i = 0, j = 0; i < inDegrees.length; i++)
+            if (0 == inDegrees[i])
+                roots[j++] = i;
+        return roots;
+    }
+}
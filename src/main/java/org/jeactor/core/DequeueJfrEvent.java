@@ -0,0 +1,27 @@
+package org.jeactor.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** 
+ * Represents a flight recorder event of the reactor's background thread taking an event from the event demultiplexor.
+ * 
+ * <p>The queue wait is measured from the event's timestamp, with a millisecond resolution, so it includes the delay of a scheduled event.
+ */
+@Name("org.jeactor.Dequeue")
+@Label("Dequeue")
+@Category({ "Jeactor", "Reactor" })
+@Description("An event taken from the event demultiplexor by the reactor's background thread")
+@StackTrace(false)
+final class DequeueJfrEvent extends jdk.jfr.Event {
+    @Label("Event Type")
+    String eventType;
+
+    @Label("Queue Wait")
+    @Timespan(Timespan.MILLISECONDS)
+    long queueWait;
+}
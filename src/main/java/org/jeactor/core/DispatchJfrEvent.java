@@ -0,0 +1,31 @@
+package org.jeactor.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** 
+ * Represents a flight recorder event of dispatching an event to its registered consumers.
+ * 
+ * <p>Its duration covers acquiring the registry lock, whose share is recorded as the lock wait, and handing the event to every subscription.
+ */
+@Name("org.jeactor.Dispatch")
+@Label("Dispatch")
+@Category({ "Jeactor", "Reactor" })
+@Description("An event dispatched to the consumers registered with its type")
+@StackTrace(false)
+final class DispatchJfrEvent extends jdk.jfr.Event {
+    @Label("Event Type")
+    String eventType;
+
+    @Label("Fan Out")
+    @Description("Number of subscriptions the event has been handed to")
+    int fanOut;
+
+    @Label("Registry Lock Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    long lockWait;
+}
@@ -1,6 +1,7 @@
 package org.jeactor.core;
 
 import java.util.Objects;
+import org.jeactor.trace.TraceContext;
 import org.jeactor.util.concurrent.ThreadSafe;
 import org.jeactor.util.validation.Validations;
 import jakarta.validation.ValidationException;
@@ -15,6 +16,9 @@ public final class Event implements Comparable<Event> {
     private final String jsonPayload;
     private final Long timestamp;
     private final UUID uuid;
+    private final Long deadline;
+    private final String conflationKey;
+    private final TraceContext traceContext;
 
     /**
      * Creates an immutable event of the accepted type and with the accepted priority.
@@ -27,13 +31,107 @@ public final class Event implements Comparable<Event> {
      * @throws ValidationException when null eventType or uuid supplied
      */
     public Event(final String eventType, final Priority eventPriority, final EventPattern eventPattern, final String jsonPayload, final UUID uuid) throws ValidationException {
+        this(eventType, eventPriority, eventPattern, jsonPayload, uuid, null);
+    }
+
+    /**
+     * Creates an immutable event of the accepted type and with the accepted priority, that expires at the accepted deadline.
+     * 
+     * @param eventType a string type of the event
+     * @param eventPriority an EventPriority constant that represents the priority of the event, if null default to Normal
+     * @param eventPattern an EventPattern describing the pattern of the event
+     * @param jsonPayload an immutable json string that contains event payload
+     * @param uuid a uuid for the event
+     * @param deadline an absolute time in milliseconds after which the event is expired, if null the event never expires
+     * @throws ValidationException when null eventType or uuid supplied
+     */
+    public Event(final String eventType, final Priority eventPriority, final EventPattern eventPattern, final String jsonPayload, final UUID uuid, final Long deadline) throws ValidationException {
+        this(eventType, eventPriority, eventPattern, jsonPayload, uuid, deadline, null);
+    }
+
+    /**
+     * Creates an immutable event of the accepted type and with the accepted priority, that expires at the accepted deadline and may be conflated by the accepted key.
+     * 
+     * @param eventType a string type of the event
+     * @param eventPriority an EventPriority constant that represents the priority of the event, if null default to Normal
+     * @param eventPattern an EventPattern describing the pattern of the event
+     * @param jsonPayload an immutable json string that contains event payload
+     * @param uuid a uuid for the event
+     * @param deadline an absolute time in milliseconds after which the event is expired, if null the event never expires
+     * @param conflationKey a key of the entity whose state the event carries, if null the event is never conflated
+     * @throws ValidationException when null eventType or uuid supplied
+     */
+    public Event(final String eventType, final Priority eventPriority, final EventPattern eventPattern, final String jsonPayload, final UUID uuid, final Long deadline, final String conflationKey) throws ValidationException {
+        this(eventType, eventPriority, eventPattern, jsonPayload, uuid, deadline, conflationKey, System.currentTimeMillis());
+    }
+
+    /**
+     * Creates an immutable event with the accepted timestamp, e.g. when an event is decoded from its binary form.
+     * 
+     * @param eventType a string type of the event
+     * @param eventPriority an EventPriority constant that represents the priority of the event, if null default to Normal
+     * @param eventPattern an EventPattern describing the pattern of the event
+     * @param jsonPayload an immutable json string that contains event payload
+     * @param uuid a uuid for the event
+     * @param deadline an absolute time in milliseconds after which the event is expired, if null the event never expires
+     * @param conflationKey a key of the entity whose state the event carries, if null the event is never conflated
+     * @param timestamp a timestamp of the event in milliseconds
+     * @throws ValidationException when null eventType or uuid supplied
+     */
+    Event(final String eventType, final Priority eventPriority, final EventPattern eventPattern, final String jsonPayload, final UUID uuid, final Long deadline, final String conflationKey, final long timestamp) throws ValidationException {
         Validations.validateNotNull(eventType, uuid);
-        timestamp = System.currentTimeMillis();
+        this.timestamp = timestamp;
         this.uuid = uuid;
         this.eventType = eventType;
         this.eventPriority = null == eventPriority ? Priority.NORMAL : eventPriority;
         this.eventPattern = eventPattern;
         this.jsonPayload = jsonPayload;
+        this.deadline = deadline;
+        this.conflationKey = conflationKey;
+        this.traceContext = null;
+    }
+
+    /**
+     * Creates a copy of the accepted event with the accepted priority and trace context.
+     * 
+     * @param event an event to copy
+     * @param eventPriority a priority of the copy
+     * @param traceContext a trace context of the copy
+     */
+    private Event(final Event event, final Priority eventPriority, final TraceContext traceContext) {
+        this.eventType = event.eventType;
+        this.eventPriority = eventPriority;
+        this.eventPattern = event.eventPattern;
+        this.jsonPayload = event.jsonPayload;
+        this.timestamp = event.timestamp;
+        this.uuid = event.uuid;
+        this.deadline = event.deadline;
+        this.conflationKey = event.conflationKey;
+        this.traceContext = traceContext;
+    }
+
+    /**
+     * Returns a copy of this event with the accepted priority. The copy keeps the timestamp and the uuid of this event.
+     * 
+     * @param eventPriority a priority of the copy
+     * @return a copy of this event with the accepted priority
+     * @throws ValidationException when null argument is supplied
+     */
+    public Event withEventPriority(final Priority eventPriority) throws ValidationException {
+        Validations.validateNotNull(eventPriority);
+        return new Event(this, eventPriority, traceContext);
+    }
+
+    /**
+     * Returns a copy of this event with the accepted trace context. The copy keeps the timestamp and the uuid of this event.
+     * 
+     * @param traceContext a trace context of the copy
+     * @return a copy of this event with the accepted trace context
+     * @throws ValidationException when null argument is supplied
+     */
+    public Event withTraceContext(final TraceContext traceContext) throws ValidationException {
+        Validations.validateNotNull(traceContext);
+        return new Event(this, eventPriority, traceContext);
     }
 
     /**
@@ -90,6 +188,45 @@ public final class Event implements Comparable<Event> {
         return uuid;
     }
 
+    /**
+     * Returns the deadline of this event.
+     * 
+     * @return an absolute time in milliseconds after which this event is expired, or null if this event never expires
+     */
+    public Long getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Returns wether this event is expired at the accepted time.
+     * 
+     * @param nowMillis the current time in milliseconds (the same time base as System.currentTimeMillis())
+     * @return true if this event has a deadline that has passed, or false otherwise
+     */
+    public boolean isExpired(final long nowMillis) {
+        return null != deadline && deadline < nowMillis;
+    }
+
+    /**
+     * Returns the conflation key of this event.
+     * 
+     * <p>A STATE_CARRYING event with a conflation key supersedes a not yet dispatched event of the same type and key.
+     * 
+     * @return a key of the entity whose state this event carries, or null if this event is never conflated
+     */
+    public String getConflationKey() {
+        return conflationKey;
+    }
+
+    /**
+     * Returns the trace context of this event.
+     * 
+     * @return the trace context, or null if the event is not part of a sampled trace
+     */
+    public TraceContext getTraceContext() {
+        return traceContext;
+    }
+
     /**
      * Compares this object with the specified object for order. 
      * 
@@ -110,7 +247,7 @@ public final class Event implements Comparable<Event> {
     }
 
     /**
-     * Indicates wether this object equals to the accepted object.
+     * Indicates wether this object equals to the accepted object. The trace context is not compared, it describes the delivery rather than the event.
      * 
      * @param o other object to compare this object to
      * @return true if the objects are equal, or false otherwise
@@ -125,7 +262,9 @@ public final class Event implements Comparable<Event> {
             Objects.equals(eventPattern, event.eventPattern) && 
             Objects.equals(jsonPayload, event.jsonPayload) &&
             Objects.equals(timestamp, event.timestamp) &&
-            Objects.equals(uuid, event.uuid);
+            Objects.equals(uuid, event.uuid) &&
+            Objects.equals(deadline, event.deadline) &&
+            Objects.equals(conflationKey, event.conflationKey);
     }
 
     /**
@@ -135,7 +274,7 @@ public final class Event implements Comparable<Event> {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(eventType, eventPriority, eventPattern, jsonPayload, timestamp, uuid);
+        return Objects.hash(eventType, eventPriority, eventPattern, jsonPayload, timestamp, uuid, deadline, conflationKey);
     }
 
     /**
@@ -152,6 +291,9 @@ public final class Event implements Comparable<Event> {
                 ", jsonPayload=" + jsonPayload +
                 ", timestamp=" + timestamp +
                 ", uuid=" + uuid +
+                ", deadline=" + deadline +
+                ", conflationKey=" + conflationKey +
+                ", traceContext=" + traceContext +
                 '}';
     }
 }
@@ -1,5 +1,7 @@
 package org.jeactor.core;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.UUID;
 
 /** Represents an event builder. */
@@ -43,4 +45,28 @@ public interface EventBuilder {
      * @return this builder object
      */
     EventBuilderImpl withUUID(UUID uuid);
+
+    /**
+     * Sets an absolute deadline after which the event being built is expired.
+     * 
+     * @param deadline
+     * @return this builder object
+     */
+    EventBuilderImpl withDeadline(Instant deadline);
+
+    /**
+     * Sets a time-to-live, counted from build time, after which the event being built is expired.
+     * 
+     * @param timeToLive
+     * @return this builder object
+     */
+    EventBuilderImpl withTimeToLive(Duration timeToLive);
+
+    /**
+     * Sets conflation key for the event being built.
+     * 
+     * @param conflationKey
+     * @return this builder object
+     */
+    EventBuilderImpl withConflationKey(String conflationKey);
 }
@@ -1,5 +1,7 @@
 package org.jeactor.core;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.UUID;
 import org.jeactor.util.concurrent.NotThreadSafe;
 
@@ -11,6 +13,9 @@ public class EventBuilderImpl implements Builder<Event> { // counts on Event's v
     private EventPattern eventPattern;
     private String jsonPayload;
     private UUID uuid;
+    private Instant deadline;
+    private Duration timeToLive;
+    private String conflationKey;
     
     /**
      * Sets event type for the event being built.
@@ -67,6 +72,41 @@ public class EventBuilderImpl implements Builder<Event> { // counts on Event's v
         return this;
     }
 
+    /**
+     * Sets an absolute deadline after which the event being built is expired. Overrides a previously set time-to-live.
+     * 
+     * @param deadline
+     * @return this builder object
+     */
+    public EventBuilderImpl withDeadline(final Instant deadline) {
+        this.deadline = deadline;
+        this.timeToLive = null;
+        return this;
+    }
+
+    /**
+     * Sets a time-to-live, counted from build time, after which the event being built is expired. Overrides a previously set deadline.
+     * 
+     * @param timeToLive
+     * @return this builder object
+     */
+    public EventBuilderImpl withTimeToLive(final Duration timeToLive) {
+        this.timeToLive = timeToLive;
+        this.deadline = null;
+        return this;
+    }
+
+    /**
+     * Sets conflation key for the event being built.
+     * 
+     * @param conflationKey
+     * @return this builder object
+     */
+    public EventBuilderImpl withConflationKey(final String conflationKey) {
+        this.conflationKey = conflationKey;
+        return this;
+    }
+
     /**
      * The method builds a new immutable event.
      * 
@@ -74,6 +114,11 @@ public class EventBuilderImpl implements Builder<Event> { // counts on Event's v
      */
     @Override
     public Event build() {
-        return new Event(eventType, eventPriority, eventPattern, jsonPayload, uuid);
+        Long deadlineMillis = null;
+        if (null != deadline)
+            deadlineMillis = deadline.toEpochMilli();
+        else if (null != timeToLive)
+            deadlineMillis = System.currentTimeMillis() + timeToLive.toMillis();
+        return new Event(eventType, eventPriority, eventPattern, jsonPayload, uuid, deadlineMillis, conflationKey);
     }
 }
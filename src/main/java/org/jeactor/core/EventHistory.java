@@ -0,0 +1,114 @@
+package org.jeactor.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.jeactor.util.concurrent.NotThreadSafe;
+
+/**
+ * Represents a bounded history of the dispatched events of an event type, kept in preallocated ring arrays.
+ *
+ * <p>The history retains at most capacity of the latest events, and none older than the maximal age. Events are aged by the time
+ * they have been dispatched at, not by their timestamps, so an event produced with a delay is as old as its dispatch.
+ */
+@NotThreadSafe
+final class EventHistory {
+    private final Event[] events;
+    private final long[] dispatchedAt;
+    private final long maxAgeMillis;
+    private int head; // the slot the next event is written to
+    private int size;
+
+    /**
+     * Creates an empty history.
+     *
+     * @param capacity a positive maximal number of retained events
+     * @param maxAgeMillis a positive maximal age of retained events, Long.MAX_VALUE for no limit
+     */
+    EventHistory(final int capacity, final long maxAgeMillis) {
+        this.events = new Event[capacity];
+        this.dispatchedAt = new long[capacity];
+        this.maxAgeMillis = maxAgeMillis;
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Appends the accepted event, overwriting the oldest one if the history is full.
+     *
+     * @param event a dispatched event
+     * @param nowMillis the current time in milliseconds
+     */
+    void append(final Event event, final long nowMillis) {
+        evictExpired(nowMillis);
+        events[head] = event;
+        dispatchedAt[head] = nowMillis;
+        head = next(head);
+        if (size < events.length)
+            size++;
+    }
+
+    /**
+     * Returns the latest retained events, at most the accepted number of them and none older than the accepted age.
+     *
+     * @param maxEvents a maximal number of events to return
+     * @param maxAgeMillis a maximal age of the events to return, Long.MAX_VALUE for no limit
+     * @param nowMillis the current time in milliseconds
+     * @return the events from the oldest to the latest
+     */
+    List<Event> snapshot(final int maxEvents, final long maxAgeMillis, final long nowMillis) {
+        evictExpired(nowMillis);
+        final long maxAge = Math.min(this.maxAgeMillis, maxAgeMillis);
+        int count = 0;
+        for (int i = previous(head); count < Math.min(size, maxEvents) && nowMillis - dispatchedAt[i] <= maxAge; i = previous(i))
+            count++;
+
+        final List<Event> snapshot = new ArrayList<>(count);
+        for (int i = head - count < 0 ? head - count + events.length : head - count; snapshot.size() < count; i = next(i))
+            snapshot.add(events[i]);
+        return snapshot;
+    }
+
+    /**
+     * Returns the number of retained events, including those that expired since the last append or snapshot.
+     *
+     * @return the number of retained events
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Drops the oldest events that are older than the maximal age, releasing them for garbage collection.
+     *
+     * @param nowMillis the current time in milliseconds
+     */
+    private void evictExpired(final long nowMillis) {
+        while (0 < size) {
+            final int tail = head - size < 0 ? head - size + events.length : head - size;
+            if (nowMillis - dispatchedAt[tail] <= maxAgeMillis)
+                return;
+            events[tail] = null;
+            size--;
+        }
+    }
+
+    /**
+     * Returns the slot after the accepted one.
+     *
+     * @param index a slot
+     * @return the next slot
+     */
+    private int next(final int index) {
+        return events.length - 1 == index ? 0 : index + 1;
+    }
+
+    /**
+     * Returns the slot before the accepted one.
+     *
+     * @param index a slot
+     * @return the previous slot
+     */
+    private int previous(final int index) {
+        return 0 == index ? events.length - 1 : index - 1;
+    }
+}
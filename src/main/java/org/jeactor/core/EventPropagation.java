@@ -0,0 +1,70 @@
+package org.jeactor.core;
+
+import org.jeactor.util.concurrent.NotThreadSafe;
+
+/**
+ * Represents the propagation of an event along the consumers of an event type that has ordered delivery.
+ *
+ * <p>Consumers of such event type run one after another on the same thread, from the highest to the lowest priority, and any of them
+ * may call stop() to mark the event handled, which skips all the consumers after it. A consumer that has been skipped is not retried.
+ *
+ * <p>The propagation is confined to the thread running the consumers.
+ */
+@NotThreadSafe
+public final class EventPropagation {
+    private static final ThreadLocal<EventPropagation> CURRENT = new ThreadLocal<>();
+
+    private boolean stopped;
+
+    /** Creates a propagation of an event that has not been handled yet. */
+    EventPropagation() {
+        this.stopped = false;
+    }
+
+    /**
+     * Marks the event being consumed by the calling consumer as handled, so the consumers ordered after it are skipped.
+     *
+     * <p>Has no effect outside ordered delivery, e.g. when called from a consumer of an event type without ordered delivery.
+     *
+     * @return true if the event is delivered in order and its propagation has been stopped, or false otherwise
+     */
+    public static boolean stop() {
+        final EventPropagation propagation = CURRENT.get();
+        if (null == propagation)
+            return false;
+        propagation.stopped = true;
+        return true;
+    }
+
+    /**
+     * Returns wether the event has been marked handled.
+     *
+     * @return true if the propagation has been stopped, or false otherwise
+     */
+    boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Makes this propagation the current one of the calling thread.
+     *
+     * @return the previous propagation, to pass to exit()
+     */
+    EventPropagation enter() {
+        final EventPropagation previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    /**
+     * Restores the accepted previous propagation of the calling thread.
+     *
+     * @param previous the propagation returned by enter()
+     */
+    static void exit(final EventPropagation previous) {
+        if (null == previous)
+            CURRENT.remove();
+        else
+            CURRENT.set(previous);
+    }
+}
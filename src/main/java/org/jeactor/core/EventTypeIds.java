@@ -0,0 +1,93 @@
+package org.jeactor.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.lock.Locks;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/**
+ * Represents a bidirectional mapping between string event types and the int ids that stand for them in binary events.
+ *
+ * <p>Ids are assigned on first use, in the order types are seen, so processes that exchange binary events must register the types
+ * with agreed ids up front. Lookups do not lock, only assignments do.
+ */
+@ThreadSafe
+public final class EventTypeIds {
+    private final ConcurrentHashMap<String, Integer> idsByType;
+    private final ConcurrentHashMap<Integer, String> typesById;
+    private final Lock lock;
+    private int nextId; // guarded by lock
+
+    /** Creates an empty mapping. */
+    public EventTypeIds() {
+        this.idsByType = new ConcurrentHashMap<>();
+        this.typesById = new ConcurrentHashMap<>();
+        this.lock = new ReentrantLock();
+        this.nextId = 0;
+    }
+
+    /**
+     * Maps the accepted event type to the accepted id.
+     *
+     * @param eventType an event type
+     * @param id a non negative id
+     * @return this mapping
+     * @throws ValidationException when null eventType is supplied, id is negative, or either is already mapped to another one
+     */
+    public EventTypeIds register(final String eventType, final int id) throws ValidationException {
+        Validations.validateNotNull(eventType);
+        Validations.validatePositive(id + 1);
+        Locks.exec(lock, ()->{
+            final Integer mappedId = idsByType.get(eventType);
+            final String mappedType = typesById.get(id);
+            if ((null != mappedId && id != mappedId) || (null != mappedType && !eventType.equals(mappedType)))
+                throw new ValidationException("Event type " + eventType + " or id " + id + " is already mapped");
+            idsByType.put(eventType, id);
+            typesById.put(id, eventType);
+            nextId = Math.max(nextId, id + 1);
+        });
+        return this;
+    }
+
+    /**
+     * Returns the id of the accepted event type, assigning the next free one if the type has none.
+     *
+     * @param eventType an event type
+     * @return the id of the event type
+     * @throws ValidationException when null argument is supplied
+     */
+    public int idOf(final String eventType) throws ValidationException {
+        Validations.validateNotNull(eventType);
+        final Integer id = idsByType.get(eventType);
+        if (null != id)
+            return id;
+        return Locks.exec(lock, ()->{
+            final Integer assigned = idsByType.get(eventType);
+            if (null != assigned)
+                return assigned;
+            while (typesById.containsKey(nextId))
+                nextId++;
+            final int newId = nextId++;
+            typesById.put(newId, eventType);
+            idsByType.put(eventType, newId);
+            return newId;
+        });
+    }
+
+    /**
+     * Returns the event type of the accepted id.
+     *
+     * @param id an id
+     * @return the event type
+     * @throws ValidationException when the id is not mapped
+     */
+    public String typeOf(final int id) throws ValidationException {
+        final String eventType = typesById.get(id);
+        if (null == eventType)
+            throw new ValidationException("Unknown event type id " + id);
+        return eventType;
+    }
+}
@@ -0,0 +1,13 @@
+package org.jeactor.core;
+
+/** Represents hints of where a consumer is executed when an event is dispatched to it. */
+public enum ExecutionHint {
+    /** The consumer is executed on the reactor's dispatching thread, for cheap consumers that must not block. */
+    INLINE,
+
+    /** The consumer is submitted to the reactor's executor. */
+    EXECUTOR,
+
+    /** The consumer is executed inline while its average execution time stays below a threshold, and is submitted to the reactor's executor otherwise. */
+    ADAPTIVE
+}
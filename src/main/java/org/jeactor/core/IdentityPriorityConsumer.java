@@ -0,0 +1,47 @@
+package org.jeactor.core;
+
+/**
+ * Represents a consumer that has a priority and equals only itself.
+ *
+ * <p>PriorityConsumer equals every consumer of the same class and priority, which is fine for stateless consumers but lets a reactor
+ * mistake one stateful instance for another: unregistering one instance may remove another, equal one in its place.
+ * Consumers that hold state of their own, or stand for a resource like a subscription, extend this class instead.
+ *
+ * @param <T> consumed data type
+ */
+public abstract class IdentityPriorityConsumer<T> extends PriorityConsumer<T> {
+    /** Creates a consumer with NORMAL priority. */
+    protected IdentityPriorityConsumer() {
+        super();
+    }
+
+    /**
+     * Creates a consumer with the accepted priority, if it is null than the default is NORMAL.
+     *
+     * @param consumerPriority a priority of the consumer
+     */
+    protected IdentityPriorityConsumer(final Priority consumerPriority) {
+        super(consumerPriority);
+    }
+
+    /**
+     * Indicates wether this object equals to the accepted object.
+     *
+     * @param o other object to compare this object to
+     * @return true if the other object is this consumer, or false otherwise
+     */
+    @Override
+    public final boolean equals(final Object o) {
+        return this == o;
+    }
+
+    /**
+     * Generates a hash code value for the object.
+     *
+     * @return an integer identity hash code value for the object
+     */
+    @Override
+    public final int hashCode() {
+        return System.identityHashCode(this);
+    }
+}
@@ -0,0 +1,94 @@
+package org.jeactor.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.lock.Locks;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/** Represents a bounded in memory dead letter queue that discards the oldest dead letter when full. */
+@ThreadSafe
+public class InMemoryDeadLetterQueue implements DeadLetterQueue {
+    /** Default capacity. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int capacity;
+    private final ArrayDeque<DeadLetter> deadLetters;
+    private final Lock lock;
+    private final LongAdder discardedCount;
+
+    /** Creates an instance with the default capacity. */
+    public InMemoryDeadLetterQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an instance with the accepted capacity.
+     * 
+     * @param capacity a positive maximal number of dead letters to hold
+     * @throws ValidationException when capacity is not positive
+     */
+    public InMemoryDeadLetterQueue(final int capacity) throws ValidationException {
+        Validations.validatePositive(capacity);
+        this.capacity = capacity;
+        this.deadLetters = new ArrayDeque<>();
+        this.lock = new ReentrantLock();
+        this.discardedCount = new LongAdder();
+    }
+
+    /**
+     * Accepts a dead letter, discarding the oldest one if the queue is full.
+     * 
+     * @param deadLetter a dead letter to hold
+     */
+    @Override
+    public void accept(final DeadLetter deadLetter) {
+        Locks.exec(lock, ()->{
+            if (deadLetters.size() == capacity) {
+                deadLetters.pollFirst();
+                discardedCount.increment();
+            }
+            deadLetters.addLast(deadLetter);
+        });
+    }
+
+    /**
+     * Removes and returns up to the accepted number of the oldest dead letters.
+     * 
+     * @param maxDeadLetters a maximal number of dead letters to remove
+     * @return a list of the removed dead letters, oldest first
+     */
+    @Override
+    public List<DeadLetter> drain(final int maxDeadLetters) {
+        return Locks.exec(lock, ()->{
+            final List<DeadLetter> drained = new ArrayList<>(Math.max(0, Math.min(maxDeadLetters, deadLetters.size())));
+            while (drained.size() < maxDeadLetters && !deadLetters.isEmpty())
+                drained.add(deadLetters.pollFirst());
+            return drained;
+        });
+    }
+
+    /**
+     * Returns the number of dead letters held.
+     * 
+     * @return the number of dead letters
+     */
+    @Override
+    public int size() {
+        return Locks.exec(lock, ()->deadLetters.size());
+    }
+
+    /**
+     * Returns the number of dead letters discarded because the queue was full.
+     * 
+     * @return the number of discarded dead letters
+     */
+    public long getDiscardedCount() {
+        return discardedCount.sum();
+    }
+}
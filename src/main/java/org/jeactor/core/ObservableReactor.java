@@ -17,4 +17,36 @@ public interface ObservableReactor {
      * @return a boolean indicating wether the reator has been closed or not
      */
     boolean isClosed();
+
+    /**
+     * Returns the number of events that have been dropped by the reactor because they expired before being dispatched.
+     * 
+     * @return a number of expired events
+     */
+    long getExpiredEventCount();
+
+    /**
+     * Returns the number of dispatches that failed and have been contained by the reactor, so the dispatching thread survived them.
+     * 
+     * <p>The default implementation returns 0, for reactors that do not contain failed dispatches.
+     * 
+     * @return a number of failed dispatches
+     */
+    default long getDispatchFailureCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of events that have been moved into the reactor and not taken for dispatching yet.
+     * 
+     * @return a number of pending events
+     */
+    long getPendingEventCount();
+
+    /**
+     * Returns the number of events held in the reactor's dead letter queue.
+     * 
+     * @return a number of dead letters
+     */
+    int getDeadLetterCount();
 }
@@ -25,6 +25,15 @@ public abstract class PriorityConsumer<T> implements Consumer<T>, Comparable<Pri
         this.consumerPriority = null == consumerPriority ? Priority.NORMAL : consumerPriority;
     }
 
+    /**
+     * Returns the priority of this consumer.
+     * 
+     * @return a Priority of this consumer
+     */
+    public final Priority getConsumerPriority() {
+        return consumerPriority;
+    }
+
     /**
      * Compares this object with the specified object for order. 
      * 
@@ -0,0 +1,25 @@
+package org.jeactor.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** 
+ * Represents a flight recorder event of producing an event to a reactor.
+ * 
+ * <p>Its duration covers throttling and, with direct handoff, the dispatch made by the producing thread.
+ */
+@Name("org.jeactor.Produce")
+@Label("Produce")
+@Category({ "Jeactor", "Reactor" })
+@Description("An event produced to a reactor")
+@StackTrace(false)
+final class ProduceJfrEvent extends jdk.jfr.Event {
+    @Label("Event Type")
+    String eventType;
+
+    @Label("Priority")
+    String priority;
+}
@@ -1,7 +1,9 @@
 package org.jeactor.core;
 
+import java.util.concurrent.RejectedExecutionException;
 import org.jeactor.util.concurrent.ThreadSafe;
 import org.jeactor.util.registry.Registry;
+import jakarta.validation.ValidationException;
 
 /**
  * Represents a publish-subscribe based reactor. 
@@ -12,5 +14,41 @@ import org.jeactor.util.registry.Registry;
 public interface Reactor extends Startable<Thread>,
     AutoCloseable,
     Registry<String, PriorityConsumer<Event>>, 
-    Produceable<Event>, 
-    ObservableReactor {}
+    ScheduledProduceable<Event>, 
+    ObservableReactor {
+    /**
+     * Registers a consumer with an event type, delivering events to it according to the accepted policy.
+     * 
+     * @param eventType string event type identifier
+     * @param consumer a consumer of event to associate with the supplied event type
+     * @param policy a policy that controls how events are delivered to the consumer
+     * @return boolean value indicating wether the subscription succeeded or not
+     * @throws ValidationException when null argument is supplied
+     */
+    boolean register(String eventType, PriorityConsumer<Event> consumer, ConsumerPolicy policy) throws ValidationException;
+
+    /**
+     * Re-drives up to the accepted number of the oldest dead letters, delivering each event again to the consumer that failed on it.
+     * 
+     * @param maxDeadLetters a positive maximal number of dead letters to re-drive
+     * @return the number of events delivered again
+     * @throws ValidationException when maxDeadLetters is not positive
+     */
+    int redriveDeadLetters(int maxDeadLetters) throws ValidationException;
+
+    /**
+     * Produces an event to be processed by reactor, unless the reactor's rate limits reject it.
+     * 
+     * @param event an event be processed
+     * @return true if the event has been produced, or false if it has been rejected
+     * @throws ValidationException when null argument is supplied
+     */
+    default boolean tryProduce(final Event event) throws ValidationException {
+        try {
+            produce(event);
+            return true;
+        } catch (final RejectedExecutionException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package org.jeactor.core;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import org.jeactor.trace.Tracer;
+import org.jeactor.util.concurrent.NotThreadSafe;
+import org.jeactor.util.concurrent.demux.EventDemux;
+import org.jeactor.util.concurrent.demux.PriorityBlockingEventDemux;
+import org.jeactor.util.concurrent.throttle.EventThrottle;
+import org.jeactor.util.concurrent.wait.BlockingWaitStrategy;
+import org.jeactor.util.concurrent.wait.WaitStrategy;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/** 
+ * Reactor builder implementation.
+ * 
+ * <p>Note: in a multithreaded environment a client should make sure that the injected dependencies are thread safe, 
+ * and must not share an injected event demultiplexor between reactors.
+ */
+@NotThreadSafe
+public class ReactorBuilderImpl implements Builder<Reactor> {
+    private Executor executor;
+    private EventDemux eventDemux;
+    private EventThrottle eventThrottle;
+    private DeadLetterQueue deadLetterQueue;
+    private boolean directHandoff;
+    private WaitStrategy waitStrategy;
+    private Tracer tracer;
+    private final Set<String> orderedEventTypes = new HashSet<>();
+    private final Map<String, Integer> historyCapacities = new HashMap<>();
+    private final Map<String, Long> historyMaxAges = new HashMap<>();
+
+    /**
+     * Sets the executor used for execution of event consumers. Required.
+     * 
+     * @param executor
+     * @return this builder object
+     */
+    public ReactorBuilderImpl withExecutor(final Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Sets the event demultiplexor that decides the order in which produced events are dispatched. Defaults to a PriorityBlockingEventDemux.
+     * 
+     * @param eventDemux
+     * @return this builder object
+     */
+    public ReactorBuilderImpl withEventDemux(final EventDemux eventDemux) {
+        this.eventDemux = eventDemux;
+        return this;
+    }
+
+    /**
+     * Sets the rate limits enforced on produced events. Defaults to no limits.
+     * 
+     * @param eventThrottle
+     * @return this builder object
+     */
+    public ReactorBuilderImpl withEventThrottle(final EventThrottle eventThrottle) {
+        this.eventThrottle = eventThrottle;
+        return this;
+    }
+
+    /**
+     * Sets the dead letter queue that receives the events consumers failed on after all their attempts. Defaults to an InMemoryDeadLetterQueue.
+     * 
+     * @param deadLetterQueue
+     * @return this builder object
+     */
+    public ReactorBuilderImpl withDeadLetterQueue(final DeadLetterQueue deadLetterQueue) {
+        this.deadLetterQueue = deadLetterQueue;
+        return this;
+    }
+
+    /**
+     * Sets wether an event produced to an idle reactor is dispatched directly by the producing thread, saving the wake up of the 
+     * reactor's background thread. Defaults to false. Has no effect with a demultiplexor that is not lossless.
+     * 
+     * <p>Note: consumers executed inline may then run on producing threads, though never concurrently with other dispatches.
+     * 
+     * <p>Only events produced with produce() take the fast path, including those a rate limit passes or downgrades. Events produced 
+     * with a delay, and events a rate limit delays, are always enqueued once due, so the timer thread never runs dispatches.
+     * 
+     * @param directHandoff
+     * @return this builder object
+     */
+    public ReactorBuilderImpl withDirectHandoff(final boolean directHandoff) {
+        this.directHandoff = directHandoff;
+        return this;
+    }
+
+    /**
+     * Sets the strategy the reactor's background thread waits for the next event with. Defaults to a BlockingWaitStrategy.
+     * 
+     * @param waitStrategy
+     * @return this builder object
+     */
+    public ReactorBuilderImpl withWaitStrategy(final WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+        return this;
+    }
+
+    /**
+     * Sets the tracer that propagates trace contexts to produced events and exports the spans of sampled traces. Defaults to no tracing.
+     * 
+     * @param tracer
+     * @return this builder object
+     */
+    public ReactorBuilderImpl withTracer(final Tracer tracer) {
+        this.tracer = tracer;
+        return this;
+    }
+
+    /**
+     * Adds an event type whose consumers are delivered its events in order, one after another from the highest to the lowest consumer 
+     * priority, so any of them can stop the propagation of an event to the rest by EventPropagation.stop(). Defaults to none.
+     * 
+     * <p>Note: the consumers of an ordered event type run on a single task of the reactor's executor, regardless of the execution hints 
+     * and bulkheads of their policies, and the priorities order them instead of the prerequisites of their policies.
+     * 
+     * @param eventType
+     * @return this builder object
+     */
+    public ReactorBuilderImpl withOrderedDelivery(final String eventType) {
+        this.orderedEventTypes.add(eventType);
+        return this;
+    }
+
+    /**
+     * Keeps a history of up to the accepted number of the latest dispatched events of the event type, which consumers registered later 
+     * can request to be replayed by their policies. Defaults to no history.
+     * 
+     * @param eventType an event type to keep the history of
+     * @param capacity a positive maximal number of retained events, preallocated
+     * @return this builder object
+     * @throws ValidationException when null argument is supplied or capacity is not positive
+     */
+    public ReactorBuilderImpl withHistory(final String eventType, final int capacity) throws ValidationException {
+        Validations.validateNotNull(eventType);
+        Validations.validatePositive(capacity);
+        this.historyCapacities.put(eventType, capacity);
+        this.historyMaxAges.put(eventType, Long.MAX_VALUE);
+        return this;
+    }
+
+    /**
+     * Keeps a history of up to the accepted number of the latest dispatched events of the event type, none older than the accepted age, 
+     * which consumers registered later can request to be replayed by their policies. Defaults to no history.
+     * 
+     * @param eventType an event type to keep the history of
+     * @param capacity a positive maximal number of retained events, preallocated
+     * @param maxAge a positive maximal age of retained events
+     * @return this builder object
+     * @throws ValidationException when null argument is supplied or an argument is not positive
+     */
+    public ReactorBuilderImpl withHistory(final String eventType, final int capacity, final Duration maxAge) throws ValidationException {
+        Validations.validateNotNull(eventType, maxAge);
+        Validations.validatePositive(capacity);
+        Validations.validatePositive(maxAge.toMillis());
+        this.historyCapacities.put(eventType, capacity);
+        this.historyMaxAges.put(eventType, maxAge.toMillis());
+        return this;
+    }
+
+    /**
+     * The method builds a new thread-safe reactor.
+     * 
+     * @return a new reactor
+     * @throws ValidationException when no executor has been set, or a null ordered event type has been added
+     */
+    @Override
+    public Reactor build() throws ValidationException {
+        Validations.validateNotNull(executor);
+        if (orderedEventTypes.contains(null))
+            throw new ValidationException("Ordered event type must not be null");
+        return new ReactorImpl(this);
+    }
+
+    /**
+     * Returns the executor.
+     * 
+     * @return the executor
+     */
+    Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Returns the event demultiplexor, a new default one if none has been set.
+     * 
+     * @return the event demultiplexor
+     */
+    EventDemux getEventDemux() {
+        return null == eventDemux ? new PriorityBlockingEventDemux() : eventDemux;
+    }
+
+    /**
+     * Returns the event throttle.
+     * 
+     * @return the event throttle, or null if events are not throttled
+     */
+    EventThrottle getEventThrottle() {
+        return eventThrottle;
+    }
+
+    /**
+     * Returns the dead letter queue, a new default one if none has been set.
+     * 
+     * @return the dead letter queue
+     */
+    DeadLetterQueue getDeadLetterQueue() {
+        return null == deadLetterQueue ? new InMemoryDeadLetterQueue() : deadLetterQueue;
+    }
+
+    /**
+     * Returns wether events produced to an idle reactor are dispatched directly.
+     * 
+     * @return true if direct handoff is enabled, or false otherwise
+     */
+    boolean isDirectHandoff() {
+        return directHandoff;
+    }
+
+    /**
+     * Returns the wait strategy, a new default one if none has been set.
+     * 
+     * @return the wait strategy
+     */
+    WaitStrategy getWaitStrategy() {
+        return null == waitStrategy ? new BlockingWaitStrategy() : waitStrategy;
+    }
+
+    /**
+     * Returns the tracer.
+     * 
+     * @return the tracer, or null if events are not traced
+     */
+    Tracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * Returns the event types with ordered delivery.
+     * 
+     * @return a copy of the ordered event types
+     */
+    Set<String> getOrderedEventTypes() {
+        return new HashSet<>(orderedEventTypes);
+    }
+
+    /**
+     * Returns new empty histories of the event types a history is kept of.
+     * 
+     * @return the histories by event type
+     */
+    Map<String, EventHistory> getHistories() {
+        final Map<String, EventHistory> histories = new HashMap<>();
+        for (final Map.Entry<String, Integer> entry : historyCapacities.entrySet())
+            histories.put(entry.getKey(), new EventHistory(entry.getValue(), historyMaxAges.get(entry.getKey())));
+        return histories;
+    }
+}
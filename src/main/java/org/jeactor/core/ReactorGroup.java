@@ -0,0 +1,433 @@
+package org.jeactor.core;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.lock.Locks;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/**
+ * Represents a reactor that spreads its events over a group of member reactors by consistent hashing.
+ *
+ * <p>Every member owns a number of virtual nodes on a hash ring, and an event is produced into the member that owns the first virtual 
+ * node at or after the hash of the event's partition key, the event type by default. So all the events of a partition key are 
+ * dispatched by the same member, in order, and adding or removing a member remaps only the partition keys of its share of the ring.
+ *
+ * <p>Consumers are registered with every member, including members added later, so they must be thread safe. Routing reads an 
+ * immutable snapshot of the ring and takes no lock. Observability data is aggregated over the members.
+ *
+ * <p>Instances are created with ReactorGroupBuilderImpl.
+ */
+@ThreadSafe
+public final class ReactorGroup implements Reactor {
+    private final Function<Event, String> partitionKeyExtractor;
+    private final int virtualNodes;
+
+    private volatile Ring ring;
+    private final List<Registration> registrations; // guarded by membershipLock, replayed onto added members
+    private boolean started; // guarded by membershipLock
+    private boolean closed; // guarded by membershipLock
+    private final Lock membershipLock;
+
+    /**
+     * Creates a group configured by the accepted builder.
+     *
+     * @param builder a builder that holds the group configuration
+     */
+    ReactorGroup(final ReactorGroupBuilderImpl builder) {
+        this.partitionKeyExtractor = builder.getPartitionKeyExtractor();
+        this.virtualNodes = builder.getVirtualNodes();
+        this.ring = new Ring(new LinkedHashMap<>(builder.getMembers()), virtualNodes);
+        this.registrations = new ArrayList<>();
+        this.started = false;
+        this.closed = false;
+        this.membershipLock = new ReentrantLock();
+    }
+
+    /**
+     * Starts all the members.
+     *
+     * <p>The group has no background thread of its own, so it returns the thread of its first member, in insertion order of the current 
+     * members. The other members return their threads from their own start().
+     *
+     * @return the background thread of the first member
+     */
+    @Override
+    public Thread start() {
+        return Locks.exec(membershipLock, ()->{
+            started = true;
+            Thread first = null;
+            for (final Reactor member : ring.members.values()) {
+                final Thread thread = member.start();
+                if (null == first)
+                    first = thread;
+            }
+            return first;
+        });
+    }
+
+    /**
+     * Closes all the members.
+     *
+     * @throws Exception if a member fails to close
+     */
+    @Override
+    public void close() throws Exception {
+        final List<Reactor> members = Locks.exec(membershipLock, ()->{
+            closed = true;
+            return new ArrayList<>(ring.members.values());
+        });
+        for (final Reactor member : members)
+            member.close();
+    }
+
+    /**
+     * Adds a member, registering every consumer registered with the group with it, and starting it if the group has been started.
+     *
+     * @param name a unique name of the member, its virtual nodes are placed by it, so a re-added member gets the same share of the ring
+     * @param member a reactor to add
+     * @throws ValidationException when null argument is supplied or a member with the same name exists
+     */
+    public void addMember(final String name, final Reactor member) throws ValidationException {
+        Validations.validateNotNull(name, member);
+
+        Locks.exec(membershipLock, ()->{
+            if (ring.members.containsKey(name))
+                throw new ValidationException("member " + name + " already exists");
+            for (final Registration registration : registrations)
+                member.register(registration.eventType, registration.consumer, registration.policy);
+            if (started)
+                member.start();
+
+            final Map<String, Reactor> members = new LinkedHashMap<>(ring.members);
+            members.put(name, member);
+            ring = new Ring(members, virtualNodes);
+        });
+    }
+
+    /**
+     * Removes a member. The removed member is neither closed nor unregistered from, so the events already produced into it are still dispatched.
+     *
+     * @param name a name of the member to remove
+     * @return the removed member, or null if there is no member with the accepted name
+     * @throws ValidationException when null name is supplied or the member is the last one
+     */
+    public Reactor removeMember(final String name) throws ValidationException {
+        Validations.validateNotNull(name);
+
+        return Locks.exec(membershipLock, ()->{
+            if (!ring.members.containsKey(name))
+                return null;
+            if (1 == ring.members.size())
+                throw new ValidationException("a group must have at least one member");
+
+            final Map<String, Reactor> members = new LinkedHashMap<>(ring.members);
+            final Reactor removed = members.remove(name);
+            ring = new Ring(members, virtualNodes);
+            return removed;
+        });
+    }
+
+    /**
+     * Returns the members by name.
+     *
+     * @return an unmodifiable snapshot of the members
+     */
+    public Map<String, Reactor> getMembers() {
+        return ring.members;
+    }
+
+    /**
+     * Returns the member the accepted event is routed to.
+     *
+     * @param event an event
+     * @return the member that owns the partition key of the event
+     * @throws ValidationException when null argument is supplied
+     */
+    public Reactor route(final Event event) throws ValidationException {
+        Validations.validateNotNull(event);
+
+        final String partitionKey = partitionKeyExtractor.apply(event);
+        return ring.owner(hash(null == partitionKey ? event.getEventType() : partitionKey));
+    }
+
+    /**
+     * Registers a consumer with an event type on every member, current and future, with the default policy.
+     *
+     * @param eventType string event type identifier
+     * @param consumer a thread safe consumer of event to associate with the supplied event type
+     * @return true if the consumer has been registered with at least one member, or false otherwise
+     * @throws ValidationException when null argument is supplied
+     */
+    @Override
+    public boolean register(final String eventType, final PriorityConsumer<Event> consumer) throws ValidationException {
+        return register(eventType, consumer, ConsumerPolicy.DEFAULT);
+    }
+
+    /**
+     * Registers a consumer with an event type on every member, current and future, delivering events to it according to the accepted policy.
+     *
+     * @param eventType string event type identifier
+     * @param consumer a thread safe consumer of event to associate with the supplied event type
+     * @param policy a policy that controls how events are delivered to the consumer
+     * @return true if the consumer has been registered with at least one member, or false otherwise
+     * @throws ValidationException when null argument is supplied
+     */
+    @Override
+    public boolean register(final String eventType, final PriorityConsumer<Event> consumer, final ConsumerPolicy policy) throws ValidationException {
+        Validations.validateNotNull(eventType, consumer, policy);
+
+        return Locks.exec(membershipLock, ()->{
+            boolean registered = false;
+            for (final Reactor member : ring.members.values())
+                registered |= member.register(eventType, consumer, policy);
+            if (registered)
+                registrations.add(new Registration(eventType, consumer, policy));
+            return registered;
+        });
+    }
+
+    /**
+     * Unregisters a consumer from an event type on every member, including members it will not be registered with anymore.
+     *
+     * @param eventType string event type identifier
+     * @param consumer a consumer to unregister
+     * @return true if the consumer has been unregistered from at least one member, or false otherwise
+     * @throws ValidationException when null argument is supplied
+     */
+    @Override
+    public boolean unregister(final String eventType, final PriorityConsumer<Event> consumer) throws ValidationException {
+        Validations.validateNotNull(eventType, consumer);
+
+        return Locks.exec(membershipLock, ()->{
+            boolean unregistered = false;
+            for (final Reactor member : ring.members.values())
+                unregistered |= member.unregister(eventType, consumer);
+            registrations.removeIf((registration)->registration.eventType.equals(eventType) && registration.consumer.equals(consumer));
+            return unregistered;
+        });
+    }
+
+    /**
+     * Produces an event into the member that owns its partition key.
+     *
+     * @param event an event be processed
+     * @throws ValidationException when null argument is supplied
+     * @throws RejectedExecutionException when the member rejects the event
+     */
+    @Override
+    public void produce(final Event event) throws ValidationException, RejectedExecutionException {
+        route(event).produce(event);
+    }
+
+    /**
+     * Produces an event at the accepted instant into the member that owns its partition key now.
+     *
+     * @param event an event be processed
+     * @param instant an instant at which the event is produced
+     * @throws ValidationException when null argument is supplied
+     */
+    @Override
+    public void produceAt(final Event event, final Instant instant) throws ValidationException {
+        Validations.validateNotNull(instant);
+        route(event).produceAt(event, instant);
+    }
+
+    /**
+     * Produces an event after the accepted delay into the member that owns its partition key now.
+     *
+     * @param event an event be processed
+     * @param delay a delay after which the event is produced
+     * @throws ValidationException when null argument is supplied
+     */
+    @Override
+    public void produceAfter(final Event event, final Duration delay) throws ValidationException {
+        Validations.validateNotNull(delay);
+        route(event).produceAfter(event, delay);
+    }
+
+    /**
+     * Re-drives up to the accepted number of the oldest dead letters of every member, member by member.
+     *
+     * @param maxDeadLetters a positive maximal number of dead letters to re-drive
+     * @return the number of events delivered again
+     * @throws ValidationException when maxDeadLetters is not positive
+     */
+    @Override
+    public int redriveDeadLetters(final int maxDeadLetters) throws ValidationException {
+        Validations.validatePositive(maxDeadLetters);
+
+        int redriven = 0;
+        for (final Reactor member : ring.members.values()) {
+            if (redriven < maxDeadLetters)
+                redriven += member.redriveDeadLetters(maxDeadLetters - redriven);
+        }
+        return redriven;
+    }
+
+    /**
+     * Returns the class of the executor shared by the members, or Executor if they use different executor classes.
+     *
+     * @return a class of the executor used by the members
+     */
+    @Override
+    public Class<? extends Executor> getExecutorClass() {
+        Class<? extends Executor> executorClass = null;
+        for (final Reactor member : ring.members.values()) {
+            if (null == executorClass)
+                executorClass = member.getExecutorClass();
+            else if (!executorClass.equals(member.getExecutorClass()))
+                return Executor.class;
+        }
+        return executorClass;
+    }
+
+    /**
+     * Returns wether the group has been closed or not.
+     *
+     * @return a boolean indicating wether the group has been closed or not
+     */
+    @Override
+    public boolean isClosed() {
+        return Locks.exec(membershipLock, ()->closed);
+    }
+
+    /**
+     * Returns the number of expired events of all the members.
+     *
+     * @return a number of expired events
+     */
+    @Override
+    public long getExpiredEventCount() {
+        return ring.members.values().stream().mapToLong(Reactor::getExpiredEventCount).sum();
+    }
+
+    /**
+     * Returns the number of failed dispatches of all the members.
+     *
+     * @return a number of failed dispatches
+     */
+    @Override
+    public long getDispatchFailureCount() {
+        return ring.members.values().stream().mapToLong(Reactor::getDispatchFailureCount).sum();
+    }
+
+    /**
+     * Returns the number of pending events of all the members.
+     *
+     * @return a number of pending events
+     */
+    @Override
+    public long getPendingEventCount() {
+        return ring.members.values().stream().mapToLong(Reactor::getPendingEventCount).sum();
+    }
+
+    /**
+     * Returns the number of dead letters of all the members.
+     *
+     * @return a number of dead letters
+     */
+    @Override
+    public int getDeadLetterCount() {
+        return ring.members.values().stream().mapToInt(Reactor::getDeadLetterCount).sum();
+    }
+
+    /**
+     * Hashes the accepted string into the ring, with 64 bit FNV-1a followed by the murmur3 finalizer for avalanche.
+     *
+     * @param s a string to hash
+     * @return a 64 bit hash
+     */
+    static long hash(final String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /** Represents an immutable hash ring of the members' virtual nodes. */
+    private static final class Ring {
+        private final Map<String, Reactor> members;
+        private final long[] hashes; // sorted
+        private final Reactor[] owners; // owners[i] owns hashes[i]
+
+        /**
+         * Creates a ring.
+         *
+         * @param members the members by name
+         * @param virtualNodes a number of virtual nodes per member
+         */
+        private Ring(final Map<String, Reactor> members, final int virtualNodes) {
+            this.members = Collections.unmodifiableMap(members);
+            final long[][] nodes = new long[members.size() * virtualNodes][];
+            final List<Reactor> reactors = new ArrayList<>(members.values());
+            int i = 0;
+            int memberIndex = 0;
+            for (final String name : members.keySet()) {
+                for (int node = 0; node < virtualNodes; node++)
+                    nodes[i++] = new long[] {hash(name + "#" + node), memberIndex};
+                memberIndex++;
+            }
+            // ties are broken by member index, so the ring does not depend on the order nodes were computed in
+            Arrays.sort(nodes, (a, b)->0 != Long.compare(a[0], b[0]) ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+            this.hashes = new long[nodes.length];
+            this.owners = new Reactor[nodes.length];
+            for (i = 0; i < nodes.length; i++) {
+                hashes[i] = nodes[i][0];
+                owners[i] = reactors.get((int) nodes[i][1]);
+            }
+        }
+
+        /**
+         * Returns the owner of the first virtual node at or after the accepted hash, wrapping around the ring.
+         *
+         * @param hash a hash of a partition key
+         * @return the owning member
+         */
+        private Reactor owner(final long hash) {
+            int index = Arrays.binarySearch(hashes, hash);
+            if (index < 0)
+                index = -index - 1;
+            return owners[index == hashes.length ? 0 : index];
+        }
+    }
+
+    /** Represents a registration replayed onto added members. */
+    private static final class Registration {
+        private final String eventType;
+        private final PriorityConsumer<Event> consumer;
+        private final ConsumerPolicy policy;
+
+        /**
+         * Creates a registration.
+         *
+         * @param eventType an event type
+         * @param consumer a registered consumer
+         * @param policy a policy of the consumer
+         */
+        private Registration(final String eventType, final PriorityConsumer<Event> consumer, final ConsumerPolicy policy) {
+            this.eventType = eventType;
+            this.consumer = consumer;
+            this.policy = policy;
+        }
+    }
+}
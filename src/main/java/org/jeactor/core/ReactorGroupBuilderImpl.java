@@ -0,0 +1,95 @@
+package org.jeactor.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import org.jeactor.util.concurrent.NotThreadSafe;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/** Reactor group builder implementation. */
+@NotThreadSafe
+public class ReactorGroupBuilderImpl implements Builder<ReactorGroup> {
+    /** Default number of virtual nodes per member. */
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private final Map<String, Reactor> members = new LinkedHashMap<>();
+    private int virtualNodes = DEFAULT_VIRTUAL_NODES;
+    private Function<Event, String> partitionKeyExtractor = Event::getEventType;
+
+    /**
+     * Adds a member with a unique name. At least one member is required.
+     * 
+     * @param name
+     * @param member
+     * @return this builder object
+     */
+    public ReactorGroupBuilderImpl withMember(final String name, final Reactor member) {
+        this.members.put(name, member);
+        return this;
+    }
+
+    /**
+     * Sets the number of virtual nodes per member, more nodes spread the partition keys more evenly. Defaults to DEFAULT_VIRTUAL_NODES.
+     * 
+     * @param virtualNodes
+     * @return this builder object
+     */
+    public ReactorGroupBuilderImpl withVirtualNodes(final int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+        return this;
+    }
+
+    /**
+     * Sets the function that extracts the partition key events are routed by, a null key routes by the event type. Defaults to the event type.
+     * 
+     * @param partitionKeyExtractor
+     * @return this builder object
+     */
+    public ReactorGroupBuilderImpl withPartitionKey(final Function<Event, String> partitionKeyExtractor) {
+        this.partitionKeyExtractor = partitionKeyExtractor;
+        return this;
+    }
+
+    /**
+     * The method builds a new reactor group.
+     * 
+     * @return a new reactor group
+     * @throws ValidationException when there are no members, a name, a member or the extractor is null, or virtualNodes is not positive
+     */
+    @Override
+    public ReactorGroup build() throws ValidationException {
+        Validations.validateNotNull(partitionKeyExtractor);
+        Validations.validateNotNull(members.keySet().toArray());
+        Validations.validateNotNull(members.values().toArray());
+        Validations.validatePositive(members.size(), virtualNodes);
+        return new ReactorGroup(this);
+    }
+
+    /**
+     * Returns the members by name.
+     * 
+     * @return the members
+     */
+    Map<String, Reactor> getMembers() {
+        return members;
+    }
+
+    /**
+     * Returns the number of virtual nodes per member.
+     * 
+     * @return the number of virtual nodes
+     */
+    int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    /**
+     * Returns the partition key extractor.
+     * 
+     * @return the partition key extractor
+     */
+    Function<Event, String> getPartitionKeyExtractor() {
+        return partitionKeyExtractor;
+    }
+}
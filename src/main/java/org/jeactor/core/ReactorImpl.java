@@ -1,14 +1,28 @@
 package org.jeactor.core;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.Collection;
 import java.util.function.Consumer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jeactor.trace.TraceContext;
+import org.jeactor.trace.Tracer;
 import org.jeactor.util.concurrent.ThreadSafe;
 import org.jeactor.util.concurrent.demux.EventDemux;
-import org.jeactor.util.concurrent.demux.PriorityBlockingEventDemux;
 import org.jeactor.util.concurrent.lock.Locks;
+import org.jeactor.util.concurrent.throttle.EventThrottle;
+import org.jeactor.util.concurrent.timer.TimingWheelScheduler;
+import org.jeactor.util.concurrent.wait.WaitStrategy;
 import org.jeactor.util.registry.PriorityEventRegistryService;
 import org.jeactor.util.registry.RegistryService;
 import org.jeactor.util.validation.Validations;
@@ -18,9 +32,19 @@ import jakarta.validation.ValidationException;
 @ThreadSafe
 class ReactorImpl implements Reactor {
     private final EventDemux eventDemultiplexor;
+    private final WaitStrategy waitStrategy;
+    private final TimingWheelScheduler<Event> eventScheduler;
+    private final TimingWheelScheduler<Runnable> retryScheduler;
+    private final DeadLetterQueue deadLetterQueue;
+    private final EventThrottle eventThrottle;
+    private final Consumer<Event> offeringSink;
     private final Executor taskExecutor;
+    private final Tracer tracer;
+    private final Set<String> orderedEventTypes;
 
     private final RegistryService<String, PriorityConsumer<Event>> eventRegistry;
+    private final HashMap<String, DependencyGraph> dependencyGraphs; // guarded by registryLock, dropped on every registration change
+    private final Map<String, EventHistory> histories; // guarded by registryLock, so replays and dispatches do not interleave
     private final Lock registryLock; 
 
     private boolean started;
@@ -31,16 +55,65 @@ class ReactorImpl implements Reactor {
 
     private Thread backgroundThread;
 
+    private final AtomicLong expiredEventCount;
+    private final LongAdder dispatchFailureCount; // incremented by the background thread and by producers dispatching directly
+
+    // with direct handoff, the number of events enqueued or being dispatched, 0 iff the reactor is idle
+    private final boolean directHandoff;
+    private final AtomicInteger pendingEventCount;
+    private volatile boolean handoffActive;
+
+    // striped, so counting does not add contention between producers
+    private final LongAdder enqueuedEventCount;
+    private final LongAdder dequeuedEventCount;
+
     /**
      * Creates a thread safe reactor with the accepted task executor.
      * 
      * @param taskExecutor a concurrent executor to use for execution of event consumers when events are dispatched
      */
     ReactorImpl(final Executor taskExecutor) {
-        this.eventDemultiplexor = new PriorityBlockingEventDemux();
+        this(new ReactorBuilderImpl().withExecutor(taskExecutor));
+    }
+
+    /**
+     * Creates a thread safe reactor configured by the accepted builder.
+     * 
+     * @param builder a builder that holds the reactor configuration
+     */
+    ReactorImpl(final ReactorBuilderImpl builder) {
+        this.eventDemultiplexor = builder.getEventDemux();
+        this.waitStrategy = builder.getWaitStrategy();
+        this.eventThrottle = builder.getEventThrottle();
+        this.offeringSink = new Consumer<Event>() {
+            @Override
+            public void accept(final Event event) {
+                offer(event);
+            }
+        };
+
+        // due events are moved into the demux in batches by the scheduler's own background thread, never dispatched by it directly, 
+        // so a dispatch cannot delay the events due after it
+        this.eventScheduler = new TimingWheelScheduler<>(new Consumer<Event>() {
+            @Override
+            public void accept(final Event event) {
+                enqueue(event);
+            }
+        });
+
+        // due retries are only resubmitted to the consumers' executors by the retry scheduler's background thread
+        this.retryScheduler = new TimingWheelScheduler<>(new Consumer<Runnable>() {
+            @Override
+            public void accept(final Runnable retry) {
+                retry.run();
+            }
+        });
+        this.deadLetterQueue = builder.getDeadLetterQueue();
 
         // instance created by factory must not be exposed or we have aliasing problem
-        this.taskExecutor = taskExecutor;
+        this.taskExecutor = builder.getExecutor();
+        this.tracer = builder.getTracer();
+        this.orderedEventTypes = builder.getOrderedEventTypes();
 
         this.started = false;
         startLock = new ReentrantLock();
@@ -49,14 +122,30 @@ class ReactorImpl implements Reactor {
         closeLock = new ReentrantLock();
 
         this.eventRegistry =  new PriorityEventRegistryService();
+        this.dependencyGraphs = new HashMap<>();
+        this.histories = builder.getHistories();
 
         // fair lock to avoid starvation, but bad effect on performance due to sort exec, also doesnt affect thread scheduling and is not honored by tryLock
         registryLock = new ReentrantLock(true);
+
+        expiredEventCount = new AtomicLong();
+        dispatchFailureCount = new LongAdder();
+
+        // a demux that drops or merges events would never bring the pending count back to 0
+        directHandoff = builder.isDirectHandoff() && eventDemultiplexor.isLossless();
+        pendingEventCount = new AtomicInteger();
+        handoffActive = false;
+
+        enqueuedEventCount = new LongAdder();
+        dequeuedEventCount = new LongAdder();
     }
 
     /**
      * Starts the main event loop of the reactor in a new background thread and returns a reference to that thread.
      * 
+     * <p>Events produced with a delay and retries of failed consumptions are handled by additional background threads, each started by the 
+     * first delayed event or retry, so a reactor that never delays anything runs a single thread.
+     * 
      * <p>To stop the reactor, interrupt the background thread or call close().
      * 
      * <p>If this reactor has already been started by a thread, or has already been closed, calling run() has no effect. 
@@ -77,9 +166,16 @@ class ReactorImpl implements Reactor {
                     public void run() {
                         try {
                             while (true) {
-                                final Event event = eventDemultiplexor.get();
+                                final Event event = waitStrategy.waitFor(eventDemultiplexor);
+                                dequeuedEventCount.increment();
+                                recordDequeue(event);
                                 
-                                dispatch(event);
+                                try {
+                                    dispatchContained(event);
+                                } finally {
+                                    if (directHandoff)
+                                        pendingEventCount.decrementAndGet();
+                                }
                 
                                 // clears interrupted status
                                 if (Thread.interrupted())  
@@ -91,6 +187,7 @@ class ReactorImpl implements Reactor {
                     }
                 };
                 backgroundThread.start();
+                handoffActive = directHandoff;
             }
 
             // backgroundThread here for sure has already been initialized by the first thread that acquired startLock
@@ -98,33 +195,130 @@ class ReactorImpl implements Reactor {
         });
     }
 
+    /**
+     * Records the accepted event being taken from the event demultiplexor, if the flight recorder event is enabled.
+     * 
+     * @param event a taken event
+     */
+    private static void recordDequeue(final Event event) {
+        final DequeueJfrEvent record = new DequeueJfrEvent();
+        if (null != event && record.isEnabled()) {
+            record.eventType = event.getEventType();
+            record.queueWait = Math.max(0, System.currentTimeMillis() - event.getTimestamp());
+            record.commit();
+        }
+    }
+
+    /**
+     * Dispatches the accepted event, containing and counting failures so they never reach the dispatching thread's caller.
+     * 
+     * @param event an event to dispatch
+     */
+    private void dispatchContained(final Event event) {
+        try {
+            dispatch(event);
+        } catch (final Throwable e) {
+            // e.g. a rejecting executor must not stop the event loop, consumer failures are handled by their subscriptions
+            dispatchFailureCount.increment();
+        }
+    }
+
     /**
      * Dispathces the accepted event.
      * 
+     * <p>An expired event is dropped and counted before the registry is consulted.
+     * 
      * @param event an event to dispatch
      */
     private void dispatch(final Event event) {
         if (null != event) {
-            Locks.exec(registryLock, ()->{
-                Collection<PriorityConsumer<Event>> eventConsumers = null;
-
-                if (null != eventRegistry) {
-                    eventConsumers = eventRegistry.getRegistered(event.getEventType());
-                    if (null != eventConsumers) {
-                        for (final Consumer<Event> consumer : eventConsumers) {
-                            taskExecutor.execute(new java.lang.Runnable() {
-                                @Override
-                                public void run() {
-                                    consumer.accept(event);
-                                }
-                            });
-                        }
-                    }
+            if (null != event.getDeadline() && event.isExpired(System.currentTimeMillis())) {
+                expiredEventCount.incrementAndGet();
+                return;
+            }
+
+            if (null != event.getTraceContext() && null != tracer)
+                tracer.exportEvent(event, System.nanoTime());
+
+            // the allocation is elided by the compiler when the flight recorder event is disabled
+            final DispatchJfrEvent record = new DispatchJfrEvent();
+            final long lockRequestedNanos = record.isEnabled() ? System.nanoTime() : 0;
+            record.begin();
+            final int fanOut = Locks.exec(registryLock, ()->{
+                if (0 != lockRequestedNanos)
+                    record.lockWait = System.nanoTime() - lockRequestedNanos;
+
+                if (!histories.isEmpty()) {
+                    final EventHistory history = histories.get(event.getEventType());
+                    if (null != history)
+                        history.append(event, System.currentTimeMillis());
+                }
+
+                final DependencyGraph graph = getDependencyGraph(event.getEventType());
+                if (null == graph)
+                    return 0;
+                if (!orderedEventTypes.isEmpty() && orderedEventTypes.contains(event.getEventType())) {
+                    dispatchInOrder(event, graph.getOrdered());
+                } else {
+                    // each subscription delivers according to its consumer's policy, once its prerequisites are done
+                    graph.dispatch(event, dispatchFailureCount);
                 }
+                return graph.size();
             });
+            record.end();
+            if (record.shouldCommit()) {
+                record.eventType = event.getEventType();
+                record.fanOut = fanOut;
+                record.commit();
+            }
         }
     }
 
+    /**
+     * Returns the snapshot of the subscriptions of the accepted event type, building it on the first dispatch after a registration change.
+     * Must be called with the registry lock held.
+     * 
+     * @param eventType an event type
+     * @return the snapshot, or null if no consumer is registered with the event type
+     */
+    private DependencyGraph getDependencyGraph(final String eventType) {
+        DependencyGraph graph = dependencyGraphs.get(eventType);
+        if (null == graph) {
+            final Collection<PriorityConsumer<Event>> eventConsumers = eventRegistry.getRegistered(eventType);
+            // types without consumers are not cached, so producing arbitrary types cannot grow the cache
+            if (null == eventConsumers)
+                return null;
+            graph = new DependencyGraph(eventConsumers);
+            dependencyGraphs.put(eventType, graph);
+        }
+        return graph;
+    }
+
+    /**
+     * Submits a single task that runs the accepted subscriptions one after another, until one of them stops the propagation of the event.
+     * 
+     * @param event an event to dispatch
+     * @param subscriptions the subscriptions of the event type, from the highest to the lowest consumer priority
+     */
+    private void dispatchInOrder(final Event event, final Subscription[] subscriptions) {
+        taskExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final EventPropagation propagation = new EventPropagation();
+                final EventPropagation previous = propagation.enter();
+                try {
+                    for (final Subscription subscription : subscriptions) {
+                        subscription.consumeInOrder(event);
+                        if (propagation.isStopped())
+                            break;
+                    }
+                } finally {
+                    EventPropagation.exit(previous);
+                }
+            }
+        });
+    }
+
     /**
      * Handles interruption of the reactor's background thread.
      * 
@@ -136,6 +330,8 @@ class ReactorImpl implements Reactor {
     private void handleInterrupt(final InterruptedException e) {
         // TODO: add record in form of logs, metrics, traces
 
+        handoffActive = false;
+
         // preserve interrupt status
         Thread.currentThread().interrupt(); // <=> backgroundThread.interrupt()
 
@@ -150,8 +346,12 @@ class ReactorImpl implements Reactor {
     @Override
     public void close() {
         Locks.exec(startLock, ()->{
-            if (started)
+            if (started) {
+                handoffActive = false;
                 backgroundThread.interrupt();
+                eventScheduler.close();
+                retryScheduler.close();
+            }
         });
     }
 
@@ -165,13 +365,64 @@ class ReactorImpl implements Reactor {
      */
     @Override
     public boolean register(final String eventType, final PriorityConsumer<Event> consumer) throws ValidationException {
-        Validations.validateNotNull(eventType, consumer);
+        return register(eventType, consumer, ConsumerPolicy.DEFAULT);
+    }
+
+    /**
+     * Registers an consumer with an event type, delivering events to it according to the accepted policy.
+     * 
+     * <p>If the policy requests a replay and the reactor keeps a history of the event type, the requested events of the history are 
+     * submitted to the consumer's delivery before the events dispatched after the registration. They are consumed in that order only 
+     * with an executor that runs one task at a time, like the synchronous one.
+     * 
+     * @param eventType string event type identifier
+     * @param consumer a consumer of event to associate with the supplied event type
+     * @param policy a policy that controls how events are delivered to the consumer
+     * @return boolean value indicating wether the subscription succeeded or not
+     * @throws ValidationException when null argument is supplied, or the prerequisites of the policy would form a cycle
+     */
+    @Override
+    public boolean register(final String eventType, final PriorityConsumer<Event> consumer, final ConsumerPolicy policy) throws ValidationException {
+        Validations.validateNotNull(eventType, consumer, policy);
 
+        final Subscription subscription = new Subscription(consumer, policy, taskExecutor, retryScheduler, deadLetterQueue, tracer);
         return Locks.exec(registryLock, ()->{
-            return eventRegistry.register(eventType, consumer);
+            final boolean registered = eventRegistry.register(eventType, subscription);
+            dependencyGraphs.remove(eventType);
+            if (registered && policy.hasPrerequisites()) {
+                try {
+                    getDependencyGraph(eventType);
+                } catch (final ValidationException e) {
+                    eventRegistry.unregister(eventType, subscription);
+                    throw e;
+                }
+            }
+            if (registered && policy.isReplaying())
+                replay(eventType, subscription);
+            return registered;
         });
     }
 
+    /**
+     * Delivers the history of the accepted event type to the accepted new subscription, as requested by its policy. Must be called 
+     * with the registry lock held, so no event is dispatched between the snapshot and the registration.
+     * 
+     * <p>The events are submitted directly to the subscription, so neither its prerequisites nor ordered delivery apply to them, and 
+     * a multi threaded executor may run them concurrently with each other and with live events.
+     * 
+     * @param eventType an event type
+     * @param subscription a new subscription
+     */
+    private void replay(final String eventType, final Subscription subscription) {
+        final EventHistory history = histories.get(eventType);
+        if (null == history)
+            return;
+        final ConsumerPolicy policy = subscription.getPolicy();
+        final long maxAgeMillis = null == policy.getReplayMaxAge() ? Long.MAX_VALUE : policy.getReplayMaxAge().toMillis();
+        for (final Event event : history.snapshot(policy.getReplayMaxEvents(), maxAgeMillis, System.currentTimeMillis()))
+            subscription.dispatch(event);
+    }
+
     /**
      * Unregisters an consumer with an event type.
      * 
@@ -184,24 +435,162 @@ class ReactorImpl implements Reactor {
     public boolean unregister(final String eventType, final PriorityConsumer<Event> consumer) throws ValidationException {
         Validations.validateNotNull(eventType, consumer);
 
+        // subscriptions equal by their consumers, so a lookup subscription finds the registered one
+        final Subscription subscription = new Subscription(consumer);
         return Locks.exec(registryLock, ()->{
-            return eventRegistry.unregister(eventType, consumer);
+            dependencyGraphs.remove(eventType);
+            return eventRegistry.unregister(eventType, subscription);
         });
     }
 
     /**
      * Produces an event to be processed by reactor.
      * 
+     * <p>If the reactor has rate limits, an event that exceeds them is rejected, delayed or downgraded before it reaches the event demultiplexor.
+     * 
+     * <p>With direct handoff, an event produced to a started reactor that has no pending events is dispatched by the calling thread.
+     * 
+     * <p>With a tracer, an event produced from inside a consumer joins the consumer's trace, and any other event starts a new trace if it is sampled.
+     * 
+     * <p>Producing, taking, dispatching and consuming an event are recorded as org.jeactor flight recorder events, which cost nothing 
+     * unless a recording enables them.
+     * 
      * @param event an event be processed
      * @throws ValidationException when null argument is supplied
+     * @throws RejectedExecutionException when the event exceeds a rate limit with the REJECT action
      */
     @Override
-    public void produce(final Event event) throws ValidationException {
+    public void produce(final Event event) throws ValidationException, RejectedExecutionException {
         Validations.validateNotNull(event);
         
+        final ProduceJfrEvent record = new ProduceJfrEvent();
+        record.begin();
+        if (null == eventThrottle) {
+            offer(traced(event));
+        } else {
+            eventThrottle.throttle(traced(event), offeringSink, eventScheduler);
+        }
+        record.end();
+        if (record.shouldCommit()) {
+            record.eventType = event.getEventType();
+            record.priority = event.getEventPriority().name();
+            record.commit();
+        }
+    }
+
+    /**
+     * Attaches a trace context to the accepted event if it is sampled and has none.
+     * 
+     * @param event a produced event
+     * @return the event with its trace context, or the event itself if it is not traced
+     */
+    private Event traced(final Event event) {
+        if (null == tracer || null != event.getTraceContext())
+            return event;
+        // unsampled events are left as they are, so they cost no copy
+        final TraceContext traceContext = tracer.start(event);
+        return traceContext.isSampled() ? event.withTraceContext(traceContext) : event;
+    }
+
+    /**
+     * Dispatches the accepted event directly if the reactor is idle and direct handoff is active, or enqueues it otherwise.
+     * 
+     * <p>Claiming the idle reactor bumps the pending count, so concurrently produced events are enqueued behind the directly 
+     * dispatched one, and the background thread is not dispatching while the count is 0. Dispatches are serialized by 
+     * the registry lock either way.
+     * 
+     * @param event an event to dispatch
+     */
+    private void offer(final Event event) {
+        if (handoffActive && pendingEventCount.compareAndSet(0, 1)) {
+            try {
+                dispatchContained(event);
+            } finally {
+                pendingEventCount.decrementAndGet();
+            }
+        } else {
+            enqueue(event);
+        }
+    }
+
+    /**
+     * Moves the accepted event into the event demultiplexor.
+     * 
+     * @param event an event to enqueue
+     */
+    private void enqueue(final Event event) {
+        // counted before it is visible to the background thread, which decrements after dispatching it
+        if (directHandoff)
+            pendingEventCount.incrementAndGet();
+        enqueuedEventCount.increment();
         eventDemultiplexor.accept(event);
     }
 
+    /**
+     * Produces an event to be processed by reactor at the accepted instant.
+     * 
+     * <p>The event is held in a timing wheel until it is due, with a millisecond resolution, the instant being rounded up to whole milliseconds. 
+     * If the instant is not in the future, the event is produced immediately.
+     * 
+     * @param event an event be processed
+     * @param instant an instant at which the event is produced
+     * @throws ValidationException when null argument is supplied
+     */
+    @Override
+    public void produceAt(final Event event, final Instant instant) throws ValidationException {
+        Validations.validateNotNull(event, instant);
+
+        // rounded up, so a sub millisecond instant is never produced early
+        eventScheduler.schedule(traced(event), TimingWheelScheduler.ceilMillis(instant));
+    }
+
+    /**
+     * Produces an event to be processed by reactor after the accepted delay.
+     * 
+     * <p>The event is held in a timing wheel until it is due, with a millisecond resolution, the delay being rounded up to whole milliseconds. 
+     * If the delay is not positive, the event is produced immediately.
+     * 
+     * @param event an event be processed
+     * @param delay a delay after which the event is produced
+     * @throws ValidationException when null argument is supplied
+     */
+    @Override
+    public void produceAfter(final Event event, final Duration delay) throws ValidationException {
+        Validations.validateNotNull(event, delay);
+
+        // rounded up, so a sub millisecond delay is never skipped
+        eventScheduler.schedule(traced(event), System.currentTimeMillis() + TimingWheelScheduler.ceilMillis(delay));
+    }
+
+    /**
+     * Re-drives up to the accepted number of the oldest dead letters, delivering each event again to the consumer that failed on it with a fresh set of attempts.
+     * 
+     * <p>Dead letters of consumers that are no longer registered with the event type are discarded.
+     * 
+     * @param maxDeadLetters a positive maximal number of dead letters to re-drive
+     * @return the number of events delivered again
+     * @throws ValidationException when maxDeadLetters is not positive
+     */
+    @Override
+    public int redriveDeadLetters(final int maxDeadLetters) throws ValidationException {
+        Validations.validatePositive(maxDeadLetters);
+
+        final List<DeadLetter> deadLetters = deadLetterQueue.drain(maxDeadLetters);
+        int redriven = 0;
+        for (final DeadLetter deadLetter : deadLetters) {
+            final Subscription subscription = deadLetter.getSubscription();
+            final boolean registered = Locks.exec(registryLock, ()->{
+                final Collection<PriorityConsumer<Event>> eventConsumers = eventRegistry.getRegistered(deadLetter.getEvent().getEventType());
+                return null != eventConsumers && eventConsumers.contains(subscription);
+            });
+            if (registered) {
+                subscription.dispatch(deadLetter.getEvent());
+                redriven++;
+            }
+        }
+        return redriven;
+    }
+
     /**
      * Returns the class of the executor used by the reactor.
      * 
@@ -212,6 +601,50 @@ class ReactorImpl implements Reactor {
         return taskExecutor.getClass();
     }
 
+    /**
+     * Returns the number of events that have been dropped by the reactor because they expired before being dispatched.
+     * 
+     * @return a number of expired events
+     */
+    @Override
+    public long getExpiredEventCount() {
+        return expiredEventCount.get();
+    }
+
+    /**
+     * Returns the number of dispatches that failed and have been contained, e.g. because an executor rejected the event.
+     * 
+     * @return a number of failed dispatches
+     */
+    @Override
+    public long getDispatchFailureCount() {
+        return dispatchFailureCount.sum();
+    }
+
+    /**
+     * Returns the number of events that have been moved into the event demultiplexor and not taken by the background thread yet.
+     * 
+     * <p>The returned value is a best effort estimate, events produced with a delay are counted once they are due.
+     * 
+     * @return a number of pending events
+     */
+    @Override
+    public long getPendingEventCount() {
+        // read the taken events first, so a concurrent take cannot make the estimate negative
+        final long dequeued = dequeuedEventCount.sum() + eventDemultiplexor.getDiscardedCount();
+        return Math.max(0, enqueuedEventCount.sum() - dequeued);
+    }
+
+    /**
+     * Returns the number of events held in the reactor's dead letter queue.
+     * 
+     * @return a number of dead letters
+     */
+    @Override
+    public int getDeadLetterCount() {
+        return deadLetterQueue.size();
+    }
+
     /**
      * Returns wether the reator has been closed or not.
      * 
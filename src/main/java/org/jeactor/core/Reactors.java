@@ -3,8 +3,12 @@ package org.jeactor.core;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
 import org.jeactor.util.concurrent.SynchronousExecutor;
 import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.demux.EventDemux;
+import org.jeactor.util.concurrent.elastic.ElasticExecutor;
+import org.jeactor.util.concurrent.elastic.ElasticExecutorBuilderImpl;
 import org.jeactor.util.validation.Validations;
 import jakarta.validation.ValidationException;
 
@@ -107,4 +111,53 @@ public final class Reactors {
         Validations.validateNotNull(executor);
         return new ReactorImpl(executor);
     }
+
+    /**
+     * Returns a new thread-safe reactor with the accepted executor and event demultiplexor.
+     * 
+     * <p>The event demultiplexor decides the order in which produced events are dispatched, e.g. an AgingPriorityEventDemux bounds the starvation of low priority events.
+     * 
+     * @param executor an executor to be used by the reactor
+     * @param eventDemux an event demultiplexor to be used by the reactor, must not be shared with other reactors
+     * @return a new thread-safe reactor
+     * @throws ValidationException when a null argument is accepted
+     */
+    public static Reactor newConcurrentReactor(final Executor executor, final EventDemux eventDemux) throws ValidationException {
+        Validations.validateNotNull(executor, eventDemux);
+        return new ReactorBuilderImpl().withExecutor(executor).withEventDemux(eventDemux).build();
+    }
+
+    /**
+     * Returns a new thread-safe reactor with an elastic executor that grows and shrinks between the accepted bounds.
+     * 
+     * <p>The pending events of the reactor are the backlog of the executor, so a growing demux grows the pool before the task queue does.
+     * 
+     * @param minThreads a positive minimal pool size
+     * @param maxThreads a maximal pool size, at least minThreads
+     * @return a new thread-safe reactor
+     * @throws ValidationException when the bounds are not positive or not ordered
+     */
+    public static Reactor newElasticConcurrentReactor(final int minThreads, final int maxThreads) throws ValidationException {
+        return newElasticConcurrentReactor(new ElasticExecutorBuilderImpl().withThreads(minThreads, maxThreads));
+    }
+
+    /**
+     * Returns a new thread-safe reactor with an elastic executor built by the accepted builder.
+     * 
+     * <p>The pending events of the reactor are the backlog of the executor, replacing the backlog supplier of the builder.
+     * 
+     * @param executorBuilder a builder of the elastic executor
+     * @return a new thread-safe reactor
+     * @throws ValidationException when null argument is supplied or the builder is invalid
+     */
+    public static Reactor newElasticConcurrentReactor(final ElasticExecutorBuilderImpl executorBuilder) throws ValidationException {
+        Validations.validateNotNull(executorBuilder);
+        // the executor is built before the reactor it samples
+        final AtomicReference<Reactor> reactor = new AtomicReference<>();
+        final ElasticExecutor executor = executorBuilder
+            .withBacklog(()->null == reactor.get() ? 0 : reactor.get().getPendingEventCount())
+            .build();
+        reactor.set(new ReactorImpl(executor));
+        return reactor.get();
+    }
 }
@@ -0,0 +1,30 @@
+package org.jeactor.core;
+
+import java.time.Duration;
+import java.time.Instant;
+import jakarta.validation.ValidationException;
+
+/** 
+ * Represents an entity to which producers can produce messages at a later point in time.
+ * 
+ * @param <T> type of objects to produce
+ */
+public interface ScheduledProduceable<T> extends Produceable<T> {
+    /**
+     * Produces a message into the produceable object at the accepted instant. If the instant is not in the future, the message is produced immediately.
+     * 
+     * @param message a message be processed
+     * @param instant an instant at which the message is produced
+     * @throws ValidationException when null argument is supplied
+     */
+    void produceAt(T message, Instant instant) throws ValidationException;
+
+    /**
+     * Produces a message into the produceable object after the accepted delay. If the delay is not positive, the message is produced immediately.
+     * 
+     * @param message a message be processed
+     * @param delay a delay after which the message is produced
+     * @throws ValidationException when null argument is supplied
+     */
+    void produceAfter(T message, Duration delay) throws ValidationException;
+}
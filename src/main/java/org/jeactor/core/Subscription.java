@@ -0,0 +1,380 @@
+package org.jeactor.core;
+
+import java.util.concurrent.Executor;
+import org.jeactor.trace.TraceContext;
+import org.jeactor.trace.Tracer;
+import org.jeactor.util.concurrent.AdaptiveExecutor;
+import org.jeactor.util.concurrent.SynchronousExecutor;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.bulkhead.BulkheadExecutor;
+import org.jeactor.util.concurrent.bulkhead.LatencyCircuitBreaker;
+import org.jeactor.util.concurrent.timer.TimingWheelScheduler;
+
+/** 
+ * Represents a consumer registered to a reactor together with the policy it has been registered with.
+ * 
+ * <p>A failure of the consumer, an error included, never propagates to the dispatching thread. The event is retried after a backoff 
+ * timed by the reactor's timer according to the policy, and once the attempts are exhausted, or a retry cannot be submitted, it is moved 
+ * into the dead letter queue. Retries always run on the reactor's executor, never on the timer, even for consumers that run inline.
+ * 
+ * <p>A subscription equals another subscription of an equal consumer, regardless of the policies, so a consumer is unregistered as before.
+ */
+@ThreadSafe
+final class Subscription extends PriorityConsumer<Event> {
+    private final PriorityConsumer<Event> consumer;
+    private final ConsumerPolicy policy;
+    private final Executor executor;
+    private final Executor taskExecutor;
+    private final TimingWheelScheduler<Runnable> retryScheduler;
+    private final DeadLetterQueue deadLetterQueue;
+    private final Tracer tracer;
+
+    /**
+     * Creates a subscription used only to look up a registered subscription of an equal consumer.
+     * 
+     * @param consumer a registered consumer
+     */
+    Subscription(final PriorityConsumer<Event> consumer) {
+        this(consumer, ConsumerPolicy.DEFAULT, null, null, null, null);
+    }
+
+    /**
+     * Creates a subscription.
+     * 
+     * @param consumer a registered consumer
+     * @param policy a policy the consumer has been registered with
+     * @param taskExecutor the reactor's executor
+     * @param retryScheduler the reactor's timer of retries
+     * @param deadLetterQueue the reactor's dead letter queue
+     * @param tracer the reactor's tracer, or null if events are not traced
+     */
+    Subscription(final PriorityConsumer<Event> consumer, final ConsumerPolicy policy, final Executor taskExecutor,
+            final TimingWheelScheduler<Runnable> retryScheduler, final DeadLetterQueue deadLetterQueue, final Tracer tracer) {
+        super(consumer.getConsumerPriority());
+        this.consumer = consumer;
+        this.policy = policy;
+        this.executor = null == taskExecutor ? null : newExecutor(policy, taskExecutor);
+        this.taskExecutor = taskExecutor;
+        this.retryScheduler = retryScheduler;
+        this.deadLetterQueue = deadLetterQueue;
+        this.tracer = tracer;
+    }
+
+    /**
+     * Delivers the accepted event to the consumer according to the policy.
+     * 
+     * @param event an event to deliver
+     */
+    void dispatch(final Event event) {
+        deliver(event, 1, null);
+    }
+
+    /**
+     * Delivers the accepted event to the consumer according to the policy, and runs the accepted completion once the consumer has 
+     * consumed it or it has been dead lettered.
+     * 
+     * @param event an event to deliver
+     * @param completion a callback run once the delivery is done, on the thread that finished it
+     */
+    void dispatch(final Event event, final Runnable completion) {
+        deliver(event, 1, completion);
+    }
+
+    /**
+     * Runs the first attempt of consuming the accepted event in the calling thread, bypassing the execution hint and the bulkhead of 
+     * the policy. Used by ordered delivery, a failed attempt is still retried according to the policy.
+     * 
+     * @param event an event to consume
+     */
+    void consumeInOrder(final Event event) {
+        if (null == tracer)
+            consume(event, 1, null);
+        else
+            consumeTraced(event, 1, null == event.getTraceContext() ? 0 : System.nanoTime(), null);
+    }
+
+    /**
+     * Submits the accepted attempt of consuming the accepted event to the executor.
+     * 
+     * @param event an event to deliver
+     * @param attempt a positive number of the attempt
+     * @param completion a callback run once the delivery is done, or null
+     */
+    private void deliver(final Event event, final int attempt, final Runnable completion) {
+        if (null == tracer) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    consume(event, attempt, completion);
+                }
+            });
+        } else {
+            final long dispatchedNanos = null == event.getTraceContext() ? 0 : System.nanoTime();
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    consumeTraced(event, attempt, dispatchedNanos, completion);
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs the accepted attempt of consuming the accepted event.
+     * 
+     * @param event an event to consume
+     * @param attempt a positive number of the attempt
+     * @param completion a callback run once the delivery is done, or null
+     */
+    private void consume(final Event event, final int attempt, final Runnable completion) {
+        try {
+            execute(event, attempt);
+        } catch (final Throwable e) {
+            // errors included, so a consumer run by the dispatching thread can never stop it
+            onFailure(event, attempt, e, completion);
+            return;
+        }
+        if (null != completion)
+            completion.run();
+    }
+
+    /**
+     * Executes the consumer on the accepted event, recording the execution if the flight recorder event is enabled.
+     * 
+     * @param event an event to consume
+     * @param attempt a positive number of the attempt
+     */
+    private void execute(final Event event, final int attempt) {
+        final ConsumeJfrEvent record = new ConsumeJfrEvent();
+        record.begin();
+        boolean failed = true;
+        try {
+            consumer.accept(event);
+            failed = false;
+        } finally {
+            record.end();
+            if (record.shouldCommit()) {
+                record.eventType = event.getEventType();
+                record.consumer = consumer.getClass().getName();
+                record.attempt = attempt;
+                record.failed = failed;
+                record.commit();
+            }
+        }
+    }
+
+    /**
+     * Runs the accepted attempt of consuming the accepted event within the event's trace, so the events the consumer produces join it.
+     * 
+     * <p>An unsampled event costs a thread local swap only, which keeps the events produced by the consumer unsampled as well.
+     * 
+     * @param event an event to consume
+     * @param attempt a positive number of the attempt
+     * @param dispatchedNanos the time the event has been dispatched at, if it is sampled
+     * @param completion a callback run once the delivery is done, or null
+     */
+    private void consumeTraced(final Event event, final int attempt, final long dispatchedNanos, final Runnable completion) {
+        final TraceContext eventContext = event.getTraceContext();
+        if (null == eventContext) {
+            final TraceContext previous = Tracer.enter(TraceContext.UNSAMPLED);
+            try {
+                consume(event, attempt, completion);
+            } finally {
+                Tracer.exit(previous);
+            }
+            return;
+        }
+
+        final TraceContext consumerContext = tracer.startConsumer(eventContext, System.nanoTime());
+        final TraceContext previous = Tracer.enter(consumerContext);
+        Throwable failure = null;
+        try {
+            execute(event, attempt);
+        } catch (final Throwable e) {
+            failure = e;
+        } finally {
+            Tracer.exit(previous);
+        }
+        tracer.exportConsumer(consumerContext, event, consumer.getClass().getName(), attempt, dispatchedNanos, System.nanoTime(), failure);
+        if (null != failure)
+            onFailure(event, attempt, failure, completion);
+        else if (null != completion)
+            completion.run();
+    }
+
+    /**
+     * Handles a failed attempt of consuming the accepted event, retrying it after a backoff or dead lettering it when the attempts are exhausted.
+     * 
+     * @param event an event the consumer failed on
+     * @param attempt a number of the failed attempt
+     * @param cause a failure of the attempt
+     * @param completion a callback run once the delivery is done, or null
+     */
+    private void onFailure(final Event event, final int attempt, final Throwable cause, final Runnable completion) {
+        if (attempt < policy.getMaxAttempts()) {
+            // the timer only resubmits the attempt, so no worker thread sleeps through the backoff
+            retryScheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    retry(event, attempt, completion);
+                }
+            }, System.currentTimeMillis() + policy.getBackoffMillis(attempt));
+        } else {
+            deadLetter(event, attempt, cause, completion);
+        }
+    }
+
+    /**
+     * Submits the attempt after the accepted failed one, handing it over to the reactor's executor first unless the execution hint 
+     * already does, so the consumer never runs on the timer.
+     * 
+     * @param event an event the consumer failed on
+     * @param attempt a number of the failed attempt
+     * @param completion a callback run once the delivery is done, or null
+     */
+    private void retry(final Event event, final int attempt, final Runnable completion) {
+        if (ExecutionHint.EXECUTOR == policy.getExecutionHint()) {
+            deliverRetry(event, attempt, completion);
+            return;
+        }
+        try {
+            taskExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    deliverRetry(event, attempt, completion);
+                }
+            });
+        } catch (final RuntimeException e) {
+            deadLetter(event, attempt, e, completion);
+        }
+    }
+
+    /**
+     * Delivers the attempt after the accepted failed one, dead lettering the event if it cannot be delivered, e.g. when a full bulkhead 
+     * or a shut down executor rejects it.
+     * 
+     * @param event an event the consumer failed on
+     * @param attempt a number of the failed attempt
+     * @param completion a callback run once the delivery is done, or null
+     */
+    private void deliverRetry(final Event event, final int attempt, final Runnable completion) {
+        try {
+            deliver(event, attempt + 1, completion);
+        } catch (final RuntimeException e) {
+            deadLetter(event, attempt, e, completion);
+        }
+    }
+
+    /**
+     * Moves the accepted event into the dead letter queue, ending its delivery.
+     * 
+     * @param event an event the consumer failed on
+     * @param attempts a number of attempts made
+     * @param cause a failure of the last attempt
+     * @param completion a callback run once the delivery is done, or null
+     */
+    private void deadLetter(final Event event, final int attempts, final Throwable cause, final Runnable completion) {
+        deadLetterQueue.accept(new DeadLetter(event, this, cause, attempts));
+        if (null != completion)
+            completion.run();
+    }
+
+    /**
+     * Consumes the accepted event in the calling thread.
+     * 
+     * @param event an event to consume
+     */
+    @Override
+    public void accept(final Event event) {
+        consumer.accept(event);
+    }
+
+    /**
+     * Returns the registered consumer.
+     * 
+     * @return the registered consumer
+     */
+    PriorityConsumer<Event> getConsumer() {
+        return consumer;
+    }
+
+    /**
+     * Returns the policy the consumer has been registered with.
+     * 
+     * @return the consumer policy
+     */
+    ConsumerPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Indicates wether this object equals to the accepted object.
+     * 
+     * @param o other object to compare this object to
+     * @return true if the other object is a subscription of an equal consumer, or false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return consumer.equals(((Subscription) o).consumer);
+    }
+
+    /**
+     * Generates a hash code value for the object.
+     * 
+     * @return an integer hash code value for the object
+     */
+    @Override
+    public int hashCode() {
+        return consumer.hashCode();
+    }
+
+    /**
+     * Generates a string representation of this object.
+     * 
+     * @return a string representation of this object
+     */
+    @Override
+    public String toString() {
+        return "Subscription{" +
+                "consumer=" + consumer +
+                '}';
+    }
+
+    /**
+     * Creates the executor the consumer is executed by, according to the execution hint and the bulkhead of the policy.
+     * 
+     * @param policy a consumer policy
+     * @param taskExecutor the reactor's executor
+     * @return the executor of the consumer
+     */
+    private static Executor newExecutor(final ConsumerPolicy policy, final Executor taskExecutor) {
+        final Executor executor;
+        switch (policy.getExecutionHint()) {
+            case INLINE:
+                executor = new SynchronousExecutor();
+                break;
+            case ADAPTIVE:
+                executor = new AdaptiveExecutor(taskExecutor, policy.getAdaptiveThreshold().toNanos());
+                break;
+            default:
+                executor = taskExecutor;
+        }
+        return policy.isBulkheaded() ? newBulkhead(policy, executor) : executor;
+    }
+
+    /**
+     * Creates the bulkhead that isolates the consumer on the accepted executor.
+     * 
+     * @param policy a bulkheaded consumer policy
+     * @param taskExecutor an executor the consumer is executed by
+     * @return a new bulkhead
+     */
+    private static Executor newBulkhead(final ConsumerPolicy policy, final Executor taskExecutor) {
+        final LatencyCircuitBreaker circuitBreaker = null == policy.getLatencyThreshold() ? null :
+            new LatencyCircuitBreaker(policy.getLatencyThreshold(), policy.getSlowCallThreshold(), policy.getBreakDuration());
+        final int maxConcurrency = 0 < policy.getMaxConcurrency() ? policy.getMaxConcurrency() : Integer.MAX_VALUE;
+        return new BulkheadExecutor(taskExecutor, maxConcurrency, policy.getQueueCapacity(), policy.getOverflowPolicy(), circuitBreaker);
+    }
+}
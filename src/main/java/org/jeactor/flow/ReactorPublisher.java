@@ -0,0 +1,230 @@
+package org.jeactor.flow;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jeactor.core.Event;
+import org.jeactor.core.IdentityPriorityConsumer;
+import org.jeactor.core.Priority;
+import org.jeactor.core.Reactor;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.bulkhead.OverflowPolicy;
+import org.jeactor.util.concurrent.lock.Locks;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/**
+ * Represents a publisher of the events of a single type dispatched by a reactor.
+ *
+ * <p>Every subscription is a consumer registered with the reactor for the event type, and is unregistered when cancelled.
+ * Events are passed to the subscriber only as it requests them. Events dispatched while there is no demand wait in a bounded 
+ * buffer of the subscription, and events dispatched to a full buffer are dropped according to the overflow policy, so a slow 
+ * subscriber never causes unbounded buffering. To slow the producers down instead, feed the reactor through a ReactorSubscriber.
+ *
+ * <p>The publisher never completes, a subscription ends when it is cancelled.
+ */
+@ThreadSafe
+public class ReactorPublisher implements Flow.Publisher<Event> {
+    /** Default capacity of the buffer of a subscription. */
+    public static final int DEFAULT_BUFFER_CAPACITY = Flow.defaultBufferSize();
+
+    private final Reactor reactor;
+    private final String eventType;
+    private final Priority consumerPriority;
+    private final int bufferCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final LongAdder droppedCount;
+
+    /**
+     * Creates a publisher with the default buffer capacity that drops the oldest buffered event on overflow.
+     *
+     * @param reactor a reactor to subscribe to
+     * @param eventType a type of the published events
+     * @throws ValidationException when null argument is supplied
+     */
+    public ReactorPublisher(final Reactor reactor, final String eventType) throws ValidationException {
+        this(reactor, eventType, Priority.NORMAL, DEFAULT_BUFFER_CAPACITY, OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Creates a publisher.
+     *
+     * @param reactor a reactor to subscribe to
+     * @param eventType a type of the published events
+     * @param consumerPriority a priority the subscriptions are registered with
+     * @param bufferCapacity a positive maximal number of events buffered per subscription while there is no demand
+     * @param overflowPolicy a policy of handling events dispatched to a full buffer
+     * @throws ValidationException when null argument is supplied or bufferCapacity is not positive
+     */
+    public ReactorPublisher(final Reactor reactor, final String eventType, final Priority consumerPriority, 
+            final int bufferCapacity, final OverflowPolicy overflowPolicy) throws ValidationException {
+        Validations.validateNotNull(reactor, eventType, consumerPriority, overflowPolicy);
+        Validations.validatePositive(bufferCapacity);
+        this.reactor = reactor;
+        this.eventType = eventType;
+        this.consumerPriority = consumerPriority;
+        this.bufferCapacity = bufferCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.droppedCount = new LongAdder();
+    }
+
+    /**
+     * Subscribes the accepted subscriber, registering a consumer of the event type with the reactor.
+     *
+     * @param subscriber a subscriber to subscribe
+     * @throws NullPointerException when null subscriber is supplied, as required by the Flow contract
+     */
+    @Override
+    public void subscribe(final Flow.Subscriber<? super Event> subscriber) {
+        Objects.requireNonNull(subscriber);
+
+        final EventSubscription subscription = new EventSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        // registered only after onSubscribe(), so no event can be signaled before it
+        try {
+            reactor.register(eventType, subscription);
+        } catch (final RuntimeException e) {
+            subscription.fail(e);
+            return;
+        }
+        // a subscriber may cancel within onSubscribe(), when there was nothing to unregister yet
+        if (subscription.cancelled)
+            reactor.unregister(eventType, subscription);
+    }
+
+    /**
+     * Returns the number of events dropped by all the subscriptions because their buffers were full.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * Represents a subscription, registered with the reactor as a consumer of the event type.
+     *
+     * <p>Signals to the subscriber are serialized by a work in progress counter: whichever thread increments it from 0 drains the 
+     * buffer as far as the demand allows, and others only record their work for it.
+     */
+    private final class EventSubscription extends IdentityPriorityConsumer<Event> implements Flow.Subscription {
+        private final Flow.Subscriber<? super Event> subscriber;
+        private final ArrayDeque<Event> buffer;
+        private final Lock bufferLock;
+        private final AtomicLong requested;
+        private final AtomicInteger workInProgress;
+        private volatile Throwable error;
+        private volatile boolean cancelled;
+
+        /**
+         * Creates a subscription.
+         *
+         * @param subscriber a subscriber to signal
+         */
+        private EventSubscription(final Flow.Subscriber<? super Event> subscriber) {
+            super(consumerPriority);
+            this.subscriber = subscriber;
+            this.buffer = new ArrayDeque<>();
+            this.bufferLock = new ReentrantLock();
+            this.requested = new AtomicLong();
+            this.workInProgress = new AtomicInteger();
+            this.error = null;
+            this.cancelled = false;
+        }
+
+        /**
+         * Buffers a dispatched event and passes the buffered events on as far as the demand allows.
+         *
+         * @param event a dispatched event
+         */
+        @Override
+        public void accept(final Event event) {
+            if (cancelled)
+                return;
+            Locks.exec(bufferLock, ()->{
+                if (buffer.size() == bufferCapacity) {
+                    droppedCount.increment();
+                    if (OverflowPolicy.DROP_NEWEST == overflowPolicy)
+                        return;
+                    buffer.pollFirst();
+                }
+                buffer.addLast(event);
+            });
+            drain();
+        }
+
+        /**
+         * Adds the accepted number of events to the demand.
+         *
+         * @param n a positive number of events
+         */
+        @Override
+        public void request(final long n) {
+            if (0 >= n) {
+                fail(new IllegalArgumentException("non positive request: " + n));
+                return;
+            }
+            // capped, a demand of Long.MAX_VALUE is effectively unbounded
+            requested.getAndAccumulate(n, (current, added)->Long.MAX_VALUE - current < added ? Long.MAX_VALUE : current + added);
+            drain();
+        }
+
+        /** Cancels the subscription and unregisters it from the reactor. */
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                reactor.unregister(eventType, this);
+                drain();
+            }
+        }
+
+        /**
+         * Cancels the subscription and signals the accepted error to the subscriber.
+         *
+         * @param e an error to signal
+         */
+        private void fail(final Throwable e) {
+            error = e;
+            drain();
+        }
+
+        /** Passes the buffered events to the subscriber as far as the demand allows, unless another thread already does. */
+        private void drain() {
+            if (0 != workInProgress.getAndIncrement())
+                return;
+
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    Locks.exec(bufferLock, ()->buffer.clear());
+                    return;
+                }
+                if (null != error) {
+                    cancel();
+                    subscriber.onError(error);
+                    return;
+                }
+
+                final long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && !cancelled) {
+                    final Event event = Locks.exec(bufferLock, ()->buffer.pollFirst());
+                    if (null == event)
+                        break;
+                    subscriber.onNext(event);
+                    emitted++;
+                }
+                if (0 != emitted && Long.MAX_VALUE != demand)
+                    requested.addAndGet(-emitted);
+
+                missed = workInProgress.addAndGet(-missed);
+            } while (0 != missed);
+        }
+    }
+}
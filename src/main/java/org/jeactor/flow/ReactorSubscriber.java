@@ -0,0 +1,160 @@
+package org.jeactor.flow;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jeactor.core.Event;
+import org.jeactor.core.Reactor;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/**
+ * Represents a subscriber that produces the received events to a reactor, and requests events only as the reactor has capacity for them.
+ *
+ * <p>The subscriber keeps the reactor's pending events plus its own outstanding demand within a maximal number of pending events. 
+ * Once half of the demand has been received, it requests as many events as the reactor has capacity for. When the reactor is full 
+ * and there is no outstanding demand, the capacity is re-checked periodically, so a stalled reactor stalls the upstream publisher, 
+ * and backpressure propagates across the stages.
+ *
+ * <p>Events rejected by the reactor's rate limits are dropped and counted.
+ */
+@ThreadSafe
+public class ReactorSubscriber implements Flow.Subscriber<Event> {
+    /** Default interval of re-checking the capacity of a full reactor. */
+    public static final Duration DEFAULT_RECHECK_INTERVAL = Duration.ofMillis(1);
+
+    private final Reactor reactor;
+    private final long maxPendingEvents;
+    private final Executor recheckExecutor;
+    private final AtomicLong outstanding;
+    private final AtomicLong rejectedCount;
+    private final CompletableFuture<Void> completion;
+
+    private volatile Flow.Subscription subscription;
+
+    /**
+     * Creates a subscriber with the default re-check interval.
+     *
+     * @param reactor a reactor to produce the received events to
+     * @param maxPendingEvents a positive maximal number of events pending in the reactor
+     * @throws ValidationException when null argument is supplied or maxPendingEvents is not positive
+     */
+    public ReactorSubscriber(final Reactor reactor, final long maxPendingEvents) throws ValidationException {
+        this(reactor, maxPendingEvents, DEFAULT_RECHECK_INTERVAL);
+    }
+
+    /**
+     * Creates a subscriber.
+     *
+     * @param reactor a reactor to produce the received events to
+     * @param maxPendingEvents a positive maximal number of events pending in the reactor
+     * @param recheckInterval a positive interval of re-checking the capacity of a full reactor
+     * @throws ValidationException when null argument is supplied or a number is not positive
+     */
+    public ReactorSubscriber(final Reactor reactor, final long maxPendingEvents, final Duration recheckInterval) throws ValidationException {
+        Validations.validateNotNull(reactor, recheckInterval);
+        Validations.validatePositive(maxPendingEvents, recheckInterval.toNanos());
+        this.reactor = reactor;
+        this.maxPendingEvents = maxPendingEvents;
+        this.recheckExecutor = CompletableFuture.delayedExecutor(recheckInterval.toNanos(), TimeUnit.NANOSECONDS);
+        this.outstanding = new AtomicLong();
+        this.rejectedCount = new AtomicLong();
+        this.completion = new CompletableFuture<>();
+        this.subscription = null;
+    }
+
+    /**
+     * Accepts the subscription and requests as many events as the reactor has capacity for. A second subscription is cancelled.
+     *
+     * @param subscription a subscription to the upstream publisher
+     * @throws NullPointerException when null subscription is supplied, as required by the Flow contract
+     */
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        if (null != this.subscription) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        requestAvailable();
+    }
+
+    /**
+     * Produces the received event to the reactor, and requests more events once half of the demand has been received.
+     *
+     * @param event a received event
+     * @throws NullPointerException when null event is supplied, as required by the Flow contract
+     */
+    @Override
+    public void onNext(final Event event) {
+        Objects.requireNonNull(event);
+        if (!reactor.tryProduce(event))
+            rejectedCount.incrementAndGet();
+        if (outstanding.decrementAndGet() <= maxPendingEvents / 2)
+            requestAvailable();
+    }
+
+    /**
+     * Completes the subscriber exceptionally.
+     *
+     * @param throwable a failure of the upstream publisher
+     */
+    @Override
+    public void onError(final Throwable throwable) {
+        completion.completeExceptionally(throwable);
+    }
+
+    /** Completes the subscriber. */
+    @Override
+    public void onComplete() {
+        completion.complete(null);
+    }
+
+    /** Cancels the subscription to the upstream publisher. */
+    public void cancel() {
+        final Flow.Subscription current = subscription;
+        if (null != current)
+            current.cancel();
+        completion.complete(null);
+    }
+
+    /**
+     * Returns a future that completes when the upstream publisher completes, fails or is cancelled.
+     *
+     * @return the completion of the subscriber
+     */
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * Returns the number of received events rejected by the reactor's rate limits.
+     *
+     * @return the number of rejected events
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /** Requests as many events as the reactor has capacity for, or re-checks later if it has none and nothing is outstanding. */
+    private void requestAvailable() {
+        if (completion.isDone())
+            return;
+
+        final long current = outstanding.get();
+        final long capacity = maxPendingEvents - reactor.getPendingEventCount() - current;
+        if (0 < capacity) {
+            outstanding.addAndGet(capacity);
+            subscription.request(capacity);
+        } else if (0 == current) {
+            // no event will arrive to trigger the next request, so the capacity is polled
+            recheckExecutor.execute(this::requestAvailable);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.jeactor.pipeline;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import org.jeactor.core.ConsumerPolicy;
+import org.jeactor.core.Event;
+import org.jeactor.core.IdentityPriorityConsumer;
+import org.jeactor.core.Reactor;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.lock.Locks;
+
+/**
+ * Represents a chain of stages that transform the events of a single type dispatched by a reactor, and pass the results to a sink, 
+ * typically another event type of the same or of another reactor.
+ *
+ * <p>Stages are fused: adjacent stages are composed into a single chain of consumers that an event is pushed through by a single 
+ * task, without creating intermediate events in a reactor, so a hop costs a method call instead of a demux enqueue, a dispatcher 
+ * wakeup and an executor handoff. The only queue boundaries are the stages that declare an executor of their own, where the rest of 
+ * the chain is handed over to that executor. The first segment runs on the source reactor according to the pipeline's consumer policy.
+ *
+ * <p>Instances are created with PipelineBuilderImpl, and are registered with the source reactor with attach().
+ */
+@ThreadSafe
+public class Pipeline extends IdentityPriorityConsumer<Event> {
+    private final Reactor source;
+    private final String eventType;
+    private final ConsumerPolicy policy;
+    private final Consumer<Event> head;
+    private final LongAdder failedCount;
+    private final LongAdder droppedCount;
+    private boolean attached; // guarded by attachLock
+    private final Lock attachLock;
+
+    /**
+     * Creates a pipeline configured by the accepted builder.
+     *
+     * @param builder a builder that holds the pipeline stages
+     */
+    Pipeline(final PipelineBuilderImpl builder) {
+        super(builder.getConsumerPriority());
+        this.source = builder.getSource();
+        this.eventType = builder.getEventType();
+        this.policy = builder.getPolicy();
+        this.failedCount = new LongAdder();
+        this.droppedCount = new LongAdder();
+        this.head = builder.fuse(failedCount, droppedCount);
+        this.attached = false;
+        this.attachLock = new ReentrantLock();
+    }
+
+    /**
+     * Registers this pipeline with the source reactor for the source event type.
+     *
+     * <p>A reactor accepts the same consumer twice, so a second attach() is refused here, otherwise every event would be pushed 
+     * through the stages twice.
+     *
+     * @return true if this pipeline has been registered, or false if it is already attached
+     */
+    public boolean attach() {
+        return Locks.exec(attachLock, ()->{
+            if (attached)
+                return false;
+            attached = source.register(eventType, this, policy);
+            return attached;
+        });
+    }
+
+    /**
+     * Unregisters this pipeline from the source reactor. Events already handed over to a stage executor still complete.
+     *
+     * @return true if this pipeline has been unregistered, or false otherwise
+     */
+    public boolean detach() {
+        return Locks.exec(attachLock, ()->{
+            if (!attached)
+                return false;
+            attached = false;
+            return source.unregister(eventType, this);
+        });
+    }
+
+    /**
+     * Pushes the accepted event through the stages of the first segment, on the calling thread.
+     *
+     * <p>A stage failure in the first segment is thrown to the caller, so the reactor applies the pipeline's consumer policy to it.
+     *
+     * @param event an event to process
+     */
+    @Override
+    public void accept(final Event event) {
+        head.accept(event);
+    }
+
+    /**
+     * Returns the number of events whose processing failed after a queue boundary, where there is no consumer policy to apply.
+     *
+     * @return the number of failed events
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * Returns the number of events rejected by the sink reactor's rate limits or by a stage executor.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+}
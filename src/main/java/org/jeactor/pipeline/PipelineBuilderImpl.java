@@ -0,0 +1,291 @@
+package org.jeactor.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.jeactor.core.Builder;
+import org.jeactor.core.ConsumerPolicy;
+import org.jeactor.core.Event;
+import org.jeactor.core.Priority;
+import org.jeactor.core.Reactor;
+import org.jeactor.util.concurrent.NotThreadSafe;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/** Pipeline builder implementation. Stages are appended in order, and the pipeline ends with a single sink. */
+@NotThreadSafe
+public class PipelineBuilderImpl implements Builder<Pipeline> {
+    private Reactor source;
+    private String eventType;
+    private Priority consumerPriority = Priority.NORMAL;
+    private ConsumerPolicy policy = ConsumerPolicy.DEFAULT;
+    private final List<Stage> stages = new ArrayList<>();
+    private Stage sink;
+
+    /**
+     * Sets the reactor and the event type the pipeline consumes. Required.
+     * 
+     * @param source
+     * @param eventType
+     * @return this builder object
+     */
+    public PipelineBuilderImpl withSource(final Reactor source, final String eventType) {
+        this.source = source;
+        this.eventType = eventType;
+        return this;
+    }
+
+    /**
+     * Sets the priority of the pipeline as a consumer of the source reactor. Defaults to NORMAL.
+     * 
+     * @param consumerPriority
+     * @return this builder object
+     */
+    public PipelineBuilderImpl withConsumerPriority(final Priority consumerPriority) {
+        this.consumerPriority = consumerPriority;
+        return this;
+    }
+
+    /**
+     * Sets the policy the source reactor delivers events to the pipeline with, which applies to the stages before the first executor. Defaults to ConsumerPolicy.DEFAULT.
+     * 
+     * @param policy
+     * @return this builder object
+     */
+    public PipelineBuilderImpl withPolicy(final ConsumerPolicy policy) {
+        this.policy = policy;
+        return this;
+    }
+
+    /**
+     * Appends a stage that replaces every event by the result of the accepted function.
+     * 
+     * @param mapper
+     * @return this builder object
+     */
+    public PipelineBuilderImpl map(final Function<Event, Event> mapper) {
+        stages.add(null == mapper ? null : (next, failedCount, droppedCount)->(event)->next.accept(mapper.apply(event)));
+        return this;
+    }
+
+    /**
+     * Appends a stage that passes on only the events that satisfy the accepted condition.
+     * 
+     * @param condition
+     * @return this builder object
+     */
+    public PipelineBuilderImpl filter(final Predicate<Event> condition) {
+        stages.add(null == condition ? null : (next, failedCount, droppedCount)->(event)->{
+            if (condition.test(event))
+                next.accept(event);
+        });
+        return this;
+    }
+
+    /**
+     * Appends a stage that replaces every event by the events returned by the accepted function, in order.
+     * 
+     * @param mapper
+     * @return this builder object
+     */
+    public PipelineBuilderImpl flatMap(final Function<Event, ? extends Iterable<Event>> mapper) {
+        stages.add(null == mapper ? null : (next, failedCount, droppedCount)->(event)->{
+            for (final Event mapped : mapper.apply(event))
+                next.accept(mapped);
+        });
+        return this;
+    }
+
+    /**
+     * Appends a queue boundary: the following stages and the sink run on the accepted executor. Use it before stages that block or take long.
+     * 
+     * @param executor
+     * @return this builder object
+     */
+    public PipelineBuilderImpl executeOn(final Executor executor) {
+        stages.add(null == executor ? null : new Boundary(executor));
+        return this;
+    }
+
+    /**
+     * Sets the sink to produce every event into the accepted reactor as an event of the accepted type, keeping its priority, pattern, payload, deadline and conflation key. Either this or forEach() is required.
+     * 
+     * @param target
+     * @param targetEventType
+     * @return this builder object
+     */
+    public PipelineBuilderImpl routeTo(final Reactor target, final String targetEventType) {
+        this.sink = null == target || null == targetEventType ? null : new Route(target, targetEventType);
+        return this;
+    }
+
+    /**
+     * Sets the sink to pass every event to the accepted consumer. Either this or routeTo() is required.
+     * 
+     * @param consumer
+     * @return this builder object
+     */
+    public PipelineBuilderImpl forEach(final Consumer<Event> consumer) {
+        this.sink = null == consumer ? null : (next, failedCount, droppedCount)->consumer;
+        return this;
+    }
+
+    /**
+     * The method builds a new pipeline.
+     * 
+     * @return a new pipeline
+     * @throws ValidationException when the source or the sink is missing, or a property or a stage is null
+     */
+    @Override
+    public Pipeline build() throws ValidationException {
+        Validations.validateNotNull(source, eventType, consumerPriority, policy, sink);
+        Validations.validateNotNull(stages.toArray());
+        return new Pipeline(this);
+    }
+
+    /**
+     * Returns the source reactor.
+     * 
+     * @return the source reactor
+     */
+    Reactor getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the source event type.
+     * 
+     * @return the source event type
+     */
+    String getEventType() {
+        return eventType;
+    }
+
+    /**
+     * Returns the consumer priority.
+     * 
+     * @return the consumer priority
+     */
+    Priority getConsumerPriority() {
+        return consumerPriority;
+    }
+
+    /**
+     * Returns the consumer policy.
+     * 
+     * @return the consumer policy
+     */
+    ConsumerPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Fuses the stages and the sink into a single chain of consumers, composed from the sink backwards.
+     * 
+     * @param failedCount a counter of the events that fail after a queue boundary
+     * @param droppedCount a counter of the events rejected by the sink or by a stage executor
+     * @return the head of the chain
+     */
+    Consumer<Event> fuse(final LongAdder failedCount, final LongAdder droppedCount) {
+        Consumer<Event> chain = sink.wrap(null, failedCount, droppedCount);
+        for (int i = stages.size() - 1; i >= 0; i--)
+            chain = stages.get(i).wrap(chain, failedCount, droppedCount);
+        return chain;
+    }
+
+    /** Represents a stage, which wraps the rest of the chain. */
+    @FunctionalInterface
+    private interface Stage {
+        /**
+         * Wraps the accepted rest of the chain with this stage.
+         * 
+         * @param next the rest of the chain, null for a sink
+         * @param failedCount a counter of the events that fail after a queue boundary
+         * @param droppedCount a counter of the events rejected by the sink or by a stage executor
+         * @return a consumer that applies this stage and passes the results to next
+         */
+        Consumer<Event> wrap(Consumer<Event> next, LongAdder failedCount, LongAdder droppedCount);
+    }
+
+    /** Represents a queue boundary that hands the rest of the chain over to an executor. */
+    private static final class Boundary implements Stage {
+        private final Executor executor;
+
+        /**
+         * Creates a boundary.
+         * 
+         * @param executor an executor to run the rest of the chain on
+         */
+        private Boundary(final Executor executor) {
+            this.executor = executor;
+        }
+
+        /**
+         * Wraps the accepted rest of the chain, so every event is passed to it by a task of the executor.
+         * 
+         * @param next the rest of the chain
+         * @param failedCount a counter of the events that fail in the rest of the chain
+         * @param droppedCount a counter of the events rejected by the executor
+         * @return a consumer that hands the events over to the executor
+         */
+        @Override
+        public Consumer<Event> wrap(final Consumer<Event> next, final LongAdder failedCount, final LongAdder droppedCount) {
+            return (event)->{
+                try {
+                    executor.execute(()->{
+                        try {
+                            next.accept(event);
+                        } catch (final RuntimeException e) {
+                            // there is no consumer policy past a boundary, and the executor must not lose its thread
+                            failedCount.increment();
+                        }
+                    });
+                } catch (final RejectedExecutionException e) {
+                    droppedCount.increment();
+                }
+            };
+        }
+    }
+
+    /** Represents a sink that produces events into a reactor as another event type. */
+    private static final class Route implements Stage {
+        private final Reactor target;
+        private final String targetEventType;
+
+        /**
+         * Creates a route.
+         * 
+         * @param target a reactor to produce into
+         * @param targetEventType a type of the produced events
+         */
+        private Route(final Reactor target, final String targetEventType) {
+            this.target = target;
+            this.targetEventType = targetEventType;
+        }
+
+        /**
+         * Returns the sink.
+         * 
+         * @param next ignored, a sink ends the chain
+         * @param failedCount ignored
+         * @param droppedCount a counter of the events rejected by the target reactor
+         * @return a consumer that produces the events into the target reactor
+         */
+        @Override
+        public Consumer<Event> wrap(final Consumer<Event> next, final LongAdder failedCount, final LongAdder droppedCount) {
+            return (event)->{
+                // a new uuid, so a deduplicating demux never mistakes the routed event for its source
+                final Event routed = targetEventType.equals(event.getEventType()) ? event : new Event(targetEventType, 
+                    event.getEventPriority(), event.getEventPattern(), event.getJsonPayload(), UUID.randomUUID(), event.getDeadline(), event.getConflationKey());
+                if (!target.tryProduce(routed))
+                    droppedCount.increment();
+            };
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.jeactor.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.jeactor.core.Event;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/**
+ * Represents a head-based sampler, which decides once per trace, when its root event is produced, wether the trace is sampled. 
+ * The events produced by the consumers of the trace inherit the decision.
+ */
+@FunctionalInterface
+public interface Sampler {
+    /**
+     * Decides wether the trace of the accepted root event is sampled.
+     *
+     * @param event a root event
+     * @return true if the trace is sampled, or false otherwise
+     */
+    boolean isSampled(Event event);
+
+    /**
+     * Returns a sampler that samples every trace.
+     *
+     * @return a sampler
+     */
+    static Sampler always() {
+        return (event)->true;
+    }
+
+    /**
+     * Returns a sampler that samples no trace.
+     *
+     * @return a sampler
+     */
+    static Sampler never() {
+        return (event)->false;
+    }
+
+    /**
+     * Returns a sampler that samples traces at random with the accepted probability.
+     *
+     * @param ratio a probability within [0, 1]
+     * @return a sampler
+     * @throws ValidationException when ratio is not within [0, 1]
+     */
+    static Sampler ratio(final double ratio) throws ValidationException {
+        if (!(0 <= ratio && ratio <= 1))
+            throw new ValidationException("ratio must be within [0, 1]");
+        return (event)->ThreadLocalRandom.current().nextDouble() < ratio;
+    }
+}
@@ -0,0 +1,203 @@
+package org.jeactor.trace;
+
+import java.util.UUID;
+import org.jeactor.util.concurrent.ThreadSafe;
+
+/**
+ * Represents an immutable finished span of a sampled trace.
+ *
+ * <p>An EVENT span covers an event from the moment it has been produced until it has been dispatched, so its duration is the time it 
+ * waited in the reactor. A CONSUMER span covers a single attempt of a consumer on the event, a child of the EVENT span, and its wait 
+ * is the time the attempt waited for the executor after the dispatch. Events produced by the consumer are children of the CONSUMER span.
+ *
+ * <p>Times are in the time base of System.nanoTime().
+ */
+@ThreadSafe
+public final class Span {
+    /** Represents the kinds of spans. */
+    public enum Kind {
+        /** The time an event waited in the reactor, from produce to dispatch. */
+        EVENT,
+
+        /** The execution of a consumer on an event. */
+        CONSUMER
+    }
+
+    private final Kind kind;
+    private final long traceId;
+    private final long spanId;
+    private final long parentSpanId;
+    private final String eventType;
+    private final UUID eventUuid;
+    private final String consumer;
+    private final int attempt;
+    private final long waitNanos;
+    private final long startNanos;
+    private final long endNanos;
+    private final Throwable failure;
+
+    /**
+     * Creates a span.
+     *
+     * @param kind a kind of the span
+     * @param context a context that holds the trace, span and parent span ids
+     * @param eventType a type of the event
+     * @param eventUuid a uuid of the event
+     * @param consumer a name of the consumer, or null for an EVENT span
+     * @param attempt a number of the consumer attempt, or 0 for an EVENT span
+     * @param waitNanos the time waited for the executor, or 0 for an EVENT span
+     * @param startNanos the start time
+     * @param endNanos the end time
+     * @param failure a failure of the consumer attempt, or null
+     */
+    Span(final Kind kind, final TraceContext context, final String eventType, final UUID eventUuid, final String consumer, 
+            final int attempt, final long waitNanos, final long startNanos, final long endNanos, final Throwable failure) {
+        this.kind = kind;
+        this.traceId = context.getTraceId();
+        this.spanId = context.getSpanId();
+        this.parentSpanId = context.getParentSpanId();
+        this.eventType = eventType;
+        this.eventUuid = eventUuid;
+        this.consumer = consumer;
+        this.attempt = attempt;
+        this.waitNanos = waitNanos;
+        this.startNanos = startNanos;
+        this.endNanos = endNanos;
+        this.failure = failure;
+    }
+
+    /**
+     * Returns the kind of the span.
+     *
+     * @return the kind
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the id of the trace.
+     *
+     * @return the trace id
+     */
+    public long getTraceId() {
+        return traceId;
+    }
+
+    /**
+     * Returns the id of the span.
+     *
+     * @return the span id
+     */
+    public long getSpanId() {
+        return spanId;
+    }
+
+    /**
+     * Returns the id of the parent span.
+     *
+     * @return the parent span id, or 0 for a root span
+     */
+    public long getParentSpanId() {
+        return parentSpanId;
+    }
+
+    /**
+     * Returns the type of the event.
+     *
+     * @return the event type
+     */
+    public String getEventType() {
+        return eventType;
+    }
+
+    /**
+     * Returns the uuid of the event.
+     *
+     * @return the event uuid
+     */
+    public UUID getEventUuid() {
+        return eventUuid;
+    }
+
+    /**
+     * Returns the name of the consumer.
+     *
+     * @return the consumer name, or null for an EVENT span
+     */
+    public String getConsumer() {
+        return consumer;
+    }
+
+    /**
+     * Returns the number of the consumer attempt.
+     *
+     * @return the attempt, or 0 for an EVENT span
+     */
+    public int getAttempt() {
+        return attempt;
+    }
+
+    /**
+     * Returns the time the consumer attempt waited for the executor after the dispatch.
+     *
+     * @return the wait time in nanoseconds, or 0 for an EVENT span
+     */
+    public long getWaitNanos() {
+        return waitNanos;
+    }
+
+    /**
+     * Returns the start time of the span.
+     *
+     * @return the start time in nanoseconds
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Returns the end time of the span.
+     *
+     * @return the end time in nanoseconds
+     */
+    public long getEndNanos() {
+        return endNanos;
+    }
+
+    /**
+     * Returns the duration of the span.
+     *
+     * @return the duration in nanoseconds
+     */
+    public long getDurationNanos() {
+        return endNanos - startNanos;
+    }
+
+    /**
+     * Returns the failure of the consumer attempt.
+     *
+     * @return the failure, or null if the attempt succeeded or for an EVENT span
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * Generates a string representation of this object.
+     *
+     * @return a string representation of this object
+     */
+    @Override
+    public String toString() {
+        return "Span{" +
+                "kind=" + kind +
+                ", traceId=" + Long.toHexString(traceId) +
+                ", spanId=" + Long.toHexString(spanId) +
+                ", parentSpanId=" + Long.toHexString(parentSpanId) +
+                ", eventType=" + eventType +
+                ", consumer=" + consumer +
+                ", durationNanos=" + getDurationNanos() +
+                '}';
+    }
+}
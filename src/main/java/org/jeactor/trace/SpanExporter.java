@@ -0,0 +1,19 @@
+package org.jeactor.trace;
+
+/**
+ * Represents a service provider interface for exporting the finished spans of sampled traces in-process.
+ *
+ * <p>Spans are exported on the threads that finish them, the reactor's and the executors' threads, so an exporter must be thread safe 
+ * and cheap, e.g. hand the spans over to a queue. A failing exporter does not affect the traced events.
+ *
+ * <p>Implementations can be discovered with java.util.ServiceLoader, see Tracer.fromServiceLoader().
+ */
+@FunctionalInterface
+public interface SpanExporter {
+    /**
+     * Exports the accepted finished span.
+     *
+     * @param span a finished span
+     */
+    void export(Span span);
+}
@@ -0,0 +1,98 @@
+package org.jeactor.trace;
+
+import org.jeactor.util.concurrent.ThreadSafe;
+
+/**
+ * Represents the immutable trace context an event carries: the trace it belongs to, its own span, the span of the consumer that 
+ * produced it and the head-based sampling decision of the trace.
+ *
+ * <p>Only sampled events carry a context. Unsampled ones carry none, so they cost neither an allocation nor a timing.
+ */
+@ThreadSafe
+public final class TraceContext {
+    /** The context of unsampled traces, propagated to the events produced by their consumers. */
+    public static final TraceContext UNSAMPLED = new TraceContext(0, 0, 0, false, 0);
+
+    private final long traceId;
+    private final long spanId;
+    private final long parentSpanId;
+    private final boolean sampled;
+    private final long startNanos;
+
+    /**
+     * Creates a context.
+     *
+     * @param traceId an id of the trace
+     * @param spanId an id of the span
+     * @param parentSpanId an id of the parent span, or 0 for a root span
+     * @param sampled wether the trace is sampled
+     * @param startNanos the nano time the span started at
+     */
+    TraceContext(final long traceId, final long spanId, final long parentSpanId, final boolean sampled, final long startNanos) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.sampled = sampled;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Returns the id of the trace.
+     *
+     * @return the trace id
+     */
+    public long getTraceId() {
+        return traceId;
+    }
+
+    /**
+     * Returns the id of the span.
+     *
+     * @return the span id
+     */
+    public long getSpanId() {
+        return spanId;
+    }
+
+    /**
+     * Returns the id of the parent span.
+     *
+     * @return the parent span id, or 0 for a root span
+     */
+    public long getParentSpanId() {
+        return parentSpanId;
+    }
+
+    /**
+     * Returns wether the trace is sampled.
+     *
+     * @return true if the trace is sampled, or false otherwise
+     */
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * Returns the nano time the span started at, for an event the time it has been produced.
+     *
+     * @return the start time in nanoseconds, in the time base of System.nanoTime()
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Generates a string representation of this object.
+     *
+     * @return a string representation of this object
+     */
+    @Override
+    public String toString() {
+        return "TraceContext{" +
+                "traceId=" + Long.toHexString(traceId) +
+                ", spanId=" + Long.toHexString(spanId) +
+                ", parentSpanId=" + Long.toHexString(parentSpanId) +
+                ", sampled=" + sampled +
+                '}';
+    }
+}
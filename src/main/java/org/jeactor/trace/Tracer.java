@@ -0,0 +1,176 @@
+package org.jeactor.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import org.jeactor.core.Event;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/**
+ * Represents the tracing of a reactor: it starts the traces of produced events by the head-based sampler, and exports the finished spans.
+ *
+ * <p>The context of the consumer running on a thread is held in a thread local, so an event produced from inside a consumer becomes a 
+ * child of the consumer's span, even into another reactor that is traced by another tracer.
+ */
+@ThreadSafe
+public final class Tracer {
+    private static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+
+    private final Sampler sampler;
+    private final SpanExporter exporter;
+    private final LongAdder exportFailureCount;
+
+    /**
+     * Creates a tracer.
+     *
+     * @param sampler a sampler of the root events
+     * @param exporter an exporter of the finished spans
+     * @throws ValidationException when null argument is supplied
+     */
+    public Tracer(final Sampler sampler, final SpanExporter exporter) throws ValidationException {
+        Validations.validateNotNull(sampler, exporter);
+        this.sampler = sampler;
+        this.exporter = exporter;
+        this.exportFailureCount = new LongAdder();
+    }
+
+    /**
+     * Creates a tracer that exports to every SpanExporter provider found by java.util.ServiceLoader.
+     *
+     * @param sampler a sampler of the root events
+     * @return a new tracer
+     * @throws ValidationException when null argument is supplied
+     */
+    public static Tracer fromServiceLoader(final Sampler sampler) throws ValidationException {
+        final List<SpanExporter> exporters = new ArrayList<>();
+        ServiceLoader.load(SpanExporter.class).forEach(exporters::add);
+        return new Tracer(sampler, (span)->{
+            for (final SpanExporter exporter : exporters)
+                exporter.export(span);
+        });
+    }
+
+    /**
+     * Returns the context of the consumer running on the calling thread.
+     *
+     * @return the current context, UNSAMPLED inside a consumer of an unsampled event, or null outside of traced consumers
+     */
+    public static TraceContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes the accepted context the current one. Called by the reactor before running a consumer.
+     *
+     * @param context a context to make current
+     * @return the previous context, to pass to exit()
+     */
+    public static TraceContext enter(final TraceContext context) {
+        final TraceContext previous = CURRENT.get();
+        CURRENT.set(context);
+        return previous;
+    }
+
+    /**
+     * Restores the accepted previous context. Called by the reactor after running a consumer.
+     *
+     * @param previous the context returned by enter()
+     */
+    public static void exit(final TraceContext previous) {
+        if (null == previous)
+            CURRENT.remove();
+        else
+            CURRENT.set(previous);
+    }
+
+    /**
+     * Starts the span of the accepted produced event: a child of the current consumer's span, or the root of a new trace.
+     *
+     * @param event a produced event
+     * @return a new sampled context, or UNSAMPLED
+     */
+    public TraceContext start(final Event event) {
+        final TraceContext parent = CURRENT.get();
+        if (null != parent)
+            return parent.isSampled() ? new TraceContext(parent.getTraceId(), newId(), parent.getSpanId(), true, System.nanoTime()) : TraceContext.UNSAMPLED;
+        return sampler.isSampled(event) ? new TraceContext(newId(), newId(), 0, true, System.nanoTime()) : TraceContext.UNSAMPLED;
+    }
+
+    /**
+     * Starts the span of a consumer attempt on an event of the accepted sampled context.
+     *
+     * @param eventContext the sampled context of the consumed event
+     * @param startNanos the time the attempt started at
+     * @return a new context, a child of the event's span
+     */
+    public TraceContext startConsumer(final TraceContext eventContext, final long startNanos) {
+        return new TraceContext(eventContext.getTraceId(), newId(), eventContext.getSpanId(), true, startNanos);
+    }
+
+    /**
+     * Exports the EVENT span of the accepted sampled event, which has been dispatched at the accepted time.
+     *
+     * @param event a sampled event
+     * @param dispatchedNanos the time the event has been dispatched at
+     */
+    public void exportEvent(final Event event, final long dispatchedNanos) {
+        final TraceContext context = event.getTraceContext();
+        export(new Span(Span.Kind.EVENT, context, event.getEventType(), event.getUuid(), null, 0, 0, context.getStartNanos(), dispatchedNanos, null));
+    }
+
+    /**
+     * Exports the CONSUMER span of a finished consumer attempt.
+     *
+     * @param consumerContext the context returned by startConsumer()
+     * @param event the consumed event
+     * @param consumer a name of the consumer
+     * @param attempt a number of the attempt
+     * @param dispatchedNanos the time the event has been dispatched at
+     * @param endNanos the time the attempt ended at
+     * @param failure a failure of the attempt, or null
+     */
+    public void exportConsumer(final TraceContext consumerContext, final Event event, final String consumer, final int attempt, 
+            final long dispatchedNanos, final long endNanos, final Throwable failure) {
+        export(new Span(Span.Kind.CONSUMER, consumerContext, event.getEventType(), event.getUuid(), consumer, attempt, 
+            Math.max(0, consumerContext.getStartNanos() - dispatchedNanos), consumerContext.getStartNanos(), endNanos, failure));
+    }
+
+    /**
+     * Returns the number of spans whose export failed.
+     *
+     * @return the number of export failures
+     */
+    public long getExportFailureCount() {
+        return exportFailureCount.sum();
+    }
+
+    /**
+     * Exports the accepted span, containing a failure of the exporter.
+     *
+     * @param span a finished span
+     */
+    private void export(final Span span) {
+        try {
+            exporter.export(span);
+        } catch (final RuntimeException e) {
+            exportFailureCount.increment();
+        }
+    }
+
+    /**
+     * Generates a random non zero id.
+     *
+     * @return a new id
+     */
+    private static long newId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (0 == id);
+        return id;
+    }
+}
@@ -0,0 +1,83 @@
+package org.jeactor.util.concurrent;
+
+import java.util.concurrent.Executor;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/**
+ * Executor that executes tasks synchronously in the caller thread while they are cheap, and hands them off to a delegate executor otherwise.
+ *
+ * <p>Every execution is timed, and an exponentially weighted moving average of the execution times decides where the next task runs:
+ * inline while the average does not exceed the threshold, and on the delegate executor once it does. Since tasks handed off are timed as
+ * well, the executor returns to inline execution when they become cheap again.
+ */
+@ThreadSafe
+public class AdaptiveExecutor implements Executor {
+    // weight of a new sample is 1/2^SMOOTHING_SHIFT
+    private static final int SMOOTHING_SHIFT = 3;
+
+    private final Executor delegate;
+    private final long thresholdNanos;
+
+    // racy read-modify-write may lose a sample now and then, which is acceptable for an estimate
+    private volatile long averageNanos;
+
+    /**
+     * Creates an adaptive executor.
+     *
+     * @param delegate an executor to hand expensive tasks off to
+     * @param thresholdNanos a positive average execution time in nanoseconds above which tasks are handed off
+     * @throws ValidationException when null delegate is supplied or thresholdNanos is not positive
+     */
+    public AdaptiveExecutor(final Executor delegate, final long thresholdNanos) throws ValidationException {
+        Validations.validateNotNull(delegate);
+        Validations.validatePositive(thresholdNanos);
+        this.delegate = delegate;
+        this.thresholdNanos = thresholdNanos;
+        this.averageNanos = 0;
+    }
+
+    /**
+     * Executes the submitted task inline or on the delegate executor, according to the average execution time.
+     *
+     * @param task a runnable task to execute
+     */
+    @Override
+    public void execute(final Runnable task) {
+        if (isInline()) {
+            timed(task);
+        } else {
+            delegate.execute(new Runnable() {
+                @Override
+                public void run() {
+                    timed(task);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns wether the next task is executed inline.
+     *
+     * @return true if the average execution time does not exceed the threshold, or false otherwise
+     */
+    public boolean isInline() {
+        return averageNanos <= thresholdNanos;
+    }
+
+    /**
+     * Runs the accepted task and records its execution time, also when it fails.
+     *
+     * @param task a task to run
+     */
+    private void timed(final Runnable task) {
+        final long start = System.nanoTime();
+        try {
+            task.run();
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            final long average = averageNanos;
+            averageNanos = average + ((elapsed - average) >> SMOOTHING_SHIFT);
+        }
+    }
+}
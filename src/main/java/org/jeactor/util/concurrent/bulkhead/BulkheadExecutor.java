@@ -0,0 +1,192 @@
+package org.jeactor.util.concurrent.bulkhead;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/**
+ * Represents an executor that isolates a group of tasks on a shared executor.
+ *
+ * <p>At most the accepted number of tasks are in flight on the shared executor at a time, further tasks wait in a bounded queue
+ * owned by the bulkhead, and tasks submitted to a full queue are handled by the overflow policy. So a group of slow tasks can
+ * occupy at most its share of the shared executor's workers.
+ *
+ * <p>An optional circuit breaker measures the execution time of the tasks and sheds submitted tasks while it is open.
+ *
+ * <p>A task submitted directly that the shared executor rejects is thrown back to the caller. A queued task that the shared executor 
+ * rejects when a permit is handed over to it has no caller left, so it is dropped and counted as rejected.
+ */
+@ThreadSafe
+public class BulkheadExecutor implements Executor {
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final LatencyCircuitBreaker circuitBreaker;
+
+    private final ArrayDeque<Runnable> queue;
+    private int inFlight;
+    private final Lock lock;
+
+    private final LongAdder droppedCount;
+    private final LongAdder shedCount;
+    private final LongAdder rejectedCount;
+
+    /**
+     * Creates a bulkhead.
+     *
+     * @param executor a shared executor to execute the tasks with
+     * @param maxConcurrency a positive maximal number of tasks in flight on the shared executor
+     * @param queueCapacity a non negative capacity of the bulkhead queue
+     * @param overflowPolicy a policy of handling tasks submitted to a full bulkhead
+     * @param circuitBreaker a circuit breaker that sheds tasks when they are slow, or null for none
+     * @throws ValidationException when null executor or overflowPolicy is supplied, maxConcurrency is not positive or queueCapacity is negative
+     */
+    public BulkheadExecutor(final Executor executor, final int maxConcurrency, final int queueCapacity, final OverflowPolicy overflowPolicy,
+            final LatencyCircuitBreaker circuitBreaker) throws ValidationException {
+        Validations.validateNotNull(executor, overflowPolicy);
+        Validations.validatePositive(maxConcurrency, queueCapacity + 1);
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.circuitBreaker = circuitBreaker;
+        this.queue = new ArrayDeque<>();
+        this.inFlight = 0;
+        this.lock = new ReentrantLock();
+        this.droppedCount = new LongAdder();
+        this.shedCount = new LongAdder();
+        this.rejectedCount = new LongAdder();
+    }
+
+    /**
+     * Executes the accepted task on the shared executor, or queues it if the bulkhead is saturated.
+     *
+     * @param task a runnable task to execute
+     * @throws RejectedExecutionException when the shared executor rejects the task
+     */
+    @Override
+    public void execute(final Runnable task) throws RejectedExecutionException {
+        if (null != circuitBreaker && !circuitBreaker.allowCall()) {
+            shedCount.increment();
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (inFlight < maxConcurrency) {
+                inFlight++;
+            } else {
+                if (queue.size() >= queueCapacity) {
+                    droppedCount.increment();
+                    if (OverflowPolicy.DROP_NEWEST == overflowPolicy || 0 == queueCapacity)
+                        return;
+                    queue.pollFirst();
+                }
+                queue.addLast(task);
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        submit(task);
+    }
+
+    /**
+     * Returns the number of tasks dropped because the bulkhead was full.
+     *
+     * @return the number of dropped tasks
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * Returns the number of tasks shed because the circuit breaker was open.
+     *
+     * @return the number of shed tasks
+     */
+    public long getShedCount() {
+        return shedCount.sum();
+    }
+
+    /**
+     * Returns the number of queued tasks dropped because the shared executor rejected them.
+     *
+     * @return the number of rejected tasks
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Submits the accepted task to the shared executor, holding one of the in flight permits.
+     *
+     * @param task a task to submit
+     * @throws RejectedExecutionException when the shared executor rejects the task, after the permit has been released
+     */
+    private void submit(final Runnable task) throws RejectedExecutionException {
+        try {
+            executor.execute(withPermit(task));
+        } catch (final RejectedExecutionException e) {
+            complete();
+            throw e;
+        }
+    }
+
+    /**
+     * Wraps the accepted task so it measures its execution time and releases its permit when it is done.
+     *
+     * @param task a task to wrap
+     * @return the wrapped task
+     */
+    private Runnable withPermit(final Runnable task) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                final long start = System.nanoTime();
+                try {
+                    task.run();
+                } finally {
+                    if (null != circuitBreaker)
+                        circuitBreaker.record(System.nanoTime() - start);
+                    complete();
+                }
+            }
+        };
+    }
+
+    /**
+     * Releases an in flight permit, or hands it over to the next queued task.
+     *
+     * <p>Runs in the finally block of a task, so it never throws: a queued task the shared executor rejects is dropped and counted, 
+     * and the permit goes on to the task after it.
+     */
+    private void complete() {
+        while (true) {
+            final Runnable next;
+            lock.lock();
+            try {
+                next = queue.pollFirst();
+                if (null == next)
+                    inFlight--;
+            } finally {
+                lock.unlock();
+            }
+            if (null == next)
+                return;
+            try {
+                executor.execute(withPermit(next));
+                return;
+            } catch (final RejectedExecutionException e) {
+                rejectedCount.increment();
+            }
+        }
+    }
+}
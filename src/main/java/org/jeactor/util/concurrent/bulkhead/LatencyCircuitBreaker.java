@@ -0,0 +1,95 @@
+package org.jeactor.util.concurrent.bulkhead;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/**
+ * Represents a circuit breaker that opens on slow calls.
+ *
+ * <p>The breaker opens after the accepted number of consecutive calls exceed the latency threshold, and rejects calls while open.
+ * After the break duration it lets a single trial call through: a fast trial closes the breaker, a slow one opens it again.
+ */
+@ThreadSafe
+public class LatencyCircuitBreaker {
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+
+    private final long latencyThresholdNanos;
+    private final int slowCallThreshold;
+    private final long breakDurationNanos;
+
+    private final AtomicInteger state;
+    private final AtomicInteger consecutiveSlowCalls;
+    private volatile long openedAtNanos;
+
+    /**
+     * Creates a closed circuit breaker.
+     *
+     * @param latencyThreshold a positive latency above which a call is slow
+     * @param slowCallThreshold a positive number of consecutive slow calls that opens the breaker
+     * @param breakDuration a positive time the breaker stays open before a trial call
+     * @throws ValidationException when null argument is supplied or an argument is not positive
+     */
+    public LatencyCircuitBreaker(final Duration latencyThreshold, final int slowCallThreshold, final Duration breakDuration) throws ValidationException {
+        Validations.validateNotNull(latencyThreshold, breakDuration);
+        Validations.validatePositive(latencyThreshold.toNanos(), breakDuration.toNanos());
+        Validations.validatePositive(slowCallThreshold);
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.slowCallThreshold = slowCallThreshold;
+        this.breakDurationNanos = breakDuration.toNanos();
+        this.state = new AtomicInteger(CLOSED);
+        this.consecutiveSlowCalls = new AtomicInteger();
+        this.openedAtNanos = 0;
+    }
+
+    /**
+     * Returns wether a call is allowed now. While half open, only the first caller is allowed.
+     *
+     * @return true if the call is allowed, or false if it must be shed
+     */
+    public boolean allowCall() {
+        switch (state.get()) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                return System.nanoTime() - openedAtNanos >= breakDurationNanos && state.compareAndSet(OPEN, HALF_OPEN);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Records the latency of a completed call.
+     *
+     * @param latencyNanos a latency of the call in nanoseconds
+     */
+    public void record(final long latencyNanos) {
+        if (latencyNanos > latencyThresholdNanos) {
+            if (HALF_OPEN == state.get() || consecutiveSlowCalls.incrementAndGet() >= slowCallThreshold)
+                open();
+        } else {
+            consecutiveSlowCalls.set(0);
+            state.compareAndSet(HALF_OPEN, CLOSED);
+        }
+    }
+
+    /**
+     * Returns wether the breaker is open, i.e. sheds calls.
+     *
+     * @return true if the breaker is open or half open, or false if it is closed
+     */
+    public boolean isOpen() {
+        return CLOSED != state.get();
+    }
+
+    /** Opens the breaker. */
+    private void open() {
+        openedAtNanos = System.nanoTime();
+        consecutiveSlowCalls.set(0);
+        state.set(OPEN);
+    }
+}
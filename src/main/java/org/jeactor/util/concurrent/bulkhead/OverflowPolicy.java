@@ -0,0 +1,10 @@
+package org.jeactor.util.concurrent.bulkhead;
+
+/** Represents policies of handling a task submitted to a full bulkhead. */
+public enum OverflowPolicy {
+    /** The submitted task is dropped. */
+    DROP_NEWEST,
+
+    /** The oldest queued task is dropped to make room for the submitted task. */
+    DROP_OLDEST
+}
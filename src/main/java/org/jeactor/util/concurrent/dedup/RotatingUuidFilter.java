@@ -0,0 +1,199 @@
+package org.jeactor.util.concurrent.dedup;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/**
+ * Represents a count windowed filter of uuids with a bounded memory footprint.
+ *
+ * <p>Uuids are spread over lock striped segments, each holding two open addressing tables of primitive longs: the current one
+ * and the previous one. When the current table is full, the previous one is cleared and the two are swapped, so memory is
+ * allocated once and a lookup never allocates. The filter has no false positives.
+ *
+ * <p>Retention is per segment: a segment remembers at least the last uuids it has accepted up to its capacity, which is its
+ * share of the window plus a headroom of four standard deviations of that share. A single stripe therefore remembers at least
+ * the last window size uuids, and more stripes do so unless the recent uuids hash to a segment far more unevenly than uniformly
+ * spread uuids do, in which case the oldest of them may be forgotten early.
+ *
+ * <p>The nil uuid (all bits zero) marks empty table slots, so it is always accepted.
+ */
+@ThreadSafe
+public class RotatingUuidFilter {
+    /** Default number of lock stripes. */
+    public static final int DEFAULT_STRIPES = 16;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    /**
+     * Creates a filter with the default number of stripes.
+     *
+     * @param windowSize a positive number of most recently accepted uuids to remember, approximately
+     * @throws ValidationException when windowSize is not positive
+     */
+    public RotatingUuidFilter(final int windowSize) throws ValidationException {
+        this(windowSize, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates a filter.
+     *
+     * @param windowSize a positive number of most recently accepted uuids to remember, exactly with a single stripe and approximately otherwise
+     * @param stripes a positive number of lock stripes, rounded up to a power of 2
+     * @throws ValidationException when windowSize or stripes is not positive
+     */
+    public RotatingUuidFilter(final int windowSize, final int stripes) throws ValidationException {
+        Validations.validatePositive(windowSize, stripes);
+        final int segmentCount = ceilPowerOf2(stripes);
+        // uuids are spread uniformly, so the uuids of a window per segment are binomially distributed around the segment's share
+        final int share = Math.max(1, (windowSize + segmentCount - 1) / segmentCount);
+        final int segmentCapacity = 1 == segmentCount ? share : (int) Math.min(Integer.MAX_VALUE / 4, share + 4 * (long) Math.ceil(Math.sqrt(share)));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++)
+            segments[i] = new Segment(segmentCapacity);
+        this.segmentMask = segmentCount - 1;
+    }
+
+    /**
+     * Records the accepted uuid if it has not been seen within the window.
+     *
+     * @param uuid a uuid to record
+     * @return true if the uuid has not been seen within the window, or false if it is a duplicate
+     */
+    public boolean add(final UUID uuid) {
+        final long msb = uuid.getMostSignificantBits();
+        final long lsb = uuid.getLeastSignificantBits();
+        if (0 == msb && 0 == lsb)
+            return true;
+
+        final long hash = mix(msb ^ Long.rotateLeft(lsb, 32));
+        return segments[(int) (hash >>> 32) & segmentMask].add(msb, lsb, (int) hash);
+    }
+
+    /**
+     * Mixes the bits of the accepted value (murmur3 finalizer).
+     *
+     * @param x a value to mix
+     * @return the mixed value
+     */
+    private static long mix(long x) {
+        x ^= x >>> 33;
+        x *= 0xff51afd7ed558ccdL;
+        x ^= x >>> 33;
+        x *= 0xc4ceb9fe1a85ec53L;
+        x ^= x >>> 33;
+        return x;
+    }
+
+    /**
+     * Rounds the accepted positive integer up to a power of 2.
+     *
+     * @param x a positive integer
+     * @return the smallest power of 2 not less than x
+     */
+    private static int ceilPowerOf2(final int x) {
+        return 1 == x ? 1 : Integer.highestOneBit(x - 1) << 1;
+    }
+
+    /** Represents a lock striped segment of the filter. */
+    private static final class Segment {
+        private final ReentrantLock lock;
+        private final int capacity;
+        private final int mask;
+        private long[] current; // msb and lsb interleaved
+        private long[] previous;
+        private int currentSize;
+
+        /**
+         * Creates a segment.
+         *
+         * @param capacity a number of uuids the current table holds before it is rotated
+         */
+        private Segment(final int capacity) {
+            this.lock = new ReentrantLock();
+            this.capacity = capacity;
+            // load factor of at most 0.5 keeps probe sequences short
+            final int slots = ceilPowerOf2(capacity * 2);
+            this.mask = slots - 1;
+            this.current = new long[slots * 2];
+            this.previous = new long[slots * 2];
+            this.currentSize = 0;
+        }
+
+        /**
+         * Records the accepted uuid if it is in neither table.
+         *
+         * @param msb most significant bits of the uuid
+         * @param lsb least significant bits of the uuid
+         * @param hash a hash of the uuid
+         * @return true if the uuid has been recorded, or false if it is a duplicate
+         */
+        private boolean add(final long msb, final long lsb, final int hash) {
+            // plain lock rather than Locks.exec() to avoid allocating a capturing lambda per event
+            lock.lock();
+            try {
+                if (contains(previous, msb, lsb, hash))
+                    return false;
+
+                int slot = hash & mask;
+                while (true) {
+                    final long m = current[slot * 2];
+                    final long l = current[slot * 2 + 1];
+                    if (0 == m && 0 == l)
+                        break;
+                    if (m == msb && l == lsb)
+                        return false;
+                    slot = (slot + 1) & mask;
+                }
+
+                if (currentSize == capacity) {
+                    rotate();
+                    slot = hash & mask;
+                    while (0 != current[slot * 2] || 0 != current[slot * 2 + 1])
+                        slot = (slot + 1) & mask;
+                }
+                current[slot * 2] = msb;
+                current[slot * 2 + 1] = lsb;
+                currentSize++;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Returns wether the accepted table contains the accepted uuid.
+         *
+         * @param table a table to look into
+         * @param msb most significant bits of the uuid
+         * @param lsb least significant bits of the uuid
+         * @param hash a hash of the uuid
+         * @return true if the table contains the uuid, or false otherwise
+         */
+        private boolean contains(final long[] table, final long msb, final long lsb, final int hash) {
+            int slot = hash & mask;
+            while (true) {
+                final long m = table[slot * 2];
+                final long l = table[slot * 2 + 1];
+                if (0 == m && 0 == l)
+                    return false;
+                if (m == msb && l == lsb)
+                    return true;
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        /** Forgets the previous table and makes the current table the previous one. */
+        private void rotate() {
+            final long[] tmp = previous;
+            Arrays.fill(tmp, 0);
+            previous = current;
+            current = tmp;
+            currentSize = 0;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.jeactor.util.concurrent.demux;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jeactor.core.Event;
+import org.jeactor.core.Priority;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.lock.Locks;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/**
+ * Represents a blocking event demultiplexor that supports prioritization with aging, to bound starvation of low priority events.
+ *
+ * <p>Events are kept in a FIFO lane per priority. The effective priority of an event rises by one priority level for every aging
+ * interval it waits, so a waiting event eventually overtakes newer events of higher priorities. Equivalently, every event gets a
+ * virtual deadline of its arrival time minus its priority ordinal times the aging interval, and the lane head with the earliest
+ * virtual deadline is returned first. Under a sustained flood of urgent events, an event waits at most its priority distance
+ * times the aging interval longer than the urgent ones.
+ */
+@ThreadSafe
+public class AgingPriorityEventDemux implements EventDemux {
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final long agingIntervalNanos;
+    private final ArrayDeque<Entry>[] lanes;
+    private final Lock lock;
+    private final Condition notEmpty;
+    private int size;
+
+    /**
+     * Creates an instance with the accepted aging interval.
+     *
+     * @param agingInterval a positive time a waiting event needs to be promoted by a single priority level
+     * @throws ValidationException when null or non positive agingInterval is supplied
+     */
+    @SuppressWarnings("unchecked")
+    public AgingPriorityEventDemux(final Duration agingInterval) throws ValidationException {
+        Validations.validateNotNull(agingInterval);
+        Validations.validatePositive(agingInterval.toNanos());
+        this.agingIntervalNanos = agingInterval.toNanos();
+        this.lanes = (ArrayDeque<Entry>[]) new ArrayDeque[PRIORITIES.length];
+        for (int i = 0; i < lanes.length; i++)
+            lanes[i] = new ArrayDeque<>();
+        this.lock = new ReentrantLock();
+        this.notEmpty = lock.newCondition();
+        this.size = 0;
+    }
+
+    /**
+     * Accepts an event to demultiplex.
+     *
+     * @param event an event to demultiplex
+     */
+    @Override
+    public void accept(final Event event) {
+        // virtual deadline computed once on arrival, so selection is a comparison of lane heads
+        final long virtualDeadline = System.nanoTime() - event.getEventPriority().ordinal() * agingIntervalNanos;
+        final Entry entry = new Entry(event, virtualDeadline);
+        Locks.exec(lock, ()->{
+            lanes[event.getEventPriority().ordinal()].addLast(entry);
+            size++;
+            notEmpty.signal();
+        });
+    }
+
+    /**
+     * Returns a collected event, blocking until one is available.
+     *
+     * @return the collected event with the highest effective priority
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Override
+    public Event get() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (0 == size)
+                notEmpty.await();
+            return removeNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a collected event without waiting.
+     *
+     * @return the collected event with the highest effective priority, or null if there is none
+     */
+    @Override
+    public Event poll() {
+        return Locks.exec(lock, ()->0 == size ? null : removeNext());
+    }
+
+    /**
+     * Removes and returns the lane head with the earliest virtual deadline, ties are won by the higher priority. Must be called with the lock held and a non empty demux.
+     *
+     * @return the collected event with the highest effective priority
+     */
+    private Event removeNext() {
+        ArrayDeque<Entry> selected = null;
+        long earliest = Long.MAX_VALUE;
+        for (int i = lanes.length - 1; i >= 0; i--) {
+            final Entry head = lanes[i].peekFirst();
+            // overflow safe comparison of nano times
+            if (null != head && (null == selected || head.virtualDeadline - earliest < 0)) {
+                selected = lanes[i];
+                earliest = head.virtualDeadline;
+            }
+        }
+        size--;
+        return selected.pollFirst().event;
+    }
+
+    /** Represents a queued event with its virtual deadline. */
+    private static final class Entry {
+        private final Event event;
+        private final long virtualDeadline;
+
+        /**
+         * Creates an entry.
+         *
+         * @param event a queued event
+         * @param virtualDeadline a virtual deadline in nanoseconds
+         */
+        private Entry(final Event event, final long virtualDeadline) {
+            this.event = event;
+            this.virtualDeadline = virtualDeadline;
+        }
+    }
+}
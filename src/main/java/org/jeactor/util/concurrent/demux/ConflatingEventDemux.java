@@ -0,0 +1,207 @@
+package org.jeactor.util.concurrent.demux;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jeactor.core.Event;
+import org.jeactor.core.EventPattern;
+import org.jeactor.core.Priority;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.lock.Locks;
+
+/**
+ * Represents a blocking event demultiplexor that supports prioritization and conflates state carrying events.
+ *
+ * <p>A STATE_CARRYING event with a conflation key replaces a queued, not yet dispatched event of the same type and key in place,
+ * keeping its queue position, so only the latest state of each entity is dispatched. Other events are queued as is.
+ *
+ * <p>Events are kept in a FIFO lane per priority, and higher priority lanes are drained first. A replacing event keeps the lane of
+ * the event it replaces.
+ */
+@ThreadSafe
+public class ConflatingEventDemux implements EventDemux {
+    private final ArrayDeque<Slot>[] lanes;
+    private final HashMap<Key, Slot> queuedSlots; // only conflatable slots that have not been dispatched yet
+    private final Lock lock;
+    private final Condition notEmpty;
+    private int size;
+    private final AtomicLong conflatedCount;
+
+    /** Creates default instance. */
+    @SuppressWarnings("unchecked")
+    public ConflatingEventDemux() {
+        this.lanes = (ArrayDeque<Slot>[]) new ArrayDeque[Priority.values().length];
+        for (int i = 0; i < lanes.length; i++)
+            lanes[i] = new ArrayDeque<>();
+        this.queuedSlots = new HashMap<>();
+        this.lock = new ReentrantLock();
+        this.notEmpty = lock.newCondition();
+        this.size = 0;
+        this.conflatedCount = new AtomicLong();
+    }
+
+    /**
+     * Accepts an event to demultiplex, replacing a queued event of the same type and conflation key if there is one.
+     *
+     * @param event an event to demultiplex
+     */
+    @Override
+    public void accept(final Event event) {
+        final Key key = EventPattern.STATE_CARRYING == event.getEventPattern() && null != event.getConflationKey() ?
+            new Key(event.getEventType(), event.getConflationKey()) : null;
+
+        Locks.exec(lock, ()->{
+            if (null != key) {
+                final Slot queued = queuedSlots.get(key);
+                if (null != queued) {
+                    queued.event = event;
+                    conflatedCount.incrementAndGet();
+                    return;
+                }
+            }
+
+            final Slot slot = new Slot(event, key);
+            if (null != key)
+                queuedSlots.put(key, slot);
+            lanes[event.getEventPriority().ordinal()].addLast(slot);
+            size++;
+            notEmpty.signal();
+        });
+    }
+
+    /**
+     * Returns a collected event, blocking until one is available.
+     *
+     * @return the oldest queued event of the highest priority, in its latest conflated state
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Override
+    public Event get() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (0 == size)
+                notEmpty.await();
+            return removeNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a collected event without waiting.
+     *
+     * @return the oldest queued event of the highest priority, in its latest conflated state, or null if there is none
+     */
+    @Override
+    public Event poll() {
+        return Locks.exec(lock, ()->0 == size ? null : removeNext());
+    }
+
+    /**
+     * Removes and returns the oldest queued event of the highest priority. Must be called with the lock held and a non empty demux.
+     *
+     * @return the oldest queued event of the highest priority, in its latest conflated state
+     */
+    private Event removeNext() {
+        int i = lanes.length - 1;
+        while (lanes[i].isEmpty())
+            i--;
+        final Slot slot = lanes[i].pollFirst();
+        size--;
+        // once taken the slot cannot be replaced anymore, the next event with the same key is queued anew
+        if (null != slot.key)
+            queuedSlots.remove(slot.key);
+        return slot.event;
+    }
+
+    /**
+     * Returns the number of accepted events that will never be returned by get(), the conflated ones.
+     *
+     * @return the number of discarded events
+     */
+    @Override
+    public long getDiscardedCount() {
+        return conflatedCount.get();
+    }
+
+    /**
+     * Returns false, since conflated events are replaced by newer ones.
+     *
+     * @return false
+     */
+    @Override
+    public boolean isLossless() {
+        return false;
+    }
+
+    /**
+     * Returns the number of events that have been replaced by newer events of the same type and conflation key.
+     *
+     * @return the number of conflated events
+     */
+    public long getConflatedCount() {
+        return conflatedCount.get();
+    }
+
+    /** Represents a queue position that holds the latest event for it. */
+    private static final class Slot {
+        private Event event; // guarded by the demux lock
+        private final Key key;
+
+        /**
+         * Creates a slot.
+         *
+         * @param event a queued event
+         * @param key a conflation key, or null if the event is not conflatable
+         */
+        private Slot(final Event event, final Key key) {
+            this.event = event;
+            this.key = key;
+        }
+    }
+
+    /** Represents a composite conflation key of event type and entity key. */
+    private static final class Key {
+        private final String eventType;
+        private final String conflationKey;
+
+        /**
+         * Creates a key.
+         *
+         * @param eventType a type of the event
+         * @param conflationKey a conflation key of the event
+         */
+        private Key(final String eventType, final String conflationKey) {
+            this.eventType = eventType;
+            this.conflationKey = conflationKey;
+        }
+
+        /**
+         * Indicates wether this object equals to the accepted object.
+         *
+         * @param o other object to compare this object to
+         * @return true if the objects are equal, or false otherwise
+         */
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Key key = (Key) o;
+            return eventType.equals(key.eventType) && conflationKey.equals(key.conflationKey);
+        }
+
+        /**
+         * Generates a hash code value for the object.
+         *
+         * @return an integer hash code value for the object
+         */
+        @Override
+        public int hashCode() {
+            return Objects.hash(eventType, conflationKey);
+        }
+    }
+}
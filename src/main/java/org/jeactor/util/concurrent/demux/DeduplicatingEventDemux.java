@@ -0,0 +1,108 @@
+package org.jeactor.util.concurrent.demux;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.jeactor.core.Event;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.dedup.RotatingUuidFilter;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/** 
+ * Represents an event demultiplexor decorator that drops events whose uuid has already been accepted within a bounded window.
+ * 
+ * <p>Duplicates are dropped in the producing thread, before they reach the decorated demultiplexor.
+ */
+@ThreadSafe
+public class DeduplicatingEventDemux implements EventDemux {
+    private final EventDemux eventDemux;
+    private final RotatingUuidFilter uuidFilter;
+    private final LongAdder duplicateCount; // incremented by producer threads concurrently
+
+    /**
+     * Creates an instance that remembers approximately the accepted number of most recent uuids, see RotatingUuidFilter.
+     * 
+     * @param eventDemux an event demultiplexor to decorate
+     * @param windowSize a positive number of most recent uuids to remember
+     * @throws ValidationException when null eventDemux is supplied or windowSize is not positive
+     */
+    public DeduplicatingEventDemux(final EventDemux eventDemux, final int windowSize) throws ValidationException {
+        this(eventDemux, new RotatingUuidFilter(windowSize));
+    }
+
+    /**
+     * Creates an instance with the accepted uuid filter.
+     * 
+     * @param eventDemux an event demultiplexor to decorate
+     * @param uuidFilter a uuid filter that decides which events are duplicates, must not be shared
+     * @throws ValidationException when null argument is supplied
+     */
+    public DeduplicatingEventDemux(final EventDemux eventDemux, final RotatingUuidFilter uuidFilter) throws ValidationException {
+        Validations.validateNotNull(eventDemux, uuidFilter);
+        this.eventDemux = eventDemux;
+        this.uuidFilter = uuidFilter;
+        this.duplicateCount = new LongAdder();
+    }
+
+    /**
+     * Accepts an event to demultiplex, unless it is a duplicate.
+     * 
+     * @param event an event to demultiplex
+     */
+    @Override
+    public void accept(final Event event) {
+        if (uuidFilter.add(event.getUuid()))
+            eventDemux.accept(event);
+        else
+            duplicateCount.increment();
+    }
+
+    /**
+     * Returns a collected event.
+     * 
+     * @return a collected event
+     * @throws InterruptedException if interrupted while waiting     
+     */
+    @Override
+    public Event get() throws InterruptedException {
+        return eventDemux.get();
+    }
+
+    /**
+     * Returns a collected event without waiting.
+     * 
+     * @return a collected event, or null if there is none
+     */
+    @Override
+    public Event poll() {
+        return eventDemux.poll();
+    }
+
+    /**
+     * Returns the number of accepted events that will never be returned by get(), the duplicates and the events discarded by the underlying demux.
+     * 
+     * @return the number of discarded events
+     */
+    @Override
+    public long getDiscardedCount() {
+        return duplicateCount.sum() + eventDemux.getDiscardedCount();
+    }
+
+    /**
+     * Returns false, since duplicate events are dropped.
+     * 
+     * @return false
+     */
+    @Override
+    public boolean isLossless() {
+        return false;
+    }
+
+    /**
+     * Returns the number of dropped duplicate events.
+     * 
+     * @return the number of dropped duplicate events
+     */
+    public long getDuplicateCount() {
+        return duplicateCount.sum();
+    }
+}
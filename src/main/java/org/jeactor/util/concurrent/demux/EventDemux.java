@@ -19,4 +19,40 @@ public interface EventDemux extends Consumer<Event> {
      * @throws InterruptedException if interrupted while waiting     
      */
     Event get() throws InterruptedException;
+
+    /**
+     * Returns a collected event without waiting.
+     * 
+     * <p>The default implementation, for demultiplexors written before polling wait strategies, waits in get(), so such a demux 
+     * makes every wait strategy block like BlockingWaitStrategy. An interruption while waiting is kept as the interrupted status 
+     * of the thread, for the wait strategy to find.
+     * 
+     * @return a collected event, or null if there is none
+     */
+    default Event poll() {
+        try {
+            return get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Returns wether every accepted event is eventually returned by get(), so the demux neither drops nor merges events.
+     * 
+     * @return true if the demux is lossless, or false otherwise
+     */
+    default boolean isLossless() {
+        return true;
+    }
+
+    /**
+     * Returns the number of accepted events that will never be returned by get(), because they have been dropped or merged.
+     * 
+     * @return the number of discarded events, 0 for a lossless demux
+     */
+    default long getDiscardedCount() {
+        return 0;
+    }
 }
@@ -0,0 +1,166 @@
+package org.jeactor.util.concurrent.demux;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+import org.jeactor.core.Event;
+import org.jeactor.core.Priority;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.queue.SpscLinkedQueue;
+
+/**
+ * Represents a blocking event demultiplexor that supports prioritization and keeps a separate queue per producer thread, 
+ * so producers do not contend with each other.
+ *
+ * <p>Every producer thread lazily registers its own lanes, a single producer queue per priority, and from then on 
+ * accept() takes neither a shared lock nor a CAS. The consuming thread merges the lanes: it takes the oldest head among 
+ * the lanes of the highest priority that has events. Events of a single producer are taken in the order they were produced 
+ * within a priority.
+ *
+ * <p>Events must be taken by a single consuming thread at a time, like the reactor's background thread. A consumer with 
+ * nothing to take parks, and is unparked by the next producer. Lanes of terminated producer threads are removed once they are drained, 
+ * before the consumer parks and every PRUNE_INTERVAL polls, so consumers that only poll, like spinning wait strategies, remove them as well.
+ */
+@ThreadSafe
+public class PerProducerEventDemux implements EventDemux {
+    private static final int PRIORITY_COUNT = Priority.values().length;
+
+    /** Number of polls between two removals of the lanes of terminated producers. */
+    static final int PRUNE_INTERVAL = 1024;
+
+    private final List<ProducerLanes> producers;
+    private final ThreadLocal<ProducerLanes> localLanes;
+
+    private volatile Thread waiter;
+    private int pollCount; // confined to the consuming thread
+
+    /** Creates default instance. */
+    public PerProducerEventDemux() {
+        this.producers = new CopyOnWriteArrayList<>();
+        this.localLanes = ThreadLocal.withInitial(()->{
+            final ProducerLanes lanes = new ProducerLanes(Thread.currentThread());
+            producers.add(lanes);
+            return lanes;
+        });
+        this.waiter = null;
+        this.pollCount = 0;
+    }
+
+    /**
+     * Accepts an event to demultiplex into the lanes of the calling thread.
+     *
+     * @param event an event to demultiplex
+     */
+    @Override
+    public void accept(final Event event) {
+        localLanes.get().lanes[event.getEventPriority().ordinal()].offer(event);
+        // the volatile read after the volatile publication of the event pairs with the consumer's write before re-checking the lanes
+        final Thread parked = waiter;
+        if (null != parked)
+            LockSupport.unpark(parked);
+    }
+
+    /**
+     * Returns a collected event, blocking until one is available.
+     *
+     * @return the oldest head of the highest priority lanes
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Override
+    public Event get() throws InterruptedException {
+        while (true) {
+            Event event = poll();
+            if (null != event)
+                return event;
+
+            removeTerminated();
+            waiter = Thread.currentThread();
+            try {
+                // re-check after publishing the waiter, so a concurrent accept() either is seen here or sees the waiter
+                event = poll();
+                if (null != event)
+                    return event;
+                LockSupport.park(this);
+            } finally {
+                waiter = null;
+            }
+            if (Thread.interrupted())
+                throw new InterruptedException();
+        }
+    }
+
+    /**
+     * Returns a collected event without waiting.
+     *
+     * @return the oldest head of the highest priority lanes, or null if there is none
+     */
+    @Override
+    public Event poll() {
+        // amortized, so the scan below does not keep growing with the terminated producers under thread churn
+        if (PRUNE_INTERVAL == ++pollCount) {
+            pollCount = 0;
+            removeTerminated();
+        }
+        for (int priority = PRIORITY_COUNT - 1; priority >= 0; priority--) {
+            SpscLinkedQueue<Event> selected = null;
+            long oldest = Long.MAX_VALUE;
+            for (final ProducerLanes producer : producers) {
+                final Event head = producer.lanes[priority].peek();
+                if (null != head && (null == selected || head.getTimestamp() < oldest)) {
+                    selected = producer.lanes[priority];
+                    oldest = head.getTimestamp();
+                }
+            }
+            if (null != selected)
+                return selected.poll();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of registered producer threads.
+     *
+     * @return the number of producers
+     */
+    public int getProducerCount() {
+        return producers.size();
+    }
+
+    /** Removes the drained lanes of terminated producer threads. */
+    private void removeTerminated() {
+        // a terminated thread never offers again, so once its lanes are empty they stay empty, removed with a single copy
+        producers.removeIf((producer)->!producer.owner.isAlive() && producer.isEmpty());
+    }
+
+    /** Represents the lanes of a single producer thread, a queue per priority. */
+    private static final class ProducerLanes {
+        private final Thread owner;
+        private final SpscLinkedQueue<Event>[] lanes;
+
+        /**
+         * Creates the lanes of the accepted producer thread.
+         *
+         * @param owner a producer thread
+         */
+        @SuppressWarnings("unchecked")
+        private ProducerLanes(final Thread owner) {
+            this.owner = owner;
+            this.lanes = (SpscLinkedQueue<Event>[]) new SpscLinkedQueue[PRIORITY_COUNT];
+            for (int i = 0; i < lanes.length; i++)
+                lanes[i] = new SpscLinkedQueue<>();
+        }
+
+        /**
+         * Returns wether all the lanes are empty. Must be called by the consumer thread only.
+         *
+         * @return true if all the lanes are empty, or false otherwise
+         */
+        private boolean isEmpty() {
+            for (final SpscLinkedQueue<Event> lane : lanes) {
+                if (!lane.isEmpty())
+                    return false;
+            }
+            return true;
+        }
+    }
+}
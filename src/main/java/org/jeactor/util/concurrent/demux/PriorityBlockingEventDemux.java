@@ -1,5 +1,6 @@
 package org.jeactor.util.concurrent.demux;
 
+import java.util.Comparator;
 import java.util.concurrent.PriorityBlockingQueue;
 import org.jeactor.core.Event;
 import org.jeactor.util.concurrent.ThreadSafe;
@@ -10,13 +11,16 @@ import org.jeactor.util.concurrent.ThreadSafe;
  */
 @ThreadSafe
 public class PriorityBlockingEventDemux implements EventDemux { 
+    // the queue head is its least element, so priorities are reversed to take urgent events first, and equal priorities are taken oldest first
+    private static final Comparator<Event> DISPATCH_ORDER = Comparator.comparing(Event::getEventPriority).reversed().thenComparingLong(Event::getTimestamp);
+
     // BlockingQueue implementations are thread-safe for single-element operations, and here we have only single element operations
     private final PriorityBlockingQueue<Event> priorityBlockingQueue; 
     
     /** Creates default instance. */
     public PriorityBlockingEventDemux() {
         // eager init to avoid additional application of synchronization in some way needed for lazy init, tradeoff: eager space allocation(which is anyway needed in this context) to avoid performace damage 
-        priorityBlockingQueue = new PriorityBlockingQueue<>();
+        priorityBlockingQueue = new PriorityBlockingQueue<>(11, DISPATCH_ORDER);
     }
 
     /**
@@ -39,4 +43,14 @@ public class PriorityBlockingEventDemux implements EventDemux {
     public Event get() throws InterruptedException {
         return priorityBlockingQueue.take();
     }
+
+    /**
+     * Returns a collected event without waiting.
+     * 
+     * @return a collected event, or null if there is none
+     */
+    @Override
+    public Event poll() {
+        return priorityBlockingQueue.poll();
+    }
 }
@@ -0,0 +1,313 @@
+package org.jeactor.util.concurrent.elastic;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.lock.Locks;
+import org.jeactor.util.validation.Validations;
+
+/**
+ * Represents an executor whose number of worker threads follows the load, between a minimum and a maximum.
+ *
+ * <p>A control thread samples three signals every control interval: the sojourn time of the tasks in the queue (an exponentially 
+ * weighted moving average of the time from submission to start), the utilization of the workers (the fraction of the interval they 
+ * spent running tasks) and an external backlog, typically the number of pending events of the reactor that feeds the executor.
+ *
+ * <p>The pool grows by half of its size, at least one worker, when the sojourn time exceeds its target, the utilization exceeds its 
+ * high mark or the backlog exceeds its share per worker. It shrinks by a single worker only when all the signals are quiet: the sojourn 
+ * time under half of its target, the utilization under its low mark and no backlog. The gap between the marks is the hysteresis that 
+ * keeps the pool from oscillating, and no two resizes are closer than the cooldown. Surplus workers retire once they finish their task.
+ *
+ * <p>Like ThreadPoolExecutor, a runtime exception thrown by a task is counted and passed to the uncaught exception handler of the worker 
+ * thread, which keeps running. An error thrown by a task ends the worker, and a new one is started in its place.
+ *
+ * <p>Instances are created with ElasticExecutorBuilderImpl.
+ */
+@ThreadSafe
+public class ElasticExecutor implements Executor, AutoCloseable {
+    // weight of a new sample is 1/2^SMOOTHING_SHIFT
+    private static final int SMOOTHING_SHIFT = 3;
+
+    private final int minThreads;
+    private final int maxThreads;
+    private final long targetSojournNanos;
+    private final double lowUtilization;
+    private final double highUtilization;
+    private final long cooldownNanos;
+    private final long controlIntervalNanos;
+    private final LongSupplier backlog;
+    private final int backlogPerThread;
+    private final ThreadFactory threadFactory;
+
+    private final BlockingQueue<Task> queue;
+    private final AtomicInteger poolSize;
+    private volatile int targetPoolSize;
+    private volatile boolean closed;
+
+    // racy read-modify-write may lose a sample now and then, which is acceptable for an estimate
+    private volatile long sojournNanos;
+    private final LongAdder busyNanos;
+    private final LongAdder failedTaskCount;
+
+    // guarded by controlLock, only the control thread and tests adjust the pool
+    private long lastAdjustNanos;
+    private long lastResizeNanos;
+    private long lastBusyNanos;
+    private double utilization;
+    private final Lock controlLock;
+
+    private final Thread controlThread;
+
+    /**
+     * Creates an executor configured by the accepted builder, starting the minimal number of workers and the control thread.
+     *
+     * @param builder a builder that holds the executor configuration
+     */
+    ElasticExecutor(final ElasticExecutorBuilderImpl builder) {
+        this.minThreads = builder.getMinThreads();
+        this.maxThreads = builder.getMaxThreads();
+        this.targetSojournNanos = builder.getTargetSojourn().toNanos();
+        this.lowUtilization = builder.getLowUtilization();
+        this.highUtilization = builder.getHighUtilization();
+        this.cooldownNanos = builder.getCooldown().toNanos();
+        this.controlIntervalNanos = builder.getControlInterval().toNanos();
+        this.backlog = builder.getBacklog();
+        this.backlogPerThread = builder.getBacklogPerThread();
+        this.threadFactory = builder.getThreadFactory();
+        this.queue = new LinkedBlockingQueue<>();
+        this.poolSize = new AtomicInteger();
+        this.targetPoolSize = minThreads;
+        this.closed = false;
+        this.sojournNanos = 0;
+        this.busyNanos = new LongAdder();
+        this.failedTaskCount = new LongAdder();
+        this.controlLock = new ReentrantLock();
+
+        final long now = System.nanoTime();
+        this.lastAdjustNanos = now;
+        this.lastResizeNanos = now - cooldownNanos;
+        this.lastBusyNanos = 0;
+        this.utilization = 0;
+
+        for (int i = 0; i < minThreads; i++)
+            startWorker();
+        this.controlThread = new Thread(this::control, "elastic-executor-control");
+        this.controlThread.setDaemon(true);
+        this.controlThread.start();
+    }
+
+    /**
+     * Queues the submitted task for a worker.
+     *
+     * @param task a runnable task to execute
+     * @throws RejectedExecutionException when the executor has been closed
+     */
+    @Override
+    public void execute(final Runnable task) throws RejectedExecutionException {
+        Validations.validateNotNull(task);
+        if (closed)
+            throw new RejectedExecutionException("executor has been closed");
+        queue.add(new Task(task, System.nanoTime()));
+    }
+
+    /** Stops the control thread and the workers, discarding the queued tasks. Idle workers exit within a control interval, busy ones after their current task. */
+    @Override
+    public void close() {
+        closed = true;
+        targetPoolSize = 0;
+        controlThread.interrupt();
+        queue.clear();
+    }
+
+    /**
+     * Returns the number of live workers.
+     *
+     * @return the pool size
+     */
+    public int getPoolSize() {
+        return poolSize.get();
+    }
+
+    /**
+     * Returns the number of queued tasks.
+     *
+     * @return the queue size
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the average time tasks wait in the queue.
+     *
+     * @return the average sojourn time in nanoseconds
+     */
+    public long getSojournNanos() {
+        return sojournNanos;
+    }
+
+    /**
+     * Returns the number of tasks that have thrown an exception or an error.
+     *
+     * @return the failed task count
+     */
+    public long getFailedTaskCount() {
+        return failedTaskCount.sum();
+    }
+
+    /**
+     * Returns the utilization of the workers over the last control interval.
+     *
+     * @return the fraction of the interval the workers spent running tasks
+     */
+    public double getUtilization() {
+        return Locks.exec(controlLock, ()->utilization);
+    }
+
+    /** Runs the main loop of the control thread. */
+    private void control() {
+        while (!closed) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(controlIntervalNanos);
+            } catch (final InterruptedException e) {
+                return;
+            }
+            adjust(System.nanoTime());
+        }
+    }
+
+    /**
+     * Samples the signals and resizes the pool if they call for it and the cooldown has passed.
+     *
+     * @param nowNanos the current nano time
+     */
+    void adjust(final long nowNanos) {
+        Locks.exec(controlLock, ()->{
+            final long busy = busyNanos.sum();
+            final int size = Math.max(1, poolSize.get());
+            final long elapsed = Math.max(1, nowNanos - lastAdjustNanos);
+            utilization = Math.min(1, (double) (busy - lastBusyNanos) / ((double) elapsed * size));
+            lastBusyNanos = busy;
+            lastAdjustNanos = nowNanos;
+
+            if (closed || nowNanos - lastResizeNanos < cooldownNanos)
+                return;
+
+            // an idle queue holds no task to sample, so its sojourn estimate decays with every quiet interval
+            if (queue.isEmpty())
+                sojournNanos = sojournNanos - (sojournNanos >> SMOOTHING_SHIFT);
+
+            final long pending = backlog.getAsLong() + queue.size();
+            final int target = targetPoolSize;
+            int resized = target;
+            if (sojournNanos > targetSojournNanos || utilization > highUtilization || pending > (long) backlogPerThread * target)
+                resized = Math.min(maxThreads, target + Math.max(1, target / 2));
+            else if (sojournNanos < targetSojournNanos / 2 && utilization < lowUtilization && 0 == pending)
+                resized = Math.max(minThreads, target - 1);
+
+            if (resized != target) {
+                targetPoolSize = resized;
+                lastResizeNanos = nowNanos;
+                for (int i = poolSize.get(); i < resized; i++)
+                    startWorker();
+            }
+        });
+    }
+
+    /** Starts a worker thread. */
+    private void startWorker() {
+        poolSize.incrementAndGet();
+        final Thread worker = threadFactory.newThread(this::work);
+        worker.start();
+    }
+
+    /** Runs the main loop of a worker thread, until it is surplus, interrupted or ended by an error of a task. */
+    private void work() {
+        // bounded, so a surplus idle worker retires soon even with a long control interval
+        final long pollNanos = Math.min(controlIntervalNanos, TimeUnit.MILLISECONDS.toNanos(100));
+        boolean retired = false;
+        boolean abrupt = true;
+        try {
+            while (true) {
+                final int size = poolSize.get();
+                if (size > targetPoolSize) {
+                    if (poolSize.compareAndSet(size, size - 1)) {
+                        retired = true;
+                        return;
+                    }
+                    continue;
+                }
+
+                final Task task = queue.poll(pollNanos, TimeUnit.NANOSECONDS);
+                if (null != task)
+                    run(task);
+            }
+        } catch (final InterruptedException e) {
+            abrupt = false;
+            Thread.currentThread().interrupt();
+        } finally {
+            // a retired worker has already left the pool, on every other exit path it leaves here
+            if (!retired) {
+                poolSize.decrementAndGet();
+                if (abrupt && !closed)
+                    startWorker();
+            }
+        }
+    }
+
+    /**
+     * Runs the accepted task, sampling its sojourn time and accounting its execution time, also when it fails.
+     *
+     * <p>A runtime exception is passed to the uncaught exception handler of the worker thread, so the worker survives it. An error is 
+     * counted and rethrown.
+     *
+     * @param task a task to run
+     */
+    private void run(final Task task) {
+        final long start = System.nanoTime();
+        final long sojourn = sojournNanos;
+        sojournNanos = sojourn + ((start - task.submittedNanos - sojourn) >> SMOOTHING_SHIFT);
+        try {
+            task.runnable.run();
+        } catch (final RuntimeException e) {
+            failedTaskCount.increment();
+            final Thread worker = Thread.currentThread();
+            try {
+                worker.getUncaughtExceptionHandler().uncaughtException(worker, e);
+            } catch (final RuntimeException handlerFailure) {
+                // a failing handler must not cost the pool a worker either
+            }
+        } catch (final Error e) {
+            failedTaskCount.increment();
+            throw e;
+        } finally {
+            busyNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /** Represents a queued task with its submission time. */
+    private static final class Task {
+        private final Runnable runnable;
+        private final long submittedNanos;
+
+        /**
+         * Creates a task.
+         *
+         * @param runnable a task to run
+         * @param submittedNanos the nano time the task has been submitted at
+         */
+        private Task(final Runnable runnable, final long submittedNanos) {
+            this.runnable = runnable;
+            this.submittedNanos = submittedNanos;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package org.jeactor.util.concurrent.elastic;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.LongSupplier;
+import org.jeactor.core.Builder;
+import org.jeactor.util.concurrent.NotThreadSafe;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/** Elastic executor builder implementation. */
+@NotThreadSafe
+public class ElasticExecutorBuilderImpl implements Builder<ElasticExecutor> {
+    /** Default target sojourn time of the queued tasks. */
+    public static final Duration DEFAULT_TARGET_SOJOURN = Duration.ofMillis(5);
+
+    /** Default utilization under which the pool may shrink. */
+    public static final double DEFAULT_LOW_UTILIZATION = 0.3;
+
+    /** Default utilization over which the pool grows. */
+    public static final double DEFAULT_HIGH_UTILIZATION = 0.8;
+
+    /** Default minimal time between resizes. */
+    public static final Duration DEFAULT_COOLDOWN = Duration.ofSeconds(1);
+
+    /** Default time between samples of the signals. */
+    public static final Duration DEFAULT_CONTROL_INTERVAL = Duration.ofMillis(100);
+
+    /** Default backlog per worker over which the pool grows. */
+    public static final int DEFAULT_BACKLOG_PER_THREAD = 64;
+
+    private int minThreads = 1;
+    private int maxThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private Duration targetSojourn = DEFAULT_TARGET_SOJOURN;
+    private double lowUtilization = DEFAULT_LOW_UTILIZATION;
+    private double highUtilization = DEFAULT_HIGH_UTILIZATION;
+    private Duration cooldown = DEFAULT_COOLDOWN;
+    private Duration controlInterval = DEFAULT_CONTROL_INTERVAL;
+    private LongSupplier backlog = ()->0;
+    private int backlogPerThread = DEFAULT_BACKLOG_PER_THREAD;
+    private ThreadFactory threadFactory = Executors.defaultThreadFactory();
+
+    /**
+     * Sets the bounds of the pool size. Defaults to 1 and the number of available processors, at least 2.
+     * 
+     * @param minThreads
+     * @param maxThreads
+     * @return this builder object
+     */
+    public ElasticExecutorBuilderImpl withThreads(final int minThreads, final int maxThreads) {
+        this.minThreads = minThreads;
+        this.maxThreads = maxThreads;
+        return this;
+    }
+
+    /**
+     * Sets the average time tasks may wait in the queue before the pool grows. Defaults to DEFAULT_TARGET_SOJOURN.
+     * 
+     * @param targetSojourn
+     * @return this builder object
+     */
+    public ElasticExecutorBuilderImpl withTargetSojourn(final Duration targetSojourn) {
+        this.targetSojourn = targetSojourn;
+        return this;
+    }
+
+    /**
+     * Sets the hysteresis band of the worker utilization: under the low mark the pool may shrink, over the high mark it grows. Defaults to DEFAULT_LOW_UTILIZATION and DEFAULT_HIGH_UTILIZATION.
+     * 
+     * @param lowUtilization
+     * @param highUtilization
+     * @return this builder object
+     */
+    public ElasticExecutorBuilderImpl withUtilization(final double lowUtilization, final double highUtilization) {
+        this.lowUtilization = lowUtilization;
+        this.highUtilization = highUtilization;
+        return this;
+    }
+
+    /**
+     * Sets the minimal time between resizes. Defaults to DEFAULT_COOLDOWN.
+     * 
+     * @param cooldown
+     * @return this builder object
+     */
+    public ElasticExecutorBuilderImpl withCooldown(final Duration cooldown) {
+        this.cooldown = cooldown;
+        return this;
+    }
+
+    /**
+     * Sets the time between samples of the signals. Defaults to DEFAULT_CONTROL_INTERVAL.
+     * 
+     * @param controlInterval
+     * @return this builder object
+     */
+    public ElasticExecutorBuilderImpl withControlInterval(final Duration controlInterval) {
+        this.controlInterval = controlInterval;
+        return this;
+    }
+
+    /**
+     * Sets the supplier of the external backlog, e.g. the pending events of the reactor. Defaults to no backlog.
+     * 
+     * @param backlog
+     * @return this builder object
+     */
+    public ElasticExecutorBuilderImpl withBacklog(final LongSupplier backlog) {
+        this.backlog = backlog;
+        return this;
+    }
+
+    /**
+     * Sets the backlog per worker over which the pool grows, the backlog being the external backlog plus the queued tasks. Defaults to DEFAULT_BACKLOG_PER_THREAD.
+     * 
+     * @param backlogPerThread
+     * @return this builder object
+     */
+    public ElasticExecutorBuilderImpl withBacklogPerThread(final int backlogPerThread) {
+        this.backlogPerThread = backlogPerThread;
+        return this;
+    }
+
+    /**
+     * Sets the factory of the worker threads. Defaults to Executors.defaultThreadFactory().
+     * 
+     * @param threadFactory
+     * @return this builder object
+     */
+    public ElasticExecutorBuilderImpl withThreadFactory(final ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+        return this;
+    }
+
+    /**
+     * The method builds a new elastic executor and starts its minimal number of workers.
+     * 
+     * @return a new elastic executor
+     * @throws ValidationException when a property is null, a bound or an interval is not positive, the bounds are not ordered or the utilization marks are not ordered within (0, 1]
+     */
+    @Override
+    public ElasticExecutor build() throws ValidationException {
+        Validations.validateNotNull(targetSojourn, cooldown, controlInterval, backlog, threadFactory);
+        Validations.validatePositive(minThreads, maxThreads - minThreads + 1, backlogPerThread);
+        Validations.validatePositive(targetSojourn.toNanos(), controlInterval.toNanos());
+        if (cooldown.isNegative())
+            throw new ValidationException("cooldown must not be negative");
+        if (!(0 < lowUtilization && lowUtilization < highUtilization && highUtilization <= 1))
+            throw new ValidationException("utilization marks must be ordered within (0, 1]");
+        return new ElasticExecutor(this);
+    }
+
+    /**
+     * Returns the minimal pool size.
+     * 
+     * @return the minimal pool size
+     */
+    int getMinThreads() {
+        return minThreads;
+    }
+
+    /**
+     * Returns the maximal pool size.
+     * 
+     * @return the maximal pool size
+     */
+    int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Returns the target sojourn time.
+     * 
+     * @return the target sojourn time
+     */
+    Duration getTargetSojourn() {
+        return targetSojourn;
+    }
+
+    /**
+     * Returns the low utilization mark.
+     * 
+     * @return the low utilization mark
+     */
+    double getLowUtilization() {
+        return lowUtilization;
+    }
+
+    /**
+     * Returns the high utilization mark.
+     * 
+     * @return the high utilization mark
+     */
+    double getHighUtilization() {
+        return highUtilization;
+    }
+
+    /**
+     * Returns the cooldown.
+     * 
+     * @return the cooldown
+     */
+    Duration getCooldown() {
+        return cooldown;
+    }
+
+    /**
+     * Returns the control interval.
+     * 
+     * @return the control interval
+     */
+    Duration getControlInterval() {
+        return controlInterval;
+    }
+
+    /**
+     * Returns the backlog supplier.
+     * 
+     * @return the backlog supplier
+     */
+    LongSupplier getBacklog() {
+        return backlog;
+    }
+
+    /**
+     * Returns the backlog per worker.
+     * 
+     * @return the backlog per worker
+     */
+    int getBacklogPerThread() {
+        return backlogPerThread;
+    }
+
+    /**
+     * Returns the thread factory.
+     * 
+     * @return the thread factory
+     */
+    ThreadFactory getThreadFactory() {
+        return threadFactory;
+    }
+}
@@ -0,0 +1,94 @@
+package org.jeactor.util.concurrent.queue;
+
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/**
+ * Represents an unbounded FIFO queue for a single producer thread and a single consumer thread.
+ *
+ * <p>The producer only touches the tail and the consumer only touches the head, so offer() and poll() need neither locks nor CAS.
+ * Nodes are published through a volatile link, which also orders an offer() before a following volatile read of the producer,
+ * as needed by a consumer that parks and is unparked by the producer.
+ *
+ * @param <T> type of the queued items
+ */
+@ThreadSafe // for one producer thread and one consumer thread only
+public class SpscLinkedQueue<T> {
+    private Node<T> head; // confined to the consumer, a sentinel whose next node holds the first item
+    private Node<T> tail; // confined to the producer
+
+    /** Creates an empty queue. */
+    public SpscLinkedQueue() {
+        final Node<T> sentinel = new Node<>(null);
+        this.head = sentinel;
+        this.tail = sentinel;
+    }
+
+    /**
+     * Adds the accepted item to the tail of the queue. Must be called by the producer thread only.
+     *
+     * @param item an item to add
+     * @throws ValidationException when null argument is supplied
+     */
+    public void offer(final T item) throws ValidationException {
+        Validations.validateNotNull(item);
+        final Node<T> node = new Node<>(item);
+        tail.next = node;
+        tail = node;
+    }
+
+    /**
+     * Returns the head of the queue without removing it. Must be called by the consumer thread only.
+     *
+     * @return the head item, or null if the queue is empty
+     */
+    public T peek() {
+        final Node<T> next = head.next;
+        return null == next ? null : next.item;
+    }
+
+    /**
+     * Removes and returns the head of the queue. Must be called by the consumer thread only.
+     *
+     * @return the head item, or null if the queue is empty
+     */
+    public T poll() {
+        final Node<T> next = head.next;
+        if (null == next)
+            return null;
+        final T item = next.item;
+        // the node becomes the new sentinel, drop its item so it can be collected
+        next.item = null;
+        head = next;
+        return item;
+    }
+
+    /**
+     * Returns wether the queue is empty. Must be called by the consumer thread only.
+     *
+     * @return true if the queue is empty, or false otherwise
+     */
+    public boolean isEmpty() {
+        return null == head.next;
+    }
+
+    /**
+     * Represents a node of the queue.
+     *
+     * @param <T> type of the held item
+     */
+    private static final class Node<T> {
+        private T item;
+        private volatile Node<T> next;
+
+        /**
+         * Creates a node.
+         *
+         * @param item a held item
+         */
+        private Node(final T item) {
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package org.jeactor.util.concurrent.throttle;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.jeactor.core.Event;
+import org.jeactor.core.Priority;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.timer.TimingWheelScheduler;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/**
+ * Represents per event type and per priority rate limits, enforced with token buckets.
+ *
+ * <p>An event is first checked against the limit of its type, and if it conforms, against the limit of its priority. The action
+ * of the first exceeded limit is applied. Limits may be added at any time, events of types and priorities without a limit are
+ * never throttled.
+ */
+@ThreadSafe
+public class EventThrottle {
+    private final ConcurrentHashMap<String, RateLimit> eventTypeLimits;
+    private final AtomicReferenceArray<RateLimit> priorityLimits;
+
+    private final LongAdder rejectedCount;
+    private final LongAdder delayedCount;
+    private final LongAdder downgradedCount;
+
+    /** Creates an instance without limits. */
+    public EventThrottle() {
+        this.eventTypeLimits = new ConcurrentHashMap<>();
+        this.priorityLimits = new AtomicReferenceArray<>(Priority.values().length);
+        this.rejectedCount = new LongAdder();
+        this.delayedCount = new LongAdder();
+        this.downgradedCount = new LongAdder();
+    }
+
+    /**
+     * Limits the rate of events of the accepted type, replacing a previous limit of the type.
+     *
+     * @param eventType a type of events to limit
+     * @param permitsPerSecond a positive sustained rate of events per second
+     * @param burst a positive number of events allowed in a burst
+     * @param action an action to take on events that exceed the limit
+     * @return this throttle object
+     * @throws ValidationException when null argument is supplied, or permitsPerSecond or burst is not positive
+     */
+    public EventThrottle withEventTypeLimit(final String eventType, final double permitsPerSecond, final int burst, final ThrottleAction action) throws ValidationException {
+        Validations.validateNotNull(eventType, action);
+        eventTypeLimits.put(eventType, new RateLimit(new TokenBucket(permitsPerSecond, burst), action));
+        return this;
+    }
+
+    /**
+     * Limits the rate of events of the accepted priority, replacing a previous limit of the priority.
+     *
+     * @param priority a priority of events to limit
+     * @param permitsPerSecond a positive sustained rate of events per second
+     * @param burst a positive number of events allowed in a burst
+     * @param action an action to take on events that exceed the limit
+     * @return this throttle object
+     * @throws ValidationException when null argument is supplied, or permitsPerSecond or burst is not positive
+     */
+    public EventThrottle withPriorityLimit(final Priority priority, final double permitsPerSecond, final int burst, final ThrottleAction action) throws ValidationException {
+        Validations.validateNotNull(priority, action);
+        priorityLimits.set(priority.ordinal(), new RateLimit(new TokenBucket(permitsPerSecond, burst), action));
+        return this;
+    }
+
+    /**
+     * Applies the rate limits to the accepted event.
+     *
+     * <p>A conforming event is passed to the sink. An exceeding event is rejected, scheduled to the sink once the limit allows it,
+     * or passed to the sink with a lower priority, according to the action of the exceeded limit.
+     *
+     * @param event an event to throttle
+     * @param sink a consumer of events that may be produced now
+     * @param scheduler a scheduler of delayed events
+     * @throws RejectedExecutionException when the event exceeds a limit with the REJECT action
+     */
+    public void throttle(final Event event, final Consumer<Event> sink, final TimingWheelScheduler<Event> scheduler) throws RejectedExecutionException {
+        RateLimit exceeded = null;
+        long delayNanos = 0;
+
+        final RateLimit eventTypeLimit = eventTypeLimits.get(event.getEventType());
+        if (null != eventTypeLimit) {
+            delayNanos = eventTypeLimit.acquire();
+            if (0 != delayNanos)
+                exceeded = eventTypeLimit;
+        }
+        if (null == exceeded) {
+            final RateLimit priorityLimit = priorityLimits.get(event.getEventPriority().ordinal());
+            if (null != priorityLimit) {
+                delayNanos = priorityLimit.acquire();
+                if (0 != delayNanos)
+                    exceeded = priorityLimit;
+            }
+        }
+
+        if (null == exceeded) {
+            sink.accept(event);
+            return;
+        }
+
+        switch (exceeded.action) {
+            case REJECT:
+                rejectedCount.increment();
+                throw new RejectedExecutionException("rate limit exceeded for " + event.getEventType() + " with " + event.getEventPriority() + " priority");
+            case DELAY:
+                delayedCount.increment();
+                // rounded up, so the reserved token is never released early, nor a sub millisecond delay skipped
+                scheduler.schedule(event, System.currentTimeMillis() + TimingWheelScheduler.ceilMillis(Duration.ofNanos(delayNanos)));
+                return;
+            case DOWNGRADE:
+            default:
+                downgradedCount.increment();
+                final int ordinal = event.getEventPriority().ordinal();
+                sink.accept(0 == ordinal ? event : event.withEventPriority(Priority.values()[ordinal - 1]));
+        }
+    }
+
+    /**
+     * Returns the number of rejected events.
+     *
+     * @return the number of rejected events
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Returns the number of delayed events.
+     *
+     * @return the number of delayed events
+     */
+    public long getDelayedCount() {
+        return delayedCount.sum();
+    }
+
+    /**
+     * Returns the number of downgraded events.
+     *
+     * @return the number of downgraded events
+     */
+    public long getDowngradedCount() {
+        return downgradedCount.sum();
+    }
+
+    /** Represents a token bucket with the action to take when it is exhausted. */
+    private static final class RateLimit {
+        private final TokenBucket tokenBucket;
+        private final ThrottleAction action;
+
+        /**
+         * Creates a rate limit.
+         *
+         * @param tokenBucket a token bucket that enforces the limit
+         * @param action an action to take on exceeding events
+         */
+        private RateLimit(final TokenBucket tokenBucket, final ThrottleAction action) {
+            this.tokenBucket = tokenBucket;
+            this.action = action;
+        }
+
+        /**
+         * Acquires a token. A DELAY limit reserves the next token even if it is not available yet.
+         *
+         * @return 0 if a token has been acquired, the positive delay of the reserved token, or -1 if no token is available
+         */
+        private long acquire() {
+            if (ThrottleAction.DELAY == action)
+                return tokenBucket.reserve();
+            return tokenBucket.tryAcquire() ? 0 : -1;
+        }
+    }
+}
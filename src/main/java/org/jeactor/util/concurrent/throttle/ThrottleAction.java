@@ -0,0 +1,13 @@
+package org.jeactor.util.concurrent.throttle;
+
+/** Represents actions taken on an event that exceeds a rate limit. */
+public enum ThrottleAction {
+    /** The event is rejected, and the producer gets an exception. */
+    REJECT,
+
+    /** The event is produced once the rate limit allows it. */
+    DELAY,
+
+    /** The event is produced immediately with a priority lowered by one level. */
+    DOWNGRADE
+}
@@ -0,0 +1,69 @@
+package org.jeactor.util.concurrent.throttle;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/**
+ * Represents a lock-free token bucket.
+ *
+ * <p>The bucket is implemented with the generic cell rate algorithm: instead of a token count and a refill timestamp it keeps
+ * a single theoretical arrival time, so acquiring a token refills the bucket implicitly and costs a clock read and a single CAS.
+ * A full bucket allows a burst of the accepted size, and is refilled at the accepted rate.
+ */
+@ThreadSafe
+public class TokenBucket {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    /**
+     * Creates a full token bucket.
+     *
+     * @param permitsPerSecond a positive refill rate in tokens per second
+     * @param burst a positive capacity of the bucket
+     * @throws ValidationException when permitsPerSecond or burst is not positive
+     */
+    public TokenBucket(final double permitsPerSecond, final int burst) throws ValidationException {
+        Validations.validatePositive(burst);
+        if (!(0 < permitsPerSecond))
+            throw new ValidationException("rate must be positive");
+        this.emissionIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstToleranceNanos = (burst - 1) * emissionIntervalNanos;
+        this.theoreticalArrivalNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Acquires a token if one is available.
+     *
+     * @return true if a token has been acquired, or false otherwise
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            final long now = System.nanoTime();
+            final long tat = theoreticalArrivalNanos.get();
+            final long base = tat - now > 0 ? tat : now;
+            if (base - now > burstToleranceNanos)
+                return false;
+            if (theoreticalArrivalNanos.compareAndSet(tat, base + emissionIntervalNanos))
+                return true;
+        }
+    }
+
+    /**
+     * Reserves the next token, even if it is not available yet.
+     *
+     * @return the time in nanoseconds until the reserved token is available, 0 if it is available now
+     */
+    public long reserve() {
+        while (true) {
+            final long now = System.nanoTime();
+            final long tat = theoreticalArrivalNanos.get();
+            final long base = tat - now > 0 ? tat : now;
+            if (theoreticalArrivalNanos.compareAndSet(tat, base + emissionIntervalNanos))
+                return Math.max(0, base - now - burstToleranceNanos);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package org.jeactor.util.concurrent.timer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.jeactor.util.concurrent.NotThreadSafe;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/**
+ * Represents a hierarchical timing wheel that holds items until their deadlines are due.
+ *
+ * <p>Insertion and expiration are O(1) per item. Level 0 buckets span a single tick, and each higher level spans a whole
+ * rotation of the level below it. Items in higher levels are cascaded down when the level below wraps around. Levels are
+ * allocated lazily, so far deadlines cost nothing until they are used.
+ *
+ * <p>Deadlines are absolute times in milliseconds (the same time base as System.currentTimeMillis()), and are rounded up
+ * to the tick resolution, so an item is never expired before its deadline.
+ *
+ * @param <T> type of the items held by the wheel
+ */
+@NotThreadSafe
+public class HierarchicalTimingWheel<T> {
+    private final long tickMillis;
+    private final int wheelSize;
+
+    // levels.get(i)[j] is the head of a singly linked list of entries, level i bucket spans wheelSize^i ticks
+    private final List<Entry<T>[]> levels;
+
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates a timing wheel.
+     *
+     * @param tickMillis a positive resolution of the wheel in milliseconds
+     * @param wheelSize a positive number of buckets per level, larger than 1
+     * @param startMillis the time in milliseconds from which the wheel starts ticking
+     * @throws ValidationException when tickMillis is not positive or wheelSize is less than 2
+     */
+    public HierarchicalTimingWheel(final long tickMillis, final int wheelSize, final long startMillis) throws ValidationException {
+        Validations.validatePositive(tickMillis);
+        Validations.validatePositive(wheelSize - 1);
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levels = new ArrayList<>();
+        this.levels.add(newLevel());
+        this.currentTick = startMillis / tickMillis;
+        this.size = 0;
+    }
+
+    /**
+     * Adds an item with the accepted deadline to the wheel.
+     *
+     * @param item an item to add
+     * @param deadlineMillis an absolute deadline in milliseconds
+     * @return true if the item has been added, or false if its deadline is already due, in which case the caller owns the item
+     */
+    public boolean add(final T item, final long deadlineMillis) {
+        final long deadlineTick = ceilDiv(deadlineMillis, tickMillis);
+        if (deadlineTick <= currentTick)
+            return false;
+        place(new Entry<>(item, deadlineTick));
+        size++;
+        return true;
+    }
+
+    /**
+     * Advances the wheel up to the accepted time and passes every item that became due to the accepted consumer.
+     *
+     * <p>Items are passed bucket by bucket, in deadline order at tick resolution.
+     *
+     * @param nowMillis the current time in milliseconds
+     * @param expired a consumer of the items whose deadlines are due
+     * @return the number of expired items
+     */
+    public int advance(final long nowMillis, final Consumer<? super T> expired) {
+        final long nowTick = nowMillis / tickMillis;
+        if (0 == size) {
+            // nothing to cascade or expire, placement is absolute so the clock can simply jump
+            currentTick = Math.max(currentTick, nowTick);
+            return 0;
+        }
+
+        int count = 0;
+        while (currentTick < nowTick && 0 < size) {
+            currentTick++;
+            cascade();
+
+            final Entry<T>[] level0 = levels.get(0);
+            final int index = (int) (currentTick % wheelSize);
+            Entry<T> entry = level0[index];
+            level0[index] = null;
+            while (null != entry) {
+                final Entry<T> next = entry.next;
+                size--;
+                count++;
+                expired.accept(entry.item);
+                entry = next;
+            }
+        }
+        currentTick = Math.max(currentTick, nowTick);
+        return count;
+    }
+
+    /**
+     * Returns the number of items held by the wheel.
+     *
+     * @return the number of items held by the wheel
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns wether the wheel holds no items.
+     *
+     * @return true if the wheel holds no items, or false otherwise
+     */
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    /**
+     * Returns the earliest time at which advance() may expire an item, so the wheel does not need to be advanced before it.
+     *
+     * <p>The returned time is exact for the items in the lowest level, and bounded by the next cascade of the higher levels.
+     *
+     * @return the earliest time in milliseconds at which an item may become due, or Long.MAX_VALUE if the wheel holds no items
+     */
+    public long getNextDueMillis() {
+        if (0 == size)
+            return Long.MAX_VALUE;
+
+        // the higher levels are cascaded when level 0 wraps around, their items may be due right then
+        final long lastTick = 1 < levels.size() ? (currentTick / wheelSize + 1) * wheelSize : currentTick + wheelSize - 1;
+        // level 0 holds only the entries due within a rotation from the current tick, at most one tick per bucket
+        final Entry<T>[] level0 = levels.get(0);
+        long tick = currentTick + 1;
+        while (tick < lastTick && null == level0[(int) (tick % wheelSize)])
+            tick++;
+        return tick * tickMillis;
+    }
+
+    /**
+     * Returns the resolution of the wheel.
+     *
+     * @return the resolution of the wheel in milliseconds
+     */
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    /** Cascades the higher level buckets that are due at the current tick down to the lower levels. */
+    private void cascade() {
+        // level i is cascaded when all the lower levels wrap around together, highest level first so entries can fall through
+        int level = 0;
+        long tick = currentTick;
+        while (level + 1 < levels.size() && 0 == tick % wheelSize) {
+            tick /= wheelSize;
+            level++;
+        }
+        for (int i = level; i > 0; i--) {
+            final Entry<T>[] buckets = levels.get(i);
+            final int index = (int) ((currentTick / pow(i)) % wheelSize);
+            Entry<T> entry = buckets[index];
+            buckets[index] = null;
+            while (null != entry) {
+                final Entry<T> next = entry.next;
+                place(entry);
+                entry = next;
+            }
+        }
+    }
+
+    /**
+     * Places the accepted entry in the bucket matching its distance from the current tick.
+     *
+     * @param entry an entry to place
+     */
+    private void place(final Entry<T> entry) {
+        // an entry due now is placed in the current level 0 bucket, which is expired right after cascading
+        final long delta = Math.max(0, entry.deadlineTick - currentTick);
+        int level = 0;
+        long span = wheelSize;
+        // the top level absorbs deadlines too far to be represented, they are cascaded again once reached
+        while (delta >= span && span <= Long.MAX_VALUE / wheelSize) {
+            level++;
+            span *= wheelSize;
+        }
+        while (levels.size() <= level)
+            levels.add(newLevel());
+
+        final Entry<T>[] buckets = levels.get(level);
+        final int index = (int) ((entry.deadlineTick / pow(level)) % wheelSize);
+        entry.next = buckets[index];
+        buckets[index] = entry;
+    }
+
+    /**
+     * Returns the number of ticks spanned by a single bucket of the accepted level.
+     *
+     * @param level a level of the wheel
+     * @return the number of ticks spanned by a single bucket of the level
+     */
+    private long pow(final int level) {
+        long res = 1;
+        for (int i = 0; i < level; i++)
+            res *= wheelSize;
+        return res;
+    }
+
+    /**
+     * Allocates the buckets of a new level.
+     *
+     * @return a new empty level
+     */
+    @SuppressWarnings("unchecked")
+    private Entry<T>[] newLevel() {
+        return (Entry<T>[]) new Entry[wheelSize];
+    }
+
+    /**
+     * Divides rounding towards positive infinity.
+     *
+     * @param x a dividend
+     * @param y a positive divisor
+     * @return the ceiling of x / y
+     */
+    private static long ceilDiv(final long x, final long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    /**
+     * Represents a node in a bucket list.
+     *
+     * @param <T> type of the held item
+     */
+    private static final class Entry<T> {
+        private final T item;
+        private final long deadlineTick;
+        private Entry<T> next;
+
+        /**
+         * Creates an entry.
+         *
+         * @param item a held item
+         * @param deadlineTick an absolute deadline in ticks
+         */
+        private Entry(final T item, final long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package org.jeactor.util.concurrent.timer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import org.jeactor.core.Startable;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.lock.Locks;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/**
+ * Represents a scheduler that holds items in a hierarchical timing wheel and moves them into a sink once they are due.
+ *
+ * <p>Scheduling is lock-free: items are handed over through a concurrent inbox that is drained into the wheel by a single
+ * background thread on every tick, so the wheel itself is never shared. All the items that become due on a tick are
+ * moved into the sink as a single batch.
+ *
+ * <p>The background thread is started by the first item that is not due when scheduled, unless start() has started it already,
+ * so a scheduler that is never used costs no thread. It parks until the next tick at which an item may become due, or while
+ * there is nothing scheduled, and is woken up by a scheduling thread only when the new item is due earlier than that.
+ *
+ * <p>A failure of the sink on the background thread is contained and counted, so it neither stops the background thread nor
+ * loses the other items due on the same tick. Items that are due when scheduled are moved into the sink by the calling thread,
+ * which sees the sink's failures.
+ *
+ * @param <T> type of the scheduled items
+ */
+@ThreadSafe
+public class TimingWheelScheduler<T> implements Startable<Thread>, AutoCloseable {
+    /** Default resolution in milliseconds. */
+    public static final long DEFAULT_TICK_MILLIS = 1;
+
+    /** Default number of buckets per wheel level. */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private final Consumer<? super T> sink;
+    private final Consumer<T> containedSink; // used by the background thread only
+    private final LongAdder failedCount;
+    private final HierarchicalTimingWheel<T> timingWheel; // confined to the background thread
+    private final Queue<Scheduled<T>> inbox;
+
+    private volatile boolean sleeping;
+    private volatile long wakeUpMillis; // the time the sleeping background thread is going to wake up at
+
+    private boolean started;
+    private boolean closed;
+    private final Lock startLock;
+
+    private volatile Thread backgroundThread; // written under startLock
+
+    /**
+     * Creates a scheduler with the default resolution and wheel size.
+     *
+     * @param sink a consumer to move due items into
+     * @throws ValidationException when null argument is supplied
+     */
+    public TimingWheelScheduler(final Consumer<? super T> sink) throws ValidationException {
+        this(sink, DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Creates a scheduler.
+     *
+     * @param sink a consumer to move due items into
+     * @param tickMillis a positive resolution in milliseconds
+     * @param wheelSize a number of buckets per wheel level, larger than 1
+     * @throws ValidationException when null sink is supplied, tickMillis is not positive or wheelSize is less than 2
+     */
+    public TimingWheelScheduler(final Consumer<? super T> sink, final long tickMillis, final int wheelSize) throws ValidationException {
+        Validations.validateNotNull(sink);
+        this.sink = sink;
+        this.containedSink = new Consumer<T>() {
+            @Override
+            public void accept(final T item) {
+                moveContained(item);
+            }
+        };
+        this.failedCount = new LongAdder();
+        this.timingWheel = new HierarchicalTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        this.inbox = new ConcurrentLinkedQueue<>();
+        this.sleeping = false;
+        this.wakeUpMillis = Long.MAX_VALUE;
+        this.started = false;
+        this.closed = false;
+        this.startLock = new ReentrantLock();
+    }
+
+    /**
+     * Returns the accepted instant in milliseconds, rounded up so an item scheduled at it is never due before the instant.
+     *
+     * @param instant an instant
+     * @return the milliseconds since the epoch, rounded up
+     */
+    public static long ceilMillis(final Instant instant) {
+        return instant.toEpochMilli() + (0 == instant.getNano() % 1_000_000 ? 0 : 1);
+    }
+
+    /**
+     * Returns the accepted duration in milliseconds, rounded up so an item delayed by it is never due before the delay has elapsed.
+     *
+     * @param duration a duration
+     * @return the milliseconds of the duration, rounded up
+     */
+    public static long ceilMillis(final Duration duration) {
+        // toMillis() truncates towards zero, which rounds a negative duration up already
+        return duration.toMillis() + (duration.isNegative() || 0 == duration.getNano() % 1_000_000 ? 0 : 1);
+    }
+
+    /**
+     * Schedules the accepted item to be moved into the sink at the accepted deadline.
+     *
+     * <p>Items whose deadline is already due are moved into the sink directly by the calling thread. The first item that is not due
+     * starts the background thread, unless the scheduler has been closed, in which case the item is never moved into the sink.
+     *
+     * @param item an item to schedule
+     * @param deadlineMillis an absolute deadline in milliseconds (the same time base as System.currentTimeMillis())
+     * @throws ValidationException when null argument is supplied
+     */
+    public void schedule(final T item, final long deadlineMillis) throws ValidationException {
+        Validations.validateNotNull(item);
+
+        if (deadlineMillis <= System.currentTimeMillis()) {
+            sink.accept(item);
+            return;
+        }
+
+        inbox.add(new Scheduled<>(item, deadlineMillis));
+        final Thread thread = backgroundThread;
+        if (null == thread)
+            start();
+        // the volatile reads after the inbox publication pair with the background thread's writes before re-checking the inbox
+        else if (sleeping && deadlineMillis < wakeUpMillis)
+            LockSupport.unpark(thread);
+    }
+
+    /**
+     * Starts the background thread that advances the wheel and returns a reference to that thread.
+     *
+     * <p>Calling start() is optional, as the background thread is started by the first item that is not due when scheduled.
+     * To stop the scheduler, interrupt the background thread or call close(). Calling start() more than once has no effect.
+     *
+     * @return a thread reference to the background thread, or null if the scheduler has been closed before it was started
+     */
+    @Override
+    public Thread start() {
+        return Locks.exec(startLock, ()->{
+            if (!started && !closed) {
+                started = true;
+                backgroundThread = new Thread() {
+                    @Override
+                    public void run() {
+                        loop();
+                    }
+                };
+                backgroundThread.start();
+            }
+            return backgroundThread;
+        });
+    }
+
+    /**
+     * Stops the background thread. Items that are not due yet are discarded. If the scheduler hasn't been started yet, it is never
+     * started afterwards.
+     */
+    @Override
+    public void close() {
+        Locks.exec(startLock, ()->{
+            closed = true;
+            if (started)
+                backgroundThread.interrupt();
+        });
+    }
+
+    /**
+     * Returns the number of items that have been scheduled and not moved into the sink yet.
+     *
+     * <p>The returned value is a best effort estimate.
+     *
+     * @return the number of pending items
+     */
+    public int getPendingCount() {
+        return inbox.size() + timingWheel.size();
+    }
+
+    /**
+     * Returns the number of items whose move into the sink failed on the background thread.
+     *
+     * @return the number of failed items
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /** Runs the main loop of the background thread. */
+    private void loop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            drainInbox();
+            timingWheel.advance(System.currentTimeMillis(), containedSink);
+
+            final long nextDueMillis = timingWheel.getNextDueMillis();
+            wakeUpMillis = nextDueMillis;
+            sleeping = true;
+            // re-check after publishing the flag, so a concurrent schedule() either is seen here or sees the flag
+            if (inbox.isEmpty()) {
+                if (Long.MAX_VALUE == nextDueMillis)
+                    LockSupport.park(this);
+                else
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(nextDueMillis - System.currentTimeMillis()));
+            }
+            sleeping = false;
+        }
+    }
+
+    /** Moves the scheduled items from the inbox into the wheel. */
+    private void drainInbox() {
+        Scheduled<T> scheduled;
+        while (null != (scheduled = inbox.poll())) {
+            if (!timingWheel.add(scheduled.item, scheduled.deadlineMillis))
+                moveContained(scheduled.item);
+        }
+    }
+
+    /**
+     * Moves the accepted item into the sink, containing and counting a failure of the sink.
+     *
+     * @param item a due item
+     */
+    private void moveContained(final T item) {
+        try {
+            sink.accept(item);
+        } catch (final Throwable e) {
+            // the item is lost either way, the background thread must survive for the items after it
+            failedCount.increment();
+        }
+    }
+
+    /**
+     * Represents an item that waits in the inbox.
+     *
+     * @param <T> type of the item
+     */
+    private static final class Scheduled<T> {
+        private final T item;
+        private final long deadlineMillis;
+
+        /**
+         * Creates a scheduled item.
+         *
+         * @param item a scheduled item
+         * @param deadlineMillis an absolute deadline in milliseconds
+         */
+        private Scheduled(final T item, final long deadlineMillis) {
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+}
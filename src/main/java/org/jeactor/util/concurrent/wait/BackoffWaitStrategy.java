@@ -0,0 +1,66 @@
+package org.jeactor.util.concurrent.wait;
+
+import org.jeactor.core.Event;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.demux.EventDemux;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/** 
+ * Represents a wait strategy that backs off progressively: it spins first, then yields, and finally blocks in the event demultiplexor.
+ * 
+ * <p>An event that arrives shortly after the previous one is picked up by the spinning thread within microseconds, while a long 
+ * idle period costs no CPU once the thread blocks.
+ */
+@ThreadSafe
+public class BackoffWaitStrategy implements WaitStrategy {
+    /** Default number of polls while spinning. */
+    public static final int DEFAULT_SPIN_TRIES = 100;
+
+    /** Default number of polls while yielding. */
+    public static final int DEFAULT_YIELD_TRIES = 100;
+
+    private final int spinTries;
+    private final int yieldTries;
+
+    /** Creates an instance with the default number of tries. */
+    public BackoffWaitStrategy() {
+        this(DEFAULT_SPIN_TRIES, DEFAULT_YIELD_TRIES);
+    }
+
+    /**
+     * Creates an instance with the accepted number of tries.
+     * 
+     * @param spinTries a non negative number of polls while spinning
+     * @param yieldTries a non negative number of polls while yielding
+     * @throws ValidationException when a number of tries is negative
+     */
+    public BackoffWaitStrategy(final int spinTries, final int yieldTries) throws ValidationException {
+        Validations.validatePositive(spinTries + 1, yieldTries + 1);
+        this.spinTries = spinTries;
+        this.yieldTries = yieldTries;
+    }
+
+    /**
+     * Spins, yields and finally blocks until the accepted event demultiplexor has an event and returns it.
+     * 
+     * @param eventDemux an event demultiplexor to take the next event from
+     * @return the next event
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Override
+    public Event waitFor(final EventDemux eventDemux) throws InterruptedException {
+        for (int i = 0; i < spinTries + yieldTries; i++) {
+            final Event event = eventDemux.poll();
+            if (null != event)
+                return event;
+            if (Thread.interrupted())
+                throw new InterruptedException();
+            if (i < spinTries)
+                Thread.onSpinWait();
+            else
+                Thread.yield();
+        }
+        return eventDemux.get();
+    }
+}
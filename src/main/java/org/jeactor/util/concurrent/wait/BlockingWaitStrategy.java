@@ -0,0 +1,25 @@
+package org.jeactor.util.concurrent.wait;
+
+import org.jeactor.core.Event;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.demux.EventDemux;
+
+/** 
+ * Represents a wait strategy that blocks in the event demultiplexor until it is signaled.
+ * 
+ * <p>Uses no CPU while idle, at the cost of a park and an unpark by the OS scheduler on every idle to busy transition.
+ */
+@ThreadSafe
+public class BlockingWaitStrategy implements WaitStrategy {
+    /**
+     * Blocks until the accepted event demultiplexor has an event and returns it.
+     * 
+     * @param eventDemux an event demultiplexor to take the next event from
+     * @return the next event
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Override
+    public Event waitFor(final EventDemux eventDemux) throws InterruptedException {
+        return eventDemux.get();
+    }
+}
@@ -0,0 +1,31 @@
+package org.jeactor.util.concurrent.wait;
+
+import org.jeactor.core.Event;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.demux.EventDemux;
+
+/** 
+ * Represents a wait strategy that polls the event demultiplexor in a busy loop.
+ * 
+ * <p>Gives the lowest wake up latency, but burns a whole core while idle, so it fits only a thread that owns a dedicated core.
+ */
+@ThreadSafe
+public class BusySpinWaitStrategy implements WaitStrategy {
+    /**
+     * Spins until the accepted event demultiplexor has an event and returns it.
+     * 
+     * @param eventDemux an event demultiplexor to take the next event from
+     * @return the next event
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Override
+    public Event waitFor(final EventDemux eventDemux) throws InterruptedException {
+        Event event;
+        while (null == (event = eventDemux.poll())) {
+            if (Thread.interrupted())
+                throw new InterruptedException();
+            Thread.onSpinWait();
+        }
+        return event;
+    }
+}
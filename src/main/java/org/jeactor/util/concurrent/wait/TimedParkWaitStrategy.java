@@ -0,0 +1,50 @@
+package org.jeactor.util.concurrent.wait;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+import org.jeactor.core.Event;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.demux.EventDemux;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/** 
+ * Represents a wait strategy that polls the event demultiplexor and parks for a fixed interval between polls.
+ * 
+ * <p>The wake up latency is bounded by the interval, and producers never have to wake the waiting thread up.
+ */
+@ThreadSafe
+public class TimedParkWaitStrategy implements WaitStrategy {
+    private final long parkNanos;
+
+    /**
+     * Creates an instance with the accepted park interval.
+     * 
+     * @param parkInterval a positive time to park between polls
+     * @throws ValidationException when null or non positive parkInterval is supplied
+     */
+    public TimedParkWaitStrategy(final Duration parkInterval) throws ValidationException {
+        Validations.validateNotNull(parkInterval);
+        Validations.validatePositive(parkInterval.toNanos());
+        this.parkNanos = parkInterval.toNanos();
+    }
+
+    /**
+     * Polls the accepted event demultiplexor, parking between polls, until it has an event and returns it.
+     * 
+     * @param eventDemux an event demultiplexor to take the next event from
+     * @return the next event
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Override
+    public Event waitFor(final EventDemux eventDemux) throws InterruptedException {
+        Event event;
+        while (null == (event = eventDemux.poll())) {
+            // parkNanos returns early on interrupt without clearing the status
+            if (Thread.interrupted())
+                throw new InterruptedException();
+            LockSupport.parkNanos(this, parkNanos);
+        }
+        return event;
+    }
+}
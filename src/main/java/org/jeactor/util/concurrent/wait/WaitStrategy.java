@@ -0,0 +1,22 @@
+package org.jeactor.util.concurrent.wait;
+
+import org.jeactor.core.Event;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.demux.EventDemux;
+
+/** 
+ * Represents a strategy of waiting for the next event of an event demultiplexor, which trades CPU usage for wake up latency.
+ * 
+ * <p>Implementations must be stateless or thread confined to a single waiting thread at a time.
+ */
+@ThreadSafe
+public interface WaitStrategy {
+    /**
+     * Waits until the accepted event demultiplexor has an event and returns it.
+     * 
+     * @param eventDemux an event demultiplexor to take the next event from
+     * @return the next event
+     * @throws InterruptedException if interrupted while waiting
+     */
+    Event waitFor(EventDemux eventDemux) throws InterruptedException;
+}
@@ -0,0 +1,40 @@
+package org.jeactor.util.json;
+
+/** Json writing utility, for payloads built with a StringBuilder without a json library. */
+public final class Jsons {
+    private Jsons() {}
+
+    /**
+     * Appends the accepted string as a json string literal.
+     *
+     * @param json a json being built
+     * @param value a string to append, may be null
+     * @return the accepted json
+     */
+    public static StringBuilder appendString(final StringBuilder json, final String value) {
+        if (null == value)
+            return json.append("null");
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if ('"' == c || '\\' == c)
+                json.append('\\').append(c);
+            else if (c < 0x20)
+                json.append(String.format("\\u%04x", (int) c));
+            else
+                json.append(c);
+        }
+        return json.append('"');
+    }
+
+    /**
+     * Appends the accepted number as a json number, or null if it is not finite.
+     *
+     * @param json a json being built
+     * @param value a number to append
+     * @return the accepted json
+     */
+    public static StringBuilder appendNumber(final StringBuilder json, final double value) {
+        return Double.isFinite(value) ? json.append(value) : json.append("null");
+    }
+}
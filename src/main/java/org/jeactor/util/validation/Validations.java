@@ -33,4 +33,17 @@ public final class Validations {
         if (integers.length > 0 && !(Stream.of(integers).filter((i)->0 >= i).collect(Collectors.toSet()).isEmpty()))
             throw new ValidationException("integers must be positive");
     }
+
+    /**
+     * Validates that the accepted objects are positive longs.
+     * 
+     * @param longs object varargs to validate
+     * @throws ValidationException if longs is null or one of it's members is null, negative long or 0. If longs is empty, an exception won't be thrown
+     */
+    @SafeVarargs
+    public static void validatePositive(Long... longs) throws ValidationException {
+        validateNotNull((Object[]) longs);
+        if (longs.length > 0 && !(Stream.of(longs).filter((l)->0 >= l).collect(Collectors.toSet()).isEmpty()))
+            throw new ValidationException("longs must be positive");
+    }
 }
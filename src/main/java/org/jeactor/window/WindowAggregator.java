@@ -0,0 +1,294 @@
+package org.jeactor.window;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import org.jeactor.core.Event;
+import org.jeactor.core.EventPattern;
+import org.jeactor.core.IdentityPriorityConsumer;
+import org.jeactor.core.Priority;
+import org.jeactor.core.Reactor;
+import org.jeactor.util.concurrent.ThreadSafe;
+import org.jeactor.util.concurrent.lock.Locks;
+import org.jeactor.util.json.Jsons;
+
+/**
+ * Represents a consumer that aggregates a numeric value of the consumed events per key over event time windows, and produces an 
+ * aggregate event back into a reactor whenever a window closes.
+ *
+ * <p>Windows are sliding windows that advance by a slide, a tumbling window being a sliding window whose slide equals its size. Time 
+ * is split into panes of one slide, and every key keeps a ring of primitive pane accumulators (count, sum, min and max), so consuming 
+ * an event is a single O(1) pane update. A window is combined from its panes only when it closes.
+ *
+ * <p>A window closes once the watermark, the latest event time seen minus the allowed lateness, passes its end. An event whose pane 
+ * belongs to an already closed window is late, and is dropped and counted. During idle periods windows can be closed with advanceWatermark().
+ *
+ * <p>The aggregate event is a STATE_CARRYING event of the output type whose conflation key is the aggregation key, and whose json payload
+ * has the fields key, windowStart, windowEnd, count, sum, min, max and mean. Instances are created with WindowAggregatorBuilderImpl, 
+ * and must be registered with the reactor for the input event types.
+ */
+@ThreadSafe
+public class WindowAggregator extends IdentityPriorityConsumer<Event> {
+    private final Reactor reactor;
+    private final String outputEventType;
+    private final Priority outputPriority;
+    private final long slideMillis;
+    private final int panesPerWindow;
+    private final long latenessMillis;
+    private final int ringSize;
+    private final Function<Event, String> keyExtractor;
+    private final ToDoubleFunction<Event> valueExtractor;
+    private final ToLongFunction<Event> timestampExtractor;
+
+    private final Map<String, KeyState> keyStates; // guarded by lock
+    private long maxTimestamp; // guarded by lock
+    private long lastClosedPane; // guarded by lock, windows are identified by their last pane
+    private final Lock lock;
+
+    private final AtomicLong lateEventCount;
+    private final AtomicLong droppedAggregateCount;
+
+    /**
+     * Creates an aggregator configured by the accepted builder.
+     *
+     * @param builder a builder that holds the aggregator configuration
+     */
+    WindowAggregator(final WindowAggregatorBuilderImpl builder) {
+        super(builder.getConsumerPriority());
+        this.reactor = builder.getReactor();
+        this.outputEventType = builder.getOutputEventType();
+        this.outputPriority = builder.getOutputPriority();
+        this.slideMillis = builder.getSlide().toMillis();
+        this.panesPerWindow = (int) (builder.getSize().toMillis() / slideMillis);
+        this.latenessMillis = builder.getAllowedLateness().toMillis();
+        // live panes span the open windows plus the lateness, one more slot keeps the pane being closed
+        this.ringSize = panesPerWindow + (int) ((latenessMillis + slideMillis - 1) / slideMillis) + 2;
+        this.keyExtractor = builder.getKeyExtractor();
+        this.valueExtractor = builder.getValueExtractor();
+        this.timestampExtractor = builder.getTimestampExtractor();
+        this.keyStates = new HashMap<>();
+        this.maxTimestamp = Long.MIN_VALUE;
+        this.lastClosedPane = Long.MIN_VALUE;
+        this.lock = new ReentrantLock();
+        this.lateEventCount = new AtomicLong();
+        this.droppedAggregateCount = new AtomicLong();
+    }
+
+    /**
+     * Adds the value of the accepted event to the pane of its key and time, and produces the aggregates of the windows it closes.
+     *
+     * @param event an event to aggregate
+     */
+    @Override
+    public void accept(final Event event) {
+        // extractors run outside the lock, they may parse the payload
+        final String key = keyExtractor.apply(event);
+        final double value = valueExtractor.applyAsDouble(event);
+        final long timestamp = timestampExtractor.applyAsLong(event);
+
+        final List<Event> aggregates = Locks.exec(lock, ()->{
+            List<Event> closed = Collections.emptyList();
+            if (timestamp > maxTimestamp) {
+                maxTimestamp = timestamp;
+                // closed before adding, so the ring never wraps over a pane of an open window
+                closed = closeUpTo(maxTimestamp - latenessMillis);
+            }
+
+            final long pane = Math.floorDiv(timestamp, slideMillis);
+            if (pane <= lastClosedPane) {
+                lateEventCount.incrementAndGet();
+            } else {
+                KeyState keyState = keyStates.get(key);
+                if (null == keyState) {
+                    keyState = new KeyState(ringSize);
+                    keyStates.put(key, keyState);
+                }
+                keyState.add(pane, value);
+            }
+            return closed;
+        });
+        produce(aggregates);
+    }
+
+    /**
+     * Advances the watermark to the accepted time, closing the windows that end at or before it, even if no later event arrives.
+     *
+     * @param watermarkMillis an event time in milliseconds up to which all the events are considered to have arrived
+     */
+    public void advanceWatermark(final long watermarkMillis) {
+        produce(Locks.exec(lock, ()->closeUpTo(watermarkMillis)));
+    }
+
+    /**
+     * Returns the number of events dropped because they arrived after their window closed.
+     *
+     * @return the number of late events
+     */
+    public long getLateEventCount() {
+        return lateEventCount.get();
+    }
+
+    /**
+     * Returns the number of aggregate events rejected by the reactor's rate limits.
+     *
+     * @return the number of dropped aggregates
+     */
+    public long getDroppedAggregateCount() {
+        return droppedAggregateCount.get();
+    }
+
+    /**
+     * Closes the windows that end at or before the accepted watermark. Must be called with the lock held.
+     *
+     * @param watermarkMillis an event time in milliseconds
+     * @return the aggregate events of the closed windows, in window order per key
+     */
+    private List<Event> closeUpTo(final long watermarkMillis) {
+        // a window closes when the watermark reaches the end of its last pane
+        final long newLastClosedPane = Math.floorDiv(watermarkMillis, slideMillis) - 1;
+        if (newLastClosedPane <= lastClosedPane)
+            return Collections.emptyList();
+
+        final List<Event> aggregates = new ArrayList<>();
+        final Iterator<Map.Entry<String, KeyState>> iterator = keyStates.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, KeyState> entry = iterator.next();
+            final KeyState keyState = entry.getValue();
+            // only windows that contain a live pane of the key can have data
+            final long lastPaneWithData = keyState.maxPane + panesPerWindow - 1;
+            final long from = Math.max(lastClosedPane + 1, keyState.minLivePane());
+            final long to = Math.min(newLastClosedPane, lastPaneWithData);
+            for (long lastPane = from; lastPane <= to; lastPane++) {
+                final Event aggregate = keyState.aggregate(entry.getKey(), lastPane);
+                if (null != aggregate)
+                    aggregates.add(aggregate);
+            }
+            if (lastPaneWithData <= newLastClosedPane)
+                iterator.remove();
+        }
+        lastClosedPane = newLastClosedPane;
+        return aggregates;
+    }
+
+    /**
+     * Produces the accepted aggregate events into the reactor.
+     *
+     * @param aggregates aggregate events to produce
+     */
+    private void produce(final List<Event> aggregates) {
+        for (final Event aggregate : aggregates) {
+            if (!reactor.tryProduce(aggregate))
+                droppedAggregateCount.incrementAndGet();
+        }
+    }
+
+    /** Represents the pane accumulators of a single key, held in a ring indexed by pane. */
+    private final class KeyState {
+        private final long[] paneIds;
+        private final long[] counts;
+        private final double[] sums;
+        private final double[] mins;
+        private final double[] maxs;
+        private long maxPane;
+
+        /**
+         * Creates the state of a key.
+         *
+         * @param ringSize a number of panes held
+         */
+        private KeyState(final int ringSize) {
+            this.paneIds = new long[ringSize];
+            this.counts = new long[ringSize];
+            this.sums = new double[ringSize];
+            this.mins = new double[ringSize];
+            this.maxs = new double[ringSize];
+            Arrays.fill(paneIds, Long.MIN_VALUE);
+            this.maxPane = Long.MIN_VALUE;
+        }
+
+        /**
+         * Adds the accepted value to the accumulator of the accepted pane, reusing the slot of an expired pane.
+         *
+         * @param pane a pane index
+         * @param value a value to add
+         */
+        private void add(final long pane, final double value) {
+            final int slot = (int) Math.floorMod(pane, (long) paneIds.length);
+            if (paneIds[slot] != pane) {
+                paneIds[slot] = pane;
+                counts[slot] = 0;
+                sums[slot] = 0;
+                mins[slot] = Double.POSITIVE_INFINITY;
+                maxs[slot] = Double.NEGATIVE_INFINITY;
+            }
+            counts[slot]++;
+            sums[slot] += value;
+            mins[slot] = Math.min(mins[slot], value);
+            maxs[slot] = Math.max(maxs[slot], value);
+            maxPane = Math.max(maxPane, pane);
+        }
+
+        /**
+         * Returns the lowest pane held.
+         *
+         * @return the lowest pane index held
+         */
+        private long minLivePane() {
+            long min = maxPane;
+            for (final long paneId : paneIds) {
+                if (Long.MIN_VALUE != paneId && paneId > maxPane - paneIds.length)
+                    min = Math.min(min, paneId);
+            }
+            return min;
+        }
+
+        /**
+         * Combines the panes of the window that ends with the accepted pane into an aggregate event.
+         *
+         * @param key the key of this state
+         * @param lastPane the last pane of the window
+         * @return the aggregate event, or null if the window has no events
+         */
+        private Event aggregate(final String key, final long lastPane) {
+            long count = 0;
+            double sum = 0;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (long pane = lastPane - panesPerWindow + 1; pane <= lastPane; pane++) {
+                final int slot = (int) Math.floorMod(pane, (long) paneIds.length);
+                if (paneIds[slot] == pane) {
+                    count += counts[slot];
+                    sum += sums[slot];
+                    min = Math.min(min, mins[slot]);
+                    max = Math.max(max, maxs[slot]);
+                }
+            }
+            if (0 == count)
+                return null;
+
+            final long windowEnd = (lastPane + 1) * slideMillis;
+            final StringBuilder payload = new StringBuilder(160).append("{\"key\":");
+            Jsons.appendString(payload, key);
+            payload.append(",\"windowStart\":").append(windowEnd - panesPerWindow * slideMillis)
+                .append(",\"windowEnd\":").append(windowEnd)
+                .append(",\"count\":").append(count);
+            Jsons.appendNumber(payload.append(",\"sum\":"), sum);
+            Jsons.appendNumber(payload.append(",\"min\":"), min);
+            Jsons.appendNumber(payload.append(",\"max\":"), max);
+            Jsons.appendNumber(payload.append(",\"mean\":"), sum / count);
+            payload.append('}');
+            return new Event(outputEventType, outputPriority, EventPattern.STATE_CARRYING, payload.toString(), UUID.randomUUID(), null, key);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package org.jeactor.window;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import org.jeactor.core.Builder;
+import org.jeactor.core.Event;
+import org.jeactor.core.Priority;
+import org.jeactor.core.Reactor;
+import org.jeactor.util.concurrent.NotThreadSafe;
+import org.jeactor.util.validation.Validations;
+import jakarta.validation.ValidationException;
+
+/** Window aggregator builder implementation. */
+@NotThreadSafe
+public class WindowAggregatorBuilderImpl implements Builder<WindowAggregator> {
+    private Reactor reactor;
+    private String outputEventType;
+    private Priority outputPriority = Priority.NORMAL;
+    private Priority consumerPriority = Priority.NORMAL;
+    private Duration size;
+    private Duration slide;
+    private Duration allowedLateness = Duration.ZERO;
+    private Function<Event, String> keyExtractor = (event)->null;
+    private ToDoubleFunction<Event> valueExtractor = (event)->0;
+    private ToLongFunction<Event> timestampExtractor = Event::getTimestamp;
+
+    /**
+     * Sets the reactor the aggregate events are produced into. Required.
+     * 
+     * @param reactor
+     * @return this builder object
+     */
+    public WindowAggregatorBuilderImpl withReactor(final Reactor reactor) {
+        this.reactor = reactor;
+        return this;
+    }
+
+    /**
+     * Sets the type of the aggregate events. Required.
+     * 
+     * @param outputEventType
+     * @return this builder object
+     */
+    public WindowAggregatorBuilderImpl withOutputEventType(final String outputEventType) {
+        this.outputEventType = outputEventType;
+        return this;
+    }
+
+    /**
+     * Sets the priority of the aggregate events. Defaults to NORMAL.
+     * 
+     * @param outputPriority
+     * @return this builder object
+     */
+    public WindowAggregatorBuilderImpl withOutputPriority(final Priority outputPriority) {
+        this.outputPriority = outputPriority;
+        return this;
+    }
+
+    /**
+     * Sets the priority the aggregator consumes events with. Defaults to NORMAL.
+     * 
+     * @param consumerPriority
+     * @return this builder object
+     */
+    public WindowAggregatorBuilderImpl withConsumerPriority(final Priority consumerPriority) {
+        this.consumerPriority = consumerPriority;
+        return this;
+    }
+
+    /**
+     * Aggregates over consecutive, non overlapping windows of the accepted size. Either this or a sliding window is required.
+     * 
+     * @param size
+     * @return this builder object
+     */
+    public WindowAggregatorBuilderImpl withTumblingWindow(final Duration size) {
+        this.size = size;
+        this.slide = size;
+        return this;
+    }
+
+    /**
+     * Aggregates over windows of the accepted size that start every slide. The size must be a multiple of the slide. 
+     * Either this or a tumbling window is required.
+     * 
+     * @param size
+     * @param slide
+     * @return this builder object
+     */
+    public WindowAggregatorBuilderImpl withSlidingWindow(final Duration size, final Duration slide) {
+        this.size = size;
+        this.slide = slide;
+        return this;
+    }
+
+    /**
+     * Sets the time an event may arrive after a later event and still be aggregated. Defaults to zero.
+     * 
+     * @param allowedLateness
+     * @return this builder object
+     */
+    public WindowAggregatorBuilderImpl withAllowedLateness(final Duration allowedLateness) {
+        this.allowedLateness = allowedLateness;
+        return this;
+    }
+
+    /**
+     * Sets the function that extracts the aggregation key of an event. Defaults to a single null key for all the events.
+     * 
+     * @param keyExtractor
+     * @return this builder object
+     */
+    public WindowAggregatorBuilderImpl withKey(final Function<Event, String> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+        return this;
+    }
+
+    /**
+     * Sets the function that extracts the aggregated value of an event, e.g. a payload field. Defaults to 0, so only the count is meaningful.
+     * 
+     * @param valueExtractor
+     * @return this builder object
+     */
+    public WindowAggregatorBuilderImpl withValue(final ToDoubleFunction<Event> valueExtractor) {
+        this.valueExtractor = valueExtractor;
+        return this;
+    }
+
+    /**
+     * Sets the function that extracts the event time in milliseconds of an event. Defaults to Event.getTimestamp().
+     * 
+     * @param timestampExtractor
+     * @return this builder object
+     */
+    public WindowAggregatorBuilderImpl withTimestamp(final ToLongFunction<Event> timestampExtractor) {
+        this.timestampExtractor = timestampExtractor;
+        return this;
+    }
+
+    /**
+     * The method builds a new thread-safe window aggregator, which still has to be registered with the reactor for the input event types.
+     * 
+     * @return a new window aggregator
+     * @throws ValidationException when a required property is missing, a property is null, a duration is not positive, 
+     * the lateness is negative or the size is not a multiple of the slide
+     */
+    @Override
+    public WindowAggregator build() throws ValidationException {
+        Validations.validateNotNull(reactor, outputEventType, outputPriority, consumerPriority, size, slide, allowedLateness, 
+            keyExtractor, valueExtractor, timestampExtractor);
+        Validations.validatePositive(size.toMillis(), slide.toMillis(), allowedLateness.toMillis() + 1);
+        if (0 != size.toMillis() % slide.toMillis())
+            throw new ValidationException("size must be a multiple of slide");
+        return new WindowAggregator(this);
+    }
+
+    /**
+     * Returns the reactor.
+     * 
+     * @return the reactor
+     */
+    Reactor getReactor() {
+        return reactor;
+    }
+
+    /**
+     * Returns the type of the aggregate events.
+     * 
+     * @return the output event type
+     */
+    String getOutputEventType() {
+        return outputEventType;
+    }
+
+    /**
+     * Returns the priority of the aggregate events.
+     * 
+     * @return the output priority
+     */
+    Priority getOutputPriority() {
+        return outputPriority;
+    }
+
+    /**
+     * Returns the priority the aggregator consumes events with.
+     * 
+     * @return the consumer priority
+     */
+    Priority getConsumerPriority() {
+        return consumerPriority;
+    }
+
+    /**
+     * Returns the window size.
+     * 
+     * @return the window size
+     */
+    Duration getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the window slide.
+     * 
+     * @return the window slide
+     */
+    Duration getSlide() {
+        return slide;
+    }
+
+    /**
+     * Returns the allowed lateness.
+     * 
+     * @return the allowed lateness
+     */
+    Duration getAllowedLateness() {
+        return allowedLateness;
+    }
+
+    /**
+     * Returns the key extractor.
+     * 
+     * @return the key extractor
+     */
+    Function<Event, String> getKeyExtractor() {
+        return keyExtractor;
+    }
+
+    /**
+     * Returns the value extractor.
+     * 
+     * @return the value extractor
+     */
+    ToDoubleFunction<Event> getValueExtractor() {
+        return valueExtractor;
+    }
+
+    /**
+     * Returns the timestamp extractor.
+     * 
+     * @return the timestamp extractor
+     */
+    ToLongFunction<Event> getTimestampExtractor() {
+        return timestampExtractor;
+    }
+}
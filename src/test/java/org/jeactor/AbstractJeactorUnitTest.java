@@ -1,5 +1,13 @@
 package org.jeactor;
 
+import java.util.UUID;
+import org.jeactor.core.Event;
+import org.jeactor.core.EventPattern;
+import org.jeactor.core.Priority;
+import org.jeactor.core.Reactor;
+import org.jeactor.core.ReactorBuilderImpl;
+import org.jeactor.util.concurrent.SynchronousExecutor;
+
 /**
  * Abstract jeactor unit test class.
  * 
@@ -8,4 +16,42 @@ package org.jeactor;
 public abstract class AbstractJeactorUnitTest extends AbstractUnitTest {
     /** Creates default jeactor unit test instance. */
     protected AbstractJeactorUnitTest() {}
+
+    /**
+     * Creates a reactor that dispatches events on the producing thread when idle, so events produced outside of dispatching are 
+     * dispatched synchronously.
+     * 
+     * @return a new started reactor
+     */
+    protected static Reactor startDirectReactor() {
+        final Reactor reactor = new ReactorBuilderImpl().withExecutor(new SynchronousExecutor()).withDirectHandoff(true).build();
+        reactor.start();
+        return reactor;
+    }
+
+    /**
+     * Registers a consumer that records the payloads of the accepted event type.
+     * 
+     * @param reactor a reactor to register the consumer to
+     * @param eventType a type of the recorded events
+     * @param expectedCount a number of events the returned consumer's await() waits for
+     * @return the registered consumer
+     */
+    protected static RecordingConsumer record(final Reactor reactor, final String eventType, final int expectedCount) {
+        final RecordingConsumer consumer = new RecordingConsumer(expectedCount);
+        reactor.register(eventType, consumer);
+        return consumer;
+    }
+
+    /**
+     * Creates a state carrying event with NORMAL priority.
+     * 
+     * @param eventType a type of the event
+     * @param payload a json payload
+     * @param conflationKey a conflation key, may be null
+     * @return a new event
+     */
+    protected static Event newEvent(final String eventType, final String payload, final String conflationKey) {
+        return new Event(eventType, Priority.NORMAL, EventPattern.STATE_CARRYING, payload, UUID.randomUUID(), null, conflationKey);
+    }
 }
@@ -0,0 +1,57 @@
+package org.jeactor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.jeactor.core.Event;
+import org.jeactor.core.IdentityPriorityConsumer;
+
+/** Represents a consumer that records the payloads of the events it consumes. */
+public class RecordingConsumer extends IdentityPriorityConsumer<Event> {
+    private final List<String> payloads = new CopyOnWriteArrayList<>();
+    private final CountDownLatch latch;
+
+    /**
+     * Creates a recording consumer with NORMAL priority.
+     * 
+     * @param expectedCount a number of events await() waits for
+     */
+    public RecordingConsumer(final int expectedCount) {
+        super();
+        latch = new CountDownLatch(expectedCount);
+    }
+
+    /**
+     * Records the payload of the accepted event.
+     * 
+     * @param event an event
+     */
+    @Override
+    public void accept(final Event event) {
+        payloads.add(event.getJsonPayload());
+        latch.countDown();
+    }
+
+    /**
+     * Returns the recorded payloads, in consumption order.
+     * 
+     * @return a live list of the recorded payloads
+     */
+    public List<String> getPayloads() {
+        return payloads;
+    }
+
+    /**
+     * Waits until the expected number of events has been recorded, or for 5 seconds.
+     * 
+     * @return true if the expected number of events has been recorded, or false otherwise
+     */
+    public boolean await() {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.jeactor.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Represents a thread safe log linear recorder of latency samples, with a relative error of at most 1/32.
+ * 
+ * <p>Values below 64 nanoseconds are counted exactly, larger ones in 32 linear sub buckets per power of two, so the recorder has a 
+ * fixed footprint regardless of the number of samples.
+ */
+final class ConcurrentLatencyHistogram {
+    private static final int SUB_BUCKETS = 32;
+    private static final int BUCKETS = 59 * SUB_BUCKETS; // up to a shift of 57, the one of Long.MAX_VALUE
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a sample, a negative one as 0.
+     * 
+     * @param nanos a latency in nanoseconds
+     */
+    void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Returns the number of samples.
+     * 
+     * @return the number of samples
+     */
+    long count() {
+        return count.get();
+    }
+
+    /**
+     * Returns the accepted percentile of the samples, as the highest value of the bucket it falls into.
+     * 
+     * @param percentile a percentile between 0 and 100
+     * @return the percentile in microseconds, or 0 if there are no samples
+     */
+    long percentileMicros(final double percentile) {
+        final long total = count.get();
+        if (0 == total)
+            return 0;
+        if (100 <= percentile)
+            return TimeUnit.NANOSECONDS.toMicros(max.get());
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (rank <= seen)
+                return TimeUnit.NANOSECONDS.toMicros(Math.min(max.get(), highestValueOf(i)));
+        }
+        return TimeUnit.NANOSECONDS.toMicros(max.get());
+    }
+
+    /**
+     * Returns the bucket of the accepted value.
+     * 
+     * @param value a non negative value
+     * @return the index of the bucket
+     */
+    private static int indexOf(final long value) {
+        if (value < 2 * SUB_BUCKETS)
+            return (int) value;
+        // the 6 most significant bits select the sub bucket, the remaining ones the power of two
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - 5;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * Returns the highest value that falls into the accepted bucket.
+     * 
+     * @param index an index of a bucket
+     * @return the highest value of the bucket
+     */
+    private static long highestValueOf(final int index) {
+        if (index < 2 * SUB_BUCKETS)
+            return index;
+        final int shift = index / SUB_BUCKETS - 1;
+        final long top = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+}
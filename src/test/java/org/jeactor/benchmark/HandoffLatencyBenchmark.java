@@ -0,0 +1,85 @@
+package org.jeactor.benchmark;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.jeactor.core.Event;
+import org.jeactor.core.EventPattern;
+import org.jeactor.core.Priority;
+import org.jeactor.core.PriorityConsumer;
+import org.jeactor.core.Reactor;
+import org.jeactor.core.ReactorBuilderImpl;
+import org.jeactor.util.concurrent.SynchronousExecutor;
+
+/**
+ * Benchmark of the produce to consume latency with and without direct handoff, at low and at high load.
+ * 
+ * <p>At low load single events are produced with pauses in between, so the reactor is idle on every produce. At high load
+ * events are produced in back to back bursts, so most of them find the reactor busy. Every scenario runs once with and once
+ * without direct handoff, and prints the number of consumed events and the latency percentiles.
+ * 
+ * <p>Usage: {@code java -cp target/classes:target/test-classes:<dependencies> org.jeactor.benchmark.HandoffLatencyBenchmark [seconds]}
+ */
+public final class HandoffLatencyBenchmark {
+    private static final String EVENT_TYPE = "benchmark";
+    private static final long PAUSE_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final int HIGH_LOAD_BURST = 256;
+
+    private HandoffLatencyBenchmark() {}
+
+    /**
+     * Runs the benchmark.
+     * 
+     * @param args optional duration of every scenario in seconds
+     * @throws Exception if the reactor fails to close
+     */
+    public static void main(final String[] args) throws Exception {
+        final long seconds = 0 < args.length ? Long.parseLong(args[0]) : 3;
+
+        System.out.printf("%-32s %10s %12s %12s %12s %12s%n", "scenario", "consumed", "p50(us)", "p99(us)", "p99.9(us)", "max(us)");
+        for (final int burst : new int[] {1, HIGH_LOAD_BURST}) {
+            for (final boolean directHandoff : new boolean[] {false, true}) {
+                final String name = (1 == burst ? "low load" : "high load") + (directHandoff ? ", direct handoff" : ", enqueue");
+                run(name, burst, directHandoff, seconds);
+            }
+        }
+    }
+
+    /**
+     * Runs a single scenario and prints its report.
+     * 
+     * @param name a name of the scenario
+     * @param burst a number of events produced back to back before a pause
+     * @param directHandoff wether direct handoff is enabled
+     * @param seconds a duration of the scenario in seconds
+     * @throws Exception if the reactor fails to close
+     */
+    private static void run(final String name, final int burst, final boolean directHandoff, final long seconds) throws Exception {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        final Reactor reactor = new ReactorBuilderImpl()
+            .withExecutor(new SynchronousExecutor())
+            .withDirectHandoff(directHandoff)
+            .build();
+        reactor.register(EVENT_TYPE, new PriorityConsumer<Event>() {
+            @Override
+            public void accept(final Event event) {
+                // dispatches are serialized by the reactor, also across the producing and the background thread
+                histogram.record(System.nanoTime() - Long.parseLong(event.getJsonPayload()));
+            }
+        });
+        reactor.start();
+
+        final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        while (System.nanoTime() < end) {
+            for (int i = 0; i < burst; i++)
+                reactor.produce(new Event(EVENT_TYPE, Priority.NORMAL, EventPattern.NOTIFICATION, Long.toString(System.nanoTime()), UUID.randomUUID()));
+            LockSupport.parkNanos(PAUSE_NANOS);
+        }
+        reactor.close();
+        Thread.sleep(100);
+
+        System.out.printf("%-32s %10d %12d %12d %12d %12d%n", name, histogram.count(),
+            histogram.percentileMicros(50), histogram.percentileMicros(99), histogram.percentileMicros(99.9), histogram.percentileMicros(100));
+    }
+}
@@ -0,0 +1,49 @@
+package org.jeactor.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/** Represents an exact recorder of latency samples, confined to a single thread. */
+final class LatencyHistogram {
+    private long[] samples = new long[1024];
+    private int count = 0;
+    private boolean sorted = false;
+
+    /**
+     * Records a sample.
+     * 
+     * @param nanos a latency in nanoseconds
+     */
+    void record(final long nanos) {
+        if (count == samples.length)
+            samples = Arrays.copyOf(samples, count * 2);
+        samples[count++] = nanos;
+        sorted = false;
+    }
+
+    /**
+     * Returns the number of samples.
+     * 
+     * @return the number of samples
+     */
+    int count() {
+        return count;
+    }
+
+    /**
+     * Returns the accepted percentile of the samples.
+     * 
+     * @param percentile a percentile between 0 and 100
+     * @return the percentile in microseconds, or 0 if there are no samples
+     */
+    long percentileMicros(final double percentile) {
+        if (0 == count)
+            return 0;
+        if (!sorted) {
+            Arrays.sort(samples, 0, count);
+            sorted = true;
+        }
+        final int index = (int) Math.min(count - 1, Math.ceil(percentile / 100 * count) - 1);
+        return TimeUnit.NANOSECONDS.toMicros(samples[Math.max(0, index)]);
+    }
+}
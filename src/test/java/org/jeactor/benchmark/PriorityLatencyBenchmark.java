@@ -0,0 +1,117 @@
+package org.jeactor.benchmark;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.jeactor.core.Event;
+import org.jeactor.core.EventPattern;
+import org.jeactor.core.Priority;
+import org.jeactor.core.PriorityConsumer;
+import org.jeactor.core.Reactor;
+import org.jeactor.core.Reactors;
+import org.jeactor.util.concurrent.SynchronousExecutor;
+import org.jeactor.util.concurrent.demux.AgingPriorityEventDemux;
+import org.jeactor.util.concurrent.demux.EventDemux;
+import org.jeactor.util.concurrent.demux.PriorityBlockingEventDemux;
+
+/**
+ * Benchmark of the latency distribution per priority under a sustained overload of urgent events.
+ * 
+ * <p>A single producer offers events faster than the reactor can dispatch them, mostly HIGH and CRITICAL, and each event
+ * records the time from produce to consumption. The benchmark runs once with strict prioritization and once with aging,
+ * and prints per priority the number of produced and consumed events and the latency percentiles of the consumed ones.
+ * 
+ * <p>Usage: {@code java -cp target/classes:target/test-classes:<dependencies> org.jeactor.benchmark.PriorityLatencyBenchmark [seconds] [agingMillis]}
+ */
+public final class PriorityLatencyBenchmark {
+    private static final String EVENT_TYPE = "benchmark";
+    private static final long SERVICE_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final double LOAD = 0.97;
+
+    private PriorityLatencyBenchmark() {}
+
+    /**
+     * Runs the benchmark.
+     * 
+     * @param args optional duration in seconds and aging interval in milliseconds
+     * @throws Exception if the reactor fails to close
+     */
+    public static void main(final String[] args) throws Exception {
+        final long seconds = 0 < args.length ? Long.parseLong(args[0]) : 5;
+        final long agingMillis = 1 < args.length ? Long.parseLong(args[1]) : 10;
+
+        run("strict priority", new PriorityBlockingEventDemux(), seconds);
+        run("aging priority (" + agingMillis + "ms)", new AgingPriorityEventDemux(Duration.ofMillis(agingMillis)), seconds);
+    }
+
+    /**
+     * Runs a single overload scenario and prints its report.
+     * 
+     * @param name a name of the scenario
+     * @param demux an event demux to use
+     * @param seconds a duration of the scenario in seconds
+     * @throws Exception if the reactor fails to close
+     */
+    private static void run(final String name, final EventDemux demux, final long seconds) throws Exception {
+        final Priority[] priorities = Priority.values();
+        final long[] produced = new long[priorities.length];
+        final LatencyHistogram[] histograms = new LatencyHistogram[priorities.length];
+        for (int i = 0; i < histograms.length; i++)
+            histograms[i] = new LatencyHistogram();
+
+        final Reactor reactor = Reactors.newConcurrentReactor(new SynchronousExecutor(), demux);
+        reactor.register(EVENT_TYPE, new PriorityConsumer<Event>() {
+            @Override
+            public void accept(final Event event) {
+                final long now = System.nanoTime();
+                // consumers run on the dispatcher thread, so the histograms are confined to it
+                histograms[event.getEventPriority().ordinal()].record(now - Long.parseLong(event.getJsonPayload()));
+                while (System.nanoTime() - now < SERVICE_NANOS)
+                    Thread.onSpinWait();
+            }
+        });
+        reactor.start();
+
+        // events are produced in small batches on a 100us grid, so the producer does not compete with the dispatcher for a core
+        final long intervalNanos = (long) (SERVICE_NANOS / LOAD);
+        final long start = System.nanoTime();
+        final long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        long count = 0;
+        for (long now = start; now < end; now = System.nanoTime()) {
+            for (final long due = (now - start) / intervalNanos; count < due; count++) {
+                final Priority priority = pickPriority();
+                produced[priority.ordinal()]++;
+                reactor.produce(new Event(EVENT_TYPE, priority, EventPattern.NOTIFICATION, Long.toString(System.nanoTime()), UUID.randomUUID()));
+            }
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        reactor.close();
+        Thread.sleep(100);
+
+        System.out.println("== " + name + ", " + seconds + "s at " + LOAD + "x capacity");
+        System.out.printf("%-9s %10s %10s %12s %12s %12s %12s%n", "priority", "produced", "consumed", "p50(us)", "p99(us)", "p99.9(us)", "max(us)");
+        for (int i = priorities.length - 1; i >= 0; i--) {
+            final LatencyHistogram h = histograms[i];
+            System.out.printf("%-9s %10d %10d %12d %12d %12d %12d%n", priorities[i], produced[i], h.count(),
+                h.percentileMicros(50), h.percentileMicros(99), h.percentileMicros(99.9), h.percentileMicros(100));
+        }
+    }
+
+    /**
+     * Picks a priority from a mix dominated by urgent events.
+     * 
+     * @return a random priority
+     */
+    private static Priority pickPriority() {
+        final int r = ThreadLocalRandom.current().nextInt(100);
+        if (r < 40)
+            return Priority.CRITICAL;
+        if (r < 80)
+            return Priority.HIGH;
+        if (r < 95)
+            return Priority.NORMAL;
+        return Priority.LOW;
+    }
+}
@@ -0,0 +1,95 @@
+package org.jeactor.benchmark;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.jeactor.core.Event;
+import org.jeactor.core.EventPattern;
+import org.jeactor.core.Priority;
+import org.jeactor.core.PriorityConsumer;
+import org.jeactor.core.Reactor;
+import org.jeactor.core.Reactors;
+import org.jeactor.util.concurrent.SynchronousExecutor;
+import org.jeactor.util.concurrent.demux.EventDemux;
+import org.jeactor.util.concurrent.demux.PerProducerEventDemux;
+import org.jeactor.util.concurrent.demux.PriorityBlockingEventDemux;
+
+/**
+ * Benchmark of the produce throughput as the number of producer threads grows, with a shared queue and with a queue per producer.
+ * 
+ * <p>Every producer thread produces the same number of events as fast as it can, and the benchmark measures the time until all of 
+ * them have been consumed. Meaningful numbers need at least as many cores as producer threads plus one for the reactor.
+ * 
+ * <p>Usage: {@code java -cp target/classes:target/test-classes:<dependencies> org.jeactor.benchmark.ProducerScalingBenchmark [eventsPerProducer] [maxProducers]}
+ */
+public final class ProducerScalingBenchmark {
+    private static final String EVENT_TYPE = "benchmark";
+
+    private ProducerScalingBenchmark() {}
+
+    /**
+     * Runs the benchmark.
+     * 
+     * @param args optional number of events per producer and maximal number of producers
+     * @throws Exception if the reactor fails to close
+     */
+    public static void main(final String[] args) throws Exception {
+        final int eventsPerProducer = 0 < args.length ? Integer.parseInt(args[0]) : 200_000;
+        final int maxProducers = 1 < args.length ? Integer.parseInt(args[1]) : 32;
+
+        System.out.printf("%-10s %20s %20s%n", "producers", "shared (events/s)", "per producer (events/s)");
+        for (int producers = 1; producers <= maxProducers; producers *= 2) {
+            final long shared = run(PriorityBlockingEventDemux::new, producers, eventsPerProducer);
+            final long perProducer = run(PerProducerEventDemux::new, producers, eventsPerProducer);
+            System.out.printf("%-10d %20d %20d%n", producers, shared, perProducer);
+        }
+    }
+
+    /**
+     * Runs a single scenario.
+     * 
+     * @param demuxFactory a factory of the event demux to use
+     * @param producers a number of producer threads
+     * @param eventsPerProducer a number of events every producer thread produces
+     * @return the throughput in events per second
+     * @throws Exception if the reactor fails to close
+     */
+    private static long run(final Supplier<EventDemux> demuxFactory, final int producers, final int eventsPerProducer) throws Exception {
+        final CountDownLatch consumed = new CountDownLatch(producers * eventsPerProducer);
+        final Reactor reactor = Reactors.newConcurrentReactor(new SynchronousExecutor(), demuxFactory.get());
+        reactor.register(EVENT_TYPE, new PriorityConsumer<Event>() {
+            @Override
+            public void accept(final Event event) {
+                consumed.countDown();
+            }
+        });
+        reactor.start();
+
+        final Priority[] priorities = Priority.values();
+        final CountDownLatch go = new CountDownLatch(1);
+        final Thread[] threads = new Thread[producers];
+        for (int i = 0; i < producers; i++) {
+            threads[i] = new Thread(()->{
+                try {
+                    go.await();
+                } catch (final InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < eventsPerProducer; j++)
+                    reactor.produce(new Event(EVENT_TYPE, priorities[j % priorities.length], EventPattern.NOTIFICATION, null, UUID.randomUUID()));
+            });
+            threads[i].start();
+        }
+
+        final long start = System.nanoTime();
+        go.countDown();
+        consumed.await();
+        final long elapsed = System.nanoTime() - start;
+        for (final Thread thread : threads)
+            thread.join();
+        reactor.close();
+
+        return (long) producers * eventsPerProducer * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+}
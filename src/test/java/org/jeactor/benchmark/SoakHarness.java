@@ -0,0 +1,432 @@
+package org.jeactor.benchmark;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.jeactor.core.Event;
+import org.jeactor.core.EventPattern;
+import org.jeactor.core.Priority;
+import org.jeactor.core.PriorityConsumer;
+import org.jeactor.core.Reactor;
+import org.jeactor.core.Reactors;
+import org.jeactor.util.concurrent.elastic.ElasticExecutorBuilderImpl;
+
+/**
+ * Load generator and soak test harness that drives reactors of the Reactors factories with a configurable open workload, and reports
+ * the end to end latency percentiles and the throughput of every factory.
+ *
+ * <p>Producer threads produce events at a constant rate, or in bursts at the same average rate. Every event is scheduled at an intended
+ * time, and a producer that falls behind produces the late events immediately instead of skipping them. The corrected latency is measured
+ * from the intended time, so a stalled reactor is charged for all the events that should have been produced while it stalled, and not for
+ * the single one that was actually waiting. This corrects the coordinated omission of a closed loop measurement, which the raw latency,
+ * measured from the actual produce, suffers from. With an unlimited rate there is no schedule, and both latencies are equal.
+ *
+ * <p>Latency is recorded per delivery, when a consumer has finished consuming an event, and only for events intended after the warm up.
+ *
+ * <p>Options, as system properties or as {@code key=value} arguments, with their defaults:
+ * <ul>
+ * <li>{@code soak.factories=sync,single,fixed,cached,elastic} - the Reactors factories to run, one scenario each</li>
+ * <li>{@code soak.threads=4} - the pool size of the fixed factory, and the maximal one of the elastic factory</li>
+ * <li>{@code soak.producers=1} - the number of producer threads</li>
+ * <li>{@code soak.rate=10000} - the total number of events produced per second, 0 for as fast as possible</li>
+ * <li>{@code soak.arrival=constant} - constant, or burst</li>
+ * <li>{@code soak.burst=100} - the number of events of a burst, produced back to back</li>
+ * <li>{@code soak.eventTypes=1} - the number of event types, produced uniformly</li>
+ * <li>{@code soak.priorities=NORMAL=1} - the weights of the produced priorities, e.g. LOW=1,NORMAL=8,HIGH=1</li>
+ * <li>{@code soak.consumers=1} - the number of consumers registered with every event type</li>
+ * <li>{@code soak.costMicros=0} - the time every consumer spins per event</li>
+ * <li>{@code soak.warmupSeconds=2} - the time produced but not measured</li>
+ * <li>{@code soak.seconds=10} - the time measured</li>
+ * </ul>
+ *
+ * <p>Usage: {@code java -cp target/classes:target/test-classes:<dependencies> org.jeactor.benchmark.SoakHarness [key=value ...]},
+ * or {@code mvn test -P soak -Dsoak.rate=50000 ...}.
+ */
+public final class SoakHarness {
+    private static final String EVENT_TYPE_PREFIX = "soak-";
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final Options options;
+
+    /**
+     * Creates a harness.
+     *
+     * @param options options of the workload
+     */
+    SoakHarness(final Options options) {
+        this.options = options;
+    }
+
+    /**
+     * Runs the harness with the system properties overridden by the arguments.
+     *
+     * @param args optional options as key=value pairs
+     * @throws Exception if a scenario fails
+     */
+    public static void main(final String[] args) throws Exception {
+        final Properties properties = new Properties();
+        properties.putAll(System.getProperties());
+        for (final String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (0 < separator)
+                properties.setProperty(arg.startsWith("soak.") ? arg.substring(0, separator) : "soak." + arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        new SoakHarness(Options.parse(properties)).run(System.out);
+    }
+
+    /**
+     * Runs a scenario per factory and prints their reports.
+     *
+     * @param out a stream to print to
+     * @throws Exception if a scenario fails
+     */
+    void run(final PrintStream out) throws Exception {
+        out.println(options);
+        out.printf("%-8s %12s %12s %10s %10s %10s %10s %10s %12s %12s %10s%n", "factory", "produced/s", "consumed/s",
+            "p50(us)", "p90(us)", "p99(us)", "p99.9(us)", "max(us)", "raw p99(us)", "raw max(us)", "undrained");
+        for (final String factory : options.factories) {
+            final Report report = runScenario(factory);
+            out.printf("%-8s %12d %12d %10d %10d %10d %10d %10d %12d %12d %10d%n", factory, report.producedPerSecond, report.consumedPerSecond,
+                report.corrected.percentileMicros(50), report.corrected.percentileMicros(90), report.corrected.percentileMicros(99),
+                report.corrected.percentileMicros(99.9), report.corrected.percentileMicros(100),
+                report.raw.percentileMicros(99), report.raw.percentileMicros(100), report.undrained);
+        }
+    }
+
+    /**
+     * Runs a single scenario against a new reactor of the accepted factory.
+     *
+     * @param factory a name of the factory
+     * @return the report of the scenario
+     * @throws Exception if the reactor fails to close
+     */
+    Report runScenario(final String factory) throws Exception {
+        final ConcurrentLatencyHistogram corrected = new ConcurrentLatencyHistogram();
+        final ConcurrentLatencyHistogram raw = new ConcurrentLatencyHistogram();
+        final LongAdder delivered = new LongAdder();
+        final LongAdder produced = new LongAdder();
+
+        final long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        final long measureStart = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        final long end = measureStart + TimeUnit.SECONDS.toNanos(options.seconds);
+
+        final Reactor reactor = newReactor(factory);
+        for (int i = 0; i < options.eventTypes; i++) {
+            for (int j = 0; j < options.consumers; j++)
+                reactor.register(EVENT_TYPE_PREFIX + i, newConsumer(corrected, raw, delivered, measureStart));
+        }
+        reactor.start();
+
+        final Thread[] producers = new Thread[options.producers];
+        for (int i = 0; i < producers.length; i++) {
+            final int producer = i;
+            producers[i] = new Thread(()->produce(reactor, producer, start, end, produced), "soak-producer-" + i);
+            producers[i].start();
+        }
+        for (final Thread thread : producers)
+            thread.join();
+
+        // the backlog left at the end is still measured, since its events were intended within the measured time
+        final long expected = produced.sum() * options.consumers;
+        final long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (delivered.sum() < expected && System.nanoTime() < drainDeadline)
+            Thread.sleep(10);
+        final long drained = System.nanoTime();
+        final long undrained = expected - delivered.sum();
+        reactor.close();
+
+        final long measured = Math.max(1, Math.max(end, drained) - measureStart);
+        return new Report(corrected, raw, 0 == options.rate ? produced.sum() * TimeUnit.SECONDS.toNanos(1) / (end - start) : options.rate,
+            corrected.count() * TimeUnit.SECONDS.toNanos(1) / measured, undrained);
+    }
+
+    /**
+     * Produces events on the schedule of the accepted producer until the end, keeping the schedule when falling behind it.
+     *
+     * @param reactor a reactor to produce to
+     * @param producer an index of the producer
+     * @param start the time the schedule starts at
+     * @param end the time the schedule ends at
+     * @param produced a counter of the produced events
+     */
+    private void produce(final Reactor reactor, final int producer, final long start, final long end, final LongAdder produced) {
+        final SplittableRandom random = new SplittableRandom(31L * producer + 17);
+        final Priority[] priorities = Priority.values();
+        final double totalWeight = Arrays.stream(options.priorityWeights).sum();
+
+        // producers are phase shifted, so their events interleave evenly
+        final double interval = 0 == options.rate ? 0 : (double) TimeUnit.SECONDS.toNanos(1) * options.producers / options.rate;
+        final long phase = (long) (interval * producer / options.producers);
+        final int burst = "burst".equals(options.arrival) ? options.burst : 1;
+
+        waitUntil(start);
+        for (long n = 0; ; n++) {
+            final long intended = 0 == interval ? System.nanoTime() : start + phase + (long) (n / burst * burst * interval);
+            if (end <= intended)
+                break;
+            waitUntil(intended);
+
+            final String eventType = EVENT_TYPE_PREFIX + random.nextInt(options.eventTypes);
+            double weight = random.nextDouble() * totalWeight;
+            int priority = 0;
+            while (priority < priorities.length - 1 && options.priorityWeights[priority] <= weight)
+                weight -= options.priorityWeights[priority++];
+            reactor.produce(new Event(eventType, priorities[priority], EventPattern.NOTIFICATION, intended + ":" + System.nanoTime(), UUID.randomUUID()));
+            produced.increment();
+        }
+    }
+
+    /**
+     * Creates a consumer that spins for the consumer cost and records the latencies of the events intended after the measurement start.
+     *
+     * @param corrected a recorder of the latencies from the intended times
+     * @param raw a recorder of the latencies from the actual produce times
+     * @param delivered a counter of all the delivered events
+     * @param measureStart the time the measurement starts at
+     * @return a new consumer
+     */
+    private PriorityConsumer<Event> newConsumer(final ConcurrentLatencyHistogram corrected, final ConcurrentLatencyHistogram raw,
+            final LongAdder delivered, final long measureStart) {
+        final long costNanos = TimeUnit.MICROSECONDS.toNanos(options.costMicros);
+        return new PriorityConsumer<Event>() {
+            @Override
+            public void accept(final Event event) {
+                if (0 < costNanos) {
+                    final long busyUntil = System.nanoTime() + costNanos;
+                    while (System.nanoTime() < busyUntil)
+                        Thread.onSpinWait();
+                }
+
+                final long now = System.nanoTime();
+                final String payload = event.getJsonPayload();
+                final int separator = payload.indexOf(':');
+                final long intended = Long.parseLong(payload.substring(0, separator));
+                if (measureStart <= intended) {
+                    corrected.record(now - intended);
+                    raw.record(now - Long.parseLong(payload.substring(separator + 1)));
+                }
+                delivered.increment();
+            }
+        };
+    }
+
+    /**
+     * Creates a reactor of the accepted factory, with daemon worker threads.
+     *
+     * @param factory a name of the factory
+     * @return a new reactor
+     */
+    private Reactor newReactor(final String factory) {
+        final ThreadFactory threadFactory = (runnable)->{
+            final Thread thread = new Thread(runnable, "soak-worker");
+            thread.setDaemon(true);
+            return thread;
+        };
+        switch (factory) {
+            case "sync":
+                return Reactors.newSyncConcurrentReactor();
+            case "single":
+                return Reactors.newSingleWorkerConcurrentReactor(threadFactory);
+            case "fixed":
+                return Reactors.newFixedThreadPoolConcurrentReactor(options.threads, threadFactory);
+            case "cached":
+                return Reactors.newCachedThreadPoolConcurrentReactor(threadFactory);
+            case "elastic":
+                return Reactors.newElasticConcurrentReactor(new ElasticExecutorBuilderImpl().withThreads(1, options.threads).withThreadFactory(threadFactory));
+            default:
+                throw new IllegalArgumentException("Unknown factory: " + factory);
+        }
+    }
+
+    /**
+     * Waits until the accepted time, parking while it is far and spinning once it is near.
+     *
+     * @param deadline a time to wait until
+     */
+    private static void waitUntil(final long deadline) {
+        long remaining;
+        while (0 < (remaining = deadline - System.nanoTime())) {
+            if (SPIN_THRESHOLD_NANOS < remaining)
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            else
+                Thread.onSpinWait();
+        }
+    }
+
+    /** Represents the options of a workload. */
+    static final class Options {
+        private final List<String> factories;
+        private final int threads;
+        private final int producers;
+        private final long rate;
+        private final String arrival;
+        private final int burst;
+        private final int eventTypes;
+        private final double[] priorityWeights;
+        private final int consumers;
+        private final long costMicros;
+        private final long warmupSeconds;
+        private final long seconds;
+
+        /**
+         * Creates options from the soak properties of the accepted properties.
+         *
+         * @param properties properties to read the options from
+         * @throws IllegalArgumentException when an option is invalid
+         */
+        private Options(final Properties properties) {
+            this.factories = new ArrayList<>();
+            for (final String factory : properties.getProperty("soak.factories", "sync,single,fixed,cached,elastic").split(","))
+                if (!factory.isBlank())
+                    factories.add(factory.trim());
+            this.threads = positive(properties, "soak.threads", 4);
+            this.producers = positive(properties, "soak.producers", 1);
+            this.rate = Long.parseLong(properties.getProperty("soak.rate", "10000"));
+            this.arrival = properties.getProperty("soak.arrival", "constant");
+            this.burst = positive(properties, "soak.burst", 100);
+            this.eventTypes = positive(properties, "soak.eventTypes", 1);
+            this.priorityWeights = parseWeights(properties.getProperty("soak.priorities", "NORMAL=1"));
+            this.consumers = positive(properties, "soak.consumers", 1);
+            this.costMicros = Long.parseLong(properties.getProperty("soak.costMicros", "0"));
+            this.warmupSeconds = Long.parseLong(properties.getProperty("soak.warmupSeconds", "2"));
+            this.seconds = positive(properties, "soak.seconds", 10);
+            if (rate < 0 || costMicros < 0 || warmupSeconds < 0)
+                throw new IllegalArgumentException("Negative rate, cost or warm up");
+            if (!"constant".equals(arrival) && !"burst".equals(arrival))
+                throw new IllegalArgumentException("Unknown arrival pattern: " + arrival);
+        }
+
+        /**
+         * Parses options from the soak properties of the accepted properties.
+         *
+         * @param properties properties to read the options from
+         * @return the options
+         * @throws IllegalArgumentException when an option is invalid
+         */
+        static Options parse(final Properties properties) {
+            return new Options(properties);
+        }
+
+        /**
+         * Reads a positive integer option.
+         *
+         * @param properties properties to read the option from
+         * @param key a key of the option
+         * @param defaultValue a default value of the option
+         * @return the option
+         * @throws IllegalArgumentException when the option is not positive
+         */
+        private static int positive(final Properties properties, final String key, final int defaultValue) {
+            final int value = Integer.parseInt(properties.getProperty(key, Integer.toString(defaultValue)));
+            if (value <= 0)
+                throw new IllegalArgumentException("Not positive: " + key);
+            return value;
+        }
+
+        /**
+         * Parses priority weights of the form LOW=1,NORMAL=8,HIGH=1, where a missing priority has no weight.
+         *
+         * @param mix a priority mix
+         * @return the weights indexed by priority ordinal
+         * @throws IllegalArgumentException when the mix is invalid or has no weight
+         */
+        private static double[] parseWeights(final String mix) {
+            final double[] weights = new double[Priority.values().length];
+            for (final String entry : mix.split(",")) {
+                final String[] pair = entry.split("=");
+                if (2 != pair.length)
+                    throw new IllegalArgumentException("Invalid priority weight: " + entry);
+                weights[Priority.valueOf(pair[0].trim()).ordinal()] = Double.parseDouble(pair[1].trim());
+            }
+            if (Arrays.stream(weights).anyMatch((weight)->weight < 0) || 0 == Arrays.stream(weights).sum())
+                throw new IllegalArgumentException("Invalid priority mix: " + mix);
+            return weights;
+        }
+
+        /**
+         * Generates a string representation of this object.
+         *
+         * @return a string representation of this object
+         */
+        @Override
+        public String toString() {
+            return "Options{" +
+                    "factories=" + factories +
+                    ", threads=" + threads +
+                    ", producers=" + producers +
+                    ", rate=" + rate +
+                    ", arrival=" + arrival +
+                    ", burst=" + burst +
+                    ", eventTypes=" + eventTypes +
+                    ", priorityWeights=" + Arrays.toString(priorityWeights) +
+                    ", consumers=" + consumers +
+                    ", costMicros=" + costMicros +
+                    ", warmupSeconds=" + warmupSeconds +
+                    ", seconds=" + seconds +
+                    '}';
+        }
+    }
+
+    /** Represents the report of a scenario. */
+    static final class Report {
+        private final ConcurrentLatencyHistogram corrected;
+        private final ConcurrentLatencyHistogram raw;
+        private final long producedPerSecond;
+        private final long consumedPerSecond;
+        private final long undrained;
+
+        /**
+         * Creates a report.
+         *
+         * @param corrected latencies from the intended times
+         * @param raw latencies from the actual produce times
+         * @param producedPerSecond the rate events have been produced at
+         * @param consumedPerSecond the rate of measured deliveries
+         * @param undrained the number of deliveries that have not happened by the end of the drain
+         */
+        private Report(final ConcurrentLatencyHistogram corrected, final ConcurrentLatencyHistogram raw, final long producedPerSecond,
+                final long consumedPerSecond, final long undrained) {
+            this.corrected = corrected;
+            this.raw = raw;
+            this.producedPerSecond = producedPerSecond;
+            this.consumedPerSecond = consumedPerSecond;
+            this.undrained = undrained;
+        }
+
+        /**
+         * Returns the latencies measured from the intended times.
+         *
+         * @return the corrected latencies
+         */
+        ConcurrentLatencyHistogram getCorrected() {
+            return corrected;
+        }
+
+        /**
+         * Returns the latencies measured from the actual produce times.
+         *
+         * @return the raw latencies
+         */
+        ConcurrentLatencyHistogram getRaw() {
+            return raw;
+        }
+
+        /**
+         * Returns the number of deliveries that have not happened by the end of the drain.
+         *
+         * @return the number of undrained deliveries
+         */
+        long getUndrained() {
+            return undrained;
+        }
+    }
+}
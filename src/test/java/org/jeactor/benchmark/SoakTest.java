@@ -0,0 +1,18 @@
+package org.jeactor.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the soak harness with the soak system properties. Excluded from the default build, run by {@code mvn test -P soak}.
+ *
+ * @see SoakHarness
+ */
+@Tag("soak")
+public class SoakTest {
+    /** Runs a scenario per configured factory and prints their reports. */
+    @Test
+    public void testSoak() throws Exception {
+        new SoakHarness(SoakHarness.Options.parse(System.getProperties())).run(System.out);
+    }
+}
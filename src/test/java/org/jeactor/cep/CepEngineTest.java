@@ -0,0 +1,162 @@
+package org.jeactor.cep;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.jeactor.RecordingConsumer;
+import org.jeactor.core.Event;
+import org.jeactor.core.Reactor;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of CepEngine. */
+public class CepEngineTest extends AbstractJeactorUnitTest {
+    /** Tests that a pattern with a single step throws ValidationException. */
+    @Test
+    public void testSingleStepPatternThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new SequencePatternBuilderImpl()
+            .withName("single")
+            .followedBy("a")
+            .within(Duration.ofMillis(10))
+            .withOutputEventType("match")
+            .build());
+    }
+
+    /** Tests that a sequence is matched per key, skipping unrelated events, and that the match event references the matched events. */
+    @Test
+    public void testSequencePerKey() throws Exception {
+        testWithResources(
+            ()->startDirectReactor(),
+            (reactor)->{
+                final List<String> matches = record(reactor, "match", 0).getPayloads();
+                final CepEngine engine = newBuilder(reactor).build();
+                final Event login = newEvent("login", "1", "alice");
+                final Event transfer = newEvent("transfer", "5", "alice");
+                engine.accept(login);
+                engine.accept(newEvent("transfer", "2", "bob"));
+                engine.accept(newEvent("logout", "3", "alice"));
+                engine.accept(transfer);
+
+                assertEquals(List.of("{\"pattern\":\"fraud\",\"key\":\"alice\",\"start\":1,\"end\":5,\"events\":[\"" 
+                    + login.getUuid() + "\",\"" + transfer.getUuid() + "\"]}"), matches);
+                assertEquals(1, engine.getMatchCount());
+                assertEquals(0, engine.getKeyCount());
+            }
+        );
+    }
+
+    /** Tests that a partial match whose within window has passed is expired instead of completed. */
+    @Test
+    public void testWithinExpiresPartialMatches() throws Exception {
+        testWithResources(
+            ()->startDirectReactor(),
+            (reactor)->{
+                final List<String> matches = record(reactor, "match", 0).getPayloads();
+                final CepEngine engine = newBuilder(reactor).build();
+                engine.accept(newEvent("login", "0", "alice"));
+                engine.accept(newEvent("transfer", "11", "alice"));
+                engine.accept(newEvent("login", "20", "bob"));
+                engine.evictExpired(31);
+
+                assertEquals(List.of(), matches);
+                assertEquals(2, engine.getExpiredCount());
+                assertEquals(0, engine.getKeyCount());
+            }
+        );
+    }
+
+    /** Tests that evictExpired() evicts an expired key even when a live key precedes it in access order. */
+    @Test
+    public void testEvictExpiredEvictsExpiredKeysBehindLiveOnes() throws Exception {
+        testWithResources(
+            ()->startDirectReactor(),
+            (reactor)->{
+                final CepEngine engine = newBuilder(reactor).build();
+                engine.accept(newEvent("login", "0", "alice"));
+                engine.accept(newEvent("login", "5", "bob"));
+                // out of order, so it moves alice behind bob in access order without advancing nor extending its partial match
+                engine.accept(newEvent("transfer", "-1", "alice"));
+                engine.evictExpired(12);
+
+                assertEquals(1, engine.getKeyCount());
+                assertEquals(1, engine.getExpiredCount());
+            }
+        );
+    }
+
+    /** Tests that high cardinality keys are bounded by evicting the least recently used keys. */
+    @Test
+    public void testMaxKeysBoundsState() throws Exception {
+        testWithResources(
+            ()->startDirectReactor(),
+            (reactor)->{
+                final List<String> matches = record(reactor, "match", 0).getPayloads();
+                final CepEngine engine = newBuilder(reactor).withMaxKeys(100).withMaxPartialMatchesPerKey(2).build();
+                for (int i = 0; i < 10_000; i++)
+                    engine.accept(newEvent("login", "1", "user" + i));
+                for (int i = 0; i < 3; i++)
+                    engine.accept(newEvent("login", "2", "user9999"));
+                engine.accept(newEvent("transfer", "3", "user9999"));
+
+                // the two oldest of the four partial matches were evicted, the other two completed and released their key
+                assertEquals(99, engine.getKeyCount());
+                assertEquals(9_900 + 2, engine.getEvictedCount());
+                assertEquals(2, matches.size());
+            }
+        );
+    }
+
+    /** Tests that an attached engine consumes the event types of its patterns from the reactor. */
+    @Test
+    public void testAttach() throws Exception {
+        testWithResources(
+            ()->startDirectReactor(),
+            (reactor)->{
+                final RecordingConsumer matches = record(reactor, "match", 1);
+                final CepEngine engine = newBuilder(reactor).build();
+                assertTrue(engine.attach());
+                assertFalse(engine.attach());
+                reactor.produce(newEvent("login", "1", "alice"));
+                reactor.produce(newEvent("transfer", "2", "alice"));
+                // produced while dispatching, so the match event is dispatched by the background thread
+                assertTrue(matches.await());
+                assertEquals(1, matches.getPayloads().size());
+
+                assertTrue(engine.detach());
+                assertFalse(engine.detach());
+                reactor.produce(newEvent("login", "3", "alice"));
+                reactor.produce(newEvent("transfer", "4", "alice"));
+                assertEquals(1, engine.getMatchCount());
+            }
+        );
+    }
+
+    /**
+     * Creates a builder of an engine that detects a login followed by a transfer of the same user within 10 milliseconds, 
+     * reading the timestamp from the payload and the user from the conflation key.
+     * 
+     * @param reactor a reactor to produce the match events into
+     * @return a new builder
+     */
+    private static CepEngineBuilderImpl newBuilder(final Reactor reactor) {
+        final SequencePattern pattern = new SequencePatternBuilderImpl()
+            .withName("fraud")
+            .followedBy("login")
+            .followedBy("transfer")
+            .within(Duration.ofMillis(10))
+            .withKey(Event::getConflationKey)
+            .withOutputEventType("match")
+            .build();
+        return new CepEngineBuilderImpl()
+            .withReactor(reactor)
+            .withPattern(pattern)
+            .withTimestamp((event)->Long.parseLong(event.getJsonPayload()));
+    }
+
+
+}
@@ -0,0 +1,145 @@
+package org.jeactor.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of BinaryEvent. */
+public class BinaryEventTest extends AbstractJeactorUnitTest {
+    /** Tests that an encoded event is read in place by the flyweight and decodes to an equal event. */
+    @Test
+    public void testEncodeAndRead() {
+        final EventTypeIds ids = new EventTypeIds().register("order", 7);
+        final Event event = new Event("order", Priority.HIGH, EventPattern.STATE_CARRYING, "{\"price\":\"42€\"}", UUID.randomUUID(), 1234L, "order-1");
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+        buffer.position(3);
+
+        final int frameLength = BinaryEvent.encode(event, ids, buffer, 8);
+        final BinaryEvent flyweight = new BinaryEvent().wrap(buffer, 8);
+
+        assertEquals(3, buffer.position());
+        assertEquals(frameLength, flyweight.getFrameLength());
+        assertEquals(7, flyweight.getEventTypeId());
+        assertEquals(Priority.HIGH, flyweight.getEventPriority());
+        assertEquals(EventPattern.STATE_CARRYING, flyweight.getEventPattern());
+        assertEquals(event.getTimestamp(), flyweight.getTimestamp());
+        assertEquals(event.getUuid(), flyweight.getUuid());
+        assertTrue(flyweight.hasDeadline());
+        assertFalse(flyweight.isExpired(1234));
+        assertTrue(flyweight.isExpired(1235));
+        assertEquals("order-1", StandardCharsets.UTF_8.decode(flyweight.getConflationKey()).toString());
+        assertEquals(event.getJsonPayload(), flyweight.getJsonPayload());
+        assertEquals(event, flyweight.toEvent(ids));
+    }
+
+    /** Tests that an event without payload, pattern, deadline and conflation key round trips with them absent. */
+    @Test
+    public void testEncodeAbsentFields() {
+        final EventTypeIds ids = new EventTypeIds();
+        final Event event = new Event("ping", null, null, null, UUID.randomUUID());
+        final ByteBuffer buffer = ByteBuffer.allocate(BinaryEvent.HEADER_LENGTH);
+
+        assertEquals(BinaryEvent.HEADER_LENGTH, BinaryEvent.encode(event, ids, buffer, 0));
+        final BinaryEvent flyweight = new BinaryEvent().wrap(buffer, 0);
+        assertNull(flyweight.getPayload());
+        assertNull(flyweight.getConflationKey());
+        assertNull(flyweight.getEventPattern());
+        assertFalse(flyweight.hasDeadline());
+        assertEquals(event, flyweight.toEvent(ids));
+    }
+
+    /** Tests that consecutive frames are walked by their lengths, and copied as raw bytes into another buffer. */
+    @Test
+    public void testWalkAndCopyFrames() {
+        final EventTypeIds ids = new EventTypeIds();
+        final ByteBuffer buffer = ByteBuffer.allocate(1024);
+        int end = 0;
+        for (int i = 0; i < 3; i++)
+            end += BinaryEvent.encode(new Event("type-" + i, Priority.NORMAL, EventPattern.NOTIFICATION, Integer.toString(i), UUID.randomUUID()), ids, buffer, end);
+
+        final ByteBuffer copy = ByteBuffer.allocateDirect(1024);
+        final BinaryEvent flyweight = new BinaryEvent();
+        int copied = 0;
+        for (int offset = 0, i = 0; offset < end; offset += flyweight.getFrameLength(), i++) {
+            flyweight.wrap(buffer, offset);
+            assertEquals(i, flyweight.getEventTypeId());
+            copied += flyweight.copyTo(copy, copied);
+        }
+
+        assertEquals(end, copied);
+        assertEquals("type-2", flyweight.wrap(copy, copied - flyweight.getFrameLength()).toEvent(ids).getEventType());
+        assertEquals("2", flyweight.getJsonPayload());
+    }
+
+    /** Tests that an event that does not fit the buffer throws BufferOverflowException, and that a truncated frame cannot be wrapped. */
+    @Test
+    public void testOverflowAndTruncation() {
+        final EventTypeIds ids = new EventTypeIds();
+        final Event event = new Event("type", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID());
+        assertThrows(BufferOverflowException.class, ()->BinaryEvent.encode(event, ids, ByteBuffer.allocate(BinaryEvent.HEADER_LENGTH + 1), 0));
+
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        final int frameLength = BinaryEvent.encode(event, ids, buffer, 0);
+        buffer.limit(frameLength - 1);
+        assertThrows(ValidationException.class, ()->new BinaryEvent().wrap(buffer, 0));
+    }
+
+    /** Tests that a frame whose lengths or ordinals are out of range cannot be wrapped. */
+    @Test
+    public void testCorruptFrame() {
+        final Event event = new Event("type", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID(), null, "key");
+        // the conflation key and the payload lengths
+        for (final int lengthOffset : new int[] {40, 44}) {
+            for (final int length : new int[] {-2, 6, Integer.MAX_VALUE}) {
+                final ByteBuffer buffer = newFrame(event);
+                buffer.putInt(lengthOffset, length);
+                assertThrows(ValidationException.class, ()->new BinaryEvent().wrap(buffer, 0));
+            }
+        }
+        for (final byte priority : new byte[] {-1, (byte) Priority.values().length}) {
+            final ByteBuffer buffer = newFrame(event);
+            buffer.put(48, priority);
+            assertThrows(ValidationException.class, ()->new BinaryEvent().wrap(buffer, 0));
+        }
+        for (final byte pattern : new byte[] {-2, (byte) EventPattern.values().length}) {
+            final ByteBuffer buffer = newFrame(event);
+            buffer.put(49, pattern);
+            assertThrows(ValidationException.class, ()->new BinaryEvent().wrap(buffer, 0));
+        }
+        assertEquals("{}", new BinaryEvent().wrap(newFrame(event), 0).getJsonPayload());
+    }
+
+    /** Tests that conflicting id registrations and unknown ids throw ValidationException. */
+    @Test
+    public void testEventTypeIds() {
+        final EventTypeIds ids = new EventTypeIds().register("a", 1);
+        assertEquals(1, ids.idOf("a"));
+        assertEquals(2, ids.idOf("b"));
+        assertEquals("b", ids.typeOf(2));
+        assertThrows(ValidationException.class, ()->ids.register("c", 1));
+        assertThrows(ValidationException.class, ()->ids.register("a", 3));
+        assertThrows(ValidationException.class, ()->ids.typeOf(9));
+    }
+
+    /**
+     * Encodes the accepted event as the only frame of a new buffer.
+     *
+     * @param event an event to encode
+     * @return a new buffer that holds the frame at offset 0
+     */
+    private static ByteBuffer newFrame(final Event event) {
+        final ByteBuffer buffer = ByteBuffer.allocate(128);
+        BinaryEvent.encode(event, new EventTypeIds(), buffer, 0);
+        return buffer;
+    }
+}
@@ -0,0 +1,54 @@
+package org.jeactor.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.junit.jupiter.api.Test;
+
+/** Unit test of EventHistory. */
+public class EventHistoryTest extends AbstractJeactorUnitTest {
+    /** Tests that a full history overwrites its oldest events and returns the latest ones from the oldest. */
+    @Test
+    public void testFullHistoryOverwritesOldest() {
+        final EventHistory history = new EventHistory(4, Long.MAX_VALUE);
+        final List<Event> events = newEvents(6);
+        for (final Event event : events)
+            history.append(event, 0);
+
+        assertEquals(4, history.size());
+        assertEquals(events.subList(2, 6), history.snapshot(Integer.MAX_VALUE, Long.MAX_VALUE, 0));
+        assertEquals(events.subList(4, 6), history.snapshot(2, Long.MAX_VALUE, 0));
+    }
+
+    /** Tests that events older than the maximal age of the history are evicted, and that a snapshot can limit the age further. */
+    @Test
+    public void testAgeLimits() {
+        final EventHistory history = new EventHistory(8, 100);
+        final List<Event> events = newEvents(4);
+        for (int i = 0; i < events.size(); i++)
+            history.append(events.get(i), i * 50);
+
+        // at 150 the event appended at 0 is older than 100
+        assertEquals(events.subList(1, 4), history.snapshot(Integer.MAX_VALUE, Long.MAX_VALUE, 150));
+        assertEquals(3, history.size());
+        assertEquals(events.subList(2, 4), history.snapshot(Integer.MAX_VALUE, 60, 150));
+        assertEquals(List.of(), history.snapshot(Integer.MAX_VALUE, Long.MAX_VALUE, 1000));
+        assertEquals(0, history.size());
+    }
+
+    /**
+     * Creates events.
+     * 
+     * @param count a number of events
+     * @return new events
+     */
+    private static List<Event> newEvents(final int count) {
+        final List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            events.add(new Event("history", Priority.NORMAL, EventPattern.NOTIFICATION, Integer.toString(i), UUID.randomUUID()));
+        return events;
+    }
+}
@@ -3,7 +3,9 @@ package org.jeactor.core;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
+import java.time.Duration;
 import java.util.UUID;
 import org.jeactor.AbstractJeactorUnitTest;
 import org.junit.jupiter.api.Test;
@@ -40,4 +42,30 @@ public class EventTest extends AbstractJeactorUnitTest {
     public void testCompareToEqualPriorityObjectReturns0() {
         assertEquals(0, new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID()).compareTo(new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID())));
     }
+
+    /** Tests that isExpired() without a deadline returns false. */
+    @Test
+    public void testIsExpiredWithoutDeadlineReturnsFalse() {
+        assertFalse(new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID()).isExpired(Long.MAX_VALUE));
+    }
+
+    /** Tests that isExpired() after the deadline returns true. */
+    @Test
+    public void testIsExpiredAfterDeadlineReturnsTrue() {
+        assertTrue(new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID(), 10L).isExpired(11));
+    }
+
+    /** Tests that isExpired() at the deadline returns false. */
+    @Test
+    public void testIsExpiredAtDeadlineReturnsFalse() {
+        assertFalse(new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID(), 10L).isExpired(10));
+    }
+
+    /** Tests that the builder sets a deadline from the time-to-live. */
+    @Test
+    public void testBuilderWithTimeToLiveSetsDeadline() {
+        final long before = System.currentTimeMillis();
+        final Event event = new EventBuilderImpl().withEventType("dummy").withUUID(UUID.randomUUID()).withTimeToLive(Duration.ofSeconds(1)).build();
+        assertTrue(event.getDeadline() >= before + 1000);
+    }
 }
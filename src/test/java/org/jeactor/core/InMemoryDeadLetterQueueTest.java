@@ -0,0 +1,58 @@
+package org.jeactor.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.UUID;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.jeactor.NopPriorityConsumer;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of InMemoryDeadLetterQueue. */
+public class InMemoryDeadLetterQueueTest extends AbstractJeactorUnitTest {
+    /** Tests that a non positive capacity throws ValidationException. */
+    @Test
+    public void testNonPositiveCapacityThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new InMemoryDeadLetterQueue(0));
+    }
+
+    /** Tests that drain() returns the oldest dead letters first and removes them. */
+    @Test
+    public void testDrainReturnsOldestFirst() {
+        final InMemoryDeadLetterQueue queue = new InMemoryDeadLetterQueue();
+        final DeadLetter first = newDeadLetter();
+        final DeadLetter second = newDeadLetter();
+        queue.accept(first);
+        queue.accept(second);
+
+        final List<DeadLetter> drained = queue.drain(1);
+        assertEquals(List.of(first), drained);
+        assertEquals(1, queue.size());
+        assertEquals(List.of(second), queue.drain(10));
+        assertEquals(0, queue.size());
+    }
+
+    /** Tests that a full queue discards its oldest dead letter. */
+    @Test
+    public void testFullQueueDiscardsOldest() {
+        final InMemoryDeadLetterQueue queue = new InMemoryDeadLetterQueue(1);
+        final DeadLetter second = newDeadLetter();
+        queue.accept(newDeadLetter());
+        queue.accept(second);
+
+        assertEquals(1, queue.getDiscardedCount());
+        assertEquals(List.of(second), queue.drain(10));
+    }
+
+    /**
+     * Creates a dead letter of a new event.
+     * 
+     * @return a new dead letter
+     */
+    private static DeadLetter newDeadLetter() {
+        final Event event = new Event("dummy", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID());
+        return new DeadLetter(event, new Subscription(new NopPriorityConsumer<>()), new IllegalStateException(), 1);
+    }
+}
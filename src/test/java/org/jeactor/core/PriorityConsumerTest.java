@@ -2,6 +2,7 @@ package org.jeactor.core;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 import org.jeactor.AbstractJeactorUnitTest;
 import org.jeactor.NopPriorityConsumer;
@@ -26,4 +27,20 @@ public class PriorityConsumerTest extends AbstractJeactorUnitTest {
     public void testCompareToEqualPriorityObjectReturns0() {
         assertEquals(0, new NopPriorityConsumer<String>(Priority.LOW).compareTo(new NopPriorityConsumer<String>(Priority.LOW)));
     }
+
+    /** Tests that an identity consumer equals only itself, even with the same class and priority. */
+    @Test
+    public void testIdentityConsumerEqualsOnlyItself() {
+        final PriorityConsumer<String> consumer = new IdentityNopConsumer();
+
+        assertEquals(consumer, consumer);
+        assertNotEquals(consumer, new IdentityNopConsumer());
+    }
+
+    /** Identity consumer doing nothing. */
+    private static final class IdentityNopConsumer extends IdentityPriorityConsumer<String> {
+        /** {@inheritDoc} */
+        @Override
+        public void accept(final String data) {}
+    }
 }
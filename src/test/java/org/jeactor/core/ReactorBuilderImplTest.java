@@ -0,0 +1,30 @@
+package org.jeactor.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.jeactor.AbstractJeactorUnitTest;
+import org.jeactor.NopExecutor;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of ReactorBuilderImpl. */
+public class ReactorBuilderImplTest extends AbstractJeactorUnitTest {
+    /** Tests that build() without an executor throws ValidationException. */
+    @Test
+    public void testBuildWithoutExecutorThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new ReactorBuilderImpl().build());
+    }
+
+    /** Tests that build() creates a reactor with the accepted executor. */
+    @Test
+    public void testBuildWithExecutor() {
+        assertEquals(NopExecutor.class, new ReactorBuilderImpl().withExecutor(new NopExecutor()).build().getExecutorClass());
+    }
+
+    /** Tests that build() with a null ordered event type throws ValidationException. */
+    @Test
+    public void testBuildWithNullOrderedEventTypeThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new ReactorBuilderImpl().withExecutor(new NopExecutor()).withOrderedDelivery(null).build());
+    }
+}
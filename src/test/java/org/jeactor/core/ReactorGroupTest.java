@@ -0,0 +1,170 @@
+package org.jeactor.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.jeactor.util.concurrent.SynchronousExecutor;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of ReactorGroup. */
+public class ReactorGroupTest extends AbstractJeactorUnitTest {
+    /** Tests that a group without members throws ValidationException. */
+    @Test
+    public void testNoMembersThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new ReactorGroupBuilderImpl().build());
+    }
+
+    /** Tests that start() returns the background thread of the first member. */
+    @Test
+    public void testStartReturnsThreadOfFirstMember() throws Exception {
+        final Reactor first = new ReactorBuilderImpl().withExecutor(new SynchronousExecutor()).build();
+        testWithResources(
+            ()->new ReactorGroupBuilderImpl().withMember("a", first).withMember("b", startDirectReactor()).build(),
+            (group)->{
+                final Thread thread = group.start();
+                assertNotNull(thread);
+                assertSame(first.start(), thread);
+            }
+        );
+    }
+
+    /** Tests that removing the last member throws ValidationException. */
+    @Test
+    public void testRemoveLastMemberThrowsValidationException() throws Exception {
+        testWithResources(
+            ()->new ReactorGroupBuilderImpl().withMember("a", startDirectReactor()).build(),
+            (group)->{
+                assertThrows(ValidationException.class, ()->group.removeMember("a"));
+            }
+        );
+    }
+
+    /** Tests that partition keys are spread over all the members, and that adding and removing a member remaps only the keys of its share. */
+    @Test
+    public void testConsistentRouting() throws Exception {
+        testWithResources(
+            ()->new ReactorGroupBuilderImpl()
+                .withMember("a", startDirectReactor())
+                .withMember("b", startDirectReactor())
+                .withMember("c", startDirectReactor())
+                .withPartitionKey(Event::getJsonPayload)
+                .build(),
+            (group)->{
+                final Map<String, Reactor> owners = owners(group);
+                for (final Reactor member : group.getMembers().values())
+                    assertTrue(owners.values().stream().filter((owner)->owner == member).count() > 100);
+
+                final Reactor added = startDirectReactor();
+                group.addMember("d", added);
+                final Map<String, Reactor> ownersAfterAdd = owners(group);
+                long moved = 0;
+                for (final String key : owners.keySet()) {
+                    if (owners.get(key) != ownersAfterAdd.get(key)) {
+                        assertSame(added, ownersAfterAdd.get(key));
+                        moved++;
+                    }
+                }
+                assertTrue(moved > 100 && moved < 500);
+
+                final Reactor removed = group.removeMember("a");
+                final Map<String, Reactor> ownersAfterRemove = owners(group);
+                for (final String key : owners.keySet()) {
+                    if (removed != ownersAfterAdd.get(key))
+                        assertSame(ownersAfterAdd.get(key), ownersAfterRemove.get(key));
+                }
+                closeQuietly(removed);
+            }
+        );
+    }
+
+    /** Tests that consumers are registered with every member, including members added after the registration, and unregistered from all of them. */
+    @Test
+    public void testRegisterBroadcast() throws Exception {
+        testWithResources(
+            ()->new ReactorGroupBuilderImpl().withMember("a", startDirectReactor()).withPartitionKey(Event::getJsonPayload).build(),
+            (group)->{
+                final List<String> consumed = new CopyOnWriteArrayList<>();
+                final PriorityConsumer<Event> consumer = new PriorityConsumer<Event>() {
+                    @Override
+                    public void accept(final Event event) {
+                        consumed.add(event.getJsonPayload());
+                    }
+                };
+                assertTrue(group.register("type", consumer));
+                group.addMember("b", startDirectReactor());
+
+                for (int i = 0; i < 100; i++)
+                    group.produce(newEvent(String.valueOf(i)));
+                assertEquals(100, consumed.size());
+                assertTrue(owners(group).values().stream().distinct().count() == 2);
+
+                assertTrue(group.unregister("type", consumer));
+                group.produce(newEvent("0"));
+                assertEquals(100, consumed.size());
+            }
+        );
+    }
+
+    /** Tests that observability data is aggregated over the members. */
+    @Test
+    public void testAggregatedObservability() throws Exception {
+        testWithResources(
+            ()->new ReactorGroupBuilderImpl().withMember("a", startDirectReactor()).withMember("b", startDirectReactor()).build(),
+            (group)->{
+                assertEquals(SynchronousExecutor.class, group.getExecutorClass());
+                group.addMember("c", Reactors.newSingleWorkerConcurrentReactor());
+                assertEquals(Executor.class, group.getExecutorClass());
+                assertEquals(0, group.getPendingEventCount());
+                assertEquals(0, group.getDeadLetterCount());
+            }
+        );
+    }
+
+    /**
+     * Returns the members that own 1000 partition keys.
+     * 
+     * @param group a group
+     * @return the owning member by partition key
+     */
+    private static Map<String, Reactor> owners(final ReactorGroup group) {
+        final Map<String, Reactor> owners = new HashMap<>();
+        for (int i = 0; i < 1000; i++)
+            owners.put("key" + i, group.route(newEvent("key" + i)));
+        return owners;
+    }
+
+
+    /**
+     * Closes the accepted reactor, rethrowing a failure unchecked.
+     * 
+     * @param reactor a reactor to close
+     */
+    private static void closeQuietly(final Reactor reactor) {
+        try {
+            reactor.close();
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Creates an event of a single type.
+     * 
+     * @param payload a payload, used as the partition key
+     * @return a new event
+     */
+    private static Event newEvent(final String payload) {
+        return new Event("type", Priority.NORMAL, EventPattern.STATE_CARRYING, payload, UUID.randomUUID());
+    }
+}
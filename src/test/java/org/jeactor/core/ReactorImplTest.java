@@ -2,12 +2,29 @@ package org.jeactor.core;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.jeactor.AbstractJeactorUnitTest;
 import org.jeactor.NopPriorityConsumer;
 import org.jeactor.util.concurrent.SynchronousExecutor;
+import org.jeactor.util.concurrent.bulkhead.OverflowPolicy;
+import org.jeactor.util.concurrent.throttle.EventThrottle;
+import org.jeactor.util.concurrent.throttle.ThrottleAction;
+import org.jeactor.util.concurrent.wait.BackoffWaitStrategy;
 import org.junit.jupiter.api.Test;
 import jakarta.validation.ValidationException;
 
@@ -46,6 +63,30 @@ public class ReactorImplTest extends AbstractJeactorUnitTest {
         );
     }
 
+    /** Tests that register() with null policy throws ValidationException. */
+    @Test
+    public void testRegisterWithNullPolicyThrowsValidationException() throws Exception {
+        testWithResources(
+            ()->new ReactorImpl(new SynchronousExecutor()),
+            (reactor)->{
+                assertThrows(ValidationException.class, ()->reactor.register("dummy", new NopPriorityConsumer<>(), null));
+            }
+        );
+    }
+
+    /** Tests that unregister() removes a consumer registered with a policy. */
+    @Test
+    public void testUnregisterConsumerRegisteredWithPolicy() throws Exception {
+        testWithResources(
+            ()->new ReactorImpl(new SynchronousExecutor()),
+            (reactor)->{
+                final NopPriorityConsumer<Event> consumer = new NopPriorityConsumer<>();
+                reactor.register("dummy", consumer, new ConsumerPolicyBuilderImpl().withBulkhead(1, 1, OverflowPolicy.DROP_NEWEST).build());
+                assertTrue(reactor.unregister("dummy", consumer));
+            }
+        );
+    }
+
     /** Tests that unregister() with null event type throws ValidationException. */
     @Test
     public void testUnregisterWithNullEventTypeThrowsValidationException() throws Exception {
@@ -101,6 +142,672 @@ public class ReactorImplTest extends AbstractJeactorUnitTest {
         );
     }
 
+    /** Tests that produce() rejects an event that exceeds a rate limit with the REJECT action. */
+    @Test
+    public void testProduceExceedingRejectLimitThrowsRejectedExecutionException() throws Exception {
+        testWithResources(
+            ()->new ReactorBuilderImpl()
+                .withExecutor(new SynchronousExecutor())
+                .withEventThrottle(new EventThrottle().withEventTypeLimit("eventType", 0.001, 1, ThrottleAction.REJECT))
+                .build(),
+            (reactor)->{
+                reactor.produce(new Event("eventType", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                assertThrows(RejectedExecutionException.class, ()->reactor.produce(new Event("eventType", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID())));
+            }
+        );
+    }
+
+    /** Tests that produceAt() with null instant throws ValidationException. */
+    @Test
+    public void testProduceAtWithNullInstantThrowsValidationException() throws Exception {
+        testWithResources(
+            ()->new ReactorImpl(new SynchronousExecutor()),
+            (reactor)->{
+                assertThrows(ValidationException.class, ()->reactor.produceAt(new Event("eventType", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()), null));
+            }
+        );
+    }
+
+    /** Tests that produceAfter() with null event throws ValidationException. */
+    @Test
+    public void testProduceAfterWithNullEventThrowsValidationException() throws Exception {
+        testWithResources(
+            ()->new ReactorImpl(new SynchronousExecutor()),
+            (reactor)->{
+                assertThrows(ValidationException.class, ()->reactor.produceAfter(null, Duration.ZERO));
+            }
+        );
+    }
+
+    /** Tests that produceAfter() dispatches the event once the delay has elapsed. */
+    @Test
+    public void testProduceAfterDispatchesAfterDelay() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        testWithResources(
+            ()->new ReactorImpl(new SynchronousExecutor()),
+            (reactor)->{
+                reactor.register("eventType", new PriorityConsumer<Event>() {
+                    @Override
+                    public void accept(final Event event) {
+                        latch.countDown();
+                    }
+                });
+                reactor.start();
+                final Instant instant = Instant.now().plusMillis(20);
+                reactor.produceAt(new Event("eventType", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()), instant);
+                try {
+                    assertTrue(latch.await(5, TimeUnit.SECONDS));
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertTrue(!Instant.now().isBefore(instant));
+            }
+        );
+    }
+
+    /** Tests that produceAt() with a sub millisecond instant never dispatches the event before the instant. */
+    @Test
+    public void testProduceAtSubMillisecondInstantIsNotDispatchedEarly() throws Exception {
+        final List<Instant> consumedAt = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        testWithResources(
+            ()->new ReactorImpl(new SynchronousExecutor()),
+            (reactor)->{
+                reactor.register("eventType", new PriorityConsumer<Event>() {
+                    @Override
+                    public void accept(final Event event) {
+                        consumedAt.add(Instant.now());
+                        latch.countDown();
+                    }
+                });
+                reactor.start();
+                final Instant instant = Instant.now().plusMillis(20).plusNanos(999_000);
+                reactor.produceAt(new Event("eventType", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()), instant);
+                try {
+                    assertTrue(latch.await(5, TimeUnit.SECONDS));
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertFalse(consumedAt.get(0).isBefore(instant));
+            }
+        );
+    }
+
+    /** Tests that an expired event is dropped and counted instead of being dispatched. */
+    @Test
+    public void testExpiredEventIsNotDispatched() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        testWithResources(
+            ()->new ReactorImpl(new SynchronousExecutor()),
+            (reactor)->{
+                reactor.register("expired", new PriorityConsumer<Event>() {
+                    @Override
+                    public void accept(final Event event) {
+                        throw new IllegalStateException("expired event dispatched");
+                    }
+                });
+                reactor.register("live", new PriorityConsumer<Event>() {
+                    @Override
+                    public void accept(final Event event) {
+                        latch.countDown();
+                    }
+                });
+                reactor.produce(new Event("expired", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID(), 0L));
+                reactor.produce(new Event("live", Priority.LOW, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                reactor.start();
+                try {
+                    assertTrue(latch.await(5, TimeUnit.SECONDS));
+                    // events are dispatched in priority order, so the expired event may be dropped after the live one
+                    for (int i = 0; i < 500 && 0 == reactor.getExpiredEventCount(); i++)
+                        Thread.sleep(10);
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertEquals(1, reactor.getExpiredEventCount());
+            }
+        );
+    }
+
+    /** Tests that a failing consumer is retried with backoff, dead lettered once its attempts are exhausted, and does not stop the event loop. */
+    @Test
+    public void testFailingConsumerIsRetriedAndDeadLettered() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(1);
+        testWithResources(
+            ()->new ReactorImpl(new SynchronousExecutor()),
+            (reactor)->{
+                reactor.register("failing", new PriorityConsumer<Event>() {
+                    @Override
+                    public void accept(final Event event) {
+                        attempts.incrementAndGet();
+                        throw new IllegalStateException("failure");
+                    }
+                }, new ConsumerPolicyBuilderImpl().withRetry(3, Duration.ofMillis(5), 2, Duration.ofMillis(10)).build());
+                reactor.register("live", new PriorityConsumer<Event>() {
+                    @Override
+                    public void accept(final Event event) {
+                        latch.countDown();
+                    }
+                });
+                reactor.start();
+                reactor.produce(new Event("failing", Priority.HIGH, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                reactor.produce(new Event("live", Priority.LOW, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                try {
+                    assertTrue(latch.await(5, TimeUnit.SECONDS));
+                    for (int i = 0; i < 500 && 0 == reactor.getDeadLetterCount(); i++)
+                        Thread.sleep(10);
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertEquals(1, reactor.getDeadLetterCount());
+                assertEquals(3, attempts.get());
+            }
+        );
+    }
+
+    /** Tests that redriveDeadLetters() delivers a dead lettered event again to its consumer. */
+    @Test
+    public void testRedriveDeadLetters() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        final InMemoryDeadLetterQueue deadLetterQueue = new InMemoryDeadLetterQueue();
+        testWithResources(
+            ()->new ReactorImpl(new ReactorBuilderImpl().withExecutor(new SynchronousExecutor()).withDeadLetterQueue(deadLetterQueue)),
+            (reactor)->{
+                final PriorityConsumer<Event> consumer = new PriorityConsumer<Event>() {
+                    @Override
+                    public void accept(final Event event) {
+                        // fails only on the first attempt
+                        if (1 == attempts.incrementAndGet())
+                            throw new IllegalStateException("failure");
+                    }
+                };
+                reactor.register("failing", consumer);
+                reactor.start();
+                reactor.produce(new Event("failing", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                try {
+                    for (int i = 0; i < 500 && 0 == deadLetterQueue.size(); i++)
+                        Thread.sleep(10);
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertEquals(1, deadLetterQueue.size());
+                assertEquals(1, reactor.redriveDeadLetters(10));
+                assertEquals(2, attempts.get());
+                assertEquals(0, reactor.getDeadLetterCount());
+            }
+        );
+    }
+
+    /** Tests that an error thrown by a consumer run on the dispatching thread is dead lettered and does not stop the event loop. */
+    @Test
+    public void testConsumerErrorDoesNotStopEventLoop() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        testWithResources(
+            ()->new ReactorImpl(new SynchronousExecutor()),
+            (reactor)->{
+                reactor.register("failing", new PriorityConsumer<Event>() {
+                    @Override
+                    public void accept(final Event event) {
+                        throw new AssertionError("failure");
+                    }
+                }, new ConsumerPolicyBuilderImpl().withExecutionHint(ExecutionHint.INLINE).build());
+                reactor.register("live", new PriorityConsumer<Event>() {
+                    @Override
+                    public void accept(final Event event) {
+                        latch.countDown();
+                    }
+                });
+                reactor.start();
+                reactor.produce(new Event("failing", Priority.HIGH, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                reactor.produce(new Event("live", Priority.LOW, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                try {
+                    assertTrue(latch.await(5, TimeUnit.SECONDS));
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertEquals(1, reactor.getDeadLetterCount());
+                assertEquals(0, reactor.getDispatchFailureCount());
+            }
+        );
+    }
+
+    /** Tests that a retry of an inline consumer runs on the reactor's executor rather than on the retry timer. */
+    @Test
+    public void testRetryOfInlineConsumerRunsOnExecutor() throws Exception {
+        final List<String> threadNames = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(2);
+        final ExecutorService executor = Executors.newSingleThreadExecutor((runnable)->new Thread(runnable, "worker"));
+        try {
+            testWithResources(
+                ()->new ReactorImpl(executor),
+                (reactor)->{
+                    reactor.register("failing", new PriorityConsumer<Event>() {
+                        @Override
+                        public void accept(final Event event) {
+                            threadNames.add(Thread.currentThread().getName());
+                            latch.countDown();
+                            if (1 == threadNames.size())
+                                throw new IllegalStateException("failure");
+                        }
+                    }, new ConsumerPolicyBuilderImpl().withExecutionHint(ExecutionHint.INLINE).withRetry(2, Duration.ofMillis(5), 1, Duration.ofMillis(5)).build());
+                    reactor.start();
+                    reactor.produce(new Event("failing", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                    try {
+                        assertTrue(latch.await(5, TimeUnit.SECONDS));
+                    } catch (final InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    assertEquals("worker", threadNames.get(1));
+                    assertEquals(0, reactor.getDeadLetterCount());
+                }
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Tests that a retry rejected by the executor is dead lettered, and a rejected dispatch is counted, without stopping the event loop. */
+    @Test
+    public void testRejectedRetryIsDeadLetteredAndRejectedDispatchIsCounted() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch latch = new CountDownLatch(1);
+        try {
+            testWithResources(
+                ()->new ReactorImpl(executor),
+                (reactor)->{
+                    reactor.register("failing", new PriorityConsumer<Event>() {
+                        @Override
+                        public void accept(final Event event) {
+                            // the retry finds the executor shut down
+                            executor.shutdown();
+                            throw new IllegalStateException("failure");
+                        }
+                    }, new ConsumerPolicyBuilderImpl().withRetry(3, Duration.ofMillis(5), 1, Duration.ofMillis(5)).build());
+                    reactor.register("live", new PriorityConsumer<Event>() {
+                        @Override
+                        public void accept(final Event event) {
+                            latch.countDown();
+                        }
+                    }, new ConsumerPolicyBuilderImpl().withExecutionHint(ExecutionHint.INLINE).build());
+                    reactor.start();
+                    reactor.produce(new Event("failing", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                    try {
+                        for (int i = 0; i < 500 && 0 == reactor.getDeadLetterCount(); i++)
+                            Thread.sleep(10);
+                        assertEquals(1, reactor.getDeadLetterCount());
+
+                        reactor.produce(new Event("failing", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                        for (int i = 0; i < 500 && 0 == reactor.getDispatchFailureCount(); i++)
+                            Thread.sleep(10);
+                        assertEquals(1, reactor.getDispatchFailureCount());
+
+                        reactor.produce(new Event("live", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                        assertTrue(latch.await(5, TimeUnit.SECONDS));
+                    } catch (final InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Tests that redriveDeadLetters() with non positive number throws ValidationException. */
+    @Test
+    public void testRedriveDeadLettersWithNonPositiveNumberThrowsValidationException() throws Exception {
+        testWithResources(
+            ()->new ReactorImpl(new SynchronousExecutor()),
+            (reactor)->{
+                assertThrows(ValidationException.class, ()->reactor.redriveDeadLetters(0));
+            }
+        );
+    }
+
+    /** Tests that an INLINE consumer is executed on the reactor's background thread without the executor. */
+    @Test
+    public void testInlineConsumerRunsOnDispatchingThread() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Thread[] executingThread = new Thread[1];
+        testWithResources(
+            ()->new ReactorImpl((task)->{ throw new IllegalStateException("executor used"); }),
+            (reactor)->{
+                reactor.register("inline", new PriorityConsumer<Event>() {
+                    @Override
+                    public void accept(final Event event) {
+                        executingThread[0] = Thread.currentThread();
+                        latch.countDown();
+                    }
+                }, new ConsumerPolicyBuilderImpl().withExecutionHint(ExecutionHint.INLINE).build());
+                final Thread backgroundThread = reactor.start();
+                reactor.produce(new Event("inline", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                try {
+                    assertTrue(latch.await(5, TimeUnit.SECONDS));
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertEquals(backgroundThread, executingThread[0]);
+            }
+        );
+    }
+
+    /** Tests that with direct handoff an event produced to an idle started reactor is dispatched by the producing thread, and an event produced before start() is not. */
+    @Test
+    public void testDirectHandoffDispatchesOnProducingThread() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(2);
+        final List<Thread> executingThreads = new CopyOnWriteArrayList<>();
+        testWithResources(
+            ()->new ReactorImpl(new ReactorBuilderImpl().withExecutor(new SynchronousExecutor()).withDirectHandoff(true)),
+            (reactor)->{
+                reactor.register("handoff", new PriorityConsumer<Event>() {
+                    @Override
+                    public void accept(final Event event) {
+                        executingThreads.add(Thread.currentThread());
+                        latch.countDown();
+                    }
+                });
+                reactor.produce(new Event("handoff", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                final Thread backgroundThread = reactor.start();
+                try {
+                    // the event produced before start() is dispatched by the background thread, then the reactor is idle
+                    for (int i = 0; i < 500 && executingThreads.isEmpty(); i++)
+                        Thread.sleep(10);
+                    Thread.sleep(10);
+                    reactor.produce(new Event("handoff", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                    assertTrue(latch.await(5, TimeUnit.SECONDS));
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertEquals(List.of(backgroundThread, Thread.currentThread()), executingThreads);
+            }
+        );
+    }
+
+    /** Tests that a reactor with a non blocking wait strategy dispatches events. */
+    @Test
+    public void testProduceWithBackoffWaitStrategy() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(2);
+        testWithResources(
+            ()->new ReactorImpl(new ReactorBuilderImpl().withExecutor(new SynchronousExecutor()).withWaitStrategy(new BackoffWaitStrategy())),
+            (reactor)->{
+                reactor.register("eventType", new PriorityConsumer<Event>() {
+                    @Override
+                    public void accept(final Event event) {
+                        latch.countDown();
+                    }
+                });
+                reactor.start();
+                try {
+                    reactor.produce(new Event("eventType", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                    // let the background thread back off to blocking
+                    Thread.sleep(20);
+                    reactor.produce(new Event("eventType", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                    assertTrue(latch.await(5, TimeUnit.SECONDS));
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        );
+    }
+
+    /** Tests that getPendingEventCount() counts the events produced and not dispatched yet. */
+    @Test
+    public void testGetPendingEventCount() throws Exception {
+        testWithResources(
+            ()->new ReactorImpl(new SynchronousExecutor()),
+            (reactor)->{
+                assertEquals(0, reactor.getPendingEventCount());
+                reactor.produce(new Event("eventType", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                reactor.produce(new Event("eventType", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                assertEquals(2, reactor.getPendingEventCount());
+                reactor.start();
+                try {
+                    for (int i = 0; i < 500 && 0 != reactor.getPendingEventCount(); i++)
+                        Thread.sleep(10);
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertEquals(0, reactor.getPendingEventCount());
+            }
+        );
+    }
+
+    /** Tests that an event type with ordered delivery runs its consumers from the highest priority, and that stopping the propagation skips the rest. */
+    @Test
+    public void testOrderedDeliveryStopsPropagation() throws Exception {
+        final List<String> consumed = new CopyOnWriteArrayList<>();
+        // two events, each reaching the three consumers up to and including the stopping one
+        final CountDownLatch latch = new CountDownLatch(6);
+        testWithResources(
+            ()->new ReactorImpl(new ReactorBuilderImpl().withExecutor(new SynchronousExecutor()).withOrderedDelivery("ordered")),
+            (reactor)->{
+                reactor.register("ordered", newNamedConsumer(Priority.LOW, "low", consumed, false, latch));
+                reactor.register("ordered", newNamedConsumer(Priority.CRITICAL, "critical", consumed, false, latch));
+                reactor.register("ordered", newNamedConsumer(Priority.NORMAL, "normal", consumed, true, latch));
+                reactor.register("ordered", newNamedConsumer(Priority.HIGH, "high", consumed, false, latch));
+                reactor.start();
+                reactor.produce(new Event("ordered", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                reactor.produce(new Event("ordered", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                try {
+                    assertTrue(latch.await(5, TimeUnit.SECONDS));
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertEquals(List.of("critical", "high", "normal", "critical", "high", "normal"), consumed);
+            }
+        );
+    }
+
+    /** Tests that stopping the propagation of an event type without ordered delivery has no effect on the other consumers. */
+    @Test
+    public void testStopOutsideOrderedDeliveryHasNoEffect() throws Exception {
+        final List<String> consumed = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(2);
+        testWithResources(
+            ()->new ReactorImpl(new ReactorBuilderImpl().withExecutor(new SynchronousExecutor()).withOrderedDelivery("ordered")),
+            (reactor)->{
+                reactor.register("unordered", newNamedConsumer(Priority.HIGH, "high", consumed, true, latch));
+                reactor.register("unordered", newNamedConsumer(Priority.LOW, "low", consumed, false, latch));
+                reactor.start();
+                reactor.produce(new Event("unordered", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                try {
+                    assertTrue(latch.await(5, TimeUnit.SECONDS));
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertTrue(consumed.contains("high"));
+                assertTrue(consumed.contains("low"));
+                assertFalse(EventPropagation.stop());
+            }
+        );
+    }
+
+    /** Tests that consumers with prerequisites consume an event only after all their prerequisites, in a diamond of dependencies. */
+    @Test
+    public void testPrerequisitesRunBeforeDependents() throws Exception {
+        final List<String> consumed = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(4);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        testWithResources(
+            ()->new ReactorImpl(executor),
+            (reactor)->{
+                final PriorityConsumer<Event> enrich = newNamedConsumer(Priority.NORMAL, "enrich", consumed, false, latch);
+                final PriorityConsumer<Event> index = newNamedConsumer(Priority.NORMAL, "index", consumed, false, latch);
+                final PriorityConsumer<Event> audit = newNamedConsumer(Priority.NORMAL, "audit", consumed, false, latch);
+                final PriorityConsumer<Event> persist = newNamedConsumer(Priority.NORMAL, "persist", consumed, false, latch);
+                reactor.register("diamond", persist, new ConsumerPolicyBuilderImpl().withPrerequisite(index).withPrerequisite(audit).build());
+                reactor.register("diamond", index, new ConsumerPolicyBuilderImpl().withPrerequisite(enrich).build());
+                reactor.register("diamond", audit, new ConsumerPolicyBuilderImpl().withPrerequisite(enrich).build());
+                reactor.register("diamond", enrich);
+                reactor.start();
+                reactor.produce(new Event("diamond", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                try {
+                    assertTrue(latch.await(5, TimeUnit.SECONDS));
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    executor.shutdown();
+                }
+                assertEquals(4, consumed.size());
+                assertEquals("enrich", consumed.get(0));
+                assertEquals("persist", consumed.get(3));
+            }
+        );
+    }
+
+    /** Tests that a dependent consumes an event once its failing prerequisite has dead lettered it. */
+    @Test
+    public void testDeadLetteredPrerequisiteReleasesDependents() throws Exception {
+        final List<String> consumed = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(2);
+        testWithResources(
+            ()->new ReactorImpl(new SynchronousExecutor()),
+            (reactor)->{
+                final PriorityConsumer<Event> failing = new PriorityConsumer<Event>() {
+                    @Override
+                    public void accept(final Event event) {
+                        latch.countDown();
+                        throw new IllegalStateException("failure");
+                    }
+                };
+                reactor.register("failing", newNamedConsumer(Priority.NORMAL, "dependent", consumed, false, latch),
+                    new ConsumerPolicyBuilderImpl().withPrerequisite(failing).build());
+                reactor.register("failing", failing);
+                reactor.start();
+                reactor.produce(new Event("failing", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                try {
+                    assertTrue(latch.await(5, TimeUnit.SECONDS));
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertEquals(List.of("dependent"), consumed);
+                assertEquals(1, reactor.getDeadLetterCount());
+            }
+        );
+    }
+
+    /** Tests that a subscription whose executor rejects an event is counted, and neither keeps the other subscriptions nor its dependents from the event. */
+    @Test
+    public void testRejectedSubscriptionDoesNotStarveOthers() throws Exception {
+        final List<String> consumed = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(3);
+        final ConsumerPolicy inline = new ConsumerPolicyBuilderImpl().withExecutionHint(ExecutionHint.INLINE).build();
+        testWithResources(
+            ()->new ReactorImpl((task)->{
+                throw new RejectedExecutionException("full");
+            }),
+            (reactor)->{
+                final PriorityConsumer<Event> rejected = new NopPriorityConsumer<>(Priority.CRITICAL);
+                reactor.register("independent", rejected);
+                reactor.register("independent", newNamedConsumer(Priority.LOW, "independent", consumed, false, latch), inline);
+                reactor.register("dependent", rejected);
+                reactor.register("dependent", newNamedConsumer(Priority.LOW, "root", consumed, false, latch), inline);
+                reactor.register("dependent", newNamedConsumer(Priority.LOW, "dependent", consumed, false, latch),
+                    new ConsumerPolicyBuilderImpl().withExecutionHint(ExecutionHint.INLINE).withPrerequisite(rejected).build());
+                reactor.start();
+                reactor.produce(new Event("independent", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                reactor.produce(new Event("dependent", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                try {
+                    assertTrue(latch.await(5, TimeUnit.SECONDS));
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertEquals(3, consumed.size());
+                assertEquals(2, reactor.getDispatchFailureCount());
+            }
+        );
+    }
+
+    /** Tests that a registration whose prerequisites would form a cycle throws ValidationException and is not registered. */
+    @Test
+    public void testRegisterWithCyclicPrerequisitesThrowsValidationException() throws Exception {
+        final List<String> consumed = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        testWithResources(
+            ()->new ReactorImpl(new SynchronousExecutor()),
+            (reactor)->{
+                final PriorityConsumer<Event> first = newNamedConsumer(Priority.NORMAL, "first", consumed, false, latch);
+                final PriorityConsumer<Event> second = newNamedConsumer(Priority.NORMAL, "second", consumed, false, latch);
+                reactor.register("cycle", first, new ConsumerPolicyBuilderImpl().withPrerequisite(second).build());
+                assertThrows(ValidationException.class,
+                    ()->reactor.register("cycle", second, new ConsumerPolicyBuilderImpl().withPrerequisite(first).build()));
+                assertFalse(reactor.unregister("cycle", second));
+                assertTrue(reactor.unregister("cycle", first));
+            }
+        );
+    }
+
+    /** Tests that a consumer registered with a replay receives the latest events of the history, followed by the live events without a gap or a duplicate. */
+    @Test
+    public void testRegisterWithReplay() throws Exception {
+        final List<String> live = new CopyOnWriteArrayList<>();
+        final List<String> replayed = new CopyOnWriteArrayList<>();
+        testWithResources(
+            ()->new ReactorImpl(new ReactorBuilderImpl().withExecutor(new SynchronousExecutor()).withDirectHandoff(true).withHistory("history", 4)),
+            (reactor)->{
+                reactor.register("history", newPayloadRecorder(live));
+                reactor.start();
+                // dispatched by the producing thread, so in the order they are produced
+                for (int i = 0; i < 6; i++)
+                    reactor.produce(new Event("history", Priority.NORMAL, EventPattern.NOTIFICATION, Integer.toString(i), UUID.randomUUID()));
+                assertEquals(List.of("0", "1", "2", "3", "4", "5"), live);
+
+                reactor.register("history", newPayloadRecorder(replayed), new ConsumerPolicyBuilderImpl().withReplay(3).build());
+                assertEquals(List.of("3", "4", "5"), replayed);
+                reactor.produce(new Event("history", Priority.NORMAL, EventPattern.NOTIFICATION, "6", UUID.randomUUID()));
+                awaitSize(replayed, 4);
+                assertEquals(List.of("3", "4", "5", "6"), replayed);
+            }
+        );
+    }
+
+    /** Tests that a replay on a fixed thread pool delivers every replayed and live event exactly once, in no particular order. */
+    @Test
+    public void testRegisterWithReplayOnFixedPoolDeliversEveryEventOnce() throws Exception {
+        final List<String> live = new CopyOnWriteArrayList<>();
+        final List<String> replayed = new CopyOnWriteArrayList<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        testWithResources(
+            ()->new ReactorImpl(new ReactorBuilderImpl().withExecutor(executor).withHistory("history", 4)),
+            (reactor)->{
+                try {
+                    reactor.register("history", newPayloadRecorder(live));
+                    reactor.start();
+                    for (int i = 0; i < 6; i++)
+                        reactor.produce(new Event("history", Priority.NORMAL, EventPattern.NOTIFICATION, Integer.toString(i), UUID.randomUUID()));
+                    awaitSize(live, 6);
+
+                    reactor.register("history", newPayloadRecorder(replayed), new ConsumerPolicyBuilderImpl().withReplay(3).build());
+                    for (int i = 6; i < 8; i++)
+                        reactor.produce(new Event("history", Priority.NORMAL, EventPattern.NOTIFICATION, Integer.toString(i), UUID.randomUUID()));
+                    awaitSize(replayed, 5);
+
+                    // the pool may run replayed and live events concurrently, and the history holds the latest events in dispatch 
+                    // order, so only three distinct earlier events and the two live ones are guaranteed
+                    assertEquals(5, new HashSet<>(replayed).size());
+                    assertTrue(replayed.containsAll(List.of("6", "7")));
+                } finally {
+                    executor.shutdown();
+                }
+            }
+        );
+    }
+
+    /** Tests that a replay of an event type without a history delivers nothing. */
+    @Test
+    public void testRegisterWithReplayWithoutHistory() throws Exception {
+        final List<String> replayed = new CopyOnWriteArrayList<>();
+        testWithResources(
+            ()->new ReactorImpl(new ReactorBuilderImpl().withExecutor(new SynchronousExecutor()).withDirectHandoff(true)),
+            (reactor)->{
+                reactor.start();
+                reactor.produce(new Event("history", Priority.NORMAL, EventPattern.NOTIFICATION, "0", UUID.randomUUID()));
+                reactor.register("history", newPayloadRecorder(replayed), new ConsumerPolicyBuilderImpl().withReplay(Duration.ofMinutes(1)).build());
+                assertEquals(List.of(), replayed);
+            }
+        );
+    }
+
     // TODO: test run()
 
     // TODO: test close() and interruption and isClosed()
@@ -115,4 +822,67 @@ public class ReactorImplTest extends AbstractJeactorUnitTest {
             }
         );
     }
+
+    /**
+     * Creates a consumer that records its name, optionally stops the propagation of the event, and counts down the accepted latch.
+     * 
+     * @param priority a priority of the consumer
+     * @param name a name to record
+     * @param consumed a list of the recorded names
+     * @param stopping wether the consumer stops the propagation
+     * @param latch a latch to count down
+     * @return a new consumer
+     */
+    private static PriorityConsumer<Event> newNamedConsumer(final Priority priority, final String name, final List<String> consumed,
+            final boolean stopping, final CountDownLatch latch) {
+        return new IdentityPriorityConsumer<Event>(priority) {
+            @Override
+            public void accept(final Event event) {
+                consumed.add(name);
+                if (stopping)
+                    EventPropagation.stop();
+                latch.countDown();
+            }
+        };
+    }
+
+    /**
+     * Creates a consumer that records the payloads of the consumed events.
+     * 
+     * @param payloads a list of the recorded payloads
+     * @return a new consumer
+     */
+    private static PriorityConsumer<Event> newPayloadRecorder(final List<String> payloads) {
+        return new PriorityConsumer<Event>() {
+            @Override
+            public void accept(final Event event) {
+                payloads.add(event.getJsonPayload());
+            }
+
+            @Override
+            public boolean equals(final Object o) {
+                return this == o;
+            }
+
+            @Override
+            public int hashCode() {
+                return System.identityHashCode(this);
+            }
+        };
+    }
+
+    /**
+     * Waits until the accepted list has the accepted size, or for 5 seconds.
+     * 
+     * @param list a list
+     * @param size a size to wait for
+     */
+    private static void awaitSize(final List<?> list, final int size) {
+        try {
+            for (int i = 0; i < 500 && list.size() < size; i++)
+                Thread.sleep(10);
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
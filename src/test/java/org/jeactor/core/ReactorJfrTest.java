@@ -0,0 +1,165 @@
+package org.jeactor.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.jeactor.util.concurrent.SynchronousExecutor;
+import org.junit.jupiter.api.Test;
+
+/** Unit test of the flight recorder events emitted by ReactorImpl. */
+public class ReactorJfrTest extends AbstractJeactorUnitTest {
+    private static final String[] EVENT_NAMES = { "org.jeactor.Produce", "org.jeactor.Dequeue", "org.jeactor.Dispatch", "org.jeactor.Consume" };
+
+    /** Tests that producing, taking, dispatching and consuming an event are recorded with their event type. */
+    @Test
+    public void testEventsAreRecorded() throws Exception {
+        final AtomicInteger consumed = new AtomicInteger();
+        final List<RecordedEvent> recorded;
+        try (final Reactor reactor = new ReactorBuilderImpl().withExecutor(new SynchronousExecutor()).build()) {
+            reactor.start();
+            final AtomicInteger marked = new AtomicInteger();
+            reactor.register("a", newConsumer(consumed, false));
+            reactor.register("a", newConsumer(consumed, false));
+            reactor.register("b", newConsumer(marked, false));
+            recorded = record(()->{
+                reactor.produce(newEvent("a"));
+                // events are dispatched one by one, so once "b" is consumed the records of "a" have been committed
+                reactor.produce(newEvent("b"));
+                awaitCount(marked, 1);
+            });
+        }
+
+        assertEquals(2, consumed.get());
+        final RecordedEvent produce = find(recorded, "org.jeactor.Produce");
+        assertEquals("a", produce.getString("eventType"));
+        assertEquals("NORMAL", produce.getString("priority"));
+        assertEquals("a", find(recorded, "org.jeactor.Dequeue").getString("eventType"));
+        final RecordedEvent dispatch = find(recorded, "org.jeactor.Dispatch");
+        assertEquals("a", dispatch.getString("eventType"));
+        assertEquals(2, dispatch.getInt("fanOut"));
+        assertTrue(0 <= dispatch.getLong("lockWait"));
+        final List<RecordedEvent> consumes = filter(recorded, "org.jeactor.Consume").stream()
+            .filter((event)->"a".equals(event.getString("eventType"))).collect(Collectors.toList());
+        assertEquals(2, consumes.size());
+        for (final RecordedEvent consume : consumes) {
+            assertEquals(1, consume.getInt("attempt"));
+            assertFalse(consume.getBoolean("failed"));
+        }
+    }
+
+    /** Tests that a failed consumption is recorded as failed, by the producing thread with direct handoff. */
+    @Test
+    public void testFailedConsumptionIsRecorded() throws Exception {
+        final AtomicInteger consumed = new AtomicInteger();
+        final List<RecordedEvent> recorded;
+        try (final Reactor reactor = new ReactorBuilderImpl().withExecutor(new SynchronousExecutor()).withDirectHandoff(true).build()) {
+            reactor.start();
+            reactor.register("a", newConsumer(consumed, true));
+            recorded = record(()->reactor.produce(newEvent("a")));
+        }
+
+        final RecordedEvent consume = find(recorded, "org.jeactor.Consume");
+        assertTrue(consume.getBoolean("failed"));
+        assertTrue(consume.getString("consumer").startsWith(ReactorJfrTest.class.getName()));
+    }
+
+    /**
+     * Runs the accepted action within a recording of the reactor's flight recorder events, and returns the recorded ones.
+     * 
+     * @param action an action to record
+     * @return the recorded reactor events
+     * @throws Exception if the recording cannot be dumped or read
+     */
+    private static List<RecordedEvent> record(final Runnable action) throws Exception {
+        final Path file = Files.createTempFile("jeactor", ".jfr");
+        try (final Recording recording = new Recording()) {
+            for (final String name : EVENT_NAMES)
+                recording.enable(name);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                .filter((event)->event.getEventType().getName().startsWith("org.jeactor."))
+                .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Returns the recorded events of the accepted name.
+     * 
+     * @param recorded recorded events
+     * @param name a name of the event type
+     * @return the events of the name
+     */
+    private static List<RecordedEvent> filter(final List<RecordedEvent> recorded, final String name) {
+        return recorded.stream().filter((event)->name.equals(event.getEventType().getName())).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the first recorded event of the accepted name.
+     * 
+     * @param recorded recorded events
+     * @param name a name of the event type
+     * @return the event
+     */
+    private static RecordedEvent find(final List<RecordedEvent> recorded, final String name) {
+        return filter(recorded, name).stream().findFirst().orElseThrow();
+    }
+
+    /**
+     * Creates a consumer that counts the consumed events.
+     * 
+     * @param consumed a counter of consumed events
+     * @param failing wether the consumer fails after counting
+     * @return a new consumer
+     */
+    private static PriorityConsumer<Event> newConsumer(final AtomicInteger consumed, final boolean failing) {
+        return new PriorityConsumer<Event>() {
+            @Override
+            public void accept(final Event event) {
+                consumed.incrementAndGet();
+                if (failing)
+                    throw new IllegalStateException();
+            }
+        };
+    }
+
+    /**
+     * Waits until the accepted counter reaches the accepted count, or for 5 seconds.
+     * 
+     * @param counter a counter
+     * @param count a count to wait for
+     */
+    private static void awaitCount(final AtomicInteger counter, final int count) {
+        try {
+            for (int i = 0; i < 500 && counter.get() < count; i++)
+                Thread.sleep(10);
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Creates an event.
+     * 
+     * @param eventType a type of the event
+     * @return a new event
+     */
+    private static Event newEvent(final String eventType) {
+        return new Event(eventType, Priority.NORMAL, EventPattern.NOTIFICATION, null, UUID.randomUUID());
+    }
+}
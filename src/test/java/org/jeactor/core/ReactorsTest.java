@@ -11,6 +11,8 @@ import java.util.concurrent.ThreadPoolExecutor;
 import org.jeactor.AbstractJeactorUnitTest;
 import org.jeactor.NopExecutor;
 import org.jeactor.util.concurrent.SynchronousExecutor;
+import org.jeactor.util.concurrent.demux.PriorityBlockingEventDemux;
+import org.jeactor.util.concurrent.elastic.ElasticExecutor;
 import org.junit.jupiter.api.Test;
 import jakarta.validation.ValidationException;
 
@@ -71,6 +73,18 @@ public class ReactorsTest extends AbstractJeactorUnitTest {
         assertEquals(NopExecutor.class, Reactors.newConcurrentReactor(executor).getExecutorClass());
     }
 
+    /** Tests that newConcurrentReactor() throws validation exception when null event demux is passed. */
+    @Test
+    public void testNewConcurrentReactorWithNullEventDemuxThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->{Reactors.newConcurrentReactor(new NopExecutor(), null);});
+    }
+
+    /** Tests that new concurrent reactor with event demux is created correctly. */
+    @Test
+    public void testNewConcurrentReactorWithEventDemux() {
+        assertEquals(NopExecutor.class, Reactors.newConcurrentReactor(new NopExecutor(), new PriorityBlockingEventDemux()).getExecutorClass());
+    }
+
     /** Tests that newFixedThreadPoolConcurrentReactor() throws validation exception with 0 passed size. */
     @Test
     public void testNewFixedThreadPoolConcurrentReactorWith0SizeThrowsValidationException() {
@@ -114,4 +128,16 @@ public class ReactorsTest extends AbstractJeactorUnitTest {
         final int noThreads = 10;
         assertEquals(ThreadPoolExecutor.class, Reactors.newFixedThreadPoolConcurrentReactor(noThreads, Executors.defaultThreadFactory()).getExecutorClass());
     }
+
+    /** Tests that newElasticConcurrentReactor() throws validation exception with unordered bounds. */
+    @Test
+    public void testNewElasticConcurrentReactorWithUnorderedBoundsThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->{Reactors.newElasticConcurrentReactor(2, 1);});
+    }
+
+    /** Tests that new elastic concurrent reactor is created correctly. */
+    @Test
+    public void testNewElasticConcurrentReactor() {
+        assertEquals(ElasticExecutor.class, Reactors.newElasticConcurrentReactor(1, 2).getExecutorClass());
+    }
 }
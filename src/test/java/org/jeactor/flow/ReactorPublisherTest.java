@@ -0,0 +1,206 @@
+package org.jeactor.flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.jeactor.core.Event;
+import org.jeactor.core.EventPattern;
+import org.jeactor.core.Priority;
+import org.jeactor.core.Reactor;
+import org.jeactor.util.concurrent.bulkhead.OverflowPolicy;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of ReactorPublisher. */
+public class ReactorPublisherTest extends AbstractJeactorUnitTest {
+    /** Tests that a null reactor throws ValidationException. */
+    @Test
+    public void testNullReactorThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new ReactorPublisher(null, "dummy"));
+    }
+
+    /** Tests that events are passed to the subscriber only as it requests them. */
+    @Test
+    public void testEventsArePassedOnDemand() throws Exception {
+        testWithResources(
+            ()->startDirectReactor(),
+            (reactor)->{
+                final RecordingSubscriber subscriber = new RecordingSubscriber();
+                new ReactorPublisher(reactor, "dummy").subscribe(subscriber);
+                awaitIdle(reactor);
+
+                final Event first = newEvent();
+                final Event second = newEvent();
+                reactor.produce(first);
+                reactor.produce(second);
+                assertTrue(subscriber.events.isEmpty());
+
+                subscriber.subscription.request(1);
+                assertEquals(List.of(first), subscriber.events);
+                subscriber.subscription.request(5);
+                assertEquals(List.of(first, second), subscriber.events);
+            }
+        );
+    }
+
+    /** Tests that events dispatched to a full buffer are dropped according to the overflow policy. */
+    @Test
+    public void testFullBufferDropsOldest() throws Exception {
+        testWithResources(
+            ()->startDirectReactor(),
+            (reactor)->{
+                final ReactorPublisher publisher = new ReactorPublisher(reactor, "dummy", Priority.NORMAL, 1, OverflowPolicy.DROP_OLDEST);
+                final RecordingSubscriber subscriber = new RecordingSubscriber();
+                publisher.subscribe(subscriber);
+                awaitIdle(reactor);
+
+                final Event second = newEvent();
+                reactor.produce(newEvent());
+                reactor.produce(second);
+                subscriber.subscription.request(2);
+
+                assertEquals(List.of(second), subscriber.events);
+                assertEquals(1, publisher.getDroppedCount());
+            }
+        );
+    }
+
+    /** Tests that a cancelled subscription receives no more events, and other subscriptions are not affected. */
+    @Test
+    public void testCancelUnregistersOnlyTheSubscription() throws Exception {
+        testWithResources(
+            ()->startDirectReactor(),
+            (reactor)->{
+                final ReactorPublisher publisher = new ReactorPublisher(reactor, "dummy");
+                final RecordingSubscriber cancelled = new RecordingSubscriber();
+                final RecordingSubscriber active = new RecordingSubscriber();
+                publisher.subscribe(cancelled);
+                publisher.subscribe(active);
+                awaitIdle(reactor);
+                cancelled.subscription.request(Long.MAX_VALUE);
+                active.subscription.request(Long.MAX_VALUE);
+
+                cancelled.subscription.cancel();
+                reactor.produce(newEvent());
+
+                assertTrue(cancelled.events.isEmpty());
+                assertEquals(1, active.events.size());
+            }
+        );
+    }
+
+    /** Tests that a subscription cancelled within onSubscribe() is unregistered once it has been registered. */
+    @Test
+    public void testCancelWithinOnSubscribeUnregisters() {
+        final List<String> calls = new CopyOnWriteArrayList<>();
+        // records the calls of the publisher, which only registers and unregisters
+        final Reactor reactor = (Reactor) Proxy.newProxyInstance(Reactor.class.getClassLoader(), new Class<?>[] {Reactor.class}, 
+            (proxy, method, args)->{
+                calls.add(method.getName());
+                return "register".equals(method.getName());
+            });
+        new ReactorPublisher(reactor, "dummy").subscribe(new Flow.Subscriber<Event>() {
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                subscription.cancel();
+            }
+
+            @Override
+            public void onNext(final Event event) {}
+
+            @Override
+            public void onError(final Throwable throwable) {}
+
+            @Override
+            public void onComplete() {}
+        });
+
+        assertEquals(List.of("unregister", "register", "unregister"), calls);
+    }
+
+    /** Tests that a non positive request signals an IllegalArgumentException to the subscriber. */
+    @Test
+    public void testNonPositiveRequestSignalsError() throws Exception {
+        testWithResources(
+            ()->startDirectReactor(),
+            (reactor)->{
+                final RecordingSubscriber subscriber = new RecordingSubscriber();
+                new ReactorPublisher(reactor, "dummy").subscribe(subscriber);
+                subscriber.subscription.request(0);
+
+                assertTrue(subscriber.error instanceof IllegalArgumentException);
+            }
+        );
+    }
+
+    /**
+     * Waits until the accepted started reactor has no pending events.
+     * 
+     * @param reactor a started reactor
+     */
+    private static void awaitIdle(final Reactor reactor) {
+        try {
+            for (int i = 0; i < 500 && 0 != reactor.getPendingEventCount(); i++)
+                Thread.sleep(10);
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Creates an event of the dummy type.
+     * 
+     * @return a new event
+     */
+    private static Event newEvent() {
+        return new Event("dummy", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID());
+    }
+
+    /** Represents a subscriber that records the signals it receives. */
+    private static final class RecordingSubscriber implements Flow.Subscriber<Event> {
+        private final List<Event> events = new CopyOnWriteArrayList<>();
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+
+        /**
+         * Records the subscription.
+         * 
+         * @param subscription a subscription
+         */
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        /**
+         * Records an event.
+         * 
+         * @param event an event
+         */
+        @Override
+        public void onNext(final Event event) {
+            events.add(event);
+        }
+
+        /**
+         * Records an error.
+         * 
+         * @param throwable an error
+         */
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+        }
+
+        /** Does nothing. */
+        @Override
+        public void onComplete() {}
+    }
+}
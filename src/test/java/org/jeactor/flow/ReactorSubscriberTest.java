@@ -0,0 +1,71 @@
+package org.jeactor.flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.jeactor.core.Event;
+import org.jeactor.core.EventPattern;
+import org.jeactor.core.Priority;
+import org.jeactor.core.ReactorBuilderImpl;
+import org.jeactor.util.concurrent.SynchronousExecutor;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of ReactorSubscriber. */
+public class ReactorSubscriberTest extends AbstractJeactorUnitTest {
+    /** Tests that a non positive maximal number of pending events throws ValidationException. */
+    @Test
+    public void testNonPositiveMaxPendingEventsThrowsValidationException() throws Exception {
+        testWithResources(
+            ()->new ReactorBuilderImpl().withExecutor(new SynchronousExecutor()).build(),
+            (reactor)->{
+                assertThrows(ValidationException.class, ()->new ReactorSubscriber(reactor, 0));
+            }
+        );
+    }
+
+    /** Tests that events are requested only while the reactor has capacity, and again once it drains. */
+    @Test
+    public void testRequestsFollowReactorCapacity() throws Exception {
+        testWithResources(
+            ()->new ReactorBuilderImpl().withExecutor(new SynchronousExecutor()).build(),
+            (reactor)->{
+                final ReactorSubscriber subscriber = new ReactorSubscriber(reactor, 4);
+                final AtomicLong requested = new AtomicLong();
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(final long n) {
+                        requested.addAndGet(n);
+                    }
+
+                    @Override
+                    public void cancel() {}
+                });
+                assertEquals(4, requested.get());
+
+                // the reactor is not started, so the produced events stay pending
+                for (int i = 0; i < 4; i++)
+                    subscriber.onNext(new Event("dummy", Priority.NORMAL, EventPattern.NOTIFICATION, "{}", UUID.randomUUID()));
+                assertEquals(4, reactor.getPendingEventCount());
+                assertEquals(4, requested.get());
+
+                reactor.start();
+                try {
+                    for (int i = 0; i < 500 && 8 != requested.get(); i++)
+                        Thread.sleep(10);
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertEquals(8, requested.get());
+
+                subscriber.onComplete();
+                assertTrue(subscriber.getCompletion().isDone());
+            }
+        );
+    }
+}
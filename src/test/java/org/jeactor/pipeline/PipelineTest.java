@@ -0,0 +1,154 @@
+package org.jeactor.pipeline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.jeactor.core.Event;
+import org.jeactor.core.PriorityConsumer;
+import org.jeactor.core.Reactor;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of Pipeline. */
+public class PipelineTest extends AbstractJeactorUnitTest {
+    /** Tests that a pipeline without a sink throws ValidationException. */
+    @Test
+    public void testMissingSinkThrowsValidationException() throws Exception {
+        testWithResources(
+            ()->startDirectReactor(),
+            (reactor)->{
+                assertThrows(ValidationException.class, ()->new PipelineBuilderImpl().withSource(reactor, "input").map((event)->event).build());
+            }
+        );
+    }
+
+    /** Tests that fused stages are applied in order on the calling thread. */
+    @Test
+    public void testFusedStages() throws Exception {
+        testWithResources(
+            ()->startDirectReactor(),
+            (reactor)->{
+                final List<String> payloads = new ArrayList<>();
+                final List<Thread> threads = new ArrayList<>();
+                final Pipeline pipeline = new PipelineBuilderImpl()
+                    .withSource(reactor, "input")
+                    .filter((event)->!event.getJsonPayload().isEmpty())
+                    .flatMap((event)->List.of(newEvent("input", event.getJsonPayload() + "1", null), newEvent("input", event.getJsonPayload() + "2", null)))
+                    .map((event)->newEvent("input", event.getJsonPayload().toUpperCase(), null))
+                    .forEach((event)->{
+                        payloads.add(event.getJsonPayload());
+                        threads.add(Thread.currentThread());
+                    })
+                    .build();
+                pipeline.accept(newEvent("input", "a", null));
+                pipeline.accept(newEvent("input", "", null));
+                pipeline.accept(newEvent("input", "b", null));
+
+                assertEquals(List.of("A1", "A2", "B1", "B2"), payloads);
+                assertTrue(threads.stream().allMatch((thread)->Thread.currentThread() == thread));
+            }
+        );
+    }
+
+    /** Tests that an attached pipeline consumes from the source reactor and routes the results to an event type of the target reactor. */
+    @Test
+    public void testRouteTo() throws Exception {
+        final Reactor source = startDirectReactor();
+        final Reactor target = startDirectReactor();
+        try {
+            final List<Event> routed = new CopyOnWriteArrayList<>();
+            target.register("output", new PriorityConsumer<Event>() {
+                @Override
+                public void accept(final Event event) {
+                    routed.add(event);
+                }
+            });
+            final Pipeline pipeline = new PipelineBuilderImpl()
+                .withSource(source, "input")
+                .filter((event)->event.getJsonPayload().startsWith("x"))
+                .routeTo(target, "output")
+                .build();
+            assertTrue(pipeline.attach());
+
+            final Event event = newEvent("input", "x1", null);
+            source.produce(event);
+            source.produce(newEvent("input", "y1", null));
+
+            assertEquals(1, routed.size());
+            assertEquals("output", routed.get(0).getEventType());
+            assertEquals("x1", routed.get(0).getJsonPayload());
+            assertTrue(!event.getUuid().equals(routed.get(0).getUuid()));
+
+            assertTrue(pipeline.detach());
+            source.produce(newEvent("input", "x2", null));
+            assertEquals(1, routed.size());
+        } finally {
+            source.close();
+            target.close();
+        }
+    }
+
+    /** Tests that attaching a pipeline twice is refused, so every event is processed once, and that it can be attached again once detached. */
+    @Test
+    public void testAttachTwice() throws Exception {
+        testWithResources(
+            ()->startDirectReactor(),
+            (reactor)->{
+                final List<String> payloads = new ArrayList<>();
+                final Pipeline pipeline = new PipelineBuilderImpl()
+                    .withSource(reactor, "input")
+                    .forEach((event)->payloads.add(event.getJsonPayload()))
+                    .build();
+                assertTrue(pipeline.attach());
+                assertFalse(pipeline.attach());
+                reactor.produce(newEvent("input", "a", null));
+                assertEquals(List.of("a"), payloads);
+
+                assertTrue(pipeline.detach());
+                assertFalse(pipeline.detach());
+                assertTrue(pipeline.attach());
+                reactor.produce(newEvent("input", "b", null));
+                assertEquals(List.of("a", "b"), payloads);
+            }
+        );
+    }
+
+    /** Tests that the stages after a boundary run as a task of its executor, and that their failures are counted. */
+    @Test
+    public void testExecuteOnBoundary() throws Exception {
+        testWithResources(
+            ()->startDirectReactor(),
+            (reactor)->{
+                final List<Runnable> tasks = new ArrayList<>();
+                final List<String> payloads = new ArrayList<>();
+                final Pipeline pipeline = new PipelineBuilderImpl()
+                    .withSource(reactor, "input")
+                    .map((event)->newEvent("input", event.getJsonPayload() + "!", null))
+                    .executeOn(tasks::add)
+                    .map((event)->{
+                        if (event.getJsonPayload().startsWith("fail"))
+                            throw new IllegalStateException();
+                        return event;
+                    })
+                    .forEach((event)->payloads.add(event.getJsonPayload()))
+                    .build();
+                pipeline.accept(newEvent("input", "a", null));
+                pipeline.accept(newEvent("input", "fail", null));
+                assertEquals(2, tasks.size());
+                assertEquals(List.of(), payloads);
+
+                tasks.forEach(Runnable::run);
+                assertEquals(List.of("a!"), payloads);
+                assertEquals(1, pipeline.getFailedCount());
+            }
+        );
+    }
+
+
+}
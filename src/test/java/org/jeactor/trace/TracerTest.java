@@ -0,0 +1,182 @@
+package org.jeactor.trace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.jeactor.core.Event;
+import org.jeactor.core.EventPattern;
+import org.jeactor.core.Priority;
+import org.jeactor.core.PriorityConsumer;
+import org.jeactor.core.Reactor;
+import org.jeactor.core.ReactorBuilderImpl;
+import org.jeactor.util.concurrent.SynchronousExecutor;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of Tracer. */
+public class TracerTest extends AbstractJeactorUnitTest {
+    /** Tests that a sampling ratio out of [0, 1] throws ValidationException. */
+    @Test
+    public void testInvalidRatioThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->Sampler.ratio(1.5));
+    }
+
+    /** Tests that an event produced by a consumer joins the consumer's trace, and that enqueue and consumer execution are spanned. */
+    @Test
+    public void testCausalChain() throws Exception {
+        final List<Span> spans = new CopyOnWriteArrayList<>();
+        testWithResources(
+            ()->newReactor(new Tracer(Sampler.always(), spans::add)),
+            (reactor)->{
+                registerForwarder(reactor);
+                reactor.produce(newEvent("a"));
+                awaitSize(spans, 4);
+
+                assertEquals(4, spans.size());
+                final Span eventA = find(spans, Span.Kind.EVENT, "a");
+                final Span consumerA = find(spans, Span.Kind.CONSUMER, "a");
+                final Span eventB = find(spans, Span.Kind.EVENT, "b");
+                final Span consumerB = find(spans, Span.Kind.CONSUMER, "b");
+                assertEquals(0, eventA.getParentSpanId());
+                assertEquals(eventA.getSpanId(), consumerA.getParentSpanId());
+                assertEquals(consumerA.getSpanId(), eventB.getParentSpanId());
+                assertEquals(eventB.getSpanId(), consumerB.getParentSpanId());
+                assertTrue(spans.stream().allMatch((span)->eventA.getTraceId() == span.getTraceId()));
+                assertTrue(spans.stream().allMatch((span)->0 <= span.getDurationNanos()));
+            }
+        );
+    }
+
+    /** Tests that an unsampled trace exports no spans, and that the events produced by its consumers stay unsampled. */
+    @Test
+    public void testUnsampledTrace() throws Exception {
+        final List<Span> spans = new CopyOnWriteArrayList<>();
+        testWithResources(
+            ()->newReactor(new Tracer(Sampler.never(), spans::add)),
+            (reactor)->{
+                final List<TraceContext> contexts = registerForwarder(reactor);
+                reactor.produce(newEvent("a"));
+                awaitSize(contexts, 2);
+
+                assertSame(TraceContext.UNSAMPLED, contexts.get(0));
+                assertSame(TraceContext.UNSAMPLED, contexts.get(1));
+                assertEquals(List.of(), spans);
+            }
+        );
+    }
+
+    /** Tests that a failing exporter is contained and counted. */
+    @Test
+    public void testExporterFailureIsContained() throws Exception {
+        final Tracer tracer = new Tracer(Sampler.always(), (span)->{
+            throw new IllegalStateException();
+        });
+        testWithResources(
+            ()->newReactor(tracer),
+            (reactor)->{
+                final List<TraceContext> contexts = registerForwarder(reactor);
+                reactor.produce(newEvent("a"));
+                awaitSize(contexts, 2);
+                awaitExportFailures(tracer, 4);
+
+                assertEquals(4, tracer.getExportFailureCount());
+                assertNull(Tracer.current());
+            }
+        );
+    }
+
+    /**
+     * Creates a started reactor that dispatches events on the producing thread when idle.
+     * 
+     * @param tracer a tracer of the reactor
+     * @return a new started reactor
+     */
+    private static Reactor newReactor(final Tracer tracer) {
+        final Reactor reactor = new ReactorBuilderImpl().withExecutor(new SynchronousExecutor()).withDirectHandoff(true).withTracer(tracer).build();
+        reactor.start();
+        return reactor;
+    }
+
+    /**
+     * Registers a consumer of "a" that produces a "b" event, and a consumer of "b", both recording the current trace context.
+     * 
+     * @param reactor a reactor
+     * @return a list of the recorded contexts
+     */
+    private static List<TraceContext> registerForwarder(final Reactor reactor) {
+        final List<TraceContext> contexts = new CopyOnWriteArrayList<>();
+        reactor.register("a", new PriorityConsumer<Event>() {
+            @Override
+            public void accept(final Event event) {
+                contexts.add(Tracer.current());
+                reactor.produce(newEvent("b"));
+            }
+        });
+        reactor.register("b", new PriorityConsumer<Event>() {
+            @Override
+            public void accept(final Event event) {
+                contexts.add(Tracer.current());
+            }
+        });
+        return contexts;
+    }
+
+    /**
+     * Returns the span of the accepted kind and event type.
+     * 
+     * @param spans spans to search
+     * @param kind a kind of span
+     * @param eventType an event type
+     * @return the span
+     */
+    private static Span find(final List<Span> spans, final Span.Kind kind, final String eventType) {
+        return spans.stream().filter((span)->kind == span.getKind() && eventType.equals(span.getEventType())).findFirst().orElseThrow();
+    }
+
+    /**
+     * Waits until the accepted list has the accepted size, or for 5 seconds.
+     * 
+     * @param list a list
+     * @param size a size to wait for
+     */
+    private static void awaitSize(final List<?> list, final int size) {
+        try {
+            for (int i = 0; i < 500 && list.size() < size; i++)
+                Thread.sleep(10);
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Waits until the accepted number of export failures has been counted, or for 5 seconds.
+     * 
+     * @param tracer a tracer
+     * @param count a number of failures to wait for
+     */
+    private static void awaitExportFailures(final Tracer tracer, final long count) {
+        try {
+            for (int i = 0; i < 500 && tracer.getExportFailureCount() < count; i++)
+                Thread.sleep(10);
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Creates an event.
+     * 
+     * @param eventType a type of the event
+     * @return a new event
+     */
+    private static Event newEvent(final String eventType) {
+        return new Event(eventType, Priority.NORMAL, EventPattern.NOTIFICATION, null, UUID.randomUUID());
+    }
+}
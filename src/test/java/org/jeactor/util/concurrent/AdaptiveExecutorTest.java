@@ -0,0 +1,66 @@
+package org.jeactor.util.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of AdaptiveExecutor. */
+public class AdaptiveExecutorTest extends AbstractJeactorUnitTest {
+    /** Tests that a null delegate throws ValidationException. */
+    @Test
+    public void testNullDelegateThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new AdaptiveExecutor(null, 1));
+    }
+
+    /** Tests that a non positive threshold throws ValidationException. */
+    @Test
+    public void testNonPositiveThresholdThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new AdaptiveExecutor(new SynchronousExecutor(), 0));
+    }
+
+    /** Tests that cheap tasks are executed in the calling thread. */
+    @Test
+    public void testCheapTasksExecuteInCallingThread() {
+        final List<Runnable> handedOff = new ArrayList<>();
+        final AdaptiveExecutor executor = new AdaptiveExecutor(handedOff::add, 1_000_000_000L);
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            executor.execute(()->threads.add(Thread.currentThread()));
+
+        assertEquals(10, threads.size());
+        assertSame(Thread.currentThread(), threads.get(9));
+        assertTrue(handedOff.isEmpty());
+        assertTrue(executor.isInline());
+    }
+
+    /** Tests that expensive tasks are handed off to the delegate once their average exceeds the threshold, and cheap ones are inlined again afterwards. */
+    @Test
+    public void testExpensiveTasksAreHandedOff() {
+        final List<Runnable> handedOff = new ArrayList<>();
+        final AdaptiveExecutor executor = new AdaptiveExecutor(handedOff::add, 1_000);
+        executor.execute(()->LockSupport.parkNanos(1_000_000));
+
+        assertFalse(executor.isInline());
+        executor.execute(()->{});
+        assertEquals(1, handedOff.size());
+
+        // cheap tasks executed by the delegate pull the average back down
+        while (!executor.isInline()) {
+            handedOff.clear();
+            executor.execute(()->{});
+            handedOff.get(0).run();
+        }
+        handedOff.clear();
+        executor.execute(()->{});
+        assertTrue(handedOff.isEmpty());
+    }
+}
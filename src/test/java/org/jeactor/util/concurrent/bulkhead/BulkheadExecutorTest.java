@@ -0,0 +1,119 @@
+package org.jeactor.util.concurrent.bulkhead;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.jeactor.util.concurrent.SynchronousExecutor;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of BulkheadExecutor. */
+public class BulkheadExecutorTest extends AbstractJeactorUnitTest {
+    /** Tests that a bulkhead cannot be created with zero concurrency. */
+    @Test
+    public void testBulkheadWith0ConcurrencyThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new BulkheadExecutor(new SynchronousExecutor(), 0, 1, OverflowPolicy.DROP_NEWEST, null));
+    }
+
+    /** Tests that tasks beyond the concurrency limit wait in the queue and run once permits are released. */
+    @Test
+    public void testExecuteQueuesBeyondConcurrency() {
+        final List<Runnable> submitted = new ArrayList<>();
+        final List<String> actual = new ArrayList<>();
+        final BulkheadExecutor bulkhead = new BulkheadExecutor(submitted::add, 1, 1, OverflowPolicy.DROP_NEWEST, null);
+        bulkhead.execute(()->actual.add("a"));
+        bulkhead.execute(()->actual.add("b"));
+
+        assertEquals(1, submitted.size());
+        submitted.get(0).run();
+        assertEquals(2, submitted.size());
+        submitted.get(1).run();
+
+        assertIterableEquals(List.of("a", "b"), actual);
+    }
+
+    /** Tests that queued tasks rejected by the shared executor are dropped and counted, without failing the completing task. */
+    @Test
+    public void testRejectedQueuedTasksAreCounted() {
+        final List<Runnable> submitted = new ArrayList<>();
+        final boolean[] rejecting = {false};
+        final BulkheadExecutor bulkhead = new BulkheadExecutor((task)->{
+            if (rejecting[0])
+                throw new RejectedExecutionException("shut down");
+            submitted.add(task);
+        }, 1, 2, OverflowPolicy.DROP_NEWEST, null);
+        bulkhead.execute(()->{});
+        bulkhead.execute(()->{});
+        bulkhead.execute(()->{});
+
+        rejecting[0] = true;
+        submitted.get(0).run();
+        assertEquals(2, bulkhead.getRejectedCount());
+
+        // the permit has been released, so a new task is submitted directly and its rejection is thrown to the caller
+        assertThrows(RejectedExecutionException.class, ()->bulkhead.execute(()->{}));
+        rejecting[0] = false;
+        bulkhead.execute(()->{});
+        assertEquals(2, submitted.size());
+    }
+
+    /** Tests that DROP_NEWEST drops the submitted task when the bulkhead is full. */
+    @Test
+    public void testExecuteWithDropNewestDropsSubmittedTask() {
+        final List<Runnable> submitted = new ArrayList<>();
+        final List<String> actual = new ArrayList<>();
+        final BulkheadExecutor bulkhead = new BulkheadExecutor(submitted::add, 1, 1, OverflowPolicy.DROP_NEWEST, null);
+        bulkhead.execute(()->actual.add("a"));
+        bulkhead.execute(()->actual.add("b"));
+        bulkhead.execute(()->actual.add("c"));
+
+        submitted.get(0).run();
+        submitted.get(1).run();
+
+        assertIterableEquals(List.of("a", "b"), actual);
+        assertEquals(1, bulkhead.getDroppedCount());
+    }
+
+    /** Tests that DROP_OLDEST drops the oldest queued task when the bulkhead is full. */
+    @Test
+    public void testExecuteWithDropOldestDropsQueuedTask() {
+        final List<Runnable> submitted = new ArrayList<>();
+        final List<String> actual = new ArrayList<>();
+        final BulkheadExecutor bulkhead = new BulkheadExecutor(submitted::add, 1, 1, OverflowPolicy.DROP_OLDEST, null);
+        bulkhead.execute(()->actual.add("a"));
+        bulkhead.execute(()->actual.add("b"));
+        bulkhead.execute(()->actual.add("c"));
+
+        submitted.get(0).run();
+        submitted.get(1).run();
+
+        assertIterableEquals(List.of("a", "c"), actual);
+        assertEquals(1, bulkhead.getDroppedCount());
+    }
+
+    /** Tests that tasks are shed while the circuit breaker is open. */
+    @Test
+    public void testExecuteShedsWhileCircuitBreakerIsOpen() {
+        final List<String> actual = new ArrayList<>();
+        final LatencyCircuitBreaker circuitBreaker = new LatencyCircuitBreaker(Duration.ofNanos(1), 1, Duration.ofHours(1));
+        final BulkheadExecutor bulkhead = new BulkheadExecutor(new SynchronousExecutor(), 1, 0, OverflowPolicy.DROP_NEWEST, circuitBreaker);
+        bulkhead.execute(()->{
+            try {
+                Thread.sleep(1);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            actual.add("slow");
+        });
+        bulkhead.execute(()->actual.add("shed"));
+
+        assertIterableEquals(List.of("slow"), actual);
+        assertEquals(1, bulkhead.getShedCount());
+    }
+}
@@ -0,0 +1,47 @@
+package org.jeactor.util.concurrent.bulkhead;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.junit.jupiter.api.Test;
+
+/** Unit test of LatencyCircuitBreaker. */
+public class LatencyCircuitBreakerTest extends AbstractJeactorUnitTest {
+    /** Tests that the breaker opens after consecutive slow calls. */
+    @Test
+    public void testRecordOpensAfterConsecutiveSlowCalls() {
+        final LatencyCircuitBreaker breaker = new LatencyCircuitBreaker(Duration.ofMillis(1), 2, Duration.ofHours(1));
+        breaker.record(TimeUnit.MILLISECONDS.toNanos(2));
+        assertTrue(breaker.allowCall());
+        breaker.record(TimeUnit.MILLISECONDS.toNanos(2));
+
+        assertFalse(breaker.allowCall());
+    }
+
+    /** Tests that a fast call resets the count of consecutive slow calls. */
+    @Test
+    public void testRecordFastCallResetsSlowCalls() {
+        final LatencyCircuitBreaker breaker = new LatencyCircuitBreaker(Duration.ofMillis(1), 2, Duration.ofHours(1));
+        breaker.record(TimeUnit.MILLISECONDS.toNanos(2));
+        breaker.record(0);
+        breaker.record(TimeUnit.MILLISECONDS.toNanos(2));
+
+        assertTrue(breaker.allowCall());
+    }
+
+    /** Tests that after the break duration a single trial call is allowed, and a fast trial closes the breaker. */
+    @Test
+    public void testAllowCallAfterBreakDurationAllowsSingleTrial() throws InterruptedException {
+        final LatencyCircuitBreaker breaker = new LatencyCircuitBreaker(Duration.ofMillis(1), 1, Duration.ofMillis(1));
+        breaker.record(TimeUnit.MILLISECONDS.toNanos(2));
+        Thread.sleep(5);
+
+        assertTrue(breaker.allowCall());
+        assertFalse(breaker.allowCall());
+        breaker.record(0);
+        assertFalse(breaker.isOpen());
+    }
+}
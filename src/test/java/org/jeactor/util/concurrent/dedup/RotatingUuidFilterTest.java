@@ -0,0 +1,82 @@
+package org.jeactor.util.concurrent.dedup;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of RotatingUuidFilter. */
+public class RotatingUuidFilterTest extends AbstractJeactorUnitTest {
+    /** Tests that a filter cannot be created with a zero window. */
+    @Test
+    public void testFilterWith0WindowThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new RotatingUuidFilter(0));
+    }
+
+    /** Tests that add() with a new uuid returns true. */
+    @Test
+    public void testAddWithNewUuidReturnsTrue() {
+        assertTrue(new RotatingUuidFilter(16).add(UUID.randomUUID()));
+    }
+
+    /** Tests that add() with a duplicate uuid returns false. */
+    @Test
+    public void testAddWithDuplicateUuidReturnsFalse() {
+        final RotatingUuidFilter filter = new RotatingUuidFilter(16);
+        final UUID uuid = UUID.randomUUID();
+        filter.add(uuid);
+
+        assertFalse(filter.add(new UUID(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits())));
+    }
+
+    /** Tests that add() detects every duplicate within the window. */
+    @Test
+    public void testAddDetectsDuplicatesWithinWindow() {
+        final int window = 1000;
+        final RotatingUuidFilter filter = new RotatingUuidFilter(window, 4);
+        final List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 10 * window; i++) {
+            final UUID uuid = UUID.randomUUID();
+            assertTrue(filter.add(uuid));
+            uuids.add(uuid);
+        }
+
+        // the headroom of the segments absorbs the uneven spreading of the window over the stripes
+        for (int i = uuids.size() - window; i < uuids.size(); i++)
+            assertFalse(filter.add(uuids.get(i)));
+    }
+
+    /** Tests that add() with a single stripe detects every duplicate within exactly the window. */
+    @Test
+    public void testAddWithSingleStripeDetectsDuplicatesWithinExactWindow() {
+        final int window = 100;
+        final RotatingUuidFilter filter = new RotatingUuidFilter(window, 1);
+        final List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 3 * window + 1; i++) {
+            final UUID uuid = UUID.randomUUID();
+            filter.add(uuid);
+            uuids.add(uuid);
+        }
+
+        for (int i = uuids.size() - window; i < uuids.size(); i++)
+            assertFalse(filter.add(uuids.get(i)));
+    }
+
+    /** Tests that add() forgets uuids that are far older than the window. */
+    @Test
+    public void testAddForgetsUuidsOutsideWindow() {
+        final RotatingUuidFilter filter = new RotatingUuidFilter(1, 1);
+        final UUID uuid = UUID.randomUUID();
+        filter.add(uuid);
+        filter.add(UUID.randomUUID());
+        filter.add(UUID.randomUUID());
+
+        assertTrue(filter.add(uuid));
+    }
+}
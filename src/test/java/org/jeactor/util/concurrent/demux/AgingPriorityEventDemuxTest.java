@@ -0,0 +1,70 @@
+package org.jeactor.util.concurrent.demux;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.UUID;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.jeactor.core.Event;
+import org.jeactor.core.Priority;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of AgingPriorityEventDemux. */
+public class AgingPriorityEventDemuxTest extends AbstractJeactorUnitTest {
+    /** Tests that the demux cannot be created with a null aging interval. */
+    @Test
+    public void testAgingPriorityEventDemuxWithNullIntervalThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new AgingPriorityEventDemux(null));
+    }
+
+    /** Tests that the demux cannot be created with a zero aging interval. */
+    @Test
+    public void testAgingPriorityEventDemuxWith0IntervalThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new AgingPriorityEventDemux(Duration.ZERO));
+    }
+
+    /** Tests that get() returns higher priority events first when nothing has aged. */
+    @Test
+    public void testGetReturnsHigherPriorityFirst() throws Exception {
+        final AgingPriorityEventDemux demux = new AgingPriorityEventDemux(Duration.ofHours(1));
+        final Event low = new Event("dummy", Priority.LOW, null, null, UUID.randomUUID());
+        final Event critical = new Event("dummy", Priority.CRITICAL, null, null, UUID.randomUUID());
+        final Event normal = new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID());
+        demux.accept(low);
+        demux.accept(critical);
+        demux.accept(normal);
+
+        assertEquals(critical, demux.get());
+        assertEquals(normal, demux.get());
+        assertEquals(low, demux.get());
+    }
+
+    /** Tests that get() returns events of equal priority in arrival order. */
+    @Test
+    public void testGetReturnsEqualPriorityInArrivalOrder() throws Exception {
+        final AgingPriorityEventDemux demux = new AgingPriorityEventDemux(Duration.ofHours(1));
+        final Event first = new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID());
+        final Event second = new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID());
+        demux.accept(first);
+        demux.accept(second);
+
+        assertEquals(first, demux.get());
+        assertEquals(second, demux.get());
+    }
+
+    /** Tests that an aged low priority event overtakes a newer critical event. */
+    @Test
+    public void testGetReturnsAgedLowPriorityBeforeNewerCritical() throws Exception {
+        final AgingPriorityEventDemux demux = new AgingPriorityEventDemux(Duration.ofMillis(1));
+        final Event low = new Event("dummy", Priority.LOW, null, null, UUID.randomUUID());
+        demux.accept(low);
+        Thread.sleep(10); // more than 3 aging intervals, the distance between LOW and CRITICAL
+        final Event critical = new Event("dummy", Priority.CRITICAL, null, null, UUID.randomUUID());
+        demux.accept(critical);
+
+        assertEquals(low, demux.get());
+        assertEquals(critical, demux.get());
+    }
+}
@@ -0,0 +1,82 @@
+package org.jeactor.util.concurrent.demux;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.UUID;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.jeactor.core.Event;
+import org.jeactor.core.EventPattern;
+import org.jeactor.core.Priority;
+import org.junit.jupiter.api.Test;
+
+/** Unit test of ConflatingEventDemux. */
+public class ConflatingEventDemuxTest extends AbstractJeactorUnitTest {
+    /** Tests that a state carrying event replaces a queued event with the same type and key, keeping its position. */
+    @Test
+    public void testAcceptReplacesQueuedEventInPlace() throws Exception {
+        final ConflatingEventDemux demux = new ConflatingEventDemux();
+        final Event first = newEvent("quote", "AAPL", EventPattern.STATE_CARRYING);
+        final Event other = newEvent("quote", "MSFT", EventPattern.STATE_CARRYING);
+        final Event latest = newEvent("quote", "AAPL", EventPattern.STATE_CARRYING);
+        demux.accept(first);
+        demux.accept(other);
+        demux.accept(latest);
+
+        assertEquals(latest, demux.get());
+        assertEquals(other, demux.get());
+        assertEquals(1, demux.getConflatedCount());
+    }
+
+    /** Tests that notification events are never conflated. */
+    @Test
+    public void testAcceptDoesNotConflateNotifications() throws Exception {
+        final ConflatingEventDemux demux = new ConflatingEventDemux();
+        final Event first = newEvent("quote", "AAPL", EventPattern.NOTIFICATION);
+        final Event second = newEvent("quote", "AAPL", EventPattern.NOTIFICATION);
+        demux.accept(first);
+        demux.accept(second);
+
+        assertEquals(first, demux.get());
+        assertEquals(second, demux.get());
+        assertEquals(0, demux.getConflatedCount());
+    }
+
+    /** Tests that an event with the key of an already dispatched event is queued anew. */
+    @Test
+    public void testAcceptAfterGetQueuesAnew() throws Exception {
+        final ConflatingEventDemux demux = new ConflatingEventDemux();
+        final Event first = newEvent("quote", "AAPL", EventPattern.STATE_CARRYING);
+        final Event second = newEvent("quote", "AAPL", EventPattern.STATE_CARRYING);
+        demux.accept(first);
+        assertEquals(first, demux.get());
+        demux.accept(second);
+
+        assertEquals(second, demux.get());
+        assertEquals(0, demux.getConflatedCount());
+    }
+
+    /** Tests that events with the same key but different types are not conflated. */
+    @Test
+    public void testAcceptDoesNotConflateAcrossEventTypes() throws Exception {
+        final ConflatingEventDemux demux = new ConflatingEventDemux();
+        final Event quote = newEvent("quote", "AAPL", EventPattern.STATE_CARRYING);
+        final Event trade = newEvent("trade", "AAPL", EventPattern.STATE_CARRYING);
+        demux.accept(quote);
+        demux.accept(trade);
+
+        assertEquals(quote, demux.get());
+        assertEquals(trade, demux.get());
+    }
+
+    /**
+     * Creates a normal priority event.
+     * 
+     * @param eventType a type of the event
+     * @param conflationKey a conflation key of the event
+     * @param eventPattern a pattern of the event
+     * @return a new event
+     */
+    private static Event newEvent(final String eventType, final String conflationKey, final EventPattern eventPattern) {
+        return new Event(eventType, Priority.NORMAL, eventPattern, "{}", UUID.randomUUID(), null, conflationKey);
+    }
+}
@@ -0,0 +1,46 @@
+package org.jeactor.util.concurrent.demux;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.jeactor.core.Event;
+import org.jeactor.core.Priority;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of DeduplicatingEventDemux. */
+public class DeduplicatingEventDemuxTest extends AbstractJeactorUnitTest {
+    /** Tests that the demux cannot be created with a null delegate. */
+    @Test
+    public void testDeduplicatingEventDemuxWithNullDemuxThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new DeduplicatingEventDemux(null, 16));
+    }
+
+    /** Tests that accept() drops an event whose uuid has already been accepted. */
+    @Test
+    public void testAcceptDropsDuplicate() throws Exception {
+        final DeduplicatingEventDemux demux = new DeduplicatingEventDemux(new PriorityBlockingEventDemux(), 16);
+        final UUID uuid = UUID.randomUUID();
+        final Event first = new Event("dummy", Priority.LOW, null, null, uuid);
+        final Event retry = new Event("dummy", Priority.CRITICAL, null, null, uuid);
+        final Event other = new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID());
+        demux.accept(first);
+        demux.accept(retry);
+        demux.accept(other);
+
+        assertEquals(other, demux.get());
+        assertEquals(first, demux.get());
+        assertEquals(1, demux.getDuplicateCount());
+    }
+
+    /** Tests that the demux does not report itself as lossless, since duplicates are dropped. */
+    @Test
+    public void testIsNotLossless() {
+        assertFalse(new DeduplicatingEventDemux(new PriorityBlockingEventDemux(), 16).isLossless());
+        assertTrue(new PriorityBlockingEventDemux().isLossless());
+    }
+}
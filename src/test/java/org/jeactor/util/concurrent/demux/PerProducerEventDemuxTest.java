@@ -0,0 +1,109 @@
+package org.jeactor.util.concurrent.demux;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.jeactor.core.Event;
+import org.jeactor.core.Priority;
+import org.jeactor.util.concurrent.wait.BusySpinWaitStrategy;
+import org.jeactor.util.concurrent.wait.WaitStrategy;
+import org.junit.jupiter.api.Test;
+
+/** Unit test of PerProducerEventDemux. */
+public class PerProducerEventDemuxTest extends AbstractJeactorUnitTest {
+    /** Tests that get() returns higher priority events first, and equal priorities oldest first across producers. */
+    @Test
+    public void testGetMergesProducersByPriority() throws Exception {
+        final PerProducerEventDemux demux = new PerProducerEventDemux();
+        final Event low = new Event("dummy", Priority.LOW, null, null, UUID.randomUUID());
+        final Event olderNormal = new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID());
+        Thread.sleep(2);
+        final Event newerNormal = new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID());
+        final Event critical = new Event("dummy", Priority.CRITICAL, null, null, UUID.randomUUID());
+
+        demux.accept(newerNormal);
+        demux.accept(low);
+        final Thread producer = new Thread(()->{
+            demux.accept(olderNormal);
+            demux.accept(critical);
+        });
+        producer.start();
+        producer.join();
+
+        assertEquals(2, demux.getProducerCount());
+        assertEquals(critical, demux.get());
+        assertEquals(olderNormal, demux.get());
+        assertEquals(newerNormal, demux.get());
+        assertEquals(low, demux.get());
+        assertNull(demux.poll());
+    }
+
+    /** Tests that get() blocks until another thread accepts an event. */
+    @Test
+    public void testGetWaitsForProducer() throws Exception {
+        final PerProducerEventDemux demux = new PerProducerEventDemux();
+        final Event event = new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID());
+        final CompletableFuture<Event> taken = CompletableFuture.supplyAsync(()->{
+            try {
+                return demux.get();
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(20);
+        demux.accept(event);
+
+        assertEquals(event, taken.get(5, TimeUnit.SECONDS));
+    }
+
+    /** Tests that the lanes of a terminated producer are removed once they are drained. */
+    @Test
+    public void testTerminatedProducerIsRemovedWhenDrained() throws Exception {
+        final PerProducerEventDemux demux = new PerProducerEventDemux();
+        final Event event = new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID());
+        final Thread producer = new Thread(()->demux.accept(event));
+        producer.start();
+        producer.join();
+        assertEquals(1, demux.getProducerCount());
+
+        assertEquals(event, demux.get());
+        final CompletableFuture<Event> taken = CompletableFuture.supplyAsync(()->{
+            try {
+                return demux.get();
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(20);
+        assertEquals(0, demux.getProducerCount());
+
+        final Event next = new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID());
+        demux.accept(next);
+        assertEquals(next, taken.get(5, TimeUnit.SECONDS));
+    }
+
+    /** Tests that the drained lanes of terminated producers are removed by a consumer that only polls. */
+    @Test
+    public void testTerminatedProducersAreRemovedByPollingConsumer() throws Exception {
+        final PerProducerEventDemux demux = new PerProducerEventDemux();
+        final int producerCount = 100;
+        for (int i = 0; i < producerCount; i++) {
+            final Thread producer = new Thread(()->demux.accept(new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID())));
+            producer.start();
+            producer.join();
+        }
+        assertEquals(producerCount, demux.getProducerCount());
+
+        final WaitStrategy waitStrategy = new BusySpinWaitStrategy();
+        for (int i = 0; i < producerCount; i++)
+            waitStrategy.waitFor(demux);
+        for (int i = 0; i < PerProducerEventDemux.PRUNE_INTERVAL; i++)
+            assertNull(demux.poll());
+
+        assertEquals(0, demux.getProducerCount());
+    }
+}
@@ -0,0 +1,41 @@
+package org.jeactor.util.concurrent.demux;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.UUID;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.jeactor.core.Event;
+import org.jeactor.core.Priority;
+import org.junit.jupiter.api.Test;
+
+/** Unit test of PriorityBlockingEventDemux. */
+public class PriorityBlockingEventDemuxTest extends AbstractJeactorUnitTest {
+    /** Tests that get() returns higher priority events first. */
+    @Test
+    public void testGetReturnsHigherPriorityFirst() throws Exception {
+        final PriorityBlockingEventDemux demux = new PriorityBlockingEventDemux();
+        final Event low = new Event("dummy", Priority.LOW, null, null, UUID.randomUUID());
+        final Event critical = new Event("dummy", Priority.CRITICAL, null, null, UUID.randomUUID());
+        final Event normal = new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID());
+        demux.accept(low);
+        demux.accept(critical);
+        demux.accept(normal);
+
+        assertEquals(critical, demux.get());
+        assertEquals(normal, demux.get());
+        assertEquals(low, demux.get());
+    }
+
+    /** Tests that poll() returns the next event without waiting, and null when there is none. */
+    @Test
+    public void testPoll() {
+        final PriorityBlockingEventDemux demux = new PriorityBlockingEventDemux();
+        assertNull(demux.poll());
+
+        final Event event = new Event("dummy", Priority.LOW, null, null, UUID.randomUUID());
+        demux.accept(event);
+        assertEquals(event, demux.poll());
+        assertNull(demux.poll());
+    }
+}
@@ -0,0 +1,163 @@
+package org.jeactor.util.concurrent.elastic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of ElasticExecutor. */
+public class ElasticExecutorTest extends AbstractJeactorUnitTest {
+    /** Tests that unordered utilization marks throw ValidationException. */
+    @Test
+    public void testUnorderedUtilizationThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new ElasticExecutorBuilderImpl().withUtilization(0.8, 0.3).build());
+    }
+
+    /** Tests that tasks are executed, and that tasks submitted after close are rejected. */
+    @Test
+    public void testExecute() throws Exception {
+        testWithResources(
+            ()->new ElasticExecutorBuilderImpl().withThreads(2, 4).build(),
+            (executor)->{
+                final CountDownLatch latch = new CountDownLatch(100);
+                for (int i = 0; i < 100; i++)
+                    executor.execute(latch::countDown);
+                try {
+                    assertTrue(latch.await(5, TimeUnit.SECONDS));
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertEquals(2, executor.getPoolSize());
+
+                executor.close();
+                assertThrows(RejectedExecutionException.class, ()->executor.execute(()->{}));
+            }
+        );
+    }
+
+    /** Tests that the pool grows by half of its size while there is a backlog, up to its maximum. */
+    @Test
+    public void testGrowsOnBacklog() throws Exception {
+        final AtomicLong backlog = new AtomicLong(1000);
+        testWithResources(
+            ()->newManualBuilder().withThreads(1, 5).withBacklog(backlog::get).build(),
+            (executor)->{
+                final int[] expected = {2, 3, 4, 5, 5};
+                for (final int size : expected) {
+                    executor.adjust(System.nanoTime());
+                    assertEquals(size, executor.getPoolSize());
+                }
+            }
+        );
+    }
+
+    /** Tests that the pool shrinks by a single worker per quiet interval, down to its minimum. */
+    @Test
+    public void testShrinksWhenQuiet() throws Exception {
+        final AtomicLong backlog = new AtomicLong(1000);
+        testWithResources(
+            ()->newManualBuilder().withThreads(1, 3).withBacklog(backlog::get).build(),
+            (executor)->{
+                executor.adjust(System.nanoTime());
+                executor.adjust(System.nanoTime());
+                assertEquals(3, executor.getPoolSize());
+
+                backlog.set(0);
+                executor.adjust(System.nanoTime());
+                awaitPoolSize(executor, 2);
+                assertEquals(2, executor.getPoolSize());
+                executor.adjust(System.nanoTime());
+                executor.adjust(System.nanoTime());
+                awaitPoolSize(executor, 1);
+                assertEquals(1, executor.getPoolSize());
+            }
+        );
+    }
+
+    /** Tests that no two resizes are closer than the cooldown. */
+    @Test
+    public void testCooldown() throws Exception {
+        testWithResources(
+            ()->newManualBuilder().withThreads(1, 5).withBacklog(()->1000).withCooldown(Duration.ofHours(1)).build(),
+            (executor)->{
+                executor.adjust(System.nanoTime());
+                executor.adjust(System.nanoTime());
+                assertEquals(2, executor.getPoolSize());
+            }
+        );
+    }
+
+    /** Tests that failing tasks are counted and reported to the uncaught exception handler, and that they do not shrink the pool. */
+    @Test
+    public void testFailingTasksAreReportedWithoutShrinkingThePool() throws Exception {
+        final List<Throwable> failures = new CopyOnWriteArrayList<>();
+        final CountDownLatch reported = new CountDownLatch(2);
+        final ThreadFactory threadFactory = (runnable)->{
+            final Thread thread = new Thread(runnable);
+            thread.setUncaughtExceptionHandler((failed, e)->{
+                failures.add(e);
+                reported.countDown();
+            });
+            return thread;
+        };
+        testWithResources(
+            ()->newManualBuilder().withThreads(1, 1).withThreadFactory(threadFactory).build(),
+            (executor)->{
+                final CountDownLatch latch = new CountDownLatch(1);
+                executor.execute(()->{
+                    throw new IllegalStateException();
+                });
+                // ends the worker, which is replaced
+                executor.execute(()->{
+                    throw new Error();
+                });
+                executor.execute(latch::countDown);
+                try {
+                    assertTrue(latch.await(5, TimeUnit.SECONDS));
+                    assertTrue(reported.await(5, TimeUnit.SECONDS));
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertEquals(IllegalStateException.class, failures.get(0).getClass());
+                assertEquals(Error.class, failures.get(1).getClass());
+                assertEquals(2, executor.getFailedTaskCount());
+                assertEquals(1, executor.getPoolSize());
+            }
+        );
+    }
+
+    /**
+     * Creates a builder of an executor whose control thread practically never samples, so tests drive adjust() themselves.
+     * 
+     * @return a new builder
+     */
+    private static ElasticExecutorBuilderImpl newManualBuilder() {
+        return new ElasticExecutorBuilderImpl().withControlInterval(Duration.ofHours(1)).withCooldown(Duration.ZERO).withBacklogPerThread(1);
+    }
+
+    /**
+     * Waits until surplus workers have retired, for up to 5 seconds.
+     * 
+     * @param executor an executor
+     * @param size a pool size to wait for
+     */
+    private static void awaitPoolSize(final ElasticExecutor executor, final int size) {
+        try {
+            for (int i = 0; i < 500 && size != executor.getPoolSize(); i++)
+                Thread.sleep(10);
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
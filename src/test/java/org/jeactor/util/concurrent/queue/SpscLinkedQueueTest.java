@@ -0,0 +1,58 @@
+package org.jeactor.util.concurrent.queue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.jeactor.AbstractJeactorUnitTest;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of SpscLinkedQueue. */
+public class SpscLinkedQueueTest extends AbstractJeactorUnitTest {
+    /** Tests that offer() with null item throws ValidationException. */
+    @Test
+    public void testOfferWithNullItemThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new SpscLinkedQueue<String>().offer(null));
+    }
+
+    /** Tests that items are polled in the order they were offered. */
+    @Test
+    public void testPollReturnsItemsInOfferOrder() {
+        final SpscLinkedQueue<String> queue = new SpscLinkedQueue<>();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+
+        queue.offer("a");
+        queue.offer("b");
+        assertEquals("a", queue.peek());
+        assertEquals("a", queue.poll());
+        assertEquals("b", queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    /** Tests that a consumer thread receives every item of a producer thread in order. */
+    @Test
+    public void testConcurrentProducerAndConsumer() throws Exception {
+        final int count = 100_000;
+        final SpscLinkedQueue<Integer> queue = new SpscLinkedQueue<>();
+        final Thread producer = new Thread(()->{
+            for (int i = 0; i < count; i++)
+                queue.offer(i);
+        });
+        producer.start();
+
+        for (int expected = 0; expected < count;) {
+            final Integer item = queue.poll();
+            if (null == item) {
+                Thread.yield();
+                continue;
+            }
+            assertEquals(expected++, item);
+        }
+        producer.join();
+        assertTrue(queue.isEmpty());
+    }
+}
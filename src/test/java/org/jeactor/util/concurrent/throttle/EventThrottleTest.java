@@ -0,0 +1,104 @@
+package org.jeactor.util.concurrent.throttle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.jeactor.core.Event;
+import org.jeactor.core.Priority;
+import org.jeactor.util.concurrent.timer.TimingWheelScheduler;
+import org.junit.jupiter.api.Test;
+
+/** Unit test of EventThrottle. */
+public class EventThrottleTest extends AbstractJeactorUnitTest {
+    /** Tests that events of a type without a limit are passed to the sink. */
+    @Test
+    public void testThrottleWithoutLimitPassesEvent() {
+        final List<Event> sink = new ArrayList<>();
+        final EventThrottle throttle = new EventThrottle().withEventTypeLimit("limited", 0.001, 1, ThrottleAction.REJECT);
+        final Event event = newEvent("free", Priority.NORMAL);
+        throttle.throttle(event, sink::add, new TimingWheelScheduler<>(sink::add));
+        throttle.throttle(event, sink::add, new TimingWheelScheduler<>(sink::add));
+
+        assertEquals(List.of(event, event), sink);
+    }
+
+    /** Tests that an event exceeding a REJECT limit is rejected. */
+    @Test
+    public void testThrottleWithRejectLimitThrowsRejectedExecutionException() {
+        final List<Event> sink = new ArrayList<>();
+        final EventThrottle throttle = new EventThrottle().withEventTypeLimit("limited", 0.001, 1, ThrottleAction.REJECT);
+        throttle.throttle(newEvent("limited", Priority.NORMAL), sink::add, new TimingWheelScheduler<>(sink::add));
+
+        assertThrows(RejectedExecutionException.class, ()->throttle.throttle(newEvent("limited", Priority.NORMAL), sink::add, new TimingWheelScheduler<>(sink::add)));
+        assertEquals(1, sink.size());
+        assertEquals(1, throttle.getRejectedCount());
+    }
+
+    /** Tests that an event exceeding a DOWNGRADE limit is passed with a lower priority. */
+    @Test
+    public void testThrottleWithDowngradeLimitLowersPriority() {
+        final List<Event> sink = new ArrayList<>();
+        final EventThrottle throttle = new EventThrottle().withPriorityLimit(Priority.HIGH, 0.001, 1, ThrottleAction.DOWNGRADE);
+        final Event second = newEvent("dummy", Priority.HIGH);
+        throttle.throttle(newEvent("dummy", Priority.HIGH), sink::add, new TimingWheelScheduler<>(sink::add));
+        throttle.throttle(second, sink::add, new TimingWheelScheduler<>(sink::add));
+
+        assertEquals(Priority.NORMAL, sink.get(1).getEventPriority());
+        assertEquals(second.getUuid(), sink.get(1).getUuid());
+        assertEquals(1, throttle.getDowngradedCount());
+    }
+
+    /** Tests that an event exceeding a DELAY limit is scheduled instead of passed. */
+    @Test
+    public void testThrottleWithDelayLimitSchedulesEvent() {
+        final List<Event> sink = new ArrayList<>();
+        final TimingWheelScheduler<Event> scheduler = new TimingWheelScheduler<>(sink::add);
+        final EventThrottle throttle = new EventThrottle().withEventTypeLimit("limited", 0.001, 1, ThrottleAction.DELAY);
+        throttle.throttle(newEvent("limited", Priority.NORMAL), sink::add, scheduler);
+        throttle.throttle(newEvent("limited", Priority.NORMAL), sink::add, scheduler);
+
+        assertEquals(1, sink.size());
+        assertEquals(1, scheduler.getPendingCount());
+        assertEquals(1, throttle.getDelayedCount());
+    }
+
+    /** Tests that a sub millisecond DELAY is rounded up to the next millisecond rather than dropped. */
+    @Test
+    public void testThrottleWithSubMillisecondDelayRoundsDeadlineUp() {
+        final List<Event> sink = new ArrayList<>();
+        final List<Long> deadlines = new ArrayList<>();
+        final TimingWheelScheduler<Event> scheduler = new TimingWheelScheduler<>(sink::add) {
+            @Override
+            public void schedule(final Event item, final long deadlineMillis) {
+                deadlines.add(deadlineMillis);
+            }
+        };
+        // a token every 500 microseconds, so the first delayed event waits less than a millisecond
+        final EventThrottle throttle = new EventThrottle().withEventTypeLimit("limited", 2_000, 1, ThrottleAction.DELAY);
+        long before = 0;
+        for (int i = 0; i < 1000 && deadlines.isEmpty(); i++) {
+            before = System.currentTimeMillis();
+            throttle.throttle(newEvent("limited", Priority.NORMAL), sink::add, scheduler);
+        }
+
+        assertEquals(1, deadlines.size());
+        assertTrue(deadlines.get(0) > before);
+    }
+
+    /**
+     * Creates an event.
+     * 
+     * @param eventType a type of the event
+     * @param priority a priority of the event
+     * @return a new event
+     */
+    private static Event newEvent(final String eventType, final Priority priority) {
+        return new Event(eventType, priority, null, null, UUID.randomUUID());
+    }
+}
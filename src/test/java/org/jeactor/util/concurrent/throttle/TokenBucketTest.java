@@ -0,0 +1,55 @@
+package org.jeactor.util.concurrent.throttle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.jeactor.AbstractJeactorUnitTest;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of TokenBucket. */
+public class TokenBucketTest extends AbstractJeactorUnitTest {
+    /** Tests that a token bucket cannot be created with a zero rate. */
+    @Test
+    public void testTokenBucketWith0RateThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new TokenBucket(0, 1));
+    }
+
+    /** Tests that a token bucket cannot be created with a zero burst. */
+    @Test
+    public void testTokenBucketWith0BurstThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new TokenBucket(1, 0));
+    }
+
+    /** Tests that tryAcquire() allows exactly a burst from a full bucket. */
+    @Test
+    public void testTryAcquireAllowsBurst() {
+        final TokenBucket bucket = new TokenBucket(0.001, 3);
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    /** Tests that reserve() returns 0 for available tokens and a positive delay afterwards. */
+    @Test
+    public void testReserveReturnsDelayWhenExhausted() {
+        final TokenBucket bucket = new TokenBucket(0.001, 1);
+
+        assertEquals(0, bucket.reserve());
+        assertTrue(0 < bucket.reserve());
+    }
+
+    /** Tests that tryAcquire() succeeds again once the bucket is refilled. */
+    @Test
+    public void testTryAcquireAfterRefill() throws InterruptedException {
+        final TokenBucket bucket = new TokenBucket(1000, 1);
+        assertTrue(bucket.tryAcquire());
+        Thread.sleep(5);
+
+        assertTrue(bucket.tryAcquire());
+    }
+}
@@ -0,0 +1,116 @@
+package org.jeactor.util.concurrent.timer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of HierarchicalTimingWheel. */
+public class HierarchicalTimingWheelTest extends AbstractJeactorUnitTest {
+    /** Tests that a timing wheel cannot be created with a non positive tick. */
+    @Test
+    public void testTimingWheelWith0TickThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new HierarchicalTimingWheel<String>(0, 8, 0));
+    }
+
+    /** Tests that a timing wheel cannot be created with a single bucket. */
+    @Test
+    public void testTimingWheelWith1BucketThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new HierarchicalTimingWheel<String>(1, 1, 0));
+    }
+
+    /** Tests that add() with a due deadline returns false. */
+    @Test
+    public void testAddWithDueDeadlineReturnsFalse() {
+        final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1, 8, 100);
+        assertFalse(wheel.add("$", 100));
+        assertTrue(wheel.isEmpty());
+    }
+
+    /** Tests that advance() does not expire items before their deadline. */
+    @Test
+    public void testAdvanceBeforeDeadlineDoesNotExpire() {
+        final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1, 8, 0);
+        final List<String> actual = new ArrayList<>();
+        wheel.add("$", 5);
+
+        assertEquals(0, wheel.advance(4, actual::add));
+        assertTrue(actual.isEmpty());
+        assertEquals(1, wheel.size());
+    }
+
+    /** Tests that advance() expires items in deadline order, including items cascaded from higher levels. */
+    @Test
+    public void testAdvanceExpiresInDeadlineOrderAcrossLevels() {
+        final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1, 4, 0);
+        final List<String> actual = new ArrayList<>();
+        wheel.add("c", 70);
+        wheel.add("a", 3);
+        wheel.add("b", 17);
+
+        assertEquals(3, wheel.advance(100, actual::add));
+
+        final List<String> expected = List.of("a", "b", "c");
+        assertIterableEquals(expected, actual);
+        assertTrue(wheel.isEmpty());
+    }
+
+    /** Tests that advance() expires each item exactly at its deadline tick. */
+    @Test
+    public void testAdvanceExpiresAtDeadline() {
+        final HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1, 4, 0);
+        for (long deadline = 1; deadline < 100; deadline += 7)
+            wheel.add(deadline, deadline);
+
+        for (long now = 1; now < 100; now++) {
+            final long tick = now;
+            wheel.advance(now, (deadline)->assertEquals(tick, deadline));
+        }
+        assertTrue(wheel.isEmpty());
+    }
+
+    /** Tests that deadlines are rounded up to the tick resolution. */
+    @Test
+    public void testAdvanceRoundsDeadlineUpToTick() {
+        final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+        wheel.add("$", 15);
+
+        assertEquals(0, wheel.advance(19, (s)->{}));
+        assertEquals(1, wheel.advance(20, (s)->{}));
+    }
+
+    /** Tests that getNextDueMillis() returns the next due tick, bounded by the next cascade of the higher levels. */
+    @Test
+    public void testGetNextDueMillis() {
+        final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 0);
+        assertEquals(Long.MAX_VALUE, wheel.getNextDueMillis());
+
+        wheel.add("near", 25);
+        assertEquals(30, wheel.getNextDueMillis());
+        wheel.add("far", 1000);
+        assertEquals(30, wheel.getNextDueMillis());
+
+        wheel.advance(30, (s)->{});
+        assertEquals(40, wheel.getNextDueMillis());
+    }
+
+    /** Tests that advancing the wheel only to the times returned by getNextDueMillis() expires each item exactly at its deadline. */
+    @Test
+    public void testAdvanceToNextDueExpiresAtDeadline() {
+        final HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1, 4, 0);
+        for (long deadline = 1; deadline < 100; deadline += 7)
+            wheel.add(deadline, deadline);
+
+        while (!wheel.isEmpty()) {
+            final long now = wheel.getNextDueMillis();
+            wheel.advance(now, (deadline)->assertEquals(now, deadline));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.jeactor.util.concurrent.timer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of TimingWheelScheduler. */
+public class TimingWheelSchedulerTest extends AbstractJeactorUnitTest {
+    /** Tests that a scheduler cannot be created with a null sink. */
+    @Test
+    public void testSchedulerWithNullSinkThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new TimingWheelScheduler<String>(null));
+    }
+
+    /** Tests that schedule() with a due deadline moves the item into the sink in the calling thread. */
+    @Test
+    public void testScheduleWithDueDeadlineMovesItemImmediately() throws Exception {
+        final BlockingQueue<String> sink = new LinkedBlockingQueue<>();
+        testWithResources(
+            ()->new TimingWheelScheduler<String>(sink::add),
+            (scheduler)->{
+                scheduler.schedule("$", 0);
+                assertEquals("$", sink.poll());
+            }
+        );
+    }
+
+    /** Tests that schedule() moves the item into the sink once its deadline is due. */
+    @Test
+    public void testScheduleMovesItemAfterDeadline() throws Exception {
+        final BlockingQueue<Long> sink = new LinkedBlockingQueue<>();
+        testWithResources(
+            ()->new TimingWheelScheduler<Long>(sink::add),
+            (scheduler)->{
+                scheduler.start();
+                final long deadline = System.currentTimeMillis() + 20;
+                scheduler.schedule(deadline, deadline);
+                try {
+                    final Long actual = sink.poll(5, TimeUnit.SECONDS);
+                    assertEquals(deadline, actual);
+                    assertTrue(System.currentTimeMillis() >= deadline);
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        );
+    }
+
+    /** Tests that a failure of the sink on the background thread is counted and does not lose the other items nor stop the thread. */
+    @Test
+    public void testSinkFailureIsContained() throws Exception {
+        final BlockingQueue<String> sink = new LinkedBlockingQueue<>();
+        testWithResources(
+            ()->new TimingWheelScheduler<String>((item)->{
+                if ("failing".equals(item))
+                    throw new IllegalStateException("failure");
+                sink.add(item);
+            }),
+            (scheduler)->{
+                scheduler.start();
+                final long deadline = System.currentTimeMillis() + 20;
+                scheduler.schedule("failing", deadline);
+                scheduler.schedule("$", deadline);
+                try {
+                    assertEquals("$", sink.poll(5, TimeUnit.SECONDS));
+                    scheduler.schedule("$$", System.currentTimeMillis() + 20);
+                    assertEquals("$$", sink.poll(5, TimeUnit.SECONDS));
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertEquals(1, scheduler.getFailedCount());
+            }
+        );
+    }
+
+    /** Tests that schedule() starts the background thread, when the scheduler hasn't been started explicitly. */
+    @Test
+    public void testScheduleStartsBackgroundThread() throws Exception {
+        final BlockingQueue<String> sink = new LinkedBlockingQueue<>();
+        testWithResources(
+            ()->new TimingWheelScheduler<String>(sink::add),
+            (scheduler)->{
+                scheduler.schedule("$", System.currentTimeMillis() + 20);
+                try {
+                    assertEquals("$", sink.poll(5, TimeUnit.SECONDS));
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        );
+    }
+
+    /** Tests that an item due earlier than the item the background thread sleeps for wakes the background thread up. */
+    @Test
+    public void testScheduleEarlierItemWakesBackgroundThread() throws Exception {
+        final BlockingQueue<String> sink = new LinkedBlockingQueue<>();
+        testWithResources(
+            ()->new TimingWheelScheduler<String>(sink::add),
+            (scheduler)->{
+                scheduler.schedule("far", System.currentTimeMillis() + 60_000);
+                try {
+                    Thread.sleep(20);
+                    scheduler.schedule("near", System.currentTimeMillis() + 20);
+                    assertEquals("near", sink.poll(5, TimeUnit.SECONDS));
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertEquals(1, scheduler.getPendingCount());
+            }
+        );
+    }
+
+    /** Tests that a scheduler closed before it has been started is never started afterwards. */
+    @Test
+    public void testClosedSchedulerIsNeverStarted() {
+        final TimingWheelScheduler<String> scheduler = new TimingWheelScheduler<>((item)->{});
+        scheduler.close();
+        scheduler.schedule("$", System.currentTimeMillis() + 20);
+
+        assertNull(scheduler.start());
+        assertEquals(1, scheduler.getPendingCount());
+    }
+
+    /** Tests that ceilMillis() rounds a sub millisecond instant up and keeps a whole millisecond one. */
+    @Test
+    public void testCeilMillisOfInstantRoundsUp() {
+        assertEquals(1001, TimingWheelScheduler.ceilMillis(Instant.ofEpochSecond(1, 500_001)));
+        assertEquals(1001, TimingWheelScheduler.ceilMillis(Instant.ofEpochSecond(1, 1_000_000)));
+        assertEquals(1000, TimingWheelScheduler.ceilMillis(Instant.ofEpochSecond(1)));
+    }
+
+    /** Tests that ceilMillis() rounds a sub millisecond duration up and keeps a whole millisecond one. */
+    @Test
+    public void testCeilMillisOfDurationRoundsUp() {
+        assertEquals(1, TimingWheelScheduler.ceilMillis(Duration.ofNanos(1)));
+        assertEquals(3, TimingWheelScheduler.ceilMillis(Duration.ofNanos(2_000_001)));
+        assertEquals(2, TimingWheelScheduler.ceilMillis(Duration.ofMillis(2)));
+        assertEquals(0, TimingWheelScheduler.ceilMillis(Duration.ZERO));
+        assertEquals(-1, TimingWheelScheduler.ceilMillis(Duration.ofNanos(-1_500_000)));
+    }
+}
@@ -0,0 +1,114 @@
+package org.jeactor.util.concurrent.wait;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.jeactor.core.Event;
+import org.jeactor.core.Priority;
+import org.jeactor.util.concurrent.demux.EventDemux;
+import org.jeactor.util.concurrent.demux.PriorityBlockingEventDemux;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import jakarta.validation.ValidationException;
+
+/** Unit test of the wait strategies. */
+public class WaitStrategyTest extends AbstractJeactorUnitTest {
+    /**
+     * Returns the wait strategies under test.
+     *
+     * @return the names and the factories of the wait strategies
+     */
+    static Stream<Arguments> waitStrategies() {
+        return Stream.of(
+            Arguments.of("BusySpin", (Supplier<WaitStrategy>) ()->new BusySpinWaitStrategy()),
+            Arguments.of("TimedPark", (Supplier<WaitStrategy>) ()->new TimedParkWaitStrategy(Duration.ofMillis(1))),
+            Arguments.of("Backoff", (Supplier<WaitStrategy>) ()->new BackoffWaitStrategy(10, 10)),
+            Arguments.of("Blocking", (Supplier<WaitStrategy>) ()->new BlockingWaitStrategy())
+        );
+    }
+
+    /** Tests that waitFor() returns an event that is already collected. */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("waitStrategies")
+    public void testWaitForReturnsCollectedEvent(final String name, final Supplier<WaitStrategy> factory) throws Exception {
+        final PriorityBlockingEventDemux demux = new PriorityBlockingEventDemux();
+        final Event event = new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID());
+        demux.accept(event);
+
+        assertEquals(event, factory.get().waitFor(demux));
+    }
+
+    /** Tests that waitFor() returns an event collected while waiting. */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("waitStrategies")
+    public void testWaitForReturnsEventCollectedLater(final String name, final Supplier<WaitStrategy> factory) throws Exception {
+        final PriorityBlockingEventDemux demux = new PriorityBlockingEventDemux();
+        final Event event = new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID());
+        final WaitStrategy waitStrategy = factory.get();
+        final CompletableFuture<Event> waited = CompletableFuture.supplyAsync(()->{
+            try {
+                return waitStrategy.waitFor(demux);
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(20);
+        demux.accept(event);
+
+        assertEquals(event, waited.get(5, TimeUnit.SECONDS));
+    }
+
+    /** Tests that waitFor() throws InterruptedException when the waiting thread is interrupted. */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("waitStrategies")
+    public void testWaitForThrowsInterruptedExceptionWhenInterrupted(final String name, final Supplier<WaitStrategy> factory) {
+        final WaitStrategy waitStrategy = factory.get();
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedException.class, ()->waitStrategy.waitFor(new PriorityBlockingEventDemux()));
+    }
+
+    /** Tests that waitFor() works with a demux that implements only get(), through the default poll(). */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("waitStrategies")
+    public void testWaitForWithGetOnlyDemux(final String name, final Supplier<WaitStrategy> factory) throws Exception {
+        final BlockingQueue<Event> queue = new LinkedBlockingQueue<>();
+        final EventDemux demux = new EventDemux() {
+            @Override
+            public void accept(final Event event) {
+                queue.add(event);
+            }
+
+            @Override
+            public Event get() throws InterruptedException {
+                return queue.take();
+            }
+        };
+        final Event event = new Event("dummy", Priority.NORMAL, null, null, UUID.randomUUID());
+        demux.accept(event);
+
+        assertEquals(event, factory.get().waitFor(demux));
+    }
+
+    /** Tests that a non positive park interval throws ValidationException. */
+    @Test
+    public void testTimedParkWithNonPositiveParkIntervalThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new TimedParkWaitStrategy(Duration.ZERO));
+    }
+
+    /** Tests that a negative number of tries throws ValidationException. */
+    @Test
+    public void testBackoffWithNegativeTriesThrowsValidationException() {
+        assertThrows(ValidationException.class, ()->new BackoffWaitStrategy(-1, 0));
+    }
+}
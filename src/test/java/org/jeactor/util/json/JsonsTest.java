@@ -0,0 +1,27 @@
+package org.jeactor.util.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit test of Jsons. */
+public class JsonsTest {
+    /** Tests that appendString() escapes quotes, backslashes and control characters. */
+    @Test
+    public void testAppendStringEscapesSpecialCharacters() {
+        assertEquals("\"a\\\"b\\\\c\\u000a\"", Jsons.appendString(new StringBuilder(), "a\"b\\c\n").toString());
+    }
+
+    /** Tests that appendString() with null input appends null. */
+    @Test
+    public void testAppendStringWithNullAppendsNull() {
+        assertEquals("null", Jsons.appendString(new StringBuilder(), null).toString());
+    }
+
+    /** Tests that appendNumber() appends null for a number that is not finite. */
+    @Test
+    public void testAppendNumberWithNonFiniteNumberAppendsNull() {
+        assertEquals("1.5,null,null", Jsons.appendNumber(Jsons.appendNumber(Jsons.appendNumber(new StringBuilder(), 1.5).append(','),
+            Double.NaN).append(','), Double.POSITIVE_INFINITY).toString());
+    }
+}
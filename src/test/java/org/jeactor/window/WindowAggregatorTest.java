@@ -0,0 +1,124 @@
+package org.jeactor.window;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.jeactor.AbstractJeactorUnitTest;
+import org.jeactor.core.Event;
+import org.jeactor.core.Reactor;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.ValidationException;
+
+/** Unit test of WindowAggregator. */
+public class WindowAggregatorTest extends AbstractJeactorUnitTest {
+    /** Tests that a size that is not a multiple of the slide throws ValidationException. */
+    @Test
+    public void testSizeNotMultipleOfSlideThrowsValidationException() throws Exception {
+        testWithResources(
+            ()->startDirectReactor(),
+            (reactor)->{
+                assertThrows(ValidationException.class, ()->newBuilder(reactor).withSlidingWindow(Duration.ofMillis(10), Duration.ofMillis(3)).build());
+            }
+        );
+    }
+
+    /** Tests that tumbling windows aggregate per key and are produced when the watermark passes their end. */
+    @Test
+    public void testTumblingWindowPerKey() throws Exception {
+        testWithResources(
+            ()->startDirectReactor(),
+            (reactor)->{
+                final List<String> aggregates = record(reactor, "aggregate", 0).getPayloads();
+                final WindowAggregator aggregator = newBuilder(reactor).withTumblingWindow(Duration.ofMillis(10)).build();
+                aggregator.accept(newEvent("input", "1:2", "a"));
+                aggregator.accept(newEvent("input", "5:4", "a"));
+                aggregator.accept(newEvent("input", "9:7", "b"));
+                assertEquals(List.of(), aggregates);
+
+                aggregator.accept(newEvent("input", "10:1", "a"));
+                assertEquals(List.of(
+                    "{\"key\":\"a\",\"windowStart\":0,\"windowEnd\":10,\"count\":2,\"sum\":6.0,\"min\":2.0,\"max\":4.0,\"mean\":3.0}",
+                    "{\"key\":\"b\",\"windowStart\":0,\"windowEnd\":10,\"count\":1,\"sum\":7.0,\"min\":7.0,\"max\":7.0,\"mean\":7.0}"
+                ), sorted(aggregates));
+            }
+        );
+    }
+
+    /** Tests that sliding windows overlap, so an event is aggregated into every window that contains it. */
+    @Test
+    public void testSlidingWindow() throws Exception {
+        testWithResources(
+            ()->startDirectReactor(),
+            (reactor)->{
+                final List<String> aggregates = record(reactor, "aggregate", 0).getPayloads();
+                final WindowAggregator aggregator = newBuilder(reactor).withSlidingWindow(Duration.ofMillis(10), Duration.ofMillis(5)).build();
+                aggregator.accept(newEvent("input", "0:1", "a"));
+                aggregator.accept(newEvent("input", "6:2", "a"));
+                aggregator.advanceWatermark(20);
+
+                assertEquals(List.of(
+                    "{\"key\":\"a\",\"windowStart\":-5,\"windowEnd\":5,\"count\":1,\"sum\":1.0,\"min\":1.0,\"max\":1.0,\"mean\":1.0}",
+                    "{\"key\":\"a\",\"windowStart\":0,\"windowEnd\":10,\"count\":2,\"sum\":3.0,\"min\":1.0,\"max\":2.0,\"mean\":1.5}",
+                    "{\"key\":\"a\",\"windowStart\":5,\"windowEnd\":15,\"count\":1,\"sum\":2.0,\"min\":2.0,\"max\":2.0,\"mean\":2.0}"
+                ), aggregates);
+            }
+        );
+    }
+
+    /** Tests that an event arriving after its window closed is dropped and counted, unless it is within the allowed lateness. */
+    @Test
+    public void testLateEvents() throws Exception {
+        testWithResources(
+            ()->startDirectReactor(),
+            (reactor)->{
+                final List<String> aggregates = record(reactor, "aggregate", 0).getPayloads();
+                final WindowAggregator aggregator = newBuilder(reactor)
+                    .withTumblingWindow(Duration.ofMillis(10))
+                    .withAllowedLateness(Duration.ofMillis(5))
+                    .build();
+                aggregator.accept(newEvent("input", "12:1", "a"));
+                // within the lateness, the first window is still open
+                aggregator.accept(newEvent("input", "3:1", "a"));
+                aggregator.accept(newEvent("input", "16:1", "a"));
+                // the first window has closed
+                aggregator.accept(newEvent("input", "4:1", "a"));
+
+                assertEquals(1, aggregator.getLateEventCount());
+                assertEquals(List.of("{\"key\":\"a\",\"windowStart\":0,\"windowEnd\":10,\"count\":1,\"sum\":1.0,\"min\":1.0,\"max\":1.0,\"mean\":1.0}"), aggregates);
+            }
+        );
+    }
+
+
+    /**
+     * Creates a builder of an aggregator that reads the timestamp and the value from the payload, and the key from the conflation key.
+     * 
+     * @param reactor a reactor to produce the aggregates into
+     * @return a new builder
+     */
+    private static WindowAggregatorBuilderImpl newBuilder(final Reactor reactor) {
+        return new WindowAggregatorBuilderImpl()
+            .withReactor(reactor)
+            .withOutputEventType("aggregate")
+            .withKey(Event::getConflationKey)
+            .withTimestamp((event)->Long.parseLong(event.getJsonPayload().split(":")[0]))
+            .withValue((event)->Double.parseDouble(event.getJsonPayload().split(":")[1]));
+    }
+
+
+
+    /**
+     * Returns a sorted copy of the accepted list.
+     * 
+     * @param list a list of strings
+     * @return a sorted copy
+     */
+    private static List<String> sorted(final List<String> list) {
+        final List<String> copy = new ArrayList<>(list);
+        copy.sort(null);
+        return copy;
+    }
+}